@@ -655,6 +655,30 @@ CREATE TABLE LEOKASegment (
                 PRIMARY KEY (LEOKASegmentID)
 );
 
+CREATE TABLE SummaryAggregate (
+                SummaryAggregateID INT AUTO_INCREMENT NOT NULL,
+                ORI VARCHAR(9),
+                Year INT NOT NULL,
+                Month INT NOT NULL,
+                SummaryForm VARCHAR(20) NOT NULL,
+                Section VARCHAR(40) NOT NULL,
+                RowName VARCHAR(60) NOT NULL,
+                ColumnName VARCHAR(40) NOT NULL,
+                AggregateValue DOUBLE NOT NULL,
+                PRIMARY KEY (SummaryAggregateID)
+);
+
+CREATE INDEX SummaryAggregate_Form_Date_idx ON SummaryAggregate (SummaryForm, Year, Month, ORI);
+
+CREATE UNIQUE INDEX SummaryAggregate_Cell_idx ON SummaryAggregate (SummaryForm, ORI, Year, Month, Section, RowName, ColumnName);
+
+CREATE TABLE SummaryAggregateLock (
+                SummaryAggregateLockID INT NOT NULL,
+                PRIMARY KEY (SummaryAggregateLockID)
+);
+
+INSERT INTO SummaryAggregateLock (SummaryAggregateLockID) VALUES (1);
+
 
 ALTER TABLE Violation ADD CONSTRAINT submission_violation_fk
 FOREIGN KEY (SubmissionID)
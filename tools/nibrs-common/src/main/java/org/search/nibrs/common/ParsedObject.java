@@ -15,6 +15,7 @@
  */
 package org.search.nibrs.common;
 
+import java.io.Serializable;
 import java.lang.reflect.Array;
 
 import org.apache.commons.lang3.StringUtils;
@@ -24,7 +25,9 @@ import org.apache.commons.lang3.StringUtils;
  *
  * @param <T> the specific type of Object to which an instance applies
  */
-public class ParsedObject<T> {
+public class ParsedObject<T> implements Serializable {
+	
+	private static final long serialVersionUID = -7971205469162439563L;
 	
 	private T value;
 	private boolean missing;
@@ -21,6 +21,7 @@ import java.io.Reader;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.logging.Log;
@@ -82,6 +83,28 @@ public class AbstractIncidentBuilder {
 		throw new NotImplementedException("The method buildIncidents(InputStream, String) is not implemented");
 	}
 
+	/**
+	 * Create a lazy stream of the NIBRS reports in the flatfile format exposed by the specified Reader.  Reports are built as the stream is
+	 * consumed, and are returned from the stream rather than broadcast to listeners.  Closing the stream closes the Reader.
+	 * @param reader the source of the data
+	 * @param readerLocationName the name of the source, for error reporting
+	 * @return the stream of reports, each with the errors encountered in building it
+	 */
+	public Stream<ParsedReport> stream(Reader reader, String readerLocationName) {
+		throw new NotImplementedException("The method stream(Reader, String) is not implemented"); 
+	}
+
+	/**
+	 * Create a lazy stream of the NIBRS reports exposed by the specified InputStream.  Reports are built as the stream is consumed, and are
+	 * returned from the stream rather than broadcast to listeners.  Closing the stream closes the InputStream.
+	 * @param inputStream the source of the data
+	 * @param readerLocationName the name of the source, for error reporting
+	 * @return the stream of reports, each with the errors encountered in building it
+	 */
+	public Stream<ParsedReport> stream(InputStream inputStream, String readerLocationName) {
+		throw new NotImplementedException("The method stream(InputStream, String) is not implemented"); 
+	}
+
 	public List<ReportListener> getListeners() {
 		return listeners;
 	}
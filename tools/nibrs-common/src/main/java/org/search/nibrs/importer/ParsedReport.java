@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.importer;
+
+import java.util.List;
+
+import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.model.AbstractReport;
+
+/**
+ * A report built from a NIBRS report stream, together with the errors encountered while building it (the same pair that is passed to
+ * {@link ReportListener#newReport(AbstractReport, List)}).
+ *
+ */
+public final class ParsedReport {
+	
+	private final AbstractReport report;
+	private final List<NIBRSError> errorList;
+	
+	public ParsedReport(AbstractReport report, List<NIBRSError> errorList) {
+		this.report = report;
+		this.errorList = errorList;
+	}
+
+	public AbstractReport getReport() {
+		return report;
+	}
+
+	public List<NIBRSError> getErrorList() {
+		return errorList;
+	}
+
+}
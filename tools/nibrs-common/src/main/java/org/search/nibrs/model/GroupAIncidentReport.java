@@ -19,8 +19,10 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import org.apache.logging.log4j.LogManager;
@@ -57,6 +59,7 @@ public class GroupAIncidentReport extends AbstractReport
     private List<OffenderSegment> offenderSegmentList;
     private boolean includesLeoka = false;
     private boolean includesCargoTheft = false;
+    private transient SegmentIndex segmentIndex;
 
 	public GroupAIncidentReport()
     {
@@ -142,11 +145,36 @@ public class GroupAIncidentReport extends AbstractReport
 		return ret;
 	}
 	
+	/**
+	 * Discard the index behind getOffenderForSequenceNumber(), getVictimsOfOffender() and getOffendersOfVictim().  The index is
+	 * discarded automatically when segments are added, removed, or replaced, or when offender sequence numbers or victim related
+	 * offender numbers are set through the segment setters; call this after changing an offender sequence number in place on its
+	 * ParsedObject.  getVictimsOfOffender() rebuilds the index itself when a related offender number has been changed in place.
+	 */
+	public void invalidateSegmentIndex() {
+		segmentIndex = null;
+	}
+	
+	private SegmentIndex getSegmentIndex() {
+		SegmentIndex ret = segmentIndex;
+		if (ret == null) {
+			ret = new SegmentIndex(offenderSegmentList, victimSegmentList);
+			segmentIndex = ret;
+		}
+		return ret;
+	}
+	
 	public OffenderSegment getOffenderForSequenceNumber(Integer sequenceNumber) {
 		OffenderSegment ret = null;
 		if (sequenceNumber == null) {
 			return null;
 		}
+		ret = getSegmentIndex().offendersBySequenceNumber.get(sequenceNumber);
+		if (ret != null && sequenceNumber.equals(ret.getOffenderSequenceNumber().getValue())) {
+			return ret;
+		}
+		// not in the index (or the index is stale); fall back to a scan so that the result is always current
+		ret = null;
 		for (OffenderSegment o : offenderSegmentList) {
 			if (sequenceNumber.equals(o.getOffenderSequenceNumber().getValue())) {
 				ret = o;
@@ -170,14 +198,23 @@ public class GroupAIncidentReport extends AbstractReport
 		return ret;
 	}
 	
+	/**
+	 * Get the victims related to the specified offender, in the order they appear in the incident.
+	 * @param os the offender
+	 * @return an unmodifiable list of the offender's victims
+	 */
 	public List<VictimSegment> getVictimsOfOffender(OffenderSegment os) {
-		List<VictimSegment> ret = new ArrayList<>();
-		for (VictimSegment vs : getVictims()) {
-			if (vs.isVictimOfOffender(os)) {
-				ret.add(vs);
+		List<VictimSegment> ret = null;
+		if (os != null) {
+			SegmentIndex index = getSegmentIndex();
+			if (!index.isVictimIndexCurrent(victimSegmentList)) {
+				// a related offender number was changed in place since the index was built; rebuild it so that the result is always current
+				invalidateSegmentIndex();
+				index = getSegmentIndex();
 			}
+			ret = index.victimsByOffenderSequenceNumber.get(os.getOffenderSequenceNumber().getValue());
 		}
-		return ret;
+		return ret == null ? Collections.emptyList() : ret;
 	}
     
 	public List<OffenderSegment> getOffendersOfVictim(VictimSegment vs) {
@@ -189,6 +226,58 @@ public class GroupAIncidentReport extends AbstractReport
 		}
 		return ret;
 	}
+	
+	/**
+	 * Lookups from offender sequence number to offender, and from offender sequence number to the victims related to that offender.
+	 */
+	private static final class SegmentIndex {
+		
+		private final Map<Integer, OffenderSegment> offendersBySequenceNumber = new HashMap<>();
+		private final Map<Integer, List<VictimSegment>> victimsByOffenderSequenceNumber = new HashMap<>();
+		private final VictimSegment[] indexedVictims;
+		private final List<?>[] indexedOffenderNumbers;
+		
+		SegmentIndex(List<OffenderSegment> offenders, List<VictimSegment> victims) {
+			for (OffenderSegment o : offenders) {
+				Integer sequenceNumber = o.getOffenderSequenceNumber().getValue();
+				if (sequenceNumber != null) {
+					offendersBySequenceNumber.putIfAbsent(sequenceNumber, o);
+				}
+			}
+			indexedVictims = victims.toArray(new VictimSegment[victims.size()]);
+			indexedOffenderNumbers = new List<?>[indexedVictims.length];
+			Map<Integer, List<VictimSegment>> victimLists = new HashMap<>();
+			for (int i = 0; i < indexedVictims.length; i++) {
+				VictimSegment v = indexedVictims[i];
+				indexedOffenderNumbers[i] = v.getDistinctValidRelatedOffenderNumberList();
+				for (Integer offenderNumber : v.getDistinctValidRelatedOffenderNumberList()) {
+					victimLists.computeIfAbsent(offenderNumber, k -> new ArrayList<>()).add(v);
+				}
+			}
+			for (Map.Entry<Integer, List<VictimSegment>> entry : victimLists.entrySet()) {
+				victimsByOffenderSequenceNumber.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
+			}
+		}
+		
+		/**
+		 * Whether the victims and their related offender numbers are the ones the index was built from.  A victim's distinct related
+		 * offender number list is recomputed, as a new list, whenever one of its values has changed, so comparing the lists by identity
+		 * catches values changed in place on their ParsedObjects without allocating.
+		 */
+		boolean isVictimIndexCurrent(List<VictimSegment> victims) {
+			if (victims.size() != indexedVictims.length) {
+				return false;
+			}
+			for (int i = 0; i < indexedVictims.length; i++) {
+				VictimSegment v = victims.get(i);
+				if (v != indexedVictims[i] || v.getDistinctValidRelatedOffenderNumberList() != indexedOffenderNumbers[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+		
+	}
 
 	public boolean includesCargoTheft() {
 		return includesCargoTheft;
@@ -220,18 +309,22 @@ public class GroupAIncidentReport extends AbstractReport
     
     public void removeOffender(int index) {
 		offenderSegmentList.remove(index);
+		invalidateSegmentIndex();
 	}
 
 	public void removeOffenders() {
 		offenderSegmentList = new ArrayList<OffenderSegment>();
+		invalidateSegmentIndex();
 	}
 
 	public void removeVictim(int index) {
 		victimSegmentList.remove(index);
+		invalidateSegmentIndex();
 	}
 
 	public void removeVictims() {
 		victimSegmentList = new ArrayList<VictimSegment>();
+		invalidateSegmentIndex();
 	}
 
 	public void removeProperty(int index) {
@@ -310,6 +403,7 @@ public class GroupAIncidentReport extends AbstractReport
     {
         victimSegmentList.add(victim);
         victim.setParentReport(this);
+        invalidateSegmentIndex();
     }
     
     public int getVictimCount()
@@ -328,12 +422,14 @@ public class GroupAIncidentReport extends AbstractReport
 
     public void setVictims(List<VictimSegment> victims) {
     	this.victimSegmentList = victims;
+    	invalidateSegmentIndex();
     }
     
     public void addOffender(OffenderSegment offender)
     {
         offenderSegmentList.add(offender);
         offender.setParentReport(this);
+        invalidateSegmentIndex();
     }
     
     public int getOffenderCount()
@@ -352,6 +448,7 @@ public class GroupAIncidentReport extends AbstractReport
 
     public void setOffenders(List<OffenderSegment> offenders) {
     	this.offenderSegmentList = offenders;
+    	invalidateSegmentIndex();
     }
     
     public String getExceptionalClearanceCode()
@@ -15,6 +15,8 @@
  */
 package org.search.nibrs.model;
 
+import java.io.Serializable;
+
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.search.nibrs.common.NIBRSError;
@@ -24,7 +26,9 @@ import org.search.nibrs.common.NIBRSError;
  * integer value, or a range of integer values.  If the age is a single value, the min and max will be equal.
  *
  */
-public class NIBRSAge {
+public class NIBRSAge implements Serializable {
+	
+	private static final long serialVersionUID = -3083222677172900984L;
 	
 	@SuppressWarnings("unused")
 	private static final Logger LOG = LogManager.getLogger(NIBRSAge.class);
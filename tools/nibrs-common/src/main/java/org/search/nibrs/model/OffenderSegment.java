@@ -50,6 +50,9 @@ public class OffenderSegment extends AbstractPersonSegment
     public void setOffenderSequenceNumber(ParsedObject<Integer> offenderSequenceNumber)
     {
         this.offenderSequenceNumber = offenderSequenceNumber;
+        if (getParentReport() instanceof GroupAIncidentReport) {
+        	((GroupAIncidentReport) getParentReport()).invalidateSegmentIndex();
+        }
         if (!(offenderSequenceNumber.isMissing() || offenderSequenceNumber.isInvalid()) && offenderSequenceNumber.getValue() == 0) {
         }
     }
@@ -93,7 +93,12 @@ public class PropertySegment extends AbstractSegment
     }
     
     public boolean containsPropertyDescription(String descriptionCode) {
-    	return Arrays.asList(getPropertyDescription()).contains(descriptionCode);
+    	for (String propertyDescriptionCode : propertyDescription) {
+    		if (Objects.equals(descriptionCode, propertyDescriptionCode)) {
+    			return true;
+    		}
+    	}
+    	return false;
     }
     
 	public ParsedObject<Integer>[] getValueOfProperty() {
@@ -122,16 +127,16 @@ public class PropertySegment extends AbstractSegment
 	}
 	
 	public boolean containsVehiclePropertyCodes(){
-		return getPropertyDescriptionList()
-				.stream()
-				.anyMatch(PropertyDescriptionCode::isMotorVehicleCode);
+		return getFirstVehiclePropertyCode().isPresent();
 	}
 	
 	public Optional<String> getFirstVehiclePropertyCode(){
-		return getPropertyDescriptionList()
-				.stream()
-				.filter(PropertyDescriptionCode::isMotorVehicleCode)
-				.findFirst();
+		for (String propertyDescriptionCode : propertyDescription) {
+			if (PropertyDescriptionCode.isMotorVehicleCode(propertyDescriptionCode)) {
+				return Optional.of(propertyDescriptionCode);
+			}
+		}
+		return Optional.empty();
 	}
 
 	public String[] getSuspectedDrugType() {
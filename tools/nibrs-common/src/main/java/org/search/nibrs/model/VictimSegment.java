@@ -59,6 +59,13 @@ public class VictimSegment extends AbstractPersonSegment {
 	private int populatedTypeOfInjuryCount;
 	private int populatedUcrOffenseCodeConnectionCount;
 	private int populatedOffenderNumberRelatedCount;
+	
+	// derived views, created on first use and discarded when the underlying arrays or counts are changed through the setters
+	private List<String> ucrOffenseCodeList;
+	private List<String> victimOffenderRelationshipList;
+	private List<String> typeOfInjuryList;
+	private List<String> aggravatedAssaultHomicideCircumstancesList;
+	private DistinctOffenderNumbers distinctOffenderNumbers;
 
 	public VictimSegment() {
 		super();
@@ -122,7 +129,12 @@ public class VictimSegment extends AbstractPersonSegment {
 
 	@JsonIgnore
 	public List<String> getVictimOffenderRelationshipList() {
-		return Collections.unmodifiableList(Arrays.asList(victimOffenderRelationship));
+		List<String> ret = victimOffenderRelationshipList;
+		if (ret == null) {
+			ret = Collections.unmodifiableList(Arrays.asList(victimOffenderRelationship));
+			victimOffenderRelationshipList = ret;
+		}
+		return ret;
 	}
 
 	public void setVictimOffenderRelationship(int position, String value) {
@@ -141,6 +153,7 @@ public class VictimSegment extends AbstractPersonSegment {
 	public void setOffenderNumberRelated(int position, ParsedObject<Integer> value) {
 		offenderNumberRelated[position] = value;
 		populatedOffenderNumberRelatedCount = Math.max(populatedOffenderNumberRelatedCount, position + 1);
+		offenderNumberRelatedChanged();
 	}
 
 	public int getPopulatedUcrOffenseCodeConnectionCount() {
@@ -157,7 +170,12 @@ public class VictimSegment extends AbstractPersonSegment {
 
 	@JsonIgnore
 	public List<String> getTypeOfInjuryList() {
-		return Collections.unmodifiableList(Arrays.asList(typeOfInjury));
+		List<String> ret = typeOfInjuryList;
+		if (ret == null) {
+			ret = Collections.unmodifiableList(Arrays.asList(typeOfInjury));
+			typeOfInjuryList = ret;
+		}
+		return ret;
 	}
 
 	public void setTypeOfInjury(int position, String value) {
@@ -171,21 +189,20 @@ public class VictimSegment extends AbstractPersonSegment {
 
 	@JsonIgnore
 	public List<String> getAggravatedAssaultHomicideCircumstancesList() {
-
-		List<String> aggravatedAssaultHomicideCircumstancesList = new ArrayList<String>();
-
-		for (int i = 0; i < populatedAggravatedAssaultHomicideCircumstancesCount; i++) {
-
-			String aggAssaultCirc = aggravatedAssaultHomicideCircumstances[i];
-
-			aggravatedAssaultHomicideCircumstancesList.add(aggAssaultCirc);
+		List<String> ret = aggravatedAssaultHomicideCircumstancesList;
+		if (ret == null) {
+			ret = Collections.unmodifiableList(Arrays.asList(aggravatedAssaultHomicideCircumstances).subList(0, populatedAggravatedAssaultHomicideCircumstancesCount));
+			aggravatedAssaultHomicideCircumstancesList = ret;
 		}
-		return Collections.unmodifiableList(aggravatedAssaultHomicideCircumstancesList);
+		return ret;
 	}
 
 	public void setAggravatedAssaultHomicideCircumstances(int position, String value) {
 		aggravatedAssaultHomicideCircumstances[position] = value;
-		populatedAggravatedAssaultHomicideCircumstancesCount = Math.max(populatedAggravatedAssaultHomicideCircumstancesCount, position + 1);
+		if (position >= populatedAggravatedAssaultHomicideCircumstancesCount) {
+			populatedAggravatedAssaultHomicideCircumstancesCount = position + 1;
+			aggravatedAssaultHomicideCircumstancesList = null;
+		}
 	}
 
 	public int getPopulatedAggravatedAssaultHomicideCircumstancesCount() {
@@ -202,7 +219,12 @@ public class VictimSegment extends AbstractPersonSegment {
 
 	@JsonIgnore
 	public List<String> getUcrOffenseCodeList() {
-		return Collections.unmodifiableList(Arrays.asList(ucrOffenseCodeConnection));
+		List<String> ret = ucrOffenseCodeList;
+		if (ret == null) {
+			ret = Collections.unmodifiableList(Arrays.asList(ucrOffenseCodeConnection));
+			ucrOffenseCodeList = ret;
+		}
+		return ret;
 	}
 
 	public void setUcrOffenseCodeConnection(int position, String value) {
@@ -260,6 +282,7 @@ public class VictimSegment extends AbstractPersonSegment {
 			initUcrOffenseCodeConnection();
 		} else {
 			this.ucrOffenseCodeConnection = ucrOffenseCodeConnection;
+			ucrOffenseCodeList = null;
 		}
 	}
 
@@ -272,6 +295,7 @@ public class VictimSegment extends AbstractPersonSegment {
 			initAggravatedAssaultHomicideCircumstances();
 		} else {
 			this.aggravatedAssaultHomicideCircumstances = aggravatedAssaultHomicideCircumstances;
+			aggravatedAssaultHomicideCircumstancesList = null;
 		}
 	}
 
@@ -284,6 +308,7 @@ public class VictimSegment extends AbstractPersonSegment {
 			initOffenderNumberRelated();
 		} else {
 			this.offenderNumberRelated = offenderNumberRelated;
+			offenderNumberRelatedChanged();
 		}
 	}
 
@@ -296,6 +321,7 @@ public class VictimSegment extends AbstractPersonSegment {
 			initTypeOfInjury();
 		} else {
 			this.typeOfInjury = typeOfInjury;
+			typeOfInjuryList = null;
 		}
 	}
 
@@ -308,6 +334,7 @@ public class VictimSegment extends AbstractPersonSegment {
 			initVictimOffenderRelationship();
 		} else {
 			this.victimOffenderRelationship = victimOffenderRelationship;
+			victimOffenderRelationshipList = null;
 		}
 	}
 
@@ -357,6 +384,7 @@ public class VictimSegment extends AbstractPersonSegment {
 
 	private void initVictimOffenderRelationship() {
 		victimOffenderRelationship = new String[OFFENDER_NUMBER_RELATED_COUNT];
+		victimOffenderRelationshipList = null;
 	}
 
 	@SuppressWarnings("unchecked")
@@ -365,31 +393,78 @@ public class VictimSegment extends AbstractPersonSegment {
 		for (int i=0;i < OFFENDER_NUMBER_RELATED_COUNT;i++) {
 			offenderNumberRelated[i] = new ParsedObject<Integer>();
 		}
+		offenderNumberRelatedChanged();
 	}
 
 	private void initTypeOfInjury() {
 		typeOfInjury = new String[TYPE_OF_INJURY_COUNT];
+		typeOfInjuryList = null;
 	}
 
 	private void initAggravatedAssaultHomicideCircumstances() {
 		aggravatedAssaultHomicideCircumstances = new String[AGGRAVATED_ASSAULT_HOMICIDE_CIRCUMSTANCES_COUNT];
+		aggravatedAssaultHomicideCircumstancesList = null;
 	}
 
 	private void initUcrOffenseCodeConnection() {
 		ucrOffenseCodeConnection = new String[UCR_OFFENSE_CODE_CONNECTION_COUNT];
+		ucrOffenseCodeList = null;
 	}
 	
+	private void offenderNumberRelatedChanged() {
+		if (getParentReport() instanceof GroupAIncidentReport) {
+			((GroupAIncidentReport) getParentReport()).invalidateSegmentIndex();
+		}
+	}
+	
+	/**
+	 * Get the distinct, non-null related offender numbers.  The list is cached, and is recomputed only when one of the related offender
+	 * number values has changed since the last call (including values changed in place on the ParsedObjects).
+	 * @return an unmodifiable list of the related offender numbers
+	 */
 	public List<Integer> getDistinctValidRelatedOffenderNumberList() {
-		Set<Integer> relatedOffenderNumbers = new HashSet<>();
-		for (ParsedObject<Integer> po : getOffenderNumberRelated()) {
-			Integer value = po.getValue();
-			if (value != null) {
-				relatedOffenderNumbers.add(value);
+		DistinctOffenderNumbers ret = distinctOffenderNumbers;
+		if (ret == null || !ret.isCurrent(offenderNumberRelated)) {
+			ret = new DistinctOffenderNumbers(offenderNumberRelated);
+			distinctOffenderNumbers = ret;
+		}
+		return ret.offenderNumbers;
+	}
+	
+	/**
+	 * The distinct related offender numbers, along with the values they were computed from.
+	 */
+	private static final class DistinctOffenderNumbers {
+		
+		private final Integer[] values;
+		private final List<Integer> offenderNumbers;
+		
+		DistinctOffenderNumbers(ParsedObject<Integer>[] offenderNumberRelated) {
+			values = new Integer[offenderNumberRelated.length];
+			Set<Integer> relatedOffenderNumbers = new HashSet<>();
+			for (int i = 0; i < offenderNumberRelated.length; i++) {
+				Integer value = offenderNumberRelated[i].getValue();
+				values[i] = value;
+				if (value != null) {
+					relatedOffenderNumbers.add(value);
+				}
 			}
+			offenderNumbers = Collections.unmodifiableList(new ArrayList<>(relatedOffenderNumbers));
 		}
-		List<Integer> ret = new ArrayList<>();
-		ret.addAll(relatedOffenderNumbers);
-		return ret;
+		
+		boolean isCurrent(ParsedObject<Integer>[] offenderNumberRelated) {
+			if (values.length != offenderNumberRelated.length) {
+				return false;
+			}
+			for (int i = 0; i < values.length; i++) {
+				// identity comparison is intended: any value that has been replaced makes the cached list stale
+				if (values[i] != offenderNumberRelated[i].getValue()) {
+					return false;
+				}
+			}
+			return true;
+		}
+		
 	}
 
 	/**
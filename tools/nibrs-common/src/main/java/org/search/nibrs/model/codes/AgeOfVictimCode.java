@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 public enum AgeOfVictimCode {
@@ -44,17 +43,9 @@ public enum AgeOfVictimCode {
 	public String description;
 	
 	
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static Set<String> codeSet(){
-		
-		Set<String> rCodeSet = new HashSet<>();
-		
-		for(AgeOfVictimCode iAgeOfVictimCode : values()){
-			
-			String iCode = iAgeOfVictimCode.code;
-			
-			rCodeSet.add(iCode);
-		}
-		
-		return rCodeSet;
+		return CODE_SET;
 	}
 }
@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 public enum AggravatedAssaultHomicideCircumstancesCode {
@@ -53,15 +52,10 @@ public enum AggravatedAssaultHomicideCircumstancesCode {
 		this.description = description;
 	}
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static Set<String> codeSet(){
-	
-		Set<String> rCodeSet = new HashSet<String>();
-		
-		for(AggravatedAssaultHomicideCircumstancesCode assaultCode : values()){
-			
-			rCodeSet.add(assaultCode.code);
-		}
-		return rCodeSet;
+		return CODE_SET;
 	}
 	
 }
@@ -15,10 +15,8 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.Arrays;
 import java.util.EnumSet;
-import java.util.HashSet;
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -43,14 +41,13 @@ public enum ArresteeWasArmedWithCode {
 	public String code;
 	public String description;
 	
-	private static final List<ArresteeWasArmedWithCode> FIREARMS = Arrays.asList(new ArresteeWasArmedWithCode[] {_11, _12, _13, _14, _15});
+	private static final Set<ArresteeWasArmedWithCode> FIREARMS = EnumSet.of(_11, _12, _13, _14, _15);
 	
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+	private static final Map<String, ArresteeWasArmedWithCode> CODE_INDEX = CodeTables.codeIndex(values(), c -> c.code);
+
 	public static final Set<String> codeSet() {
-		Set<String> codeSet = new HashSet<>();
-		for (ArresteeWasArmedWithCode code : values()) {
-			codeSet.add(code.code);
-		}
-		return codeSet;
+		return CODE_SET;
 	}
 
 	public static final Set<ArresteeWasArmedWithCode> asSet() {
@@ -58,14 +55,7 @@ public enum ArresteeWasArmedWithCode {
 	}
 	
 	public static final ArresteeWasArmedWithCode forCode(String code) {
-		ArresteeWasArmedWithCode ret = null;
-		for(ArresteeWasArmedWithCode c : asSet()) {
-			if (c.code.equals(code)) {
-				ret = c;
-				break;
-			}
-		}
-		return ret;
+		return CODE_INDEX.get(code);
 	}
 
 	public boolean isFirearm() {
@@ -17,7 +17,7 @@ package org.search.nibrs.model.codes;
 
 import java.util.Arrays;
 import java.util.EnumSet;
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -76,19 +76,16 @@ public enum BiasMotivationCode {
 		return EnumSet.allOf(BiasMotivationCode.class);
 	}
 	
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+	private static final Set<String> NONE_OR_UNKNOWN_VALUE_CODE_SET = CodeTables.codeSet(EnumSet.of(_88, _99), c -> c.code);
+	private static final Map<String, BiasMotivationCode> CODE_INDEX = CodeTables.codeIndex(values(), c -> c.code);
+
 	public static final Set<String> codeSet() {
-		Set<String> ret = new HashSet<>();
-		for (BiasMotivationCode v : values()) {
-			ret.add(v.code);
-		}
-		return ret;
+		return CODE_SET;
 	}
 	
 	public static final Set<String> noneOrUnknownValueCodeSet() {
-		Set<String> ret = new HashSet<>();
-		ret.add(_88.code);
-		ret.add(_99.code);
-		return ret;
+		return NONE_OR_UNKNOWN_VALUE_CODE_SET;
 	}
 	
 	public static final BiasMotivationCode valueOfIepdCode(String iepdCode){
@@ -96,7 +93,7 @@ public enum BiasMotivationCode {
 	}
 
 	public static final BiasMotivationCode valueOfCode(String code){
-		return	Arrays.stream(BiasMotivationCode.values()).filter(i->i.code.equals(code)).findFirst().orElse(null); 
+		return CODE_INDEX.get(code);
 	}
 	
 }
@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 public enum ClearanceCode {
@@ -34,17 +33,9 @@ public enum ClearanceCode {
 		this.description = description;
 	}
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static Set<String> codeSet(){
-		
-		Set<String> rCodeSet = new HashSet<String>();
-		
-		for(ClearanceCode clearanceCode : values()){
-			
-			String iCode = clearanceCode.code;
-			
-			rCodeSet.add(iCode);
-		}
-		
-		return rCodeSet;
+		return CODE_SET;
 	}	
 }
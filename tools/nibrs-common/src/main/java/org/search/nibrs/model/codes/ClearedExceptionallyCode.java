@@ -16,7 +16,6 @@
 package org.search.nibrs.model.codes;
 
 import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -43,17 +42,15 @@ public enum ClearedExceptionallyCode {
 		return EnumSet.allOf(ClearedExceptionallyCode.class);
 	}
 	
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+	private static final Set<String> APPLICABLE_CODE_SET = CodeTables.codeSet(EnumSet.complementOf(EnumSet.of(N)), c -> c.code);
+
 	public static final Set<String> applicableCodeSet(){
-		Set<String> ret = codeSet();
-		ret.remove(ClearedExceptionallyCode.N.code);
-		return ret;
+		return APPLICABLE_CODE_SET;
 	}
+
 	public static final Set<String> codeSet() {
-		Set<String> ret = new HashSet<>();
-		for (ClearedExceptionallyCode v : values()) {
-			ret.add(v.code);
-		}
-		return ret;
+		return CODE_SET;
 	}
 
 }
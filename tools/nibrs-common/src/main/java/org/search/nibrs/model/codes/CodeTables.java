@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.model.codes;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Builds the immutable lookup tables that the code enums hold in static fields, so that code set and code lookups on the
+ * validation path neither allocate nor scan the enum values.
+ */
+final class CodeTables {
+	
+	private CodeTables() {
+	}
+	
+	/**
+	 * Create an unmodifiable set of the codes of the specified enum values.
+	 * @param values the enum values
+	 * @param codeFunction function that returns the code of an enum value
+	 * @return the code set
+	 */
+	static <E extends Enum<E>> Set<String> codeSet(E[] values, Function<E, String> codeFunction) {
+		Set<String> ret = new HashSet<>();
+		for (E value : values) {
+			ret.add(codeFunction.apply(value));
+		}
+		return Collections.unmodifiableSet(ret);
+	}
+	
+	/**
+	 * Create an unmodifiable set of the codes of the specified enum values.
+	 * @param values the enum values
+	 * @param codeFunction function that returns the code of an enum value
+	 * @return the code set
+	 */
+	static <E extends Enum<E>> Set<String> codeSet(Collection<E> values, Function<E, String> codeFunction) {
+		Set<String> ret = new HashSet<>();
+		for (E value : values) {
+			ret.add(codeFunction.apply(value));
+		}
+		return Collections.unmodifiableSet(ret);
+	}
+	
+	/**
+	 * Create an unmodifiable index of enum values by code.  When more than one value has the same code, the first one wins, which
+	 * matches the behavior of a linear search through values().
+	 * @param values the enum values
+	 * @param codeFunction function that returns the code of an enum value
+	 * @return the index
+	 */
+	static <E extends Enum<E>> Map<String, E> codeIndex(E[] values, Function<E, String> codeFunction) {
+		Map<String, E> ret = new HashMap<>();
+		for (E value : values) {
+			ret.putIfAbsent(codeFunction.apply(value), value);
+		}
+		return Collections.unmodifiableMap(ret);
+	}
+	
+}
@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -34,12 +33,10 @@ public enum DispositionOfArresteeUnder18Code {
 	public String code;
 	public String description;
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static Set<String> codeSet() {
-		Set<String> codeSet = new HashSet<String>();
-		for (DispositionOfArresteeUnder18Code code : values()) {
-			codeSet.add(code.code);
-		}
-		return codeSet;
+		return CODE_SET;
 	}
 
 }
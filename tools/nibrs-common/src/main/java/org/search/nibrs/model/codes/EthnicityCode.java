@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -35,11 +34,9 @@ public enum EthnicityCode {
 	public String code;
 	public String description;
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static Set<String> codeSet() {
-		Set<String> codeSet = new HashSet<String>();
-		for (EthnicityCode codeValue : values()) {
-			codeSet.add(codeValue.code);
-		}
-		return codeSet;
+		return CODE_SET;
 	}
 }
@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 
@@ -36,17 +35,9 @@ public enum EthnicityOfOffender {
 	
 	private String description;
 	
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static Set<String> codeSet(){
-		
-		Set<String> rCodeSet = new HashSet<String>();
-		
-		for(EthnicityOfOffender ethnicityOfOffender : values()){
-			
-			String iCode = ethnicityOfOffender.code;
-			
-			rCodeSet.add(iCode);
-		}
-		
-		return rCodeSet;
+		return CODE_SET;
 	}
 }
@@ -16,7 +16,6 @@
 package org.search.nibrs.model.codes;
 
 import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -39,12 +38,10 @@ public enum MethodOfEntryCode {
 		return EnumSet.allOf(MethodOfEntryCode.class);
 	}
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static final Set<String> codeSet() {
-		Set<String> ret = new HashSet<>();
-		for (MethodOfEntryCode v : values()) {
-			ret.add(v.code);
-		}
-		return ret;
+		return CODE_SET;
 	}
 
 
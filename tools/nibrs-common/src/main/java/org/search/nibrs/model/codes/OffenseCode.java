@@ -15,12 +15,10 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
-import java.util.regex.Pattern;
 
 /**
  * Enum for NIBRS OffenseSegment Codes.
@@ -109,34 +107,95 @@ public enum OffenseCode {
 		this.group = group;
 	}
 	
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+	private static final Map<String, OffenseCode> CODE_INDEX = CodeTables.codeIndex(values(), c -> c.code);
+	
+	private static final Set<OffenseCode> CRIMES_AGAINST_PERSON = EnumSet.of(_13A, _13B, _13C,
+			_09A, _09B, _09C, _64A, _64B, _100,
+			_11A, _11B, _11C, _11D, _36A,
+			_36B);
+	
+	private static final Set<OffenseCode> CRIMES_AGAINST_SOCIETY = EnumSet.of(_720,
+			_35A, _35B, _39A, _39B,
+			_39C, _39D, _370, _40A,
+			_40B, _40C, _520, _90A,
+			_90B, _90C, _90D, _90E,
+			_90F, _90G, _90H, _90J,
+			_90Z);
+	
+	private static final Set<OffenseCode> CRIMES_AGAINST_PROPERTY = EnumSet.of(_200,
+			_510, _220, _250,
+			_290, _270, _210,
+			_26A, _26B, _26C,
+			_26D, _26E, _26F,
+			_26G, _23A, _23B,
+			_23C, _23D, _23E,
+			_23F, _23G, _23H,
+			_240, _120, _280);
+	
+	private static final Set<OffenseCode> CRIMES_AGAINST_STOLEN_VEHICLE_PROPERTY = EnumSet.of(
+			_510, _220,
+			_270, _210,
+			_26A, _26B, _26C,
+			_26D, _26E, _26F,
+			_26G, _23A, _23B,
+			_23C, _23D, _23E,
+			_23F, _23G, _23H,
+			_240, _120);
+	
+	private static final Set<OffenseCode> CRIMES_ALLOWING_LOCATION_TYPE_CYBERSPACE = EnumSet.of(
+			_210, _250, _270,
+			_280, _290, _370,
+			_510, _26A, _26B,
+			_26C, _26D, _26E,
+			_26F, _26G, _39A,
+			_39B, _39C, _13C,
+			_35A, _35B, _520,
+			_64A, _64B, _40A,
+			_40B, _40C);
+	
+	private static final Set<OffenseCode> DRUG_NARCOTIC_OFFENSES = EnumSet.of(_35A, _35B);
+	
+	private static final Set<OffenseCode> AGGRAVATED_ASSAULT_HOMICIDE_CIRCUMSTANCES_OFFENSES = EnumSet.of(_09A, _09B, _09C, _13A);
+	
+	private static final Set<OffenseCode> CRIMES_REQUIRE_INCIDENT_HOUR = EnumSet.of(_09A, _13A, _13B, _13C);
+	
+	private static final Set<OffenseCode> GAMBLING_OFFENSES = EnumSet.of(_39A, _39B, _39C, _39D);
+	
+	private static final Set<OffenseCode> LARCENY_OFFENSES = EnumSet.of(_23A, _23B, _23C, _23D, _23E, _23F, _23G, _23H);
+	
+	private static final Set<OffenseCode> CRIMES_REQUIRE_PROPERTY_SEGMENT = EnumSet.of(_100);
+	
+	private static final Set<OffenseCode> OFFENSES_HAVING_ILLOGICAL_PROPERTY_DESCRIPTIONS = EnumSet.of(
+			_220, _240, _23A, _23B,
+			_23C, _23D, _23E,
+			_23F, _23G, _23H);
+	
+	static {
+		CRIMES_REQUIRE_PROPERTY_SEGMENT.addAll(CRIMES_AGAINST_PROPERTY);
+		CRIMES_REQUIRE_PROPERTY_SEGMENT.addAll(GAMBLING_OFFENSES);
+		CRIMES_REQUIRE_PROPERTY_SEGMENT.addAll(DRUG_NARCOTIC_OFFENSES);
+	}
+	
 	public static final Set<OffenseCode> asSet() {
 		return EnumSet.allOf(OffenseCode.class);
 	}
 
 	public static final Set<String> codeSet() {
-		Set<String> ret = new HashSet<>();
-		for (OffenseCode v : values()) {
-			ret.add(v.code);
-		}
-		return ret;
+		return CODE_SET;
 	}
 	
 	public static final OffenseCode forCode(String code) {
-		OffenseCode ret = null;
-		for(OffenseCode c : asSet()) {
-			if (c.code.equals(code)) {
-				ret = c;
-				break;
-			}
-		}
-		return ret;
+		return CODE_INDEX.get(code);
+	}
+	
+	private static boolean isMember(Set<OffenseCode> offenseCodes, String code) {
+		OffenseCode offenseCode = forCode(code);
+		return offenseCode != null && offenseCodes.contains(offenseCode);
 	}
 	
 	public static final boolean isCrimeAgainstPersonCode(String code) {
-		return Arrays.asList(_13A.code, _13B.code, _13C.code, 
-		_09A.code, _09B.code, _09C.code, _64A.code, _64B.code, _100.code,
-		_11A.code, _11B.code, _11C.code, _11D.code, _36A.code,
-		_36B.code).contains(code);
+		return isMember(CRIMES_AGAINST_PERSON, code);
 	}
 	
 	public static final boolean containsCrimeAgainstPersonCode(Collection<String> codes) {
@@ -144,13 +203,7 @@ public enum OffenseCode {
 	}
 
 	public static final boolean isCrimeAgainstSocietyCode(String code) {
-		return Arrays.asList(_720.code,
-		_35A.code, _35B.code, _39A.code, _39B.code,
-		_39C.code, _39D.code, _370.code, _40A.code,
-		_40B.code, _40C.code, _520.code, _90A.code, 
-		_90B.code, _90C.code, _90D.code, _90E.code,
-		_90F.code, _90G.code, _90H.code, _90J.code,
-		_90Z.code).contains(code);
+		return isMember(CRIMES_AGAINST_SOCIETY, code);
 	}
 	
 	public static final boolean containsCrimeAgainstSocietyCode(Collection<String> codes) {
@@ -158,51 +211,23 @@ public enum OffenseCode {
 	}
 
 	public static final boolean isCrimeAgainstPropertyCode(String code) {
-		return Arrays.asList(_200.code,
-				_510.code, _220.code, _250.code,
-				_290.code, _270.code, _210.code,
-				_26A.code, _26B.code, _26C.code,
-				_26D.code, _26E.code, _26F.code,
-				_26G.code, _23A.code, _23B.code,
-				_23C.code, _23D.code, _23E.code,
-				_23F.code, _23G.code, _23H.code,
-				_240.code, _120.code, _280.code					
-		).contains(code);
+		return isMember(CRIMES_AGAINST_PROPERTY, code);
 	}
 	
 	public static final boolean isCrimeAgainstStolenVehiclePropertyCode(String code) {
-		return Arrays.asList(
-				_510.code, _220.code, 
-				_270.code, _210.code,
-				_26A.code, _26B.code, _26C.code,
-				_26D.code, _26E.code, _26F.code,
-				_26G.code, _23A.code, _23B.code,
-				_23C.code, _23D.code, _23E.code,
-				_23F.code, _23G.code, _23H.code,
-				_240.code, _120.code					
-				).contains(code);
+		return isMember(CRIMES_AGAINST_STOLEN_VEHICLE_PROPERTY, code);
 	}
 	
 	public static final boolean isCrimeAllowingLocationTypeCyberspace(String code) {
-		return Arrays.asList(
-				_210.code, _250.code, _270.code, 
-				_280.code, _290.code, _370.code,  
-				_510.code, _26A.code, _26B.code,  
-				_26C.code, _26D.code, _26E.code, 
-				_26F.code, _26G.code, _39A.code, 
-				_39B.code, _39C.code, _13C.code, 
-				_35A.code, _35B.code, _520.code, 
-				_64A.code, _64B.code, _40A.code,  
-				_40B.code, _40C.code					
-				).contains(code);
+		return isMember(CRIMES_ALLOWING_LOCATION_TYPE_CYBERSPACE, code);
 	}
 	
 	public static final boolean isDrugNarcoticOffense(String code) {
-		return Arrays.asList(_35A.code, _35B.code).contains(code);
+		return isMember(DRUG_NARCOTIC_OFFENSES, code);
 	}
 	
 	public static final boolean isAggravatedAssaultHomicideCircumstancesOffense(String code) {
-		return Arrays.asList(_09A.code, _09B.code, _09C.code, _13A.code).contains(code);
+		return isMember(AGGRAVATED_ASSAULT_HOMICIDE_CIRCUMSTANCES_OFFENSES, code);
 	}
 	
 	public static final boolean containsCrimeAgainstPropertyCode(Collection<String> codes) {
@@ -214,30 +239,23 @@ public enum OffenseCode {
 	}
 	
 	public static final boolean isCrimeRequirePropertySegement(String code) {
-		return isCrimeAgainstPropertyCode(code)
-				|| _100.code.equals(code)
-				|| isGamblingOffenseCode(code)
-				|| isDrugNarcoticOffense(code);
+		return isMember(CRIMES_REQUIRE_PROPERTY_SEGMENT, code);
 	}
 	
 	public static final boolean isCrimeRequireIncidentHour(String code) {
-		return Arrays.asList(_09A.code, _13A.code, _13B.code, _13C.code).contains(code);
+		return isMember(CRIMES_REQUIRE_INCIDENT_HOUR, code);
 	}
 	
 	public static final boolean isGamblingOffenseCode(String code) {
-		return codeMatchesRegex(code, "39[ABCD]");
+		return isMember(GAMBLING_OFFENSES, code);
 	}
 
-	private static boolean codeMatchesRegex(String code, String regex) {
-		return code!= null && Pattern.compile(regex).matcher(code).matches();
-	}
-	
 	public static final boolean containsGamblingOffenseCode(Collection<String> codes) {
 		return codes.stream().anyMatch(code -> isGamblingOffenseCode(code));
 	}
 
 	public static final boolean isLarcenyOffenseCode(String code) {
-		return codeMatchesRegex(code, "23[ABCDEFGH]");
+		return isMember(LARCENY_OFFENSES, code);
 	}
 	
 	public static final boolean containsLarcenyOffenseCode(Collection<String> codes) {
@@ -245,12 +263,7 @@ public enum OffenseCode {
 	}
 	
 	public static final boolean isOffenseHavingIllogicalPropertyDescriptions(String code){
-		return Arrays.asList(
-				_220.code, _240.code, _23A.code, _23B.code,
-				_23C.code, _23D.code, _23E.code,
-				_23F.code, _23G.code, _23H.code
-		).contains(code);
-
+		return isMember(OFFENSES_HAVING_ILLOGICAL_PROPERTY_DESCRIPTIONS, code);
 	}
 
 }
\ No newline at end of file
@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 public enum OfficerAssignmentType {
@@ -39,18 +38,10 @@ public enum OfficerAssignmentType {
 		this.description = description;
 	}
 		
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static Set<String> codeSet(){
-		
-		Set<String> rCodeSet = new HashSet<>();
-		
-		for(OfficerAssignmentType officerAssignmentType : values()){
-			
-			String iCode = officerAssignmentType.code;
-			
-			rCodeSet.add(iCode);
-		}
-		
-		return rCodeSet;		
+		return CODE_SET;
 	}	
 
 }
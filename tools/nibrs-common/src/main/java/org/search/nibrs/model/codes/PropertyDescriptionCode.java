@@ -19,8 +19,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringUtils;
@@ -314,17 +314,17 @@ public enum PropertyDescriptionCode {
 		return EnumSet.allOf(PropertyDescriptionCode.class);
 	}
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+	private static final Map<String, PropertyDescriptionCode> CODE_INDEX = CodeTables.codeIndex(values(), c -> c.code);
+	private static final Set<PropertyDescriptionCode> MOTOR_VEHICLES = EnumSet.of(_03, _05, _24, _28, _37);
+
 	public static final Set<String> codeSet() {
-		Set<String> ret = new HashSet<>();
-		for (PropertyDescriptionCode v : values()) {
-			ret.add(v.code);
-		}
-		return ret;
+		return CODE_SET;
 	}
 	
 	public static final boolean isMotorVehicleCode(String code) {
-		return Arrays.asList(_03.code, _05.code, 
-				_24.code, _28.code, _37.code ).contains(code);
+		PropertyDescriptionCode propertyDescriptionCode = CODE_INDEX.get(code);
+		return propertyDescriptionCode != null && MOTOR_VEHICLES.contains(propertyDescriptionCode);
 	}
 	
 	public static final boolean containsMotorVehicleCode(Collection<String> codes) {
@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 public enum RaceOfArresteeCode {
@@ -38,15 +37,10 @@ public enum RaceOfArresteeCode {
 		this.description = description;
 	}
 	
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static final Set<String> codeSet() {
-		
-		Set<String> rCodeSet = new HashSet<>();
-		
-		for(RaceOfArresteeCode v : values()) {
-			
-			rCodeSet.add(v.code);
-		}		
-		return rCodeSet;
+		return CODE_SET;
 	}		
 
 }
@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -35,12 +34,10 @@ public enum ResidentStatusCode {
 	public String code;
 	public String description;
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static Set<String> codeSet() {
-		Set<String> codeSet = new HashSet<String>();
-		for (ResidentStatusCode codeValue : values()) {
-			codeSet.add(codeValue.code);
-		}
-		return codeSet;
+		return CODE_SET;
 	}
 	
 }
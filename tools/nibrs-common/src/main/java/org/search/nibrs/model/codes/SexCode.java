@@ -15,7 +15,7 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
+import java.util.EnumSet;
 import java.util.Set;
 
 /**
@@ -35,17 +35,14 @@ public enum SexCode {
 	public String code;
 	public String description;
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+	private static final Set<String> KNOWN_CODE_SET = CodeTables.codeSet(EnumSet.complementOf(EnumSet.of(U)), c -> c.code);
+
 	public static Set<String> codeSet() {
-		Set<String> codeSet = new HashSet<String>();
-		for(SexCode codeValue : values()){
-			codeSet.add(codeValue.code);
-		}
-		return codeSet;
+		return CODE_SET;
 	}
 	
 	public static Set<String> knownCodeSet(){
-		Set<String> codeSet =  codeSet(); 
-		codeSet.remove(SexCode.U.code); 
-		return codeSet; 
+		return KNOWN_CODE_SET;
 	}
 }
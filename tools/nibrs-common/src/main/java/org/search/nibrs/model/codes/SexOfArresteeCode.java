@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 public enum SexOfArresteeCode {
@@ -35,15 +34,9 @@ public enum SexOfArresteeCode {
 	}
 	
 	
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static final Set<String> codeSet() {
-		
-		Set<String> rCodeSet = new HashSet<>();
-		
-		for (SexOfArresteeCode v : values()) {
-			
-			rCodeSet.add(v.code);
-		}
-		
-		return rCodeSet;
+		return CODE_SET;
 	}
 }
@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 public enum TypeInjuryCode {
@@ -40,18 +39,10 @@ public enum TypeInjuryCode {
 	
 	public String description;
 	
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static Set<String> codeSet(){
-		
-		Set<String> rCodeSet = new HashSet<>();
-		
-		for(TypeInjuryCode iCircsCode : values()){
-			
-			String sCode = iCircsCode.code;
-			
-			rCodeSet.add(sCode);
-		}
-		
-		return rCodeSet;
+		return CODE_SET;
 	}	
 	
 }
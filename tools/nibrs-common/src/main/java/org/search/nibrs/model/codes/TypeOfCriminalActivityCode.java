@@ -17,7 +17,6 @@ package org.search.nibrs.model.codes;
 
 import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -53,12 +52,10 @@ public enum TypeOfCriminalActivityCode {
 		return EnumSet.allOf(TypeOfCriminalActivityCode.class);
 	}
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static final Set<String> codeSet() {
-		Set<String> ret = new HashSet<>();
-		for (TypeOfCriminalActivityCode v : values()) {
-			ret.add(v.code);
-		}
-		return ret;
+		return CODE_SET;
 	}
 	
 	public static final Set<String> noneOrUnknownValueCodeSet() {
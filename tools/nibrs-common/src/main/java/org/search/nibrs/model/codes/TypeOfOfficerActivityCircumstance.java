@@ -15,7 +15,6 @@
  */
 package org.search.nibrs.model.codes;
 
-import java.util.HashSet;
 import java.util.Set;
 
 public enum TypeOfOfficerActivityCircumstance {
@@ -43,17 +42,9 @@ public enum TypeOfOfficerActivityCircumstance {
 		this.description = description;
 	}
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static Set<String> codeSet(){
-		
-		Set<String> rCodeSet = new HashSet<>();
-		
-		for(TypeOfOfficerActivityCircumstance iTypeOfOfficerActivityCircumstance : values()){
-			
-			String iCode = iTypeOfOfficerActivityCircumstance.code;
-			
-			rCodeSet.add(iCode);
-		}
-		
-		return rCodeSet;		
+		return CODE_SET;
 	}
 }
@@ -17,7 +17,7 @@ package org.search.nibrs.model.codes;
 
 import java.util.Arrays;
 import java.util.EnumSet;
-import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -72,30 +72,21 @@ public enum TypeOfPropertyLossCode {
 		return EnumSet.allOf(TypeOfPropertyLossCode.class);
 	}
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+	private static final Set<String> NONE_OR_UNKNOWN_VALUE_CODE_SET = CodeTables.codeSet(EnumSet.of(_1, _8), c -> c.code);
+	private static final Set<String> REQUIRE_PROPERTY_DESCRIPTION_VALUE_CODE_SET = CodeTables.codeSet(EnumSet.of(_2, _3, _4, _5, _6, _7), c -> c.code);
+	private static final Map<String, TypeOfPropertyLossCode> CODE_INDEX = CodeTables.codeIndex(values(), c -> c.code);
+
 	public static final Set<String> codeSet() {
-		Set<String> ret = new HashSet<>();
-		for (TypeOfPropertyLossCode v : values()) {
-			ret.add(v.code);
-		}
-		return ret;
+		return CODE_SET;
 	}
 
 	public static final Set<String> noneOrUnknownValueCodeSet() {
-		Set<String> ret = new HashSet<>();
-		ret.add(_1.code);
-		ret.add(_8.code);
-		return ret;
+		return NONE_OR_UNKNOWN_VALUE_CODE_SET;
 	}
 
 	public static final Set<String> requirePropertyDescriptionValueCodeSet() {
-		Set<String> ret = new HashSet<>();
-		ret.add(_2.code);
-		ret.add(_3.code);
-		ret.add(_4.code);
-		ret.add(_5.code);
-		ret.add(_6.code);
-		ret.add(_7.code);
-		return ret;
+		return REQUIRE_PROPERTY_DESCRIPTION_VALUE_CODE_SET;
 	}
 
 	public String getIepdCode() {
@@ -111,7 +102,7 @@ public enum TypeOfPropertyLossCode {
 	}
 
 	public static final TypeOfPropertyLossCode valueOfCode(String code){
-		return	Arrays.stream(TypeOfPropertyLossCode.values()).filter(i->i.code.equals(code)).findFirst().orElse(null); 
+		return CODE_INDEX.get(code);
 	}
 	
 	
@@ -15,8 +15,8 @@
  */
 package org.search.nibrs.model.codes;
 
+import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -54,18 +54,14 @@ public enum TypeOfWeaponForceCode {
 		return EnumSet.allOf(TypeOfWeaponForceCode.class);
 	}
 
+	private static final Set<String> CODE_SET = CodeTables.codeSet(values(), c -> c.code);
+
 	public static final Set<String> codeSet() {
-		Set<String> ret = new HashSet<>();
-		for (TypeOfWeaponForceCode v : values()) {
-			ret.add(v.code);
-		}
-		return ret;
+		return CODE_SET;
 	}
 
 	public static final Set<String> noneValueCodeSet() {
-		Set<String> ret = new HashSet<>();
-		ret.add(_99.code);
-		return ret;
+		return Collections.singleton(_99.code);
 	}
 
 }
@@ -24,6 +24,8 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.parsers.DocumentBuilder;
@@ -32,6 +34,8 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
@@ -60,8 +64,22 @@ import org.xml.sax.SAXException;
 public class XmlUtils {
 	
 	private static final NamespaceContext NAMESPACE_CONTEXT = new NibrsNamespaceContext();
+	private static final int XPATH_CACHE_SIZE = 1024;
+	private static final ThreadLocal<XPathCache> XPATH_CACHE = ThreadLocal.withInitial(XPathCache::new);
+	private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = createNamespaceAwareFactory();
+	private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<>();
+	private static final ThreadLocal<DocumentBuilder> DTD_IGNORING_DOCUMENT_BUILDER = new ThreadLocal<>();
+	private static volatile DocumentBuilderFactory dtdIgnoringFactory;
+	private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+	private static final ThreadLocal<Transformer> TRANSFORMER = new ThreadLocal<>();
 	private static final Log log = LogFactory.getLog(XmlUtils.class);;
 
+	private static DocumentBuilderFactory createNamespaceAwareFactory() {
+		DocumentBuilderFactory ret = DocumentBuilderFactory.newInstance();
+		ret.setNamespaceAware(true);
+		return ret;
+	}
+
 	/**
 	 * Create a new element as a child of the specified parent and append it.  Use the specified namespace context to set the element's namespace prefix
 	 * explicitly.
@@ -98,9 +116,7 @@ public class XmlUtils {
 	 * @throws ParserConfigurationException
 	 */
 	public static final Document createNewDocument() throws ParserConfigurationException {
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		factory.setNamespaceAware(true);
-		return factory.newDocumentBuilder().newDocument();
+		return getDocumentBuilder().newDocument();
 	}
 	
 	/**
@@ -111,9 +127,18 @@ public class XmlUtils {
      * @throws Exception
      */
     public static void printNode(Node n, OutputStream os) throws Exception {
-        TransformerFactory tf = TransformerFactory.newInstance();
-        Transformer t = setupTransformerOptions(tf.newTransformer());
-        t.transform(new DOMSource(n), new StreamResult(os));
+        writeNode(n, os);
+    }
+    
+    /**
+     * Write the specified XML DOM node to the specified output stream, UTF-8 encoded and formatted as by nodeToString.  The stream is not closed.
+     * 
+     * @param node the node to write
+     * @param os the output stream to write to
+     * @throws TransformerException if the node cannot be written
+     */
+    public static final void writeNode(Node node, OutputStream os) throws TransformerException {
+        getTransformer().transform(new DOMSource(node), new StreamResult(os));
     }
     
     /**
@@ -134,9 +159,7 @@ public class XmlUtils {
      * @throws Exception
      */
     public static final Document toDocument(File f) throws Exception {
-        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        return dbf.newDocumentBuilder().parse(f);
+        return getDocumentBuilder().parse(f);
     }    
     
     /**
@@ -146,9 +169,7 @@ public class XmlUtils {
      * @throws Exception
      */
     public static final Document toDocument(String xml) throws Exception {
-        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        dbf.setNamespaceAware(true);
-        return dbf.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+        return getDocumentBuilder().parse(new InputSource(new StringReader(xml)));
     }	
     
     /**
@@ -159,12 +180,74 @@ public class XmlUtils {
      */
     public static final String nodeToString(Node node) throws Exception {
     	StringWriter writer = new StringWriter();
-    	Transformer transformer = TransformerFactory.newInstance().newTransformer();
-    	setupTransformerOptions(transformer);
-    	transformer.transform(new DOMSource(node), new StreamResult(writer));
+    	getTransformer().transform(new DOMSource(node), new StreamResult(writer));
     	return writer.toString();
     }
     
+    /**
+     * Get this thread's namespace-aware document builder, reset to its initial configuration.  Builders are not thread-safe, so one is kept
+     * per thread rather than created (with a factory lookup) on every call.
+     */
+    private static final DocumentBuilder getDocumentBuilder() throws ParserConfigurationException {
+    	return getDocumentBuilder(DOCUMENT_BUILDER, DOCUMENT_BUILDER_FACTORY);
+    }
+    
+    private static final DocumentBuilder getDocumentBuilder(ThreadLocal<DocumentBuilder> documentBuilders, DocumentBuilderFactory factory) 
+    		throws ParserConfigurationException {
+    	DocumentBuilder ret = documentBuilders.get();
+    	if (ret == null) {
+    		// factories are not thread-safe
+    		synchronized (factory) {
+    			ret = factory.newDocumentBuilder();
+    		}
+    		documentBuilders.set(ret);
+    	} else {
+    		ret.reset();
+    	}
+    	return ret;
+    }
+    
+    /**
+     * Get this thread's transformer, reset and set up with the output options of this class.
+     */
+    private static final Transformer getTransformer() throws TransformerConfigurationException {
+    	Transformer ret = TRANSFORMER.get();
+    	if (ret == null) {
+    		synchronized (TRANSFORMER_FACTORY) {
+    			ret = TRANSFORMER_FACTORY.newTransformer();
+    		}
+    		TRANSFORMER.set(ret);
+    	} else {
+    		ret.reset();
+    	}
+    	return setupTransformerOptions(ret);
+    }
+    
+    /**
+     * Compile the specified xpath, resolving prefixes against the NIBRS namespace context.  Compiled expressions are cached per thread, so the
+     * returned expression must not be shared with other threads.
+     * 
+     * @param xPath the xpath query
+     * @return the compiled expression
+     * @throws XPathExpressionException if the xpath is invalid
+     */
+    public static final XPathExpression compileXPath(String xPath) throws XPathExpressionException {
+        return compileXPath(xPath, NAMESPACE_CONTEXT);
+    }
+    
+    /**
+     * Compile the specified xpath, resolving prefixes against the specified namespace context.  Compiled expressions are cached per thread, keyed
+     * by the xpath and the namespace context, so the returned expression must not be shared with other threads.
+     * 
+     * @param xPath the xpath query
+     * @param namespaceContext the context that resolves the prefixes in the xpath
+     * @return the compiled expression
+     * @throws XPathExpressionException if the xpath is invalid
+     */
+    public static final XPathExpression compileXPath(String xPath, NamespaceContext namespaceContext) throws XPathExpressionException {
+        return XPATH_CACHE.get().compile(xPath, namespaceContext);
+    }
+
     /**
      * Search the context node for a node that matches the specified xpath
      * 
@@ -180,9 +263,23 @@ public class XmlUtils {
         }
         
         try{
-	        XPath xpath = XPathFactory.newInstance().newXPath();
-	        xpath.setNamespaceContext(NAMESPACE_CONTEXT);
-	        XPathExpression expression = xpath.compile(xPath);
+	        return xPathNodeSearch(context, compileXPath(xPath));
+        }
+        catch (Exception e){
+        	log.warn(e);
+        	return null; 
+        }
+    }
+
+    /**
+     * Search the context node for a node that matches the specified precompiled xpath
+     * 
+     * @param context the node that's the context for the xpath
+     * @param expression the compiled xpath query
+     * @return the matching object, or null if no match
+     */
+    public static final Node xPathNodeSearch(Node context, XPathExpression expression){
+        try{
 	        return (Node) expression.evaluate(context, XPathConstants.NODE);
         }
         catch (Exception e){
@@ -204,12 +301,25 @@ public class XmlUtils {
             return null;
         }
         
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        xpath.setNamespaceContext(NAMESPACE_CONTEXT);
-        XPathExpression expression;
+		try {
+			return xPathStringSearch(context, compileXPath(xPath));
+		} catch (XPathExpressionException e) {
+			log.warn(e);
+		}
+        return null;
+        
+    }    
+    
+    /**
+     * Search the context node for a String that matches the specified precompiled xpath
+     * @param context the node that's the context for the xpath
+     * @param expression the compiled xpath query
+     * @return the matching string, or null if no match
+     */
+    public static final String xPathStringSearch(Node context, XPathExpression expression){
+    	
         String value = null;
 		try {
-			expression = xpath.compile(xPath);
 			value = (String) expression.evaluate(context, XPathConstants.STRING);
 		} catch (XPathExpressionException e) {
 			log.warn(e);
@@ -231,12 +341,26 @@ public class XmlUtils {
             return null;
         }
         
-        XPath xpath = XPathFactory.newInstance().newXPath();
-        xpath.setNamespaceContext(NAMESPACE_CONTEXT);
-        XPathExpression expression;
+		try {
+			return xPathNodeListSearch(context, compileXPath(xPath));
+		} catch (XPathExpressionException e) {
+			log.warn(e);
+		}
+        		
+        return null;
+
+    }
+    
+    /**
+     * Search the context node for a node set that matches the specified precompiled xpath
+     * @param context the node that's the context for the xpath
+     * @param expression the compiled xpath query
+     * @return the matching node, or null if no match
+     */
+    public static final NodeList xPathNodeListSearch(Node context, XPathExpression expression){
+    	
         NodeList result = null;
 		try {
-			expression = xpath.compile(xPath);
 			result = (NodeList) expression.evaluate(context, XPathConstants.NODESET);
 		} catch (XPathExpressionException e) {
 			log.warn(e);
@@ -246,6 +370,64 @@ public class XmlUtils {
 
     }
     
+    /**
+     * Per-thread cache of compiled xpath expressions.  Expressions that embed ids or values make the set of distinct xpaths open-ended, so the
+     * least recently used expressions are evicted once the cache is full.
+     */
+    private static final class XPathCache extends LinkedHashMap<XPathCacheKey, XPathExpression> {
+    	
+		private static final long serialVersionUID = 1L;
+		
+		private final XPath xpath = XPathFactory.newInstance().newXPath();
+    	
+    	XPathCache() {
+    		super(16, .75f, true);
+    	}
+    	
+    	XPathExpression compile(String xPath, NamespaceContext namespaceContext) throws XPathExpressionException {
+    		XPathCacheKey key = new XPathCacheKey(xPath, namespaceContext);
+    		XPathExpression ret = get(key);
+    		if (ret == null) {
+    			xpath.setNamespaceContext(namespaceContext);
+    			ret = xpath.compile(xPath);
+    			put(key, ret);
+    		}
+    		return ret;
+    	}
+    	
+    	@Override
+    	protected boolean removeEldestEntry(Map.Entry<XPathCacheKey, XPathExpression> eldest) {
+    		return size() > XPATH_CACHE_SIZE;
+    	}
+    	
+    }
+    
+    private static final class XPathCacheKey {
+    	
+    	private final String xPath;
+    	private final NamespaceContext namespaceContext;
+    	
+    	XPathCacheKey(String xPath, NamespaceContext namespaceContext) {
+    		this.xPath = xPath;
+    		this.namespaceContext = namespaceContext;
+    	}
+    	
+    	@Override
+    	public int hashCode() {
+    		return 31 * xPath.hashCode() + System.identityHashCode(namespaceContext);
+    	}
+    	
+    	@Override
+    	public boolean equals(Object obj) {
+    		if (!(obj instanceof XPathCacheKey)) {
+    			return false;
+    		}
+    		XPathCacheKey other = (XPathCacheKey) obj;
+    		return xPath.equals(other.xPath) && namespaceContext == other.namespaceContext;
+    	}
+    	
+    }
+    
     private static final Transformer setupTransformerOptions(Transformer t) {
         t.setOutputProperty(OutputKeys.INDENT, "yes");
         t.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
@@ -357,11 +539,7 @@ public class XmlUtils {
      * @throws Exception
      */
     public static final Document parseFileToDocument(File f) throws Exception {
-        DocumentBuilderFactory docBuilderFact = DocumentBuilderFactory.newInstance();
-        docBuilderFact.setNamespaceAware(true);
-        DocumentBuilder docBuilder = docBuilderFact.newDocumentBuilder();
-        Document document = docBuilder.parse(f);
-        return document;
+        return getDocumentBuilder().parse(f);
     }
     
     public static Source getDomSourceIgnoringDtd(String xmlContents) throws ParserConfigurationException, SAXException, IOException {
@@ -386,16 +564,7 @@ public class XmlUtils {
 	public static Source getDomSourceIgnoringDtd(InputStream inputStream) throws ParserConfigurationException, 
 		SAXException, IOException {		
 		
-		DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-		
-		// stop the loading of DTD files
-		factory.setValidating(false);
-		factory.setNamespaceAware(true);
-		factory.setFeature("http://xml.org/sax/features/validation", false);
-		factory.setFeature("http://apache.org/xml/features/nonvalidating/load-dtd-grammar", false);
-		factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-		
-		DocumentBuilder docbuilder = factory.newDocumentBuilder();
+		DocumentBuilder docbuilder = getDocumentBuilder(DTD_IGNORING_DOCUMENT_BUILDER, getDtdIgnoringFactory());
 						
 		Document doc = docbuilder.parse(inputStream);
 		
@@ -403,6 +572,27 @@ public class XmlUtils {
 		
 		return domSource;
 	}
+	
+	private static DocumentBuilderFactory getDtdIgnoringFactory() throws ParserConfigurationException {
+		
+		if (dtdIgnoringFactory == null) {
+			
+			DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+			
+			// stop the loading of DTD files
+			factory.setValidating(false);
+			factory.setNamespaceAware(true);
+			factory.setFeature("http://xml.org/sax/features/validation", false);
+			factory.setFeature("http://apache.org/xml/features/nonvalidating/load-dtd-grammar", false);
+			factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+			
+			dtdIgnoringFactory = factory;
+			
+		}
+		
+		return dtdIgnoringFactory;
+		
+	}
     
 }
 
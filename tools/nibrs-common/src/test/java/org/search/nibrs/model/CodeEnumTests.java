@@ -23,6 +23,8 @@ import java.util.Set;
 import org.junit.Test;
 import org.search.nibrs.model.codes.ArresteeWasArmedWithCode;
 import org.search.nibrs.model.codes.OffenseCode;
+import org.search.nibrs.model.codes.PropertyDescriptionCode;
+import org.search.nibrs.model.codes.SexCode;
 
 public class CodeEnumTests {
 	
@@ -45,4 +47,56 @@ public class CodeEnumTests {
 		assertFalse(OffenseCode.containsGamblingOffenseCode(codes));
 	}
 
+	@Test
+	public void testOffenseCodeLookup() {
+		for (OffenseCode offenseCode : OffenseCode.values()) {
+			assertEquals(offenseCode, OffenseCode.forCode(offenseCode.code));
+			assertTrue(OffenseCode.codeSet().contains(offenseCode.code));
+		}
+		assertNull(OffenseCode.forCode(null));
+		assertNull(OffenseCode.forCode("999"));
+		assertEquals(OffenseCode.values().length, OffenseCode.codeSet().size());
+	}
+	
+	@Test
+	public void testOffenseCodeClassification() {
+		for (OffenseCode offenseCode : OffenseCode.values()) {
+			String code = offenseCode.code;
+			assertEquals(code.matches("39[ABCD]"), OffenseCode.isGamblingOffenseCode(code));
+			assertEquals(code.matches("23[ABCDEFGH]"), OffenseCode.isLarcenyOffenseCode(code));
+			assertEquals(OffenseCode.isCrimeAgainstPropertyCode(code) || OffenseCode._100 == offenseCode 
+					|| OffenseCode.isGamblingOffenseCode(code) || OffenseCode.isDrugNarcoticOffense(code), 
+					OffenseCode.isCrimeRequirePropertySegement(code));
+		}
+		assertTrue(OffenseCode.isCrimeRequireIncidentHour(OffenseCode._09A.code));
+		assertFalse(OffenseCode.isCrimeRequireIncidentHour(OffenseCode._09B.code));
+		assertTrue(OffenseCode.isCrimeAgainstPersonCode(OffenseCode._13B.code));
+		assertFalse(OffenseCode.isCrimeAgainstPersonCode(OffenseCode._200.code));
+		assertFalse(OffenseCode.isCrimeAgainstPersonCode(null));
+		assertFalse(OffenseCode.isGamblingOffenseCode(null));
+		assertFalse(OffenseCode.isLarcenyOffenseCode("23Z"));
+	}
+	
+	@Test
+	public void testCodeSetsAreShared() {
+		assertSame(OffenseCode.codeSet(), OffenseCode.codeSet());
+		assertSame(SexCode.knownCodeSet(), SexCode.knownCodeSet());
+		assertFalse(SexCode.knownCodeSet().contains(SexCode.U.code));
+		assertEquals(SexCode.codeSet().size() - 1, SexCode.knownCodeSet().size());
+		try {
+			OffenseCode.codeSet().remove(OffenseCode._200.code);
+			fail("Code set should be unmodifiable");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		assertTrue(OffenseCode.codeSet().contains(OffenseCode._200.code));
+	}
+	
+	@Test
+	public void testMotorVehicleCode() {
+		assertTrue(PropertyDescriptionCode.isMotorVehicleCode(PropertyDescriptionCode._03.code));
+		assertFalse(PropertyDescriptionCode.isMotorVehicleCode(PropertyDescriptionCode._01.code));
+		assertFalse(PropertyDescriptionCode.isMotorVehicleCode(null));
+	}
+
 }
@@ -77,4 +77,59 @@ public class GroupAIncidentReportTest {
 		assertTrue(incident.getOffendersOfVictim(vs4).isEmpty());
 	}
 
+	@Test
+	public void testOffenderForSequenceNumber() {
+		assertSame(os2, incident.getOffenderForSequenceNumber(2));
+		assertNull(incident.getOffenderForSequenceNumber(4));
+		assertNull(incident.getOffenderForSequenceNumber(null));
+		OffenderSegment os4 = new OffenderSegment();
+		os4.setOffenderSequenceNumber(new ParsedObject<>(4));
+		incident.addOffender(os4);
+		assertSame(os4, incident.getOffenderForSequenceNumber(4));
+		os4.setOffenderSequenceNumber(new ParsedObject<>(5));
+		assertNull(incident.getOffenderForSequenceNumber(4));
+		assertSame(os4, incident.getOffenderForSequenceNumber(5));
+		os4.getOffenderSequenceNumber().setValue(6);
+		assertNull(incident.getOffenderForSequenceNumber(5));
+		assertSame(os4, incident.getOffenderForSequenceNumber(6));
+		incident.removeOffender(3);
+		assertNull(incident.getOffenderForSequenceNumber(6));
+	}
+
+	@Test
+	public void testVictimsOfOffenderAfterChanges() {
+		assertEquals(2, incident.getVictimsOfOffender(os2).size());
+		vs4.setOffenderNumberRelated(0, new ParsedObject<>(2));
+		List<VictimSegment> victims = incident.getVictimsOfOffender(os2);
+		assertEquals(3, victims.size());
+		assertSame(vs1, victims.get(0));
+		assertSame(vs3, victims.get(1));
+		assertSame(vs4, victims.get(2));
+		incident.removeVictim(0);
+		assertFalse(incident.getVictimsOfOffender(os2).contains(vs1));
+		assertTrue(incident.getVictimsOfOffender(null).isEmpty());
+	}
+
+	@Test
+	public void testVictimsOfOffenderAfterChangesInPlace() {
+		assertEquals(2, incident.getVictimsOfOffender(os2).size());
+		vs4.getOffenderNumberRelated(0).setValue(2);
+		assertTrue(incident.getVictimsOfOffender(os2).contains(vs4));
+		vs1.getOffenderNumberRelated(1).setValue(3);
+		assertFalse(incident.getVictimsOfOffender(os2).contains(vs1));
+	}
+
+	@Test
+	public void testDistinctValidRelatedOffenderNumbers() {
+		List<Integer> offenderNumbers = vs1.getDistinctValidRelatedOffenderNumberList();
+		assertEquals(2, offenderNumbers.size());
+		assertSame(offenderNumbers, vs1.getDistinctValidRelatedOffenderNumberList());
+		vs1.getOffenderNumberRelated(1).setValue(3);
+		offenderNumbers = vs1.getDistinctValidRelatedOffenderNumberList();
+		assertTrue(offenderNumbers.contains(3));
+		assertFalse(offenderNumbers.contains(2));
+		vs1.setOffenderNumberRelated(1, new ParsedObject<>(1));
+		assertEquals(1, vs1.getDistinctValidRelatedOffenderNumberList().size());
+	}
+
 }
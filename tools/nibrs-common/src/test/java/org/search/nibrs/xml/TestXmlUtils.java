@@ -17,12 +17,24 @@ package org.search.nibrs.xml;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.xml.xpath.XPathExpression;
 
 import org.junit.Test;
+import org.search.nibrs.util.MapNamespaceContext;
 import org.search.nibrs.xml.NibrsNamespaceContext.Namespace;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
 
 public class TestXmlUtils {
 	
@@ -42,4 +54,82 @@ public class TestXmlUtils {
 		assertNotNull(c2);
 	}
 
+	@Test
+	public void testCompiledXPathCache() throws Exception {
+		
+		String xPath = "/" + Namespace.NIBRS.prefix + ":child1";
+		XPathExpression expression = XmlUtils.compileXPath(xPath);
+		assertSame(expression, XmlUtils.compileXPath(xPath));
+		assertNotSame(expression, XmlUtils.compileXPath(xPath + "/" + Namespace.NIBRS.prefix + ":child2"));
+		
+		MapNamespaceContext namespaceContext = new MapNamespaceContext();
+		namespaceContext.add(Namespace.NIBRS.prefix, Namespace.NIBRS.uri);
+		assertNotSame(expression, XmlUtils.compileXPath(xPath, namespaceContext));
+		
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			assertNotSame(expression, executor.submit(() -> XmlUtils.compileXPath(xPath)).get());
+		} finally {
+			executor.shutdown();
+		}
+		
+	}
+
+	@Test
+	public void testPrecompiledSearch() throws Exception {
+		
+		Document d = XmlUtils.createNewDocument();
+		Element child1 = XmlUtils.appendChildElement(d, Namespace.NIBRS, "child1");
+		XmlUtils.appendChildElement(child1, Namespace.NIBRS, "child2").setTextContent(" value ");
+		XmlUtils.appendChildElement(child1, Namespace.NIBRS, "child2");
+		
+		String xPath = Namespace.NIBRS.prefix + ":child1/" + Namespace.NIBRS.prefix + ":child2";
+		XPathExpression expression = XmlUtils.compileXPath(xPath);
+		assertSame(XmlUtils.xPathNodeSearch(d, xPath), XmlUtils.xPathNodeSearch(d, expression));
+		assertEquals("value", XmlUtils.xPathStringSearch(d, expression));
+		assertEquals(XmlUtils.xPathStringSearch(d, xPath), XmlUtils.xPathStringSearch(d, expression));
+		NodeList nodes = XmlUtils.xPathNodeListSearch(d, expression);
+		assertEquals(2, nodes.getLength());
+		assertEquals(XmlUtils.xPathNodeListSearch(d, xPath).getLength(), nodes.getLength());
+		
+		assertNull(XmlUtils.xPathNodeSearch(d, "nibrs:child1["));
+		assertNull(XmlUtils.xPathStringSearch(d, "nibrs:child1["));
+		assertNull(XmlUtils.xPathNodeListSearch(d, "nibrs:child1["));
+		
+	}
+
+	@Test
+	public void testWriteNode() throws Exception {
+		
+		Document d = XmlUtils.createNewDocument();
+		Element child1 = XmlUtils.appendChildElement(d, Namespace.NIBRS, "child1");
+		XmlUtils.appendChildElement(child1, Namespace.NIBRS, "child2").setTextContent("caf\u00e9");
+		
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		XmlUtils.writeNode(d, os);
+		String xml = XmlUtils.nodeToString(d);
+		assertEquals(xml, new String(os.toByteArray(), StandardCharsets.UTF_8));
+		
+		// pooled parsers and transformers must come back clean for the next caller
+		Document roundTrip = XmlUtils.toDocument(xml);
+		assertEquals("caf\u00e9", XmlUtils.xPathStringSearch(roundTrip, "nibrs:child1/nibrs:child2"));
+		assertSameMarkup(xml, XmlUtils.nodeToString(roundTrip));
+		Document secondRoundTrip = XmlUtils.toDocument(XmlUtils.nodeToString(roundTrip));
+		assertEquals("caf\u00e9", XmlUtils.xPathStringSearch(secondRoundTrip, "nibrs:child1/nibrs:child2"));
+		assertSameMarkup(xml, XmlUtils.nodeToString(secondRoundTrip));
+		
+	}
+	
+	/**
+	 * Compares the serialized documents without the indentation, which the transformer of newer JDKs adds again to the whitespace 
+	 * text nodes of a reparsed document.
+	 */
+	private void assertSameMarkup(String expected, String actual) {
+		assertEquals(stripIndentation(expected), stripIndentation(actual));
+	}
+	
+	private String stripIndentation(String xml) {
+		return xml.replaceAll(">\\s+<", "><").trim();
+	}
+
 }
@@ -88,13 +88,14 @@ public class SubmissionReqeustAspect {
     	try {
     		log.info(" Allowed execution for " + joinPoint);
 			Document returnedDocument = (Document) joinPoint.proceed();
-			log.info("Aspect result: " + XmlUtils.nodeToString(returnedDocument));
+			String returnedXml = XmlUtils.nodeToString(returnedDocument);
+			log.info("Aspect result: " + returnedXml);
 			
 			submission.setResponseTimestamp(LocalDateTime.now());
 			
 			String responseFileName = responseFilePath + fileName;
 			submission.setResponseFilePath(responseFileName);
-			FileUtils.writeStringToFile(new File(responseFileName), XmlUtils.nodeToString(returnedDocument), "UTF-8");
+			FileUtils.writeStringToFile(new File(responseFileName), returnedXml, "UTF-8");
 			
 			
 			String status = XmlUtils.xPathStringSearch(returnedDocument, "//return/ingestResponse/status");
@@ -18,11 +18,22 @@ package org.search.nibrs.flatfile.importer;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -31,8 +42,8 @@ import org.search.nibrs.common.ParsedObject;
 import org.search.nibrs.common.ReportSource;
 import org.search.nibrs.flatfile.FlatfileConstants;
 import org.search.nibrs.flatfile.NIBRSAgeBuilder;
-import org.search.nibrs.flatfile.util.StringUtils;
 import org.search.nibrs.importer.AbstractIncidentBuilder;
+import org.search.nibrs.importer.ParsedReport;
 import org.search.nibrs.importer.ReportListener;
 import org.search.nibrs.model.AbstractReport;
 import org.search.nibrs.model.ArresteeSegment;
@@ -63,6 +74,25 @@ import org.springframework.stereotype.Component;
 public class IncidentBuilder extends AbstractIncidentBuilder {
 	
 	private static final Log log = LogFactory.getLog(IncidentBuilder.class);;
+	
+	/**
+	 * The default size of the largest region of a file that is memory-mapped at one time by {@link #buildIncidents(FileChannel, String)}
+	 */
+	public static final long DEFAULT_MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+	
+	/**
+	 * The smallest chunk of a buffer that is parsed as a unit by the parallel build methods
+	 */
+	private static final int MIN_PARALLEL_CHUNK_SIZE = 64 * 1024;
+	
+	/**
+	 * The number of chunks per pool thread that the parallel build methods aim to split each region into, so that uneven chunks balance out
+	 */
+	private static final int PARALLEL_CHUNKS_PER_THREAD = 4;
+	
+	private long mappedRegionSize = DEFAULT_MAPPED_REGION_SIZE;
+	
+	private final Object listenerLock = new Object();
 
 	public IncidentBuilder() {
 		super();
@@ -94,19 +124,230 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 		}
 		
 		String line = null;
-		AbstractReport currentReport = null;
-		int lineNumber = 1;
+		ReportAssembler assembler = new ReportAssembler(readerLocationName, 1, this::handleNewReport);
 		
 		log.info("Processing NIBRS flat file");
 		
-		List<NIBRSError> errorList = new ArrayList<NIBRSError>();
-		
 		while ((line = br.readLine()) != null && org.apache.commons.lang3.StringUtils.isNotBlank(line)) {
 			Segment s = new Segment();
+			assembler.addSegment(s, s.setData(assembler.nextReportSource(), line));
+		}
+		
+		assembler.finish();
+
+	}
+
+	@Override
+	public Stream<ParsedReport> stream(Reader reader, String readerLocationName) {
+		
+		BufferedReader br = null;
+		
+		if (!(reader instanceof BufferedReader)) {
+			br = new BufferedReader(reader);
+		} else {
+			br = (BufferedReader) reader;
+		}
+		
+		final BufferedReader streamReader = br;
+		
+		return StreamSupport.stream(new ReportSpliterator(streamReader, readerLocationName), false).onClose(() -> {
+			try {
+				streamReader.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		
+	}
+
+	/**
+	 * Read NIBRS incidents from the flatfile format held in the specified buffer, between its position and limit.  Segments are decoded directly
+	 * from the buffer, without first creating a String for each line.  Lines may be terminated by either LF or CRLF.  The buffer's position is not
+	 * changed.
+	 * @param buffer the source of the data
+	 * @param readerLocationName the name of the source, for error reporting
+	 */
+	public void buildIncidents(ByteBuffer buffer, String readerLocationName) {
+		ReportAssembler assembler = new ReportAssembler(readerLocationName, 1, this::handleNewReport);
+		log.info("Processing NIBRS flat file");
+		readSegments(buffer, buffer.position(), buffer.limit(), true, assembler);
+		assembler.finish();
+	}
+
+	/**
+	 * Read NIBRS incidents from the flatfile format exposed by the specified channel, which is memory-mapped a region at a time (so that
+	 * files larger than a single mapping can be read).  Segments are decoded directly from the mapped bytes, as in
+	 * {@link #buildIncidents(ByteBuffer, String)}.
+	 * @param channel the source of the data
+	 * @param readerLocationName the name of the source, for error reporting
+	 * @throws IOException exception encountered in mapping the channel
+	 */
+	public void buildIncidents(FileChannel channel, String readerLocationName) throws IOException {
+		
+		ReportAssembler assembler = new ReportAssembler(readerLocationName, 1, this::handleNewReport);
+		
+		log.info("Processing NIBRS flat file");
+		
+		long size = channel.size();
+		long position = 0;
+		
+		while (position < size && !assembler.isDone()) {
+			long regionSize = Math.min(mappedRegionSize, size - position);
+			boolean lastRegion = position + regionSize == size;
+			MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+			int consumed = readSegments(region, 0, (int) regionSize, lastRegion, assembler);
+			if (consumed == 0 && !lastRegion) {
+				throw new IOException("Line starting at byte " + position + " of " + readerLocationName + " is longer than " + mappedRegionSize + " bytes");
+			}
+			position += consumed;
+		}
+		
+		assembler.finish();
+		
+	}
+
+	/**
+	 * Build segments from the complete lines in the specified region of a buffer.
+	 * @return the number of bytes consumed, which excludes a trailing partial line unless the region is the last one
+	 */
+	private int readSegments(ByteBuffer buffer, int start, int end, boolean lastRegion, ReportAssembler assembler) {
+		int lineStart = start;
+		while (lineStart < end && !assembler.isDone()) {
+			int lineEnd = lineStart;
+			while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+				lineEnd++;
+			}
+			if (lineEnd == end && !lastRegion) {
+				break;
+			}
+			int next = lineEnd + 1;
+			if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+				lineEnd--;
+			}
+			if (isBlank(buffer, lineStart, lineEnd)) {
+				assembler.setDone();
+			} else {
+				Segment s = new Segment();
+				assembler.addSegment(s, s.setData(assembler.nextReportSource(), buffer, lineStart, lineEnd - lineStart));
+			}
+			lineStart = Math.min(next, end);
+		}
+		return lineStart - start;
+	}
+
+	private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (!Character.isWhitespace((char) (buffer.get(i) & 0xff))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Read NIBRS incidents from the flatfile format held in the specified buffer, parsing chunks of the buffer concurrently on the specified pool.
+	 * The buffer is split only at segments that always begin a new report (zero reports, administrative segments and Group B arrestee segments), so
+	 * each chunk yields the same reports, errors and line numbers as a sequential read would.
+	 * <br/>
+	 * If preserveOrder is true, reports are delivered to listeners in file order, from the calling thread.  Otherwise reports are delivered from pool
+	 * threads as soon as their chunk has been parsed, so the order of delivery is unspecified.  In either case, listeners are never called concurrently.
+	 * @param buffer the source of the data
+	 * @param readerLocationName the name of the source, for error reporting
+	 * @param pool the pool on which to parse chunks
+	 * @param preserveOrder whether reports must be delivered in file order
+	 */
+	public void buildIncidents(ByteBuffer buffer, String readerLocationName, ForkJoinPool pool, boolean preserveOrder) {
+		ParallelRead read = new ParallelRead(readerLocationName, pool, preserveOrder);
+		log.info("Processing NIBRS flat file");
+		read.readRegion(buffer, buffer.position(), buffer.limit(), true);
+		read.finish();
+	}
+
+	/**
+	 * Read NIBRS incidents from the flatfile format exposed by the specified channel, memory-mapping it a region at a time as in
+	 * {@link #buildIncidents(FileChannel, String)} and parsing each region concurrently as in {@link #buildIncidents(ByteBuffer, String, ForkJoinPool, boolean)}.
+	 * @param channel the source of the data
+	 * @param readerLocationName the name of the source, for error reporting
+	 * @param pool the pool on which to parse chunks
+	 * @param preserveOrder whether reports must be delivered in file order
+	 * @throws IOException exception encountered in mapping the channel
+	 */
+	public void buildIncidents(FileChannel channel, String readerLocationName, ForkJoinPool pool, boolean preserveOrder) throws IOException {
+		
+		ParallelRead read = new ParallelRead(readerLocationName, pool, preserveOrder);
+		
+		log.info("Processing NIBRS flat file");
+		
+		long size = channel.size();
+		long position = 0;
+		
+		while (position < size && !read.isDone()) {
+			long regionSize = Math.min(mappedRegionSize, size - position);
+			boolean lastRegion = position + regionSize == size;
+			MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, regionSize);
+			int consumed = read.readRegion(region, 0, (int) regionSize, lastRegion);
+			if (consumed == 0 && !lastRegion) {
+				throw new IOException("Report starting at byte " + position + " of " + readerLocationName + " is longer than " + mappedRegionSize + " bytes");
+			}
+			position += consumed;
+		}
+		
+		read.finish();
+		
+	}
+
+	/**
+	 * Whether the line in the specified region of a buffer is a segment that always begins a new report, and has a header that matches its length
+	 * (a line with header errors is attributed to the preceding report, so it is not a safe place to split).
+	 */
+	private static boolean isReportBoundary(ByteBuffer buffer, int start, int end) {
+		int length = end - start;
+		if (length < 37) {
+			return false;
+		}
+		char level = (char) (buffer.get(start + 4) & 0xff);
+		if (level != ZeroReport.ZERO_REPORT_TYPE_IDENTIFIER 
+				&& level != GroupAIncidentReport.ADMIN_SEGMENT_TYPE_IDENTIFIER 
+				&& level != ArresteeSegment.GROUP_B_ARRESTEE_SEGMENT_TYPE_IDENTIFIER) {
+			return false;
+		}
+		int declaredLength = 0;
+		for (int i = start; i < start + 4; i++) {
+			byte b = buffer.get(i);
+			if (b < '0' || b > '9') {
+				return false;
+			}
+			declaredLength = declaredLength * 10 + (b - '0');
+		}
+		return declaredLength == length;
+	}
+
+	/**
+	 * Accumulates segments, in file order, into reports, and passes each report to a sink once all of its segments have been read.
+	 */
+	private final class ReportAssembler {
+		
+		private final String readerLocationName;
+		private final ReportListener sink;
+		private AbstractReport currentReport;
+		private List<NIBRSError> errorList = new ArrayList<NIBRSError>();
+		private int lineNumber;
+		private boolean done;
+		
+		ReportAssembler(String readerLocationName, int firstLineNumber, ReportListener sink) {
+			this.readerLocationName = readerLocationName;
+			this.lineNumber = firstLineNumber;
+			this.sink = sink;
+		}
+		
+		ReportSource nextReportSource() {
 			ReportSource reportSource = new ReportSource();
 			reportSource.setSourceLocation(String.valueOf(lineNumber));
 			reportSource.setSourceName(readerLocationName);
-			List<NIBRSError> segmentErrors = s.setData(reportSource, line);
+			return reportSource;
+		}
+		
+		void addSegment(Segment s, List<NIBRSError> segmentErrors) {
 			errorList.addAll(segmentErrors);
 			if (segmentErrors.isEmpty()) {
 				char level = s.getSegmentLevel();
@@ -114,7 +355,7 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 						|| level == GroupAIncidentReport.ADMIN_SEGMENT_TYPE_IDENTIFIER 
 						|| level == ArresteeSegment.GROUP_B_ARRESTEE_SEGMENT_TYPE_IDENTIFIER 
 						|| !Objects.equals(currentReport.getIdentifier(), s.getSegmentUniqueIdentifier())) {
-					handleNewReport(currentReport, errorList);
+					flush();
 					errorList = new ArrayList<NIBRSError>();
 					currentReport = buildReport(errorList, s, readerLocationName);
 				} else {
@@ -130,12 +371,218 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 			lineNumber++;
 		}
 		
-		handleNewReport(currentReport, errorList);
+		boolean isDone() {
+			return done;
+		}
+		
+		void setDone() {
+			done = true;
+		}
+		
+		void flush() {
+			if (currentReport != null) {
+				sink.newReport(currentReport, errorList);
+			}
+		}
+		
+		void finish() {
+			flush();
+			logSummary(lineNumber - 1);
+		}
+		
+	}
 
-		log.info("finished processing file, read " + (lineNumber - 1) + " lines.");
+	/**
+	 * Splits buffers into chunks that each begin a new report, parses the chunks on a pool, and delivers the resulting reports to listeners.
+	 */
+	private final class ParallelRead {
+		
+		private final String readerLocationName;
+		private final ForkJoinPool pool;
+		private final boolean preserveOrder;
+		private int lineNumber = 1;
+		private boolean done;
+		
+		ParallelRead(String readerLocationName, ForkJoinPool pool, boolean preserveOrder) {
+			this.readerLocationName = readerLocationName;
+			this.pool = pool;
+			this.preserveOrder = preserveOrder;
+		}
+		
+		boolean isDone() {
+			return done;
+		}
+		
+		/**
+		 * Parse the complete reports in the specified region of a buffer.
+		 * @return the number of bytes consumed, which excludes any trailing incomplete report unless the region is the last one
+		 */
+		int readRegion(ByteBuffer buffer, int start, int end, boolean lastRegion) {
+			
+			List<int[]> chunks = new ArrayList<>();
+			int targetChunkSize = Math.max(MIN_PARALLEL_CHUNK_SIZE, (end - start) / (pool.getParallelism() * PARALLEL_CHUNKS_PER_THREAD));
+			
+			int chunkStart = start;
+			int chunkFirstLineNumber = lineNumber;
+			int lastBoundary = -1;
+			int lastBoundaryLineNumber = 0;
+			int lineStart = start;
+			boolean complete = lastRegion;
+			
+			while (lineStart < end) {
+				int lineEnd = lineStart;
+				while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+					lineEnd++;
+				}
+				if (lineEnd == end && !lastRegion) {
+					break;
+				}
+				int next = lineEnd + 1;
+				if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+					lineEnd--;
+				}
+				if (isBlank(buffer, lineStart, lineEnd)) {
+					done = true;
+					complete = true;
+					break;
+				}
+				if (lineStart > chunkStart && isReportBoundary(buffer, lineStart, lineEnd)) {
+					if (lineStart - chunkStart >= targetChunkSize) {
+						chunks.add(new int[] {chunkStart, lineStart, chunkFirstLineNumber});
+						chunkStart = lineStart;
+						chunkFirstLineNumber = lineNumber;
+						lastBoundary = -1;
+					} else {
+						lastBoundary = lineStart;
+						lastBoundaryLineNumber = lineNumber;
+					}
+				}
+				lineNumber++;
+				lineStart = Math.min(next, end);
+			}
+			
+			int consumedEnd;
+			if (complete) {
+				consumedEnd = lineStart;
+			} else if (lastBoundary != -1) {
+				consumedEnd = lastBoundary;
+				lineNumber = lastBoundaryLineNumber;
+			} else {
+				consumedEnd = chunkStart;
+				lineNumber = chunkFirstLineNumber;
+			}
+			if (consumedEnd > chunkStart) {
+				chunks.add(new int[] {chunkStart, consumedEnd, chunkFirstLineNumber});
+			}
+			
+			parseChunks(buffer, chunks);
+			
+			return consumedEnd - start;
+			
+		}
+		
+		private void parseChunks(ByteBuffer buffer, List<int[]> chunks) {
+			
+			List<ForkJoinTask<List<ParsedReport>>> tasks = new ArrayList<>();
+			for (int[] chunk : chunks) {
+				tasks.add(pool.submit(() -> parseChunk(buffer, chunk[0], chunk[1], chunk[2])));
+			}
+			
+			for (ForkJoinTask<List<ParsedReport>> task : tasks) {
+				List<ParsedReport> reports = task.join();
+				for (ParsedReport report : reports) {
+					handleNewReport(report.getReport(), report.getErrorList());
+				}
+			}
+			
+		}
+		
+		private List<ParsedReport> parseChunk(ByteBuffer buffer, int start, int end, int firstLineNumber) {
+			List<ParsedReport> ret = new ArrayList<>();
+			ReportListener sink = null;
+			if (preserveOrder) {
+				sink = (report, errorList) -> ret.add(new ParsedReport(report, errorList));
+			} else {
+				sink = (report, errorList) -> {
+					synchronized (listenerLock) {
+						handleNewReport(report, errorList);
+					}
+				};
+			}
+			ReportAssembler assembler = new ReportAssembler(readerLocationName, firstLineNumber, sink);
+			readSegments(buffer, start, end, true, assembler);
+			assembler.flush();
+			return ret;
+		}
+		
+		void finish() {
+			logSummary(lineNumber - 1);
+		}
+		
+	}
+
+	/**
+	 * Builds reports from a Reader one at a time, reading only as many lines as it takes to complete the next report.
+	 */
+	private final class ReportSpliterator extends Spliterators.AbstractSpliterator<ParsedReport> {
+		
+		private final BufferedReader reader;
+		private final ReportAssembler assembler;
+		private ParsedReport nextReport;
+		private boolean finished;
+		
+		ReportSpliterator(BufferedReader reader, String readerLocationName) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.reader = reader;
+			this.assembler = new ReportAssembler(readerLocationName, 1, (report, errorList) -> nextReport = new ParsedReport(report, errorList));
+		}
+		
+		@Override
+		public boolean tryAdvance(Consumer<? super ParsedReport> action) {
+			try {
+				while (nextReport == null && !finished) {
+					String line = reader.readLine();
+					if (line == null || org.apache.commons.lang3.StringUtils.isBlank(line)) {
+						finished = true;
+						assembler.flush();
+					} else {
+						Segment s = new Segment();
+						assembler.addSegment(s, s.setData(assembler.nextReportSource(), line));
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			if (nextReport == null) {
+				return false;
+			}
+			ParsedReport ret = nextReport;
+			nextReport = null;
+			action.accept(ret);
+			return true;
+		}
+		
+	}
+
+	private void logSummary(int linesRead) {
+		log.info("finished processing file, read " + linesRead + " lines.");
 		log.info("Encountered " + getLogListener().errorCount + " error(s).");
 		log.info("Created " + getLogListener().reportCount + " incident(s).");
+	}
+
+	public long getMappedRegionSize() {
+		return mappedRegionSize;
+	}
 
+	/**
+	 * Sets the number of bytes mapped at a time by the mapped file build methods.  A region is read through int offsets, so its
+	 * size must be between 1 and Integer.MAX_VALUE.
+	 */
+	public void setMappedRegionSize(long mappedRegionSize) {
+		if (mappedRegionSize < 1 || mappedRegionSize > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The mapped region size must be between 1 and " + Integer.MAX_VALUE + " bytes: " + mappedRegionSize);
+		}
+		this.mappedRegionSize = mappedRegionSize;
 	}
 
 	AbstractReport buildReport(List<NIBRSError> errorList, Segment s, String readerLocationName) {
@@ -169,7 +616,7 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 		if (length == 43) {
 			ret.setMonthOfTape(getIntValueFromSegment(s, 7, 8, newErrorList, NIBRSErrorCode._001));
 			ret.setYearOfTape(getIntValueFromSegment(s, 9, 12, newErrorList, NIBRSErrorCode._001));
-			ret.setCityIndicator(StringUtils.getStringBetween(13, 16, s.getData()));
+			ret.setCityIndicator(s.getStringBetween(13, 16));
 		} else {
 			NIBRSError e = new NIBRSError();
 			e.setContext(s.getReportSource());
@@ -195,19 +642,18 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 		GroupBArrestReport ret = new GroupBArrestReport();
 		ArresteeSegment arrestee = new ArresteeSegment(ArresteeSegment.GROUP_B_ARRESTEE_SEGMENT_TYPE_IDENTIFIER);
 		arrestee.setParentReport(ret);
-		String segmentData = s.getData();
 		ret.setOri(s.getOri());
 		ret.setReportActionType(s.getActionType());
 		int length = s.getSegmentLength();
 		if (length == 66) {
 			ret.setMonthOfTape(getIntValueFromSegment(s, 7, 8, newErrorList, NIBRSErrorCode._701));
 			ret.setYearOfTape(getIntValueFromSegment(s, 9, 12, newErrorList, NIBRSErrorCode._701));
-			ret.setCityIndicator(StringUtils.getStringBetween(13, 16, segmentData));
+			ret.setCityIndicator(s.getStringBetween(13, 16));
 			
 			ParsedObject<Integer> sequenceNumber = arrestee.getArresteeSequenceNumber();
 			sequenceNumber.setMissing(false);
 			sequenceNumber.setInvalid(false);
-			String sequenceNumberString = StringUtils.getStringBetween(38, 39, segmentData);
+			String sequenceNumberString = s.getStringBetween(38, 39);
 			if (sequenceNumberString == null) {
 				sequenceNumber.setMissing(true);
 				sequenceNumber.setValue(null);
@@ -231,12 +677,12 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 			
 			arrestee.setArresteeSequenceNumber(sequenceNumber);
 			
-			arrestee.setArrestTransactionNumber(StringUtils.getStringBetween(26, 37, segmentData));
+			arrestee.setArrestTransactionNumber(s.getStringBetween(26, 37));
 			
 			ParsedObject<LocalDate> arrestDate = arrestee.getArrestDate();
 			arrestDate.setMissing(false);
 			arrestDate.setInvalid(false);
-			String arrestDateString = StringUtils.getStringBetween(40, 47, segmentData);
+			String arrestDateString = s.getStringBetween(40, 47);
 			if (arrestDateString == null) {
 				arrestDate.setMissing(true);
 				arrestDate.setValue(null);
@@ -259,19 +705,19 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 			}
 			arrestee.setArrestDate(arrestDate);
 			
-			arrestee.setTypeOfArrest(StringUtils.getStringBetween(48, 48, segmentData));
-			arrestee.setUcrArrestOffenseCode(StringUtils.getStringBetween(49, 51, segmentData));
+			arrestee.setTypeOfArrest(s.getStringBetween(48, 48));
+			arrestee.setUcrArrestOffenseCode(s.getStringBetween(49, 51));
 			for (int i = 0; i < 2; i++) {
-				arrestee.setArresteeArmedWith(i, StringUtils.getStringBetween(52 + 3 * i, 53 + 3 * i, segmentData));
-				arrestee.setAutomaticWeaponIndicator(i, StringUtils.getStringBetween(54 + 3 * i, 54 + 3 * i, segmentData));
+				arrestee.setArresteeArmedWith(i, s.getStringBetween(52 + 3 * i, 53 + 3 * i));
+				arrestee.setAutomaticWeaponIndicator(i, s.getStringBetween(54 + 3 * i, 54 + 3 * i));
 			}
-			NIBRSAge arresteeAge = NIBRSAgeBuilder.buildAgeFromRawString(StringUtils.getStringBetween(58, 61, segmentData), arrestee);
+			NIBRSAge arresteeAge = NIBRSAgeBuilder.buildAgeFromRawString(s.getStringBetween(58, 61), arrestee);
 			arrestee.setAge(arresteeAge);
-			arrestee.setSex(StringUtils.getStringBetween(62, 62, segmentData));
-			arrestee.setRace(StringUtils.getStringBetween(63, 63, segmentData));
-			arrestee.setEthnicity(StringUtils.getStringBetween(64, 64, segmentData));
-			arrestee.setResidentStatus(StringUtils.getStringBetween(65, 65, segmentData));
-			arrestee.setDispositionOfArresteeUnder18(StringUtils.getStringBetween(66, 66, segmentData));
+			arrestee.setSex(s.getStringBetween(62, 62));
+			arrestee.setRace(s.getStringBetween(63, 63));
+			arrestee.setEthnicity(s.getStringBetween(64, 64));
+			arrestee.setResidentStatus(s.getStringBetween(65, 65));
+			arrestee.setDispositionOfArresteeUnder18(s.getStringBetween(66, 66));
 		} else {
 			NIBRSError e = new NIBRSError();
 			e.setContext(s.getReportSource());
@@ -307,16 +753,15 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 		newIncident.setIncidentNumber(s.getSegmentUniqueIdentifier());
 		newIncident.setOri(s.getOri());
 		newIncident.setReportActionType(s.getActionType());
-		String segmentData = s.getData();
 		int length = s.getSegmentLength();
 		if (length == 87 || length == 88) {
 			newIncident.setMonthOfTape(getIntValueFromSegment(s, 7, 8, newErrorList, NIBRSErrorCode._101));
 			newIncident.setYearOfTape(getIntValueFromSegment(s, 9, 12, newErrorList, NIBRSErrorCode._101));
-			newIncident.setCityIndicator(StringUtils.getStringBetween(13, 16, segmentData));
+			newIncident.setCityIndicator(s.getStringBetween(13, 16));
 			ParsedObject<LocalDate> incidentDate = newIncident.getIncidentDate();
 			incidentDate.setMissing(false);
 			incidentDate.setInvalid(false);
-			String incidentDateString = StringUtils.getStringBetween(38, 45, segmentData);
+			String incidentDateString = s.getStringBetween(38, 45);
 			if (incidentDateString == null) {
 				incidentDate.setMissing(true);
 				incidentDate.setValue(null);
@@ -339,9 +784,9 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 			}
 			newIncident.setIncidentDate(incidentDate);
 			
-			newIncident.setReportDateIndicator(StringUtils.getStringBetween(46, 46, segmentData));
+			newIncident.setReportDateIndicator(s.getStringBetween(46, 46));
 			
-			String hourString = StringUtils.getStringBetween(47, 48, segmentData);
+			String hourString = s.getStringBetween(47, 48);
 			ParsedObject<Integer> hour = newIncident.getIncidentHour();
 			hour.setMissing(false);
 			hour.setInvalid(false);
@@ -379,12 +824,12 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 				hour.setMissing(true);
 			}
 			
-			newIncident.setExceptionalClearanceCode(StringUtils.getStringBetween(49, 49, segmentData));
+			newIncident.setExceptionalClearanceCode(s.getStringBetween(49, 49));
 			
 			ParsedObject<LocalDate> clearanceDate = newIncident.getExceptionalClearanceDate();
 			clearanceDate.setMissing(false);
 			clearanceDate.setInvalid(false);
-			String clearanceDateString = StringUtils.getStringBetween(50, 57, segmentData);
+			String clearanceDateString = s.getStringBetween(50, 57);
 			if (clearanceDateString == null) {
 				clearanceDate.setMissing(true);
 				clearanceDate.setValue(null);
@@ -409,7 +854,7 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 			
 			boolean cargoTheft = length == 88;
 			if (cargoTheft) {
-				String cargoTheftYN = StringUtils.getStringBetween(88, 88, segmentData);
+				String cargoTheftYN = s.getStringBetween(88, 88);
 				
 				if (org.apache.commons.lang3.StringUtils.isNotBlank(cargoTheftYN)){
 					newIncident.setCargoTheftIndicator(cargoTheftYN);
@@ -448,12 +893,11 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 		newIncident.setIncidentNumber(s.getSegmentUniqueIdentifier());
 		newIncident.setOri(s.getOri());
 		newIncident.setReportActionType(s.getActionType());
-		String segmentData = s.getData();
 		int length = s.getSegmentLength();
 		if (length >=38 ) {
 			newIncident.setMonthOfTape(getIntValueFromSegment(s, 7, 8, newErrorList, NIBRSErrorCode._101));
 			newIncident.setYearOfTape(getIntValueFromSegment(s, 9, 12, newErrorList, NIBRSErrorCode._101));
-			newIncident.setCityIndicator(StringUtils.getStringBetween(13, 16, segmentData));
+			newIncident.setCityIndicator(s.getStringBetween(13, 16));
 		}
 		
 		NIBRSError e = new NIBRSError();
@@ -469,11 +913,14 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 	}
 
 	private Integer getIntValueFromSegment(Segment s, int startPos, int endPos, List<NIBRSError> errorList, NIBRSErrorCode errorCode) {
-		String sv = StringUtils.getStringBetween(startPos, endPos, s.getData());
 		Integer i = null;
 		try {
-			i = new Integer(sv);
+			i = s.getIntegerBetween(startPos, endPos);
+			if (i == null) {
+				throw new NumberFormatException();
+			}
 		} catch (NumberFormatException nfe) {
+			String sv = s.getStringBetween(startPos, endPos);
 			NIBRSError e = new NIBRSError();
 			e.setContext(s.getReportSource());
 			e.setReportUniqueIdentifier(s.getSegmentUniqueIdentifier());
@@ -524,14 +971,13 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 	private ArresteeSegment buildGroupAArresteeSegment(Segment s, GroupAIncidentReport parent, List<NIBRSError> errorList) {
 		ArresteeSegment newArrestee = new ArresteeSegment(ArresteeSegment.GROUP_A_ARRESTEE_SEGMENT_TYPE_IDENTIFIER);
 		newArrestee.setParentReport(parent);
-		String segmentData = s.getData();
 		int length = s.getSegmentLength();
 		if (length == FlatfileConstants.GROUP_A_ARRESTEE_SEGMENT_LENGTH) {
 			
 			ParsedObject<Integer> sequenceNumber = newArrestee.getArresteeSequenceNumber();
 			sequenceNumber.setMissing(false);
 			sequenceNumber.setInvalid(false);
-			String sequenceNumberString = StringUtils.getStringBetween(38, 39, segmentData);
+			String sequenceNumberString = s.getStringBetween(38, 39);
 			if (sequenceNumberString == null) {
 				sequenceNumber.setMissing(true);
 				sequenceNumber.setValue(null);
@@ -555,12 +1001,12 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 			
 			newArrestee.setArresteeSequenceNumber(sequenceNumber);
 			
-			newArrestee.setArrestTransactionNumber(StringUtils.getStringBetween(40, 51, segmentData));
+			newArrestee.setArrestTransactionNumber(s.getStringBetween(40, 51));
 			
 			ParsedObject<LocalDate> arrestDate = newArrestee.getArrestDate();
 			arrestDate.setMissing(false);
 			arrestDate.setInvalid(false);
-			String arrestDateString = StringUtils.getStringBetween(52, 59, segmentData);
+			String arrestDateString = s.getStringBetween(52, 59);
 			if (arrestDateString == null) {
 				arrestDate.setMissing(true);
 				arrestDate.setValue(null);
@@ -583,22 +1029,22 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 			}
 			newArrestee.setArrestDate(arrestDate);
 			
-			newArrestee.setTypeOfArrest(StringUtils.getStringBetween(60, 60, segmentData));
-			newArrestee.setMultipleArresteeSegmentsIndicator(StringUtils.getStringBetween(61, 61, segmentData));
-			newArrestee.setUcrArrestOffenseCode(StringUtils.getStringBetween(62, 64, segmentData));
+			newArrestee.setTypeOfArrest(s.getStringBetween(60, 60));
+			newArrestee.setMultipleArresteeSegmentsIndicator(s.getStringBetween(61, 61));
+			newArrestee.setUcrArrestOffenseCode(s.getStringBetween(62, 64));
 			for (int i = 0; i < ArresteeSegment.ARRESTEE_ARMED_WITH_COUNT; i++) {
-				newArrestee.setArresteeArmedWith(i, StringUtils.getStringBetween(65 + 3 * i, 66 + 3 * i, segmentData));
+				newArrestee.setArresteeArmedWith(i, s.getStringBetween(65 + 3 * i, 66 + 3 * i));
 			}
 			for (int i = 0; i < ArresteeSegment.AUTOMATIC_WEAPON_INDICATOR_COUNT; i++) {
-				newArrestee.setAutomaticWeaponIndicator(i, StringUtils.getStringBetween(67 + 3 * i, 67 + 3 * i, segmentData));
+				newArrestee.setAutomaticWeaponIndicator(i, s.getStringBetween(67 + 3 * i, 67 + 3 * i));
 			}
-			NIBRSAge arresteeAge = NIBRSAgeBuilder.buildAgeFromRawString(StringUtils.getStringBetween(71, 74, segmentData), newArrestee);
+			NIBRSAge arresteeAge = NIBRSAgeBuilder.buildAgeFromRawString(s.getStringBetween(71, 74), newArrestee);
 			newArrestee.setAge(arresteeAge);
-			newArrestee.setSex(StringUtils.getStringBetween(75, 75, segmentData));
-			newArrestee.setRace(StringUtils.getStringBetween(76, 76, segmentData));
-			newArrestee.setEthnicity(StringUtils.getStringBetween(77, 77, segmentData));
-			newArrestee.setResidentStatus(StringUtils.getStringBetween(78, 78, segmentData));
-			newArrestee.setDispositionOfArresteeUnder18(StringUtils.getStringBetween(79, 79, segmentData));
+			newArrestee.setSex(s.getStringBetween(75, 75));
+			newArrestee.setRace(s.getStringBetween(76, 76));
+			newArrestee.setEthnicity(s.getStringBetween(77, 77));
+			newArrestee.setResidentStatus(s.getStringBetween(78, 78));
+			newArrestee.setDispositionOfArresteeUnder18(s.getStringBetween(79, 79));
 		} else {
 			NIBRSError e = new NIBRSError();
 			e.setContext(s.getReportSource());
@@ -614,14 +1060,13 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 	private OffenderSegment buildOffenderSegment(Segment s, GroupAIncidentReport parent, List<NIBRSError> errorList) {
 		OffenderSegment newOffender = new OffenderSegment();
 		newOffender.setParentReport(parent);
-		String segmentData = s.getData();
 		int length = s.getSegmentLength();
 		if (length == FlatfileConstants.OFFENDER_WITHOUT_ETHNICITY_SEGMENT_LENGTH || length == FlatfileConstants.OFFENDER_WITH_ETHNICITY_SEGMENT_LENGTH) {
 			
 			ParsedObject<Integer> sequenceNumber = newOffender.getOffenderSequenceNumber();
 			sequenceNumber.setMissing(false);
 			sequenceNumber.setInvalid(false);
-			String sequenceNumberString = StringUtils.getStringBetween(38, 39, segmentData);
+			String sequenceNumberString = s.getStringBetween(38, 39);
 			if (sequenceNumberString == null) {
 				sequenceNumber.setMissing(true);
 				sequenceNumber.setValue(null);
@@ -643,13 +1088,13 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 				}
 			}
 			
-			NIBRSAge offenderAge = NIBRSAgeBuilder.buildAgeFromRawString(StringUtils.getStringBetween(40, 43, segmentData), newOffender);
+			NIBRSAge offenderAge = NIBRSAgeBuilder.buildAgeFromRawString(s.getStringBetween(40, 43), newOffender);
 			newOffender.setAge(offenderAge);
-			newOffender.setSex(StringUtils.getStringBetween(44, 44, segmentData));
-			newOffender.setRace(StringUtils.getStringBetween(45, 45, segmentData));
+			newOffender.setSex(s.getStringBetween(44, 44));
+			newOffender.setRace(s.getStringBetween(45, 45));
 			boolean hasOffenderEthnicity = length == FlatfileConstants.OFFENDER_WITH_ETHNICITY_SEGMENT_LENGTH;
 			if (hasOffenderEthnicity) {
-				newOffender.setEthnicity(StringUtils.getStringBetween(46, 46, segmentData));
+				newOffender.setEthnicity(s.getStringBetween(46, 46));
 			}
 		} else {
 			NIBRSError e = new NIBRSError();
@@ -667,7 +1112,6 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 
 		VictimSegment newVictim = new VictimSegment();
 		newVictim.setParentReport(parentIncident);
-		String segmentData = s.getData();
 		int length = s.getSegmentLength();
 
 // comment out temporarily for Hawaii file validation. TODO  -hw		
@@ -677,7 +1121,7 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 			ParsedObject<Integer> sequenceNumber = newVictim.getVictimSequenceNumber();
 			sequenceNumber.setMissing(false);
 			sequenceNumber.setInvalid(false);
-			String sequenceNumberString = StringUtils.getStringBetween(38, 40, segmentData);
+			String sequenceNumberString = s.getStringBetween(38, 40);
 			if (sequenceNumberString == null) {
 				sequenceNumber.setMissing(true);
 				sequenceNumber.setValue(null);
@@ -700,10 +1144,10 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 			}
 
 			for (int i = 0; i < VictimSegment.UCR_OFFENSE_CODE_CONNECTION_COUNT; i++) {
-				newVictim.setUcrOffenseCodeConnection(i, StringUtils.getStringBetween(41 + 3 * i, 43 + 3 * i, segmentData));
+				newVictim.setUcrOffenseCodeConnection(i, s.getStringBetween(41 + 3 * i, 43 + 3 * i));
 			}
 			for (int i = 0; i < VictimSegment.OFFENDER_NUMBER_RELATED_COUNT; i++) {
-				String offenderNumberRelatedString = StringUtils.getStringBetween(90 + 4 * i, 91 + 4 * i, segmentData);
+				String offenderNumberRelatedString = s.getStringBetween(90 + 4 * i, 91 + 4 * i);
 				ParsedObject<Integer> offenderNumberRelated = newVictim.getOffenderNumberRelated(i);
 				offenderNumberRelated.setInvalid(false);
 				offenderNumberRelated.setMissing(false);
@@ -720,7 +1164,7 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 						e.setContext(s.getReportSource());
 						e.setReportUniqueIdentifier(s.getSegmentUniqueIdentifier());
 						e.setSegmentType(s.getSegmentType());
-						e.setValue(StringUtils.getStringBetween(90 + 4 * i, 91 + 4 * i, segmentData));
+						e.setValue(s.getStringBetween(90 + 4 * i, 91 + 4 * i));
 						e.setNIBRSErrorCode(NIBRSErrorCode._402);
 						e.setWithinSegmentIdentifier(sequenceNumberI);
 						e.setDataElementIdentifier("34");
@@ -731,32 +1175,32 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 				}
 			}
 			for (int i = 0; i < VictimSegment.OFFENDER_NUMBER_RELATED_COUNT; i++) {
-				newVictim.setVictimOffenderRelationship(i, StringUtils.getStringBetween(92 + 4 * i, 93 + 4 * i, segmentData));
+				newVictim.setVictimOffenderRelationship(i, s.getStringBetween(92 + 4 * i, 93 + 4 * i));
 			}
 
-			newVictim.setTypeOfVictim(StringUtils.getStringBetween(71, 71, segmentData));
+			newVictim.setTypeOfVictim(s.getStringBetween(71, 71));
 			
-			NIBRSAge victimAge = NIBRSAgeBuilder.buildAgeFromRawString(StringUtils.getStringBetween(72, 75, segmentData), newVictim);
+			NIBRSAge victimAge = NIBRSAgeBuilder.buildAgeFromRawString(s.getStringBetween(72, 75), newVictim);
 			newVictim.setAge(victimAge);
 			
-			newVictim.setSex(StringUtils.getStringBetween(76, 76, segmentData));
-			newVictim.setRace(StringUtils.getStringBetween(77, 77, segmentData));
-			newVictim.setEthnicity(StringUtils.getStringBetween(78, 78, segmentData));
-			newVictim.setResidentStatus(StringUtils.getStringBetween(79, 79, segmentData));
-			newVictim.setAggravatedAssaultHomicideCircumstances(0, StringUtils.getStringBetween(80, 81, segmentData));
-			newVictim.setAggravatedAssaultHomicideCircumstances(1, StringUtils.getStringBetween(82, 83, segmentData));
-			newVictim.setAdditionalJustifiableHomicideCircumstances(StringUtils.getStringBetween(84, 84, segmentData));
+			newVictim.setSex(s.getStringBetween(76, 76));
+			newVictim.setRace(s.getStringBetween(77, 77));
+			newVictim.setEthnicity(s.getStringBetween(78, 78));
+			newVictim.setResidentStatus(s.getStringBetween(79, 79));
+			newVictim.setAggravatedAssaultHomicideCircumstances(0, s.getStringBetween(80, 81));
+			newVictim.setAggravatedAssaultHomicideCircumstances(1, s.getStringBetween(82, 83));
+			newVictim.setAdditionalJustifiableHomicideCircumstances(s.getStringBetween(84, 84));
 
 			for (int i = 0; i < VictimSegment.TYPE_OF_INJURY_COUNT; i++) {
-				newVictim.setTypeOfInjury(i, StringUtils.getStringBetween(85 + i, 85 + i, segmentData));
+				newVictim.setTypeOfInjury(i, s.getStringBetween(85 + i, 85 + i));
 			}
 
 			boolean leoka = length == 141;
 
 			if (leoka) {
-				newVictim.setTypeOfOfficerActivityCircumstance(StringUtils.getStringBetween(130, 131, segmentData));
-				newVictim.setOfficerAssignmentType(StringUtils.getStringBetween(132, 132, segmentData));
-				newVictim.setOfficerOtherJurisdictionORI(StringUtils.getStringBetween(133, 141, segmentData));
+				newVictim.setTypeOfOfficerActivityCircumstance(s.getStringBetween(130, 131));
+				newVictim.setOfficerAssignmentType(s.getStringBetween(132, 132));
+				newVictim.setOfficerOtherJurisdictionORI(s.getStringBetween(133, 141));
 			}
 			
 			parentIncident.setIncludesLeoka(leoka);
@@ -780,19 +1224,18 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 
 		PropertySegment newProperty = new PropertySegment();
 		newProperty.setParentReport(parentIncident);
-		String segmentData = s.getData();
 		int length = s.getSegmentLength();
 
 		if (length == FlatfileConstants.PROPERTY_SEGMENT_LENGTH) {
 
-			String typeOfPropertyLoss = StringUtils.getStringBetween(38, 38, segmentData);
+			String typeOfPropertyLoss = s.getStringBetween(38, 38);
 			newProperty.setTypeOfPropertyLoss(typeOfPropertyLoss);
 
 			for (int i = 0; i < PropertySegment.PROPERTY_DESCRIPTION_COUNT; i++) {
-				newProperty.setPropertyDescription(i, StringUtils.getStringBetween(39 + 19 * i, 40 + 19 * i, segmentData));
+				newProperty.setPropertyDescription(i, s.getStringBetween(39 + 19 * i, 40 + 19 * i));
 			}
 			for (int i = 0; i < PropertySegment.VALUE_OF_PROPERTY_COUNT; i++) {
-				String propertyValueString = StringUtils.getStringBetween(41 + 19 * i, 49 + 19 * i, segmentData);
+				String propertyValueString = s.getStringBetween(41 + 19 * i, 49 + 19 * i);
 				ParsedObject<Integer> propertyValue = newProperty.getValueOfProperty(i);
 				propertyValue.setInvalid(false);
 				propertyValue.setMissing(false);
@@ -830,7 +1273,7 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 				ParsedObject<LocalDate> d = newProperty.getDateRecovered(i);
 				d.setMissing(false);
 				d.setInvalid(false);
-				String ds = StringUtils.getStringBetween(50 + 19 * i, 57 + 19 * i, segmentData);
+				String ds = s.getStringBetween(50 + 19 * i, 57 + 19 * i);
 				if (ds == null) {
 					d.setMissing(true);
 					d.setValue(null);
@@ -854,13 +1297,13 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 				
 			}
 
-			parseIntegerObject(segmentData, newProperty.getNumberOfStolenMotorVehicles(), 229, 230);
-			parseIntegerObject(segmentData, newProperty.getNumberOfRecoveredMotorVehicles(), 231, 232);
+			parseIntegerObject(s, newProperty.getNumberOfStolenMotorVehicles(), 229, 230);
+			parseIntegerObject(s, newProperty.getNumberOfRecoveredMotorVehicles(), 231, 232);
 
 			for (int i = 0; i < PropertySegment.SUSPECTED_DRUG_TYPE_COUNT; i++) {
-				newProperty.setSuspectedDrugType(i, StringUtils.getStringBetween(233 + 15 * i, 233 + 15 * i, segmentData));
-				String drugQuantityWholePartString = StringUtils.getStringBetween(234 + 15 * i, 242 + 15 * i, segmentData);
-				String drugQuantityFractionalPartString = StringUtils.getStringBetween(243 + 15 * i, 245 + 15 * i, segmentData);
+				newProperty.setSuspectedDrugType(i, s.getStringBetween(233 + 15 * i, 233 + 15 * i));
+				String drugQuantityWholePartString = s.getStringBetween(234 + 15 * i, 242 + 15 * i);
+				String drugQuantityFractionalPartString = s.getStringBetween(243 + 15 * i, 245 + 15 * i);
 				if (drugQuantityWholePartString != null || drugQuantityFractionalPartString != null) {
 					String fractionalValueString = "000";
 					String value = org.apache.commons.lang3.StringUtils.isBlank(drugQuantityWholePartString)? "0":drugQuantityWholePartString.trim();
@@ -896,7 +1339,7 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 					newProperty.setEstimatedDrugQuantity(i, ParsedObject.getMissingParsedObject());
 				}
 				
-				newProperty.setTypeDrugMeasurement(i, StringUtils.getStringBetween(246 + 15 * i, 247 + 15 * i, segmentData));
+				newProperty.setTypeDrugMeasurement(i, s.getStringBetween(246 + 15 * i, 247 + 15 * i));
 			}
 
 		} else {
@@ -913,7 +1356,7 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 
 	}
 
-	private void parseIntegerObject(String segmentData,
+	private void parseIntegerObject(Segment s,
 			ParsedObject<Integer> parsedObject, 
 			int startPosition, 
 			int endPosition) {
@@ -921,17 +1364,14 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 		parsedObject.setMissing(false);
 		parsedObject.setInvalid(false);
 		
-		String parsedString = 
-				StringUtils.getStringBetween(startPosition, endPosition, segmentData);
-		if (parsedString == null) {
-			parsedObject.setMissing(true);
-			parsedObject.setValue(null);
-		} else {
-			try {
-				parsedObject.setValue(Integer.parseInt(parsedString));
-			} catch (NumberFormatException nfe) {
-				parsedObject.setInvalid(true);
+		try {
+			Integer parsedValue = s.getIntegerBetween(startPosition, endPosition);
+			if (parsedValue == null) {
+				parsedObject.setMissing(true);
 			}
+			parsedObject.setValue(parsedValue);
+		} catch (NumberFormatException nfe) {
+			parsedObject.setInvalid(true);
 		}
 	}
 
@@ -940,16 +1380,15 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 		OffenseSegment newOffense = new OffenseSegment();
 		newOffense.setParentReport(parentIncident);
 
-		String segmentData = s.getData();
 		int length = s.getSegmentLength();
 
 		if (length == FlatfileConstants.OFFENSE_SINGLE_BIAS_SEGMENT_LENGTH || length == FlatfileConstants.OFFENSE_MULTIPLE_BIAS_SEGMENT_LENGTH) {
 
-			newOffense.setUcrOffenseCode(StringUtils.getStringBetween(38, 40, segmentData));
-			newOffense.setOffenseAttemptedCompleted(StringUtils.getStringBetween(41, 41, segmentData));
-			newOffense.setLocationType(StringUtils.getStringBetween(45, 46, segmentData));
+			newOffense.setUcrOffenseCode(s.getStringBetween(38, 40));
+			newOffense.setOffenseAttemptedCompleted(s.getStringBetween(41, 41));
+			newOffense.setLocationType(s.getStringBetween(45, 46));
 			
-			String premisesEnteredString = StringUtils.getStringBetween(47, 48, segmentData);
+			String premisesEnteredString = s.getStringBetween(47, 48);
 			ParsedObject<Integer> premisesEntered = newOffense.getNumberOfPremisesEntered();
 			
 			if (premisesEnteredString == null) {
@@ -978,25 +1417,25 @@ public class IncidentBuilder extends AbstractIncidentBuilder {
 				
 			}
 			
-			newOffense.setMethodOfEntry(StringUtils.getStringBetween(49, 49, segmentData));
+			newOffense.setMethodOfEntry(s.getStringBetween(49, 49));
 
 			int biasMotivationFields = length == FlatfileConstants.OFFENSE_SINGLE_BIAS_SEGMENT_LENGTH ? 1 : OffenseSegment.BIAS_MOTIVATION_COUNT;
 
 			for (int i = 0; i < biasMotivationFields; i++) {
-				newOffense.setBiasMotivation(i, StringUtils.getStringBetween(62 + 2*i, 63 + 2*i, segmentData));
+				newOffense.setBiasMotivation(i, s.getStringBetween(62 + 2*i, 63 + 2*i));
 			}
 
 			for (int i = 0; i < OffenseSegment.OFFENDERS_SUSPECTED_OF_USING_COUNT; i++) {
-				newOffense.setOffendersSuspectedOfUsing(i, StringUtils.getStringBetween(42 + i, 42 + i, segmentData));
+				newOffense.setOffendersSuspectedOfUsing(i, s.getStringBetween(42 + i, 42 + i));
 			}
 			for (int i = 0; i < OffenseSegment.TYPE_OF_CRIMINAL_ACTIVITY_COUNT; i++) {
-				newOffense.setTypeOfCriminalActivity(i, StringUtils.getStringBetween(50 + i, 50 + i, segmentData));
+				newOffense.setTypeOfCriminalActivity(i, s.getStringBetween(50 + i, 50 + i));
 			}
 			for (int i = 0; i < OffenseSegment.TYPE_OF_WEAPON_FORCE_INVOLVED_COUNT; i++) {
-				newOffense.setTypeOfWeaponForceInvolved(i, StringUtils.getStringBetween(53 + 3 * i, 54 + 3 * i, segmentData));
+				newOffense.setTypeOfWeaponForceInvolved(i, s.getStringBetween(53 + 3 * i, 54 + 3 * i));
 			}
 			for (int i = 0; i < OffenseSegment.AUTOMATIC_WEAPON_INDICATOR_COUNT; i++) {
-				newOffense.setAutomaticWeaponIndicator(i, StringUtils.getStringBetween(55 + 3 * i, 55 + 3 * i, segmentData));
+				newOffense.setAutomaticWeaponIndicator(i, s.getStringBetween(55 + 3 * i, 55 + 3 * i));
 			}
 
 		} else {
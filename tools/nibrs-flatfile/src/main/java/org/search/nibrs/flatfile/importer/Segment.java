@@ -15,6 +15,8 @@
  */
 package org.search.nibrs.flatfile.importer;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -27,6 +29,11 @@ import org.search.nibrs.model.codes.NIBRSErrorCode;
 
 /**
  * Representation of a single line in a NIBRS report file.
+ * <br/>
+ * A segment is either backed by a String (one line read from a Reader) or by a region of a ByteBuffer (one line of a
+ * memory-mapped or NIO buffered file).  In the latter case, fields are decoded directly from the bytes, and a String
+ * is only created when a caller actually asks for a field value; positions are byte positions, and bytes are decoded
+ * as ISO-8859-1 (which is identical to ASCII for conforming submissions).
  *
  */
 public class Segment
@@ -39,6 +46,9 @@ public class Segment
     private char segmentType;
     private char actionType;
     private String data;
+    private ByteBuffer buffer;
+    private int bufferOffset;
+    private int bufferLength;
     private int segmentLength;
     private char segmentLevel;
     private ReportSource reportSource;
@@ -48,60 +58,192 @@ public class Segment
 	}
 
 	public List<NIBRSError> setData(ReportSource reportSource, String data)
+    {
+        this.data = data;
+        this.buffer = null;
+        return parseHeader(reportSource);
+    }
+
+    /**
+     * Set the data of this segment to a region of the specified buffer.  The buffer is not copied, so the caller must not modify the region
+     * for as long as field values are read from this segment.
+     * @param reportSource the source of the segment
+     * @param buffer the buffer holding the segment
+     * @param offset the absolute index within the buffer of the first byte of the segment
+     * @param length the length of the segment in bytes, excluding any line terminator
+     * @return errors encountered in reading the segment header
+     */
+    public List<NIBRSError> setData(ReportSource reportSource, ByteBuffer buffer, int offset, int length)
+    {
+        this.data = null;
+        this.buffer = buffer;
+        this.bufferOffset = offset;
+        this.bufferLength = length;
+        return parseHeader(reportSource);
+    }
+
+    private List<NIBRSError> parseHeader(ReportSource reportSource)
     {
     	List<NIBRSError> ret = new ArrayList<NIBRSError>();
     	
-        this.data = data;
         this.reportSource = reportSource;
         NIBRSError e = null;
-        if (data == null || data.length() < 37) {
+        int length = length();
+        if (length < 37) {
         	e = new NIBRSError();
         	e.setContext(reportSource);
         	e.setNIBRSErrorCode(NIBRSErrorCode._001);
         	e.setDataElementIdentifier("Segment Length");
-        	if (data != null) {
-        		e.setValue(data.length());
-        	}
+        	e.setValue(length);
 			ret.add(e);
         }
-		if (data.length() >= 5) {
-			segmentType = StringUtils.getStringBetween(5, 5, data).charAt(0);
+		if (length >= 5) {
+			segmentType = getStringBetween(5, 5).charAt(0);
 			if (e != null) {
 				e.setSegmentType(segmentType);
 			}
 		}
 		if (e == null) {
-			String sv = StringUtils.getStringBetween(1, 4, data);
 	        Integer i = null;
 	        try {
-				i = Integer.parseInt(sv);
+				i = getIntegerBetween(1, 4);
+				if (i == null) {
+					throw new NumberFormatException();
+				}
 				this.segmentLength = i;
 	        } catch (NumberFormatException nfe) {
 	        	e = new NIBRSError();
 	        	e.setContext(reportSource);
 	        	e.setNIBRSErrorCode(NIBRSErrorCode._001);
 	        	e.setDataElementIdentifier("Segment Length");
-	        	e.setValue(sv);
+	        	e.setValue(getStringBetween(1, 4));
 	        	ret.add(e);
 	        }
-	        if (i != data.length()) {
-	        	LOG.warn("Warning at line " + reportSource.getSourceLocation() + ":  expected segment length of " + i + ", actual length was " + data.length());
+	        if (i != length) {
+	        	LOG.warn("Warning at line " + reportSource.getSourceLocation() + ":  expected segment length of " + i + ", actual length was " + length);
 	        }
 	        if (e == null) {
-	        	this.segmentUniqueIdentifier = StringUtils.getStringBetween(26, 37, data);
-	        	this.ori = StringUtils.getStringBetween(17, 25, data);
-	        	this.actionType =  data.charAt(5);
-	        	this.segmentLevel = StringUtils.getStringBetween(5, 5, data).charAt(0);
+	        	this.segmentUniqueIdentifier = getStringBetween(26, 37);
+	        	this.ori = getStringBetween(17, 25);
+	        	this.actionType = charAt(6);
+	        	this.segmentLevel = segmentType;
 	        }
 		}
         return ret;
     }
 
+    /**
+     * Get the trimmed value of the field between the 1-based beginning and ending positions, following the same rules as
+     * {@link StringUtils#getStringBetween(int, int, String)}.
+     * @param begin the 1-based beginning position
+     * @param end the 1-based ending position
+     * @return the value, or null if the segment is too short or the field is blank
+     */
+    public String getStringBetween(int begin, int end)
+    {
+    	if (buffer == null) {
+    		return StringUtils.getStringBetween(begin, end, data);
+    	}
+    	if (bufferLength == 0 || bufferLength < end) {
+    		return null;
+    	}
+    	int from = bufferOffset + begin - 1;
+    	int to = bufferOffset + end;
+    	while (from < to && (buffer.get(from) & 0xff) <= ' ') {
+    		from++;
+    	}
+    	while (to > from && (buffer.get(to - 1) & 0xff) <= ' ') {
+    		to--;
+    	}
+    	if (from == to) {
+    		return null;
+    	}
+    	byte[] bytes = new byte[to - from];
+    	for (int i = 0; i < bytes.length; i++) {
+    		bytes[i] = buffer.get(from + i);
+    	}
+    	return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Get the integer value of the field between the 1-based beginning and ending positions, without creating an intermediate String.
+     * Accepts the same input as Integer.parseInt applied to the trimmed field.
+     * @param begin the 1-based beginning position
+     * @param end the 1-based ending position
+     * @return the value, or null if the segment is too short or the field is blank
+     * @throws NumberFormatException if the field is not blank and is not an integer
+     */
+    public Integer getIntegerBetween(int begin, int end)
+    {
+    	if (length() == 0 || length() < end) {
+    		return null;
+    	}
+    	int from = begin;
+    	int to = end;
+    	while (from <= to && charAt(from) <= ' ') {
+    		from++;
+    	}
+    	while (to >= from && charAt(to) <= ' ') {
+    		to--;
+    	}
+    	if (from > to) {
+    		return null;
+    	}
+    	boolean negative = false;
+    	char first = charAt(from);
+    	if (first == '-' || first == '+') {
+    		negative = first == '-';
+    		from++;
+    		if (from > to) {
+    			throw new NumberFormatException("For input string: \"" + getStringBetween(begin, end) + "\"");
+    		}
+    	}
+    	long value = 0;
+    	for (int position = from; position <= to; position++) {
+    		char c = charAt(position);
+    		if (c < '0' || c > '9') {
+    			throw new NumberFormatException("For input string: \"" + getStringBetween(begin, end) + "\"");
+    		}
+    		value = value * 10 + (c - '0');
+    		if (value > (long) Integer.MAX_VALUE + 1) {
+    			throw new NumberFormatException("For input string: \"" + getStringBetween(begin, end) + "\"");
+    		}
+    	}
+    	value = negative ? -value : value;
+    	if (value > Integer.MAX_VALUE) {
+    		throw new NumberFormatException("For input string: \"" + getStringBetween(begin, end) + "\"");
+    	}
+    	return (int) value;
+    }
+
+    private int length()
+    {
+    	if (buffer == null) {
+    		return data == null ? 0 : data.length();
+    	}
+    	return bufferLength;
+    }
+
+    private char charAt(int position)
+    {
+    	if (buffer == null) {
+    		return data.charAt(position - 1);
+    	}
+    	return (char) (buffer.get(bufferOffset + position - 1) & 0xff);
+    }
+
 	public ReportSource getReportSource() {
 		return reportSource;
 	}
     public String getData()
     {
+    	if (data == null && buffer != null) {
+    		byte[] bytes = new byte[bufferLength];
+    		for (int i = 0; i < bufferLength; i++) {
+    			bytes[i] = buffer.get(bufferOffset + i);
+    		}
+    		data = new String(bytes, StandardCharsets.ISO_8859_1);
+    	}
         return data;
     }
     public String getSegmentUniqueIdentifier()
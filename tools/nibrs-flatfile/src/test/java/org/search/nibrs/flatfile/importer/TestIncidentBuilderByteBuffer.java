@@ -0,0 +1,250 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.flatfile.importer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.flatfile.exporter.FlatFileTranslator;
+import org.search.nibrs.importer.DefaultReportListener;
+import org.search.nibrs.importer.ReportListener;
+import org.search.nibrs.model.AbstractReport;
+import org.search.nibrs.model.GroupAIncidentReport;
+import org.search.nibrs.model.GroupBArrestReport;
+
+/**
+ * Unit test suite for reading flatfile submissions from a ByteBuffer or memory-mapped file with the IncidentBuilder class.
+ *
+ */
+public class TestIncidentBuilderByteBuffer {
+	
+	static final String TESTDATA_WITH_ERRORS =
+			"00871I022003    TN006000002-000895   20020102 10N                                      \r\n" +
+			"00712I022003    TN006000002-000895   220CN  20  N            88        \r\n" +
+			"00468I022003    TN006000002-000895   0124  MW \r\n" +
+			"00871I022003    TN006000002-000896   20020102 1XN                                      \r\n" +
+			"00661I022003    TN0060000   01       20020102T90C  01      10UMWNN ";
+
+	@Test
+	public void testByteBufferMatchesReader() throws Exception {
+		assertSameReports(buildFromReader(TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT), buildFromByteBuffer(TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT));
+		assertSameReports(buildFromReader(TESTDATA_WITH_ERRORS), buildFromByteBuffer(TESTDATA_WITH_ERRORS));
+	}
+
+	@Test
+	public void testMappedFileMatchesReader() throws Exception {
+		DefaultReportListener expected = buildFromReader(TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT);
+		// small regions force lines to straddle region boundaries
+		assertSameReports(expected, buildFromMappedFile(TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT, 500));
+		assertSameReports(expected, buildFromMappedFile(TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT, IncidentBuilder.DEFAULT_MAPPED_REGION_SIZE));
+		assertSameReports(buildFromReader(TESTDATA_WITH_ERRORS), buildFromMappedFile(TESTDATA_WITH_ERRORS, 400));
+	}
+
+	@Test
+	public void testStopsAtBlankLine() throws Exception {
+		String testData = TESTDATA_WITH_ERRORS.substring(0, TESTDATA_WITH_ERRORS.indexOf("00871I022003    TN006000002-000896")) + "   \n" + TESTDATA_WITH_ERRORS;
+		DefaultReportListener listener = buildFromByteBuffer(testData);
+		assertEquals(1, listener.getReportList().size());
+		assertSameReports(buildFromReader(testData), listener);
+	}
+
+	@Test(expected = IOException.class)
+	public void testLineLongerThanRegion() throws Exception {
+		buildFromMappedFile(TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT, 100);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMappedRegionSizeAboveIntRange() {
+		new IncidentBuilder().setMappedRegionSize(Integer.MAX_VALUE + 1L);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testMappedRegionSizeNotPositive() {
+		new IncidentBuilder().setMappedRegionSize(0);
+	}
+	
+	@Test
+	public void testParallelMatchesSequential() throws Exception {
+		String testData = buildLargeTestData();
+		DefaultReportListener expected = buildFromReader(testData);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			assertSameReports(expected, buildFromByteBufferInParallel(testData, pool, true));
+			assertSameReports(expected, sortByLineNumber(buildFromByteBufferInParallel(testData, pool, false)));
+			// regions smaller than the file force incomplete reports to be carried over to the next region
+			assertSameReports(expected, buildFromMappedFileInParallel(testData, 150 * 1024, pool, true));
+			assertSameReports(expected, sortByLineNumber(buildFromMappedFileInParallel(testData, 150 * 1024, pool, false)));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void testParallelStopsAtBlankLine() throws Exception {
+		String testData = buildLargeTestData();
+		testData = testData.substring(0, testData.length() / 2) + "\n  \n" + testData.substring(testData.length() / 2);
+		DefaultReportListener expected = buildFromReader(testData);
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			assertSameReports(expected, buildFromByteBufferInParallel(testData, pool, true));
+			assertSameReports(expected, buildFromMappedFileInParallel(testData, 100 * 1024, pool, true));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private String buildLargeTestData() {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			sb.append(TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT);
+			sb.append(TESTDATA_WITH_ERRORS).append("\r\n");
+		}
+		return sb.toString();
+	}
+
+	private DefaultReportListener sortByLineNumber(DefaultReportListener listener) {
+		List<AbstractReport> reports = new ArrayList<>(listener.getReportList());
+		reports.sort(Comparator.comparing(r -> Integer.valueOf(r.getSource().getSourceLocation())));
+		List<NIBRSError> errors = new ArrayList<>(listener.getErrorList());
+		errors.sort(Comparator.comparing(e -> Integer.valueOf(e.getContext().getSourceLocation())));
+		DefaultReportListener ret = new DefaultReportListener();
+		for (int i = 0; i < reports.size(); i++) {
+			ret.newReport(reports.get(i), i == 0 ? errors : new ArrayList<>());
+		}
+		return ret;
+	}
+
+	static void assertSameReports(DefaultReportListener expected, DefaultReportListener actual) {
+		List<AbstractReport> expectedReports = expected.getReportList();
+		List<AbstractReport> actualReports = actual.getReportList();
+		assertEquals(expectedReports.size(), actualReports.size());
+		for (int i = 0; i < expectedReports.size(); i++) {
+			AbstractReport expectedReport = expectedReports.get(i);
+			AbstractReport actualReport = actualReports.get(i);
+			assertEquals(expectedReport.getClass(), actualReport.getClass());
+			assertEquals(translate(expectedReport), translate(actualReport));
+			assertEquals(expectedReport.getIdentifier(), actualReport.getIdentifier());
+			assertEquals(expectedReport.getHasUpstreamErrors(), actualReport.getHasUpstreamErrors());
+			assertEquals(expectedReport.getSource().getSourceLocation(), actualReport.getSource().getSourceLocation());
+		}
+		List<NIBRSError> expectedErrors = expected.getErrorList();
+		List<NIBRSError> actualErrors = actual.getErrorList();
+		assertEquals(expectedErrors.size(), actualErrors.size());
+		for (int i = 0; i < expectedErrors.size(); i++) {
+			NIBRSError expectedError = expectedErrors.get(i);
+			NIBRSError actualError = actualErrors.get(i);
+			assertEquals(expectedError.getNIBRSErrorCode(), actualError.getNIBRSErrorCode());
+			assertEquals(expectedError.getValue(), actualError.getValue());
+			assertEquals(expectedError.getContext().getSourceLocation(), actualError.getContext().getSourceLocation());
+		}
+	}
+
+	private static String translate(AbstractReport report) {
+		if (report.getHasUpstreamErrors()) {
+			// the translator cannot render reports with unparseable values
+			return report.getUniqueReportDescription();
+		} else if (report instanceof GroupAIncidentReport) {
+			return FlatFileTranslator.translateGroupAIncidentReport((GroupAIncidentReport) report);
+		} else if (report instanceof GroupBArrestReport) {
+			return FlatFileTranslator.translateGroupBArrestReport((GroupBArrestReport) report);
+		}
+		return report.getUniqueReportDescription();
+	}
+
+	static DefaultReportListener buildFromReader(String testData) throws IOException {
+		DefaultReportListener listener = new DefaultReportListener();
+		IncidentBuilder incidentBuilder = new IncidentBuilder();
+		incidentBuilder.addIncidentListener(listener);
+		incidentBuilder.buildIncidents(new BufferedReader(new StringReader(testData)), TestIncidentBuilderByteBuffer.class.getName());
+		return listener;
+	}
+
+	private DefaultReportListener buildFromByteBuffer(String testData) {
+		DefaultReportListener listener = new DefaultReportListener();
+		IncidentBuilder incidentBuilder = new IncidentBuilder();
+		incidentBuilder.addIncidentListener(listener);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(testData.length() + 10);
+		buffer.put(testData.getBytes(StandardCharsets.US_ASCII));
+		buffer.flip();
+		incidentBuilder.buildIncidents(buffer, getClass().getName());
+		return listener;
+	}
+
+	private DefaultReportListener buildFromByteBufferInParallel(String testData, ForkJoinPool pool, boolean preserveOrder) {
+		DefaultReportListener listener = new DefaultReportListener();
+		IncidentBuilder incidentBuilder = new IncidentBuilder();
+		incidentBuilder.addIncidentListener(assertNotConcurrent(listener));
+		incidentBuilder.buildIncidents(ByteBuffer.wrap(testData.getBytes(StandardCharsets.US_ASCII)), getClass().getName(), pool, preserveOrder);
+		return listener;
+	}
+
+	private DefaultReportListener buildFromMappedFileInParallel(String testData, long mappedRegionSize, ForkJoinPool pool, boolean preserveOrder) throws IOException {
+		File file = File.createTempFile("nibrs", ".txt");
+		file.deleteOnExit();
+		Files.write(file.toPath(), testData.getBytes(StandardCharsets.US_ASCII));
+		DefaultReportListener listener = new DefaultReportListener();
+		IncidentBuilder incidentBuilder = new IncidentBuilder();
+		incidentBuilder.setMappedRegionSize(mappedRegionSize);
+		incidentBuilder.addIncidentListener(assertNotConcurrent(listener));
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			incidentBuilder.buildIncidents(channel, getClass().getName(), pool, preserveOrder);
+		}
+		return listener;
+	}
+
+	private ReportListener assertNotConcurrent(ReportListener listener) {
+		return new ReportListener() {
+			private volatile boolean inProgress;
+			@Override
+			public void newReport(AbstractReport report, List<NIBRSError> errorList) {
+				assertEquals(false, inProgress);
+				inProgress = true;
+				listener.newReport(report, errorList);
+				inProgress = false;
+			}
+		};
+	}
+
+	private DefaultReportListener buildFromMappedFile(String testData, long mappedRegionSize) throws IOException {
+		File file = File.createTempFile("nibrs", ".txt");
+		file.deleteOnExit();
+		Files.write(file.toPath(), testData.getBytes(StandardCharsets.US_ASCII));
+		DefaultReportListener listener = new DefaultReportListener();
+		IncidentBuilder incidentBuilder = new IncidentBuilder();
+		incidentBuilder.setMappedRegionSize(mappedRegionSize);
+		incidentBuilder.addIncidentListener(listener);
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			incidentBuilder.buildIncidents(channel, getClass().getName());
+		}
+		return listener;
+	}
+
+}
@@ -52,7 +52,7 @@ public class TestIncidentBuilderNewFormat {
 	@SuppressWarnings("unused")
 	private static final Logger LOG = LogManager.getLogger(TestIncidentBuilderNewFormat.class);
 	
-    private static final String TESTDATA_NEWFORMAT =
+    static final String TESTDATA_NEWFORMAT =
         "00881I022003    TN006000002-000895   20020102 10N                                      N\n" +
         "00712I022003    TN006000002-000895   220CN  20  N            88        \n" +
         "03073I022003    TN006000002-000895   713000000020                                                                                                                                                                                                                                                                  \n" +
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.flatfile.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.search.nibrs.importer.DefaultReportListener;
+import org.search.nibrs.importer.ParsedReport;
+
+/**
+ * Unit test suite for pulling reports from a flatfile submission through the stream API of the IncidentBuilder class.
+ *
+ */
+public class TestIncidentBuilderStream {
+	
+	@Test
+	public void testStreamMatchesListener() throws Exception {
+		assertSameAsListener(TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT);
+		assertSameAsListener(TestIncidentBuilderByteBuffer.TESTDATA_WITH_ERRORS);
+		assertSameAsListener(TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT + "\r\n" + TestIncidentBuilderByteBuffer.TESTDATA_WITH_ERRORS);
+	}
+	
+	@Test
+	public void testStreamIsLazy() throws Exception {
+		CountingReader reader = new CountingReader(TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT + TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT);
+		try (Stream<ParsedReport> stream = new IncidentBuilder().stream(reader, getClass().getName())) {
+			List<ParsedReport> reports = stream.limit(1).collect(Collectors.toList());
+			assertEquals(1, reports.size());
+			assertEquals("1", reports.get(0).getReport().getSource().getSourceLocation());
+		}
+		assertTrue(reader.charsRead < reader.length);
+		assertTrue(reader.closed);
+	}
+	
+	@Test
+	public void testStreamStopsAtBlankLine() throws Exception {
+		String testData = TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT + "\r\n" + TestIncidentBuilderNewFormat.TESTDATA_NEWFORMAT;
+		assertSameAsListener(testData);
+	}
+	
+	private void assertSameAsListener(String testData) throws IOException {
+		DefaultReportListener expected = TestIncidentBuilderByteBuffer.buildFromReader(testData);
+		DefaultReportListener actual = new DefaultReportListener();
+		try (Stream<ParsedReport> stream = new IncidentBuilder().stream(new StringReader(testData), getClass().getName())) {
+			stream.forEach(r -> actual.newReport(r.getReport(), r.getErrorList()));
+		}
+		TestIncidentBuilderByteBuffer.assertSameReports(expected, actual);
+	}
+	
+	private static final class CountingReader extends Reader {
+		
+		private final Reader reader;
+		private final int length;
+		private int charsRead;
+		private boolean closed;
+		
+		CountingReader(String data) {
+			reader = new StringReader(data);
+			length = data.length();
+		}
+
+		@Override
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			// hand out small pieces so that the BufferedReader cannot read ahead of the stream
+			int ret = reader.read(cbuf, off, Math.min(len, 100));
+			if (ret > 0) {
+				charsRead += ret;
+			}
+			return ret;
+		}
+
+		@Override
+		public void close() throws IOException {
+			closed = true;
+			reader.close();
+		}
+		
+	}
+
+}
@@ -17,6 +17,8 @@ package org.search.nibrs.flatfile.importer;
 
 import static org.junit.Assert.*;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.junit.*;
@@ -108,6 +110,34 @@ public class TestSegment
         assertEquals("TN0390500", s.getOri());
     }
     
+    @Test
+    public void testByteBufferSegment()
+    {
+        String segment = "00871I022003    TN0390500111502      20021115 19N                                      ";
+        ByteBuffer buffer = ByteBuffer.wrap(("xx" + segment + "\n").getBytes(StandardCharsets.US_ASCII));
+        Segment s = new Segment();
+        assertEquals(0, s.setData(makeReportSource(1), buffer, 2, segment.length()).size());
+        assertEquals(GroupAIncidentReport.ADMIN_SEGMENT_TYPE_IDENTIFIER, s.getSegmentType());
+        assertEquals('I', s.getActionType());
+        assertEquals("111502", s.getSegmentUniqueIdentifier());
+        assertEquals("TN0390500", s.getOri());
+        assertEquals(87, s.getSegmentLength());
+        assertEquals(new Integer(2003), s.getIntegerBetween(9, 12));
+        assertEquals(new Integer(19), s.getIntegerBetween(47, 48));
+        assertNull(s.getIntegerBetween(50, 57));
+        assertNull(s.getStringBetween(86, 88));
+        assertEquals("20021115", s.getStringBetween(38, 45));
+        assertEquals(segment, s.getData());
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void testIntegerBetweenInvalid()
+    {
+        Segment s = new Segment();
+        s.setData(makeReportSource(1), "00871I022003    TN0390500111502      20021115 19N                                      ");
+        s.getIntegerBetween(17, 25);
+    }
+
     private ReportSource makeReportSource(int lineNumber) {
 		ReportSource ret = new ReportSource();
 		ret.setSourceName(getClass().getName());
@@ -30,6 +30,8 @@ public class AppProperties {
 	private Map<String, String> nonNumericAgeCodeMapping = new HashMap<>();
 	private Map<String, String> propertyCodeMapping = new HashMap<>();
 	private Map<String, String> locationCodeMapping = new HashMap<>();
+	private Integer bulkSaveChunkSize = 100;
+	private Integer summaryFormCacheSize = 1000;
 
 	public AppProperties() {
 		super();
@@ -201,4 +203,20 @@ public class AppProperties {
 		this.propertyCodeMapping = propertyCodeMapping;
 	}
 
+	public Integer getBulkSaveChunkSize() {
+		return bulkSaveChunkSize;
+	}
+
+	public void setBulkSaveChunkSize(Integer bulkSaveChunkSize) {
+		this.bulkSaveChunkSize = bulkSaveChunkSize;
+	}
+
+	public Integer getSummaryFormCacheSize() {
+		return summaryFormCacheSize;
+	}
+
+	public void setSummaryFormCacheSize(Integer summaryFormCacheSize) {
+		this.summaryFormCacheSize = summaryFormCacheSize;
+	}
+
 }
\ No newline at end of file
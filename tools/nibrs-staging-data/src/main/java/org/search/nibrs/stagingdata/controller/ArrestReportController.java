@@ -15,29 +15,83 @@
  */
 package org.search.nibrs.stagingdata.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.search.nibrs.model.GroupBArrestReport;
 import org.search.nibrs.stagingdata.model.segment.ArrestReportSegment;
 import org.search.nibrs.stagingdata.service.ArrestReportService;
+import org.search.nibrs.stagingdata.service.BulkReportService;
+import org.search.nibrs.stagingdata.service.KeysetPage;
+import org.search.nibrs.stagingdata.service.ReportOutcome;
+import org.search.nibrs.stagingdata.service.SegmentExportService;
 import org.search.nibrs.stagingdata.util.BaselineIncidentFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 public class ArrestReportController {
 	@Autowired
 	private ArrestReportService arrestReportService;
+	@Autowired
+	private BulkReportService bulkReportService;
+	@Autowired
+	private SegmentExportService segmentExportService;
 	
 	@RequestMapping("/arrestReports")
 	public List<ArrestReportSegment> getAllArrestReport(){
 		return arrestReportService.findAllArrestReportSegment();
 	}
 	
+	/**
+	 * A page of segments, optionally filtered by ORI and by arrest date range. 
+	 */
+	@RequestMapping("/arrestReports/page")
+	public Page<ArrestReportSegment> getArrestReportPage(
+			@RequestParam(value="ori", required=false) String ori, 
+			@RequestParam(value="startDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate startDate, 
+			@RequestParam(value="endDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate endDate, 
+			@RequestParam(value="page", defaultValue="0") int page, 
+			@RequestParam(value="size", defaultValue="100") int size){
+		return arrestReportService.findArrestReportSegments(ori, startDate, endDate, page, size);
+	}
+	
+	/**
+	 * The segments after the afterId in id order.  Pass the nextAfterId of the response to get the next page. 
+	 */
+	@RequestMapping("/arrestReports/keyset")
+	public KeysetPage<ArrestReportSegment> getArrestReportKeysetPage(
+			@RequestParam(value="afterId", required=false) Integer afterId, 
+			@RequestParam(value="ori", required=false) String ori, 
+			@RequestParam(value="startDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate startDate, 
+			@RequestParam(value="endDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate endDate, 
+			@RequestParam(value="size", defaultValue="100") int size){
+		return arrestReportService.findArrestReportSegmentsAfter(afterId, ori, startDate, endDate, size);
+	}
+	
+	/**
+	 * Stream all the matching segments as newline delimited JSON. 
+	 */
+	@RequestMapping(value="/arrestReports/export", produces="application/x-ndjson")
+	public StreamingResponseBody exportArrestReports(
+			@RequestParam(value="ori", required=false) String ori, 
+			@RequestParam(value="startDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate startDate, 
+			@RequestParam(value="endDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate endDate){
+		return outputStream -> segmentExportService.exportArrestReportSegments(ori, startDate, endDate, outputStream);
+	}
+	
 	@RequestMapping("/groupBArrestReport")
 	public GroupBArrestReport getGroupBReport(){
 		return BaselineIncidentFactory.getBaselineGroupBArrestReport();
@@ -48,6 +102,24 @@ public class ArrestReportController {
 		arrestReportService.saveGroupBArrestReports(groupBArrestReports);
 	}
 	
+	/**
+	 * Save a JSON array of reports, one transaction per chunk. 
+	 */
+	@RequestMapping(value="/arrestReports/bulk", method=RequestMethod.POST, consumes=MediaType.APPLICATION_JSON_VALUE)
+	public List<ReportOutcome> bulkSaveArrestReports(InputStream inputStream, 
+			@RequestParam(value="chunkSize", required=false) Integer chunkSize) throws IOException{
+		return bulkReportService.saveGroupBArrestReports(inputStream, chunkSize);
+	}
+	
+	/**
+	 * Save newline delimited JSON reports as they are read from the request body, one transaction per chunk. 
+	 */
+	@RequestMapping(value="/arrestReports/bulk", method=RequestMethod.POST, consumes="application/x-ndjson")
+	public List<ReportOutcome> bulkSaveArrestReportsStream(InputStream inputStream, 
+			@RequestParam(value="chunkSize", required=false) Integer chunkSize) throws IOException{
+		return bulkReportService.saveGroupBArrestReports(inputStream, chunkSize);
+	}
+	
 	@RequestMapping(value="/arrestReports/{identifier}", method=RequestMethod.DELETE)
 	public void deleteArrestReport(@PathVariable("identifier") String identifier){
 		arrestReportService.deleteGroupBArrestReport(identifier);
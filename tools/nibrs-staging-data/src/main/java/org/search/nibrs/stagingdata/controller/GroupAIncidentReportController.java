@@ -15,30 +15,84 @@
  */
 package org.search.nibrs.stagingdata.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 import org.search.nibrs.model.GroupAIncidentReport;
 import org.search.nibrs.stagingdata.model.segment.AdministrativeSegment;
 import org.search.nibrs.stagingdata.service.GroupAIncidentService;
+import org.search.nibrs.stagingdata.service.BulkReportService;
+import org.search.nibrs.stagingdata.service.KeysetPage;
+import org.search.nibrs.stagingdata.service.ReportOutcome;
+import org.search.nibrs.stagingdata.service.SegmentExportService;
 import org.search.nibrs.stagingdata.util.BaselineIncidentFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 public class GroupAIncidentReportController {
 
 	@Autowired
 	private GroupAIncidentService groupAIncidentService;
+	@Autowired
+	private BulkReportService bulkReportService;
+	@Autowired
+	private SegmentExportService segmentExportService;
 	
 	@RequestMapping("/groupAIncidentReports")
 	public List<AdministrativeSegment> getAllGroupAIncidentReport(){
 		return groupAIncidentService.findAllAdministrativeSegments();
 	}
 	
+	/**
+	 * A page of segments, optionally filtered by ORI and by incident date range. 
+	 */
+	@RequestMapping("/groupAIncidentReports/page")
+	public Page<AdministrativeSegment> getGroupAIncidentReportPage(
+			@RequestParam(value="ori", required=false) String ori, 
+			@RequestParam(value="startDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate startDate, 
+			@RequestParam(value="endDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate endDate, 
+			@RequestParam(value="page", defaultValue="0") int page, 
+			@RequestParam(value="size", defaultValue="100") int size){
+		return groupAIncidentService.findAdministrativeSegments(ori, startDate, endDate, page, size);
+	}
+	
+	/**
+	 * The segments after the afterId in id order.  Pass the nextAfterId of the response to get the next page. 
+	 */
+	@RequestMapping("/groupAIncidentReports/keyset")
+	public KeysetPage<AdministrativeSegment> getGroupAIncidentReportKeysetPage(
+			@RequestParam(value="afterId", required=false) Integer afterId, 
+			@RequestParam(value="ori", required=false) String ori, 
+			@RequestParam(value="startDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate startDate, 
+			@RequestParam(value="endDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate endDate, 
+			@RequestParam(value="size", defaultValue="100") int size){
+		return groupAIncidentService.findAdministrativeSegmentsAfter(afterId, ori, startDate, endDate, size);
+	}
+	
+	/**
+	 * Stream all the matching segments as newline delimited JSON. 
+	 */
+	@RequestMapping(value="/groupAIncidentReports/export", produces="application/x-ndjson")
+	public StreamingResponseBody exportGroupAIncidentReports(
+			@RequestParam(value="ori", required=false) String ori, 
+			@RequestParam(value="startDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate startDate, 
+			@RequestParam(value="endDate", required=false) @DateTimeFormat(iso=ISO.DATE) LocalDate endDate){
+		return outputStream -> segmentExportService.exportAdministrativeSegments(ori, startDate, endDate, outputStream);
+	}
+	
 	@RequestMapping("/groupAIncidentReport")
 	public GroupAIncidentReport getGroupAIncidentReport(){
 		return BaselineIncidentFactory.getBaselineIncident();
@@ -49,6 +103,24 @@ public class GroupAIncidentReportController {
 		groupAIncidentService.saveGroupAIncidentReports(groupAIncidentReports);
 	}
 	
+	/**
+	 * Save a JSON array of reports, one transaction per chunk. 
+	 */
+	@RequestMapping(value="/groupAIncidentReports/bulk", method=RequestMethod.POST, consumes=MediaType.APPLICATION_JSON_VALUE)
+	public List<ReportOutcome> bulkSave(InputStream inputStream, 
+			@RequestParam(value="chunkSize", required=false) Integer chunkSize) throws IOException{
+		return bulkReportService.saveGroupAIncidentReports(inputStream, chunkSize);
+	}
+	
+	/**
+	 * Save newline delimited JSON reports as they are read from the request body, one transaction per chunk. 
+	 */
+	@RequestMapping(value="/groupAIncidentReports/bulk", method=RequestMethod.POST, consumes="application/x-ndjson")
+	public List<ReportOutcome> bulkSaveStream(InputStream inputStream, 
+			@RequestParam(value="chunkSize", required=false) Integer chunkSize) throws IOException{
+		return bulkReportService.saveGroupAIncidentReports(inputStream, chunkSize);
+	}
+	
 	@RequestMapping(value="/groupAIncidentReports/{incidentNumber}", method=RequestMethod.DELETE)
 	public void deleteReport(@PathVariable("incidentNumber") String incidentNumber){
 		groupAIncidentService.deleteGroupAIncidentReport(incidentNumber);
@@ -17,30 +17,46 @@ package org.search.nibrs.stagingdata.controller;
 
 import org.search.nibrs.model.reports.ReturnAForm;
 import org.search.nibrs.model.reports.asr.AsrAdult;
-import org.search.nibrs.stagingdata.service.summary.AsrFormService;
-import org.search.nibrs.stagingdata.service.summary.ReturnAFormService;
+import org.search.nibrs.stagingdata.service.summary.SummaryAggregateService;
+import org.search.nibrs.stagingdata.service.summary.SummaryFormCache;
+import org.search.nibrs.stagingdata.service.summary.SummaryFormCacheStatistics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class SummaryFormController {
 
 	@Autowired
-	private ReturnAFormService returnAFormService;
-	
+	private SummaryAggregateService summaryAggregateService;
 	@Autowired
-	private AsrFormService asrFormService;
+	private SummaryFormCache summaryFormCache;
 	
 	@RequestMapping("/returnAForm/{ori}/{year}/{month}")
 	public ReturnAForm getReturnAForm(@PathVariable String ori, @PathVariable Integer year, @PathVariable Integer month){
-		return returnAFormService.createReturnASummaryReport(ori, year, month);
+		return summaryAggregateService.createReturnASummaryReport(ori, year, month);
 	}
 	
 	@RequestMapping("/asrAdult/{ori}/{arrestYear}/{arrestMonth}")
 	public AsrAdult getAsrAdultForm(@PathVariable String ori, @PathVariable Integer arrestYear, @PathVariable Integer arrestMonth){
-		return asrFormService.createAsrAdultSummaryReport(ori, arrestYear, arrestMonth);
+		return summaryAggregateService.createAsrAdultSummaryReport(ori, arrestYear, arrestMonth);
+	}
+	
+	/**
+	 * Recounts the summary aggregates from all the stored segments, one ORI and month at a time. 
+	 * 
+	 * @return the number of ORI months recounted
+	 */
+	@RequestMapping(value="/summaryAggregates/rebuild", method=RequestMethod.POST)
+	public long rebuildSummaryAggregates(){
+		return summaryAggregateService.rebuildSummaryAggregates();
+	}
+	
+	@RequestMapping("/summaryFormCache/statistics")
+	public SummaryFormCacheStatistics getSummaryFormCacheStatistics(){
+		return summaryFormCache.getStatistics();
 	}
 	
 }
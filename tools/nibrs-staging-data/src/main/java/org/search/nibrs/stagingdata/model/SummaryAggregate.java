@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.model;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * One cell of a summary form, counted for one ORI and month.  A month of 0 holds the count for the whole year, which 
+ * is not always the sum of the months because an incident cleared in two months of a year is cleared once in the year. 
+ */
+@Entity
+public class SummaryAggregate {
+	@Id
+	@GeneratedValue(strategy=GenerationType.IDENTITY)
+	private Integer summaryAggregateId; 
+	
+	private String ori; 
+	private Integer year; 
+	private Integer month; 
+	private String summaryForm; 
+	private String section; 
+	private String rowName; 
+	private String columnName; 
+	private Double aggregateValue; 
+	
+	public SummaryAggregate() {
+		super();
+	}
+	
+	public SummaryAggregate(String section, String rowName, String columnName, Double aggregateValue) {
+		this();
+		this.section = section;
+		this.rowName = rowName;
+		this.columnName = columnName;
+		this.aggregateValue = aggregateValue;
+	}
+	
+	public SummaryAggregate(String ori, Integer year, Integer month, String summaryForm, String section, String rowName,
+			String columnName, Double aggregateValue) {
+		this(section, rowName, columnName, aggregateValue);
+		this.ori = ori;
+		this.year = year;
+		this.month = month;
+		this.summaryForm = summaryForm;
+	}
+
+	public String toString(){
+		return ToStringBuilder.reflectionToString(this);
+	}
+
+	public Integer getSummaryAggregateId() {
+		return summaryAggregateId;
+	}
+
+	public void setSummaryAggregateId(Integer summaryAggregateId) {
+		this.summaryAggregateId = summaryAggregateId;
+	}
+
+	public String getOri() {
+		return ori;
+	}
+
+	public void setOri(String ori) {
+		this.ori = ori;
+	}
+
+	public Integer getYear() {
+		return year;
+	}
+
+	public void setYear(Integer year) {
+		this.year = year;
+	}
+
+	public Integer getMonth() {
+		return month;
+	}
+
+	public void setMonth(Integer month) {
+		this.month = month;
+	}
+
+	public String getSummaryForm() {
+		return summaryForm;
+	}
+
+	public void setSummaryForm(String summaryForm) {
+		this.summaryForm = summaryForm;
+	}
+
+	public String getSection() {
+		return section;
+	}
+
+	public void setSection(String section) {
+		this.section = section;
+	}
+
+	public String getRowName() {
+		return rowName;
+	}
+
+	public void setRowName(String rowName) {
+		this.rowName = rowName;
+	}
+
+	public String getColumnName() {
+		return columnName;
+	}
+
+	public void setColumnName(String columnName) {
+		this.columnName = columnName;
+	}
+
+	public Double getAggregateValue() {
+		return aggregateValue;
+	}
+
+	public void setAggregateValue(Double aggregateValue) {
+		this.aggregateValue = aggregateValue;
+	}
+
+}
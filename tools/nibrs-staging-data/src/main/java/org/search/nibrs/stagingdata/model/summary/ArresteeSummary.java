@@ -0,0 +1,155 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.model.summary;
+
+import java.util.Objects;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+public class ArresteeSummary {
+	
+	private Integer arresteeSegmentId;
+	private Integer administrativeSegmentId;
+	private String ucrOffenseCode;
+	private String multipleArresteeSegmentsIndicatorCode;
+	private Integer ageOfArresteeMin; 
+	private Integer ageOfArresteeMax;
+	private String nonNumericAge;
+	private String sexOfPersonCode;
+	private String raceOfPersonCode;
+	private String ethnicityOfPersonCode;
+	private Integer arrestYear;
+	private Integer arrestMonth;
+	
+	public ArresteeSummary(Integer arresteeSegmentId, Integer administrativeSegmentId, String ucrOffenseCode,
+			String multipleArresteeSegmentsIndicatorCode, Integer ageOfArresteeMin, Integer ageOfArresteeMax,
+			String nonNumericAge, String sexOfPersonCode, String raceOfPersonCode, String ethnicityOfPersonCode, 
+			Integer arrestYear, Integer arrestMonth) {
+		super();
+		this.arresteeSegmentId = arresteeSegmentId;
+		this.administrativeSegmentId = administrativeSegmentId;
+		this.ucrOffenseCode = ucrOffenseCode;
+		this.multipleArresteeSegmentsIndicatorCode = multipleArresteeSegmentsIndicatorCode;
+		this.ageOfArresteeMin = ageOfArresteeMin;
+		this.ageOfArresteeMax = ageOfArresteeMax;
+		this.nonNumericAge = nonNumericAge;
+		this.sexOfPersonCode = sexOfPersonCode;
+		this.raceOfPersonCode = raceOfPersonCode;
+		this.ethnicityOfPersonCode = ethnicityOfPersonCode;
+		this.arrestYear = arrestYear;
+		this.arrestMonth = arrestMonth;
+	}
+	
+    public boolean isJuvenile() {
+    	boolean ret = false; 
+    	if ( !isAgeUnknown() ) {
+    		ret = ageOfArresteeMax < 18 || (ageOfArresteeMin < 18 && getAverageAge() < 18);
+    	}
+    	return ret;
+    }
+    
+	public Integer getAverageAge() {
+		Integer ret = null;
+		if (!isAgeUnknown()) {
+			double min = ageOfArresteeMin.doubleValue();
+			double max = ageOfArresteeMax.doubleValue();
+			double average = (min + max) / 2.0;
+			ret = new Integer((int) average);
+		}
+		return ret;
+	}
+
+    public boolean isAgeUnknown() {
+    	// set forth in rule for data element 52
+    	return ageOfArresteeMax == null && ageOfArresteeMin == null && Objects.equals(nonNumericAge, "00");
+    }
+    
+	public Integer getArresteeSegmentId() {
+		return arresteeSegmentId;
+	}
+	public void setArresteeSegmentId(Integer arresteeSegmentId) {
+		this.arresteeSegmentId = arresteeSegmentId;
+	}
+	public Integer getAdministrativeSegmentId() {
+		return administrativeSegmentId;
+	}
+	public void setAdministrativeSegmentId(Integer administrativeSegmentId) {
+		this.administrativeSegmentId = administrativeSegmentId;
+	}
+	public String getUcrOffenseCode() {
+		return ucrOffenseCode;
+	}
+	public void setUcrOffenseCode(String ucrOffenseCode) {
+		this.ucrOffenseCode = ucrOffenseCode;
+	}
+	public String getMultipleArresteeSegmentsIndicatorCode() {
+		return multipleArresteeSegmentsIndicatorCode;
+	}
+	public void setMultipleArresteeSegmentsIndicatorCode(String multipleArresteeSegmentsIndicatorCode) {
+		this.multipleArresteeSegmentsIndicatorCode = multipleArresteeSegmentsIndicatorCode;
+	}
+	public Integer getAgeOfArresteeMin() {
+		return ageOfArresteeMin;
+	}
+	public void setAgeOfArresteeMin(Integer ageOfArresteeMin) {
+		this.ageOfArresteeMin = ageOfArresteeMin;
+	}
+	public Integer getAgeOfArresteeMax() {
+		return ageOfArresteeMax;
+	}
+	public void setAgeOfArresteeMax(Integer ageOfArresteeMax) {
+		this.ageOfArresteeMax = ageOfArresteeMax;
+	}
+	public String getNonNumericAge() {
+		return nonNumericAge;
+	}
+	public void setNonNumericAge(String nonNumericAge) {
+		this.nonNumericAge = nonNumericAge;
+	}
+	public String getSexOfPersonCode() {
+		return sexOfPersonCode;
+	}
+	public void setSexOfPersonCode(String sexOfPersonCode) {
+		this.sexOfPersonCode = sexOfPersonCode;
+	}
+	public String getRaceOfPersonCode() {
+		return raceOfPersonCode;
+	}
+	public void setRaceOfPersonCode(String raceOfPersonCode) {
+		this.raceOfPersonCode = raceOfPersonCode;
+	}
+	public String getEthnicityOfPersonCode() {
+		return ethnicityOfPersonCode;
+	}
+	public void setEthnicityOfPersonCode(String ethnicityOfPersonCode) {
+		this.ethnicityOfPersonCode = ethnicityOfPersonCode;
+	}
+	public Integer getArrestYear() {
+		return arrestYear;
+	}
+	public void setArrestYear(Integer arrestYear) {
+		this.arrestYear = arrestYear;
+	}
+	public Integer getArrestMonth() {
+		return arrestMonth;
+	}
+	public void setArrestMonth(Integer arrestMonth) {
+		this.arrestMonth = arrestMonth;
+	}
+	public String toString(){
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.model.summary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * The columns of an administrative segment and its child segments that the summary reports read.  It is assembled from 
+ * projection queries, so none of the segment entities are loaded. 
+ */
+public class IncidentSummary {
+	
+	private Integer administrativeSegmentId;
+	private String ori;
+	private String incidentHour;
+	private String clearedExceptionallyCode;
+	private Integer incidentYear;
+	private Integer incidentMonth;
+	private Integer exceptionalClearanceYear;
+	private Integer exceptionalClearanceMonth;
+	
+	private List<OffenseSummary> offenses = new ArrayList<>();
+	private List<PropertySummary> properties = new ArrayList<>();
+	private List<VictimOffenseLink> victimOffenseLinks = new ArrayList<>();
+	private List<OffenderSummary> offenders = new ArrayList<>();
+	private List<ArresteeSummary> arrestees = new ArrayList<>();
+	
+	public IncidentSummary(Integer administrativeSegmentId, String ori, String incidentHour, String clearedExceptionallyCode, 
+			Integer incidentYear, Integer incidentMonth, Integer exceptionalClearanceYear, Integer exceptionalClearanceMonth) {
+		super();
+		this.administrativeSegmentId = administrativeSegmentId;
+		this.ori = ori;
+		this.incidentHour = incidentHour;
+		this.clearedExceptionallyCode = clearedExceptionallyCode;
+		this.incidentYear = incidentYear;
+		this.incidentMonth = incidentMonth;
+		this.exceptionalClearanceYear = exceptionalClearanceYear;
+		this.exceptionalClearanceMonth = exceptionalClearanceMonth;
+	}
+	
+	public Integer getAdministrativeSegmentId() {
+		return administrativeSegmentId;
+	}
+	public void setAdministrativeSegmentId(Integer administrativeSegmentId) {
+		this.administrativeSegmentId = administrativeSegmentId;
+	}
+	public String getOri() {
+		return ori;
+	}
+	public void setOri(String ori) {
+		this.ori = ori;
+	}
+	public String getIncidentHour() {
+		return incidentHour;
+	}
+	public void setIncidentHour(String incidentHour) {
+		this.incidentHour = incidentHour;
+	}
+	public String getClearedExceptionallyCode() {
+		return clearedExceptionallyCode;
+	}
+	public void setClearedExceptionallyCode(String clearedExceptionallyCode) {
+		this.clearedExceptionallyCode = clearedExceptionallyCode;
+	}
+	public Integer getIncidentYear() {
+		return incidentYear;
+	}
+	public void setIncidentYear(Integer incidentYear) {
+		this.incidentYear = incidentYear;
+	}
+	public Integer getIncidentMonth() {
+		return incidentMonth;
+	}
+	public void setIncidentMonth(Integer incidentMonth) {
+		this.incidentMonth = incidentMonth;
+	}
+	public Integer getExceptionalClearanceYear() {
+		return exceptionalClearanceYear;
+	}
+	public void setExceptionalClearanceYear(Integer exceptionalClearanceYear) {
+		this.exceptionalClearanceYear = exceptionalClearanceYear;
+	}
+	public Integer getExceptionalClearanceMonth() {
+		return exceptionalClearanceMonth;
+	}
+	public void setExceptionalClearanceMonth(Integer exceptionalClearanceMonth) {
+		this.exceptionalClearanceMonth = exceptionalClearanceMonth;
+	}
+	public List<OffenseSummary> getOffenses() {
+		return offenses;
+	}
+	public void setOffenses(List<OffenseSummary> offenses) {
+		this.offenses = offenses;
+	}
+	public List<PropertySummary> getProperties() {
+		return properties;
+	}
+	public void setProperties(List<PropertySummary> properties) {
+		this.properties = properties;
+	}
+	public List<VictimOffenseLink> getVictimOffenseLinks() {
+		return victimOffenseLinks;
+	}
+	public void setVictimOffenseLinks(List<VictimOffenseLink> victimOffenseLinks) {
+		this.victimOffenseLinks = victimOffenseLinks;
+	}
+	public List<OffenderSummary> getOffenders() {
+		return offenders;
+	}
+	public void setOffenders(List<OffenderSummary> offenders) {
+		this.offenders = offenders;
+	}
+	public List<ArresteeSummary> getArrestees() {
+		return arrestees;
+	}
+	public void setArrestees(List<ArresteeSummary> arrestees) {
+		this.arrestees = arrestees;
+	}
+	public String toString(){
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
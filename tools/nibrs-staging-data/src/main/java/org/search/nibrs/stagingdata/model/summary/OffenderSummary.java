@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.model.summary;
+
+import java.util.Objects;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+public class OffenderSummary {
+	
+	private Integer administrativeSegmentId;
+	private Integer ageOfOffenderMin; 
+	private Integer ageOfOffenderMax;
+	private String nonNumericAge; 
+	
+	public OffenderSummary(Integer administrativeSegmentId, Integer ageOfOffenderMin, Integer ageOfOffenderMax,
+			String nonNumericAge) {
+		super();
+		this.administrativeSegmentId = administrativeSegmentId;
+		this.ageOfOffenderMin = ageOfOffenderMin;
+		this.ageOfOffenderMax = ageOfOffenderMax;
+		this.nonNumericAge = nonNumericAge;
+	}
+	
+    public boolean isJuvenile() {
+    	boolean ret = false; 
+    	if ( !isAgeUnknown() ) {
+    		ret = ageOfOffenderMax < 18 || (ageOfOffenderMin < 18 && getAverageAge() < 18);
+    	}
+    	return ret;
+    }
+    
+	public Integer getAverageAge() {
+		Integer ret = null;
+		if (!isAgeUnknown()) {
+			double min = ageOfOffenderMin.doubleValue();
+			double max = ageOfOffenderMax.doubleValue();
+			double average = (min + max) / 2.0;
+			ret = new Integer((int) average);
+		}
+		return ret;
+	}
+
+    public boolean isAgeUnknown() {
+    	// set forth in rule for data element 52
+    	return ageOfOffenderMax == null && ageOfOffenderMin == null && Objects.equals(nonNumericAge, "00");
+    }
+    
+	public Integer getAdministrativeSegmentId() {
+		return administrativeSegmentId;
+	}
+	public void setAdministrativeSegmentId(Integer administrativeSegmentId) {
+		this.administrativeSegmentId = administrativeSegmentId;
+	}
+	public Integer getAgeOfOffenderMin() {
+		return ageOfOffenderMin;
+	}
+	public void setAgeOfOffenderMin(Integer ageOfOffenderMin) {
+		this.ageOfOffenderMin = ageOfOffenderMin;
+	}
+	public Integer getAgeOfOffenderMax() {
+		return ageOfOffenderMax;
+	}
+	public void setAgeOfOffenderMax(Integer ageOfOffenderMax) {
+		this.ageOfOffenderMax = ageOfOffenderMax;
+	}
+	public String getNonNumericAge() {
+		return nonNumericAge;
+	}
+	public void setNonNumericAge(String nonNumericAge) {
+		this.nonNumericAge = nonNumericAge;
+	}
+	public String toString(){
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
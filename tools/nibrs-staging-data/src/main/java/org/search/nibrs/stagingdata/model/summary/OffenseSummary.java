@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.model.summary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+public class OffenseSummary {
+	
+	private Integer offenseSegmentId;
+	private Integer administrativeSegmentId;
+	private String ucrOffenseCode;
+	private String offenseAttemptedCompleted;
+	private String locationCode;
+	private Integer numberOfPremisesEntered;
+	private String methodOfEntryCode;
+	private List<String> typeOfWeaponForceInvolvedCodes = new ArrayList<>();
+	private List<String> typeOfCriminalActivityCodes = new ArrayList<>();
+	private List<String> offenderSuspectedOfUsingCodes = new ArrayList<>();
+	
+	public OffenseSummary(Integer offenseSegmentId, Integer administrativeSegmentId, String ucrOffenseCode,
+			String offenseAttemptedCompleted, String locationCode, Integer numberOfPremisesEntered,
+			String methodOfEntryCode) {
+		super();
+		this.offenseSegmentId = offenseSegmentId;
+		this.administrativeSegmentId = administrativeSegmentId;
+		this.ucrOffenseCode = ucrOffenseCode;
+		this.offenseAttemptedCompleted = offenseAttemptedCompleted;
+		this.locationCode = locationCode;
+		this.numberOfPremisesEntered = numberOfPremisesEntered;
+		this.methodOfEntryCode = methodOfEntryCode;
+	}
+	
+	public Integer getOffenseSegmentId() {
+		return offenseSegmentId;
+	}
+	public void setOffenseSegmentId(Integer offenseSegmentId) {
+		this.offenseSegmentId = offenseSegmentId;
+	}
+	public Integer getAdministrativeSegmentId() {
+		return administrativeSegmentId;
+	}
+	public void setAdministrativeSegmentId(Integer administrativeSegmentId) {
+		this.administrativeSegmentId = administrativeSegmentId;
+	}
+	public String getUcrOffenseCode() {
+		return ucrOffenseCode;
+	}
+	public void setUcrOffenseCode(String ucrOffenseCode) {
+		this.ucrOffenseCode = ucrOffenseCode;
+	}
+	public String getOffenseAttemptedCompleted() {
+		return offenseAttemptedCompleted;
+	}
+	public void setOffenseAttemptedCompleted(String offenseAttemptedCompleted) {
+		this.offenseAttemptedCompleted = offenseAttemptedCompleted;
+	}
+	public String getLocationCode() {
+		return locationCode;
+	}
+	public void setLocationCode(String locationCode) {
+		this.locationCode = locationCode;
+	}
+	public Integer getNumberOfPremisesEntered() {
+		return numberOfPremisesEntered;
+	}
+	public void setNumberOfPremisesEntered(Integer numberOfPremisesEntered) {
+		this.numberOfPremisesEntered = numberOfPremisesEntered;
+	}
+	public String getMethodOfEntryCode() {
+		return methodOfEntryCode;
+	}
+	public void setMethodOfEntryCode(String methodOfEntryCode) {
+		this.methodOfEntryCode = methodOfEntryCode;
+	}
+	public List<String> getTypeOfWeaponForceInvolvedCodes() {
+		return typeOfWeaponForceInvolvedCodes;
+	}
+	public void setTypeOfWeaponForceInvolvedCodes(List<String> typeOfWeaponForceInvolvedCodes) {
+		this.typeOfWeaponForceInvolvedCodes = typeOfWeaponForceInvolvedCodes;
+	}
+	public List<String> getTypeOfCriminalActivityCodes() {
+		return typeOfCriminalActivityCodes;
+	}
+	public void setTypeOfCriminalActivityCodes(List<String> typeOfCriminalActivityCodes) {
+		this.typeOfCriminalActivityCodes = typeOfCriminalActivityCodes;
+	}
+	public List<String> getOffenderSuspectedOfUsingCodes() {
+		return offenderSuspectedOfUsingCodes;
+	}
+	public void setOffenderSuspectedOfUsingCodes(List<String> offenderSuspectedOfUsingCodes) {
+		this.offenderSuspectedOfUsingCodes = offenderSuspectedOfUsingCodes;
+	}
+	public String toString(){
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.model.summary;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+public class PropertySummary {
+	
+	private Integer propertySegmentId;
+	private Integer administrativeSegmentId;
+	private String typePropertyLossCode;
+	private Integer numberOfStolenMotorVehicles;
+	private List<PropertyTypeSummary> propertyTypes = new ArrayList<>();
+	
+	public PropertySummary(Integer propertySegmentId, Integer administrativeSegmentId, String typePropertyLossCode,
+			Integer numberOfStolenMotorVehicles) {
+		super();
+		this.propertySegmentId = propertySegmentId;
+		this.administrativeSegmentId = administrativeSegmentId;
+		this.typePropertyLossCode = typePropertyLossCode;
+		this.numberOfStolenMotorVehicles = numberOfStolenMotorVehicles;
+	}
+	
+	public Integer getPropertySegmentId() {
+		return propertySegmentId;
+	}
+	public void setPropertySegmentId(Integer propertySegmentId) {
+		this.propertySegmentId = propertySegmentId;
+	}
+	public Integer getAdministrativeSegmentId() {
+		return administrativeSegmentId;
+	}
+	public void setAdministrativeSegmentId(Integer administrativeSegmentId) {
+		this.administrativeSegmentId = administrativeSegmentId;
+	}
+	public String getTypePropertyLossCode() {
+		return typePropertyLossCode;
+	}
+	public void setTypePropertyLossCode(String typePropertyLossCode) {
+		this.typePropertyLossCode = typePropertyLossCode;
+	}
+	public Integer getNumberOfStolenMotorVehicles() {
+		return numberOfStolenMotorVehicles;
+	}
+	public void setNumberOfStolenMotorVehicles(Integer numberOfStolenMotorVehicles) {
+		this.numberOfStolenMotorVehicles = numberOfStolenMotorVehicles;
+	}
+	public List<PropertyTypeSummary> getPropertyTypes() {
+		return propertyTypes;
+	}
+	public void setPropertyTypes(List<PropertyTypeSummary> propertyTypes) {
+		this.propertyTypes = propertyTypes;
+	}
+	public String toString(){
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.model.summary;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+public class PropertyTypeSummary {
+	
+	private Integer propertySegmentId;
+	private String propertyDescriptionCode;
+	private Double valueOfProperty;
+	
+	public PropertyTypeSummary(Integer propertySegmentId, String propertyDescriptionCode, Double valueOfProperty) {
+		super();
+		this.propertySegmentId = propertySegmentId;
+		this.propertyDescriptionCode = propertyDescriptionCode;
+		this.valueOfProperty = valueOfProperty;
+	}
+	
+	public Integer getPropertySegmentId() {
+		return propertySegmentId;
+	}
+	public void setPropertySegmentId(Integer propertySegmentId) {
+		this.propertySegmentId = propertySegmentId;
+	}
+	public String getPropertyDescriptionCode() {
+		return propertyDescriptionCode;
+	}
+	public void setPropertyDescriptionCode(String propertyDescriptionCode) {
+		this.propertyDescriptionCode = propertyDescriptionCode;
+	}
+	public Double getValueOfProperty() {
+		return valueOfProperty;
+	}
+	public void setValueOfProperty(Double valueOfProperty) {
+		this.valueOfProperty = valueOfProperty;
+	}
+	public String toString(){
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.model.summary;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * A code table value attached to a segment, such as a weapon code of an offense segment. 
+ */
+public class SegmentCode {
+	
+	private Integer segmentId;
+	private String code;
+	
+	public SegmentCode(Integer segmentId, String code) {
+		super();
+		this.segmentId = segmentId;
+		this.code = code;
+	}
+	
+	public Integer getSegmentId() {
+		return segmentId;
+	}
+	public void setSegmentId(Integer segmentId) {
+		this.segmentId = segmentId;
+	}
+	public String getCode() {
+		return code;
+	}
+	public void setCode(String code) {
+		this.code = code;
+	}
+	public String toString(){
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
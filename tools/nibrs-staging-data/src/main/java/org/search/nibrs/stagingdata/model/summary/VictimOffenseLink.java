@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.model.summary;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * A victim segment and one of the offense segments it is connected to, with the victim's sex and the offense's UCR code.
+ */
+public class VictimOffenseLink {
+	
+	private Integer victimSegmentId;
+	private Integer administrativeSegmentId;
+	private String sexOfPersonCode;
+	private Integer offenseSegmentId;
+	private String ucrOffenseCode;
+	
+	public VictimOffenseLink(Integer victimSegmentId, Integer administrativeSegmentId, String sexOfPersonCode,
+			Integer offenseSegmentId, String ucrOffenseCode) {
+		super();
+		this.victimSegmentId = victimSegmentId;
+		this.administrativeSegmentId = administrativeSegmentId;
+		this.sexOfPersonCode = sexOfPersonCode;
+		this.offenseSegmentId = offenseSegmentId;
+		this.ucrOffenseCode = ucrOffenseCode;
+	}
+	
+	public Integer getVictimSegmentId() {
+		return victimSegmentId;
+	}
+	public void setVictimSegmentId(Integer victimSegmentId) {
+		this.victimSegmentId = victimSegmentId;
+	}
+	public Integer getAdministrativeSegmentId() {
+		return administrativeSegmentId;
+	}
+	public void setAdministrativeSegmentId(Integer administrativeSegmentId) {
+		this.administrativeSegmentId = administrativeSegmentId;
+	}
+	public String getSexOfPersonCode() {
+		return sexOfPersonCode;
+	}
+	public void setSexOfPersonCode(String sexOfPersonCode) {
+		this.sexOfPersonCode = sexOfPersonCode;
+	}
+	public Integer getOffenseSegmentId() {
+		return offenseSegmentId;
+	}
+	public void setOffenseSegmentId(Integer offenseSegmentId) {
+		this.offenseSegmentId = offenseSegmentId;
+	}
+	public String getUcrOffenseCode() {
+		return ucrOffenseCode;
+	}
+	public void setUcrOffenseCode(String ucrOffenseCode) {
+		this.ucrOffenseCode = ucrOffenseCode;
+	}
+	public String toString(){
+		return ToStringBuilder.reflectionToString(this);
+	}
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * A database lock that serializes the transactions that write the summary aggregates, across all instances of the application, so 
+ * that two transactions never both insert the first row of an aggregate cell.
+ * <br/>
+ * The lock is a row lock on the single row of the SummaryAggregateLock table, held until the current transaction ends.  The segments 
+ * themselves are written without it.
+ * <br/>
+ * Outside a transaction the lock is released as soon as it is taken, and serializes nothing.
+ */
+@Repository
+public class SummaryAggregateLock {
+	
+	private static final String LOCK_SQL = "SELECT SummaryAggregateLockID FROM SummaryAggregateLock WHERE SummaryAggregateLockID = 1 FOR UPDATE";
+	
+	private final JdbcTemplate jdbcTemplate;
+	
+	@Autowired
+	public SummaryAggregateLock(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+	
+	/**
+	 * Take the lock for the rest of the current transaction, waiting for the transaction holding it to end.
+	 */
+	public void lock() {
+		jdbcTemplate.queryForObject(LOCK_SQL, Integer.class);
+	}
+	
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.repository;
+
+import java.util.List;
+
+import javax.persistence.LockModeType;
+import javax.transaction.Transactional;
+
+import org.search.nibrs.stagingdata.model.SummaryAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+@Transactional
+public interface SummaryAggregateRepository 
+	extends JpaRepository<SummaryAggregate, Integer>{
+	
+	/**
+	 * The cells of one form, ORI and month, locked until the transaction ends so that concurrent updates of the same 
+	 * cells are applied one after the other. 
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	List<SummaryAggregate> findBySummaryFormAndOriAndYearAndMonth(String summaryForm, String ori, Integer year, Integer month);
+	
+	/**
+	 * The cells of one form and month summed over the ORIs, or only those of the ORI when it is not null.  Only the 
+	 * section, row name, column name and value of the cells returned are set. 
+	 */
+	@Query("SELECT new org.search.nibrs.stagingdata.model.SummaryAggregate("
+			+ "			s.section, s.rowName, s.columnName, sum(s.aggregateValue)) "
+			+ "FROM SummaryAggregate s "
+			+ "WHERE s.summaryForm = ?1 AND (?2 = null OR s.ori = ?2) AND s.year = ?3 AND s.month = ?4 "
+			+ "GROUP BY s.section, s.rowName, s.columnName ")
+	List<SummaryAggregate> sumBySummaryFormAndOriAndYearAndMonth(String summaryForm, String ori, Integer year, Integer month);
+	
+	@Query("SELECT DISTINCT s.ori FROM SummaryAggregate s ")
+	List<String> findDistinctOris();
+	
+	/**
+	 * The distinct years and months, as pairs of Integers, of the cells of the ORI, or of the cells without an ORI when 
+	 * the ORI is null. 
+	 */
+	@Query("SELECT DISTINCT s.year, s.month FROM SummaryAggregate s "
+			+ "WHERE (s.ori = ?1 OR (?1 = null AND s.ori IS NULL)) ")
+	List<Object[]> findYearsAndMonthsOfOri(String ori);
+	
+	long deleteByOriAndYearAndMonth(String ori, Integer year, Integer month);
+	
+}
@@ -16,11 +16,14 @@
 package org.search.nibrs.stagingdata.repository.segment;
 
 import java.sql.Date;
+import java.util.Collection;
 import java.util.List;
 
 import javax.transaction.Transactional;
 
 import org.search.nibrs.stagingdata.model.segment.AdministrativeSegment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -32,6 +35,10 @@ public interface AdministrativeSegmentRepository
 	
 	long deleteByIncidentNumber(String incidentNumber);
 	
+	@Query("SELECT a.administrativeSegmentId from AdministrativeSegment a "
+			+ "WHERE a.incidentNumber = ?1 ")
+	List<Integer> findIdsByIncidentNumber(String incidentNumber);
+	
 	@EntityGraph(value="allAdministrativeSegmentJoins", type=EntityGraphType.LOAD)
 	List<AdministrativeSegment> findByIncidentNumber(String incidentNumber);
 	
@@ -45,6 +52,18 @@ public interface AdministrativeSegmentRepository
 			+ "		AND s.nibrsCode != 'D' ")
 	boolean existsByIncidentNumber(String incidentNumber);
 	
+	/**
+	 * The incident numbers in the collection whose latest administrative segment is not a delete.  One query resolves the whole 
+	 * collection, where existsByIncidentNumber takes one query per incident. 
+	 */
+	@Query("SELECT a.incidentNumber from AdministrativeSegment a "
+			+ "LEFT JOIN a.segmentActionType s "
+			+ "WHERE a.administrativeSegmentId IN "
+			+ "			(SELECT max(b.administrativeSegmentId) FROM AdministrativeSegment b "
+			+ "				WHERE b.incidentNumber IN (?1) GROUP BY b.incidentNumber ) "
+			+ "		AND s.nibrsCode != 'D' ")
+	List<String> findExistingIncidentNumbers(Collection<String> incidentNumbers);
+	
 	@EntityGraph(value="allAdministrativeSegmentJoins", type=EntityGraphType.LOAD)
 	List<AdministrativeSegment> findDistinctByOriAndIncidentDateTypeYearAndIncidentDateTypeMonth(String ori, Integer year,  Integer month);
 		
@@ -92,4 +111,56 @@ public interface AdministrativeSegmentRepository
 			+ "WHERE (?1 = null OR a.ori = ?1) AND "
 			+ "		(year(a.incidentDate) = ?2 AND ( ?3 = 0 OR month(a.incidentDate) = ?3)) ")
 	List<Integer> findIdsByOriAndIncidentDate(String ori, Integer year, Integer month);
+	
+	@Query(value="SELECT a.administrativeSegmentId from AdministrativeSegment a "
+			+ "WHERE (?1 = null OR a.ori = ?1) AND "
+			+ "		(?2 = null OR a.incidentDate >= ?2) AND "
+			+ "		(?3 = null OR a.incidentDate <= ?3) ", 
+			countQuery="SELECT count(a.administrativeSegmentId) from AdministrativeSegment a "
+			+ "WHERE (?1 = null OR a.ori = ?1) AND "
+			+ "		(?2 = null OR a.incidentDate >= ?2) AND "
+			+ "		(?3 = null OR a.incidentDate <= ?3) ")
+	Page<Integer> findIdsByOriAndIncidentDateRange(String ori, Date startDate, Date endDate, Pageable pageable);
+	
+	/**
+	 * The ids following afterId in id order.  The pageable only limits the number of ids returned. 
+	 */
+	@Query("SELECT a.administrativeSegmentId from AdministrativeSegment a "
+			+ "WHERE a.administrativeSegmentId > ?1 AND "
+			+ "		(?2 = null OR a.ori = ?2) AND "
+			+ "		(?3 = null OR a.incidentDate >= ?3) AND "
+			+ "		(?4 = null OR a.incidentDate <= ?4) "
+			+ "ORDER BY a.administrativeSegmentId asc ")
+	List<Integer> findIdsAfterIdByOriAndIncidentDateRange(Integer afterId, String ori, Date startDate, Date endDate, Pageable pageable);
+	
+	@Query("SELECT DISTINCT a.ori from AdministrativeSegment a ")
+	List<String> findDistinctOris();
+	
+	/**
+	 * The ids following afterId in id order of the segments of the ORI, or of the segments without an ORI when the ORI 
+	 * is null.  The pageable only limits the number of ids returned. 
+	 */
+	@Query("SELECT a.administrativeSegmentId from AdministrativeSegment a "
+			+ "WHERE a.administrativeSegmentId > ?1 AND "
+			+ "		(a.ori = ?2 OR (?2 = null AND a.ori IS NULL)) "
+			+ "ORDER BY a.administrativeSegmentId asc ")
+	List<Integer> findIdsOfOriAfterId(Integer afterId, String ori, Pageable pageable);
+	
+	/**
+	 * The ids following afterId in id order of the segments of the ORI, or of the segments without an ORI when the ORI 
+	 * is null, with an incident, an exceptional clearance or an arrest in the year and month.  Month 0 means the whole 
+	 * year.  The pageable only limits the number of ids returned. 
+	 */
+	@Query("SELECT DISTINCT a.administrativeSegmentId from AdministrativeSegment a "
+			+ "LEFT JOIN a.exceptionalClearanceDateType ae "
+			+ "LEFT JOIN a.arresteeSegments aa "
+			+ "LEFT JOIN aa.arrestDateType aaa "
+			+ "WHERE a.administrativeSegmentId > ?1 AND "
+			+ "		(a.ori = ?2 OR (?2 = null AND a.ori IS NULL)) AND "
+			+ "		((year(a.incidentDate) = ?3 AND ( ?4 = 0 OR month(a.incidentDate) = ?4)) "
+			+ "			OR (ae.year = ?3 AND ( ?4 = 0 OR ae.month = ?4)) "
+			+ "			OR (aaa.year = ?3 AND ( ?4 = 0 OR aaa.month = ?4))) "
+			+ "ORDER BY a.administrativeSegmentId asc ")
+	List<Integer> findIdsOfOriAfterIdBySummaryDate(Integer afterId, String ori, Integer year, Integer month, Pageable pageable);
+	
 }
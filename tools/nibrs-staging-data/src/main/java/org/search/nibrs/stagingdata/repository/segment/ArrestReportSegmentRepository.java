@@ -16,11 +16,14 @@
 package org.search.nibrs.stagingdata.repository.segment;
 
 import java.sql.Date;
+import java.util.Collection;
 import java.util.List;
 
 import javax.transaction.Transactional;
 
 import org.search.nibrs.stagingdata.model.segment.ArrestReportSegment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -40,6 +43,18 @@ public interface ArrestReportSegmentRepository extends JpaRepository<ArrestRepor
 			+ "		AND s.nibrsCode != 'D' ")
 	boolean existsByArrestTransactionNumber(String arrestTransactionNumber);
 	
+	/**
+	 * The arrest transaction numbers in the collection whose latest arrest report segment is not a delete.  One query resolves the 
+	 * whole collection, where existsByArrestTransactionNumber takes one query per report. 
+	 */
+	@Query("SELECT a.arrestTransactionNumber from ArrestReportSegment a "
+			+ "LEFT JOIN a.segmentActionType s "
+			+ "WHERE a.arrestReportSegmentId IN "
+			+ "			(SELECT max(b.arrestReportSegmentId) FROM ArrestReportSegment b "
+			+ "				WHERE b.arrestTransactionNumber IN (?1) GROUP BY b.arrestTransactionNumber ) "
+			+ "		AND s.nibrsCode != 'D' ")
+	List<String> findExistingArrestTransactionNumbers(Collection<String> arrestTransactionNumbers);
+	
 	@EntityGraph(value="allArrestReportSegmentJoins", type=EntityGraphType.LOAD)
 	ArrestReportSegment findByArrestReportSegmentId(Integer arrestReportSegmentId);
 
@@ -69,4 +84,25 @@ public interface ArrestReportSegmentRepository extends JpaRepository<ArrestRepor
 	
 	@EntityGraph(value="allArrestReportSegmentJoins", type=EntityGraphType.LOAD)
 	List<ArrestReportSegment> findAll(Iterable<Integer> ids);
+	
+	@Query(value="SELECT a.arrestReportSegmentId from ArrestReportSegment a "
+			+ "WHERE (?1 = null OR a.ori = ?1) AND "
+			+ "		(?2 = null OR a.arrestDate >= ?2) AND "
+			+ "		(?3 = null OR a.arrestDate <= ?3) ", 
+			countQuery="SELECT count(a.arrestReportSegmentId) from ArrestReportSegment a "
+			+ "WHERE (?1 = null OR a.ori = ?1) AND "
+			+ "		(?2 = null OR a.arrestDate >= ?2) AND "
+			+ "		(?3 = null OR a.arrestDate <= ?3) ")
+	Page<Integer> findIdsByOriAndArrestDateRange(String ori, Date startDate, Date endDate, Pageable pageable);
+	
+	/**
+	 * The ids following afterId in id order.  The pageable only limits the number of ids returned. 
+	 */
+	@Query("SELECT a.arrestReportSegmentId from ArrestReportSegment a "
+			+ "WHERE a.arrestReportSegmentId > ?1 AND "
+			+ "		(?2 = null OR a.ori = ?2) AND "
+			+ "		(?3 = null OR a.arrestDate >= ?3) AND "
+			+ "		(?4 = null OR a.arrestDate <= ?4) "
+			+ "ORDER BY a.arrestReportSegmentId asc ")
+	List<Integer> findIdsAfterIdByOriAndArrestDateRange(Integer afterId, String ori, Date startDate, Date endDate, Pageable pageable);
 }
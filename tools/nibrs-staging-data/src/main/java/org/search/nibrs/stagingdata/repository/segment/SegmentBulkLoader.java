@@ -0,0 +1,584 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.repository.segment;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.search.nibrs.stagingdata.model.AdditionalJustifiableHomicideCircumstancesType;
+import org.search.nibrs.stagingdata.model.Agency;
+import org.search.nibrs.stagingdata.model.AggravatedAssaultHomicideCircumstancesType;
+import org.search.nibrs.stagingdata.model.ArrestReportSegmentWasArmedWith;
+import org.search.nibrs.stagingdata.model.ArresteeSegmentWasArmedWith;
+import org.search.nibrs.stagingdata.model.ArresteeWasArmedWithType;
+import org.search.nibrs.stagingdata.model.BiasMotivationType;
+import org.search.nibrs.stagingdata.model.CargoTheftIndicatorType;
+import org.search.nibrs.stagingdata.model.ClearedExceptionallyType;
+import org.search.nibrs.stagingdata.model.DateType;
+import org.search.nibrs.stagingdata.model.DispositionOfArresteeUnder18Type;
+import org.search.nibrs.stagingdata.model.EthnicityOfPersonType;
+import org.search.nibrs.stagingdata.model.LocationType;
+import org.search.nibrs.stagingdata.model.MethodOfEntryType;
+import org.search.nibrs.stagingdata.model.MultipleArresteeSegmentsIndicatorType;
+import org.search.nibrs.stagingdata.model.OffenderSuspectedOfUsingType;
+import org.search.nibrs.stagingdata.model.OfficerActivityCircumstanceType;
+import org.search.nibrs.stagingdata.model.OfficerAssignmentTypeType;
+import org.search.nibrs.stagingdata.model.PropertyDescriptionType;
+import org.search.nibrs.stagingdata.model.PropertyType;
+import org.search.nibrs.stagingdata.model.RaceOfPersonType;
+import org.search.nibrs.stagingdata.model.ResidentStatusOfPersonType;
+import org.search.nibrs.stagingdata.model.SegmentActionTypeType;
+import org.search.nibrs.stagingdata.model.SexOfPersonType;
+import org.search.nibrs.stagingdata.model.SuspectedDrugType;
+import org.search.nibrs.stagingdata.model.SuspectedDrugTypeType;
+import org.search.nibrs.stagingdata.model.TypeDrugMeasurementType;
+import org.search.nibrs.stagingdata.model.TypeInjuryType;
+import org.search.nibrs.stagingdata.model.TypeOfArrestType;
+import org.search.nibrs.stagingdata.model.TypeOfCriminalActivityType;
+import org.search.nibrs.stagingdata.model.TypeOfVictimType;
+import org.search.nibrs.stagingdata.model.TypeOfWeaponForceInvolved;
+import org.search.nibrs.stagingdata.model.TypeOfWeaponForceInvolvedType;
+import org.search.nibrs.stagingdata.model.TypePropertyLossEtcType;
+import org.search.nibrs.stagingdata.model.UcrOffenseCodeType;
+import org.search.nibrs.stagingdata.model.VictimOffenderAssociation;
+import org.search.nibrs.stagingdata.model.VictimOffenderRelationshipType;
+import org.search.nibrs.stagingdata.model.segment.AdministrativeSegment;
+import org.search.nibrs.stagingdata.model.segment.ArrestReportSegment;
+import org.search.nibrs.stagingdata.model.segment.ArresteeSegment;
+import org.search.nibrs.stagingdata.model.segment.OffenderSegment;
+import org.search.nibrs.stagingdata.model.segment.OffenseSegment;
+import org.search.nibrs.stagingdata.model.segment.PropertySegment;
+import org.search.nibrs.stagingdata.model.segment.VictimSegment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Writes Group A incidents and Group B arrest reports with plain JDBC, as an alternative to saving them through the JPA repositories for 
+ * large loads.  The segments are the same entity graphs that the services build for the JPA path, and the rows written are the same ones 
+ * that the JPA cascades write; only the generated keys differ.
+ * <br/>
+ * Each table is written in one pass, parents before children.  The keys are generated by the database, as they are through JPA: the 
+ * rows of the tables whose keys are referenced are sent as JDBC batches of single-row INSERT statements, and the key the driver 
+ * returns for each row is set on its entity before the child rows are built.  The rows of the pure join tables (e.g. BiasMotivation) 
+ * are sent as multi-row INSERT statements, batched together.  With MySQL, rewriteBatchedStatements=true on the connection URL sends 
+ * each batch of single-row statements as one multi-row statement too.
+ * <br/>
+ * The loader takes part in the current transaction, if there is one.  It takes no locks of its own, so loads and other writers, in 
+ * this or any other instance, run side by side.
+ */
+@Repository
+public class SegmentBulkLoader {
+	
+	private static final Log log = LogFactory.getLog(SegmentBulkLoader.class);
+	
+	public static final int DEFAULT_ROWS_PER_STATEMENT = 100;
+	
+	private static final InsertTable ADMINISTRATIVE_SEGMENT = new InsertTable("AdministrativeSegment", 
+			integer("SegmentActionTypeTypeID"), varchar("MonthOfTape"), varchar("YearOfTape"), varchar("CityIndicator"), varchar("ORI"), 
+			integer("AgencyID"), varchar("IncidentNumber"), date("IncidentDate"), integer("IncidentDateID"), varchar("ReportDateIndicator"), 
+			varchar("IncidentHour"), integer("ClearedExceptionallyTypeID"), date("ExceptionalClearanceDate"), 
+			integer("ExceptionalClearanceDateID"), integer("CargoTheftIndicatorTypeID"), timestamp("ReportTimestamp"));
+	private static final InsertTable OFFENSE_SEGMENT = new InsertTable("OffenseSegment", 
+			integer("SegmentActionTypeTypeID"), integer("AdministrativeSegmentID"), integer("UCROffenseCodeTypeID"), 
+			varchar("OffenseAttemptedCompleted"), integer("LocationTypeTypeID"), integer("NumberOfPremisesEntered"), 
+			integer("MethodOfEntryTypeID"));
+	private static final InsertTable TYPE_OF_WEAPON_FORCE_INVOLVED = new InsertTable("TypeOfWeaponForceInvolved", 
+			varchar("AutomaticWeaponIndicator"), integer("OffenseSegmentID"), integer("TypeOfWeaponForceInvolvedTypeID"));
+	private static final InsertTable OFFENDER_SUSPECTED_OF_USING = new InsertTable("OffenderSuspectedOfUsing", 
+			integer("OffenseSegmentID"), integer("OffenderSuspectedOfUsingTypeID"));
+	private static final InsertTable TYPE_CRIMINAL_ACTIVITY = new InsertTable("TypeCriminalActivity", 
+			integer("OffenseSegmentID"), integer("TypeOfCriminalActivityTypeID"));
+	private static final InsertTable BIAS_MOTIVATION = new InsertTable("BiasMotivation", 
+			integer("OffenseSegmentID"), integer("BiasMotivationTypeID"));
+	private static final InsertTable PROPERTY_SEGMENT = new InsertTable("PropertySegment", 
+			integer("SegmentActionTypeTypeID"), integer("AdministrativeSegmentID"), integer("TypePropertyLossEtcTypeID"), 
+			integer("NumberOfStolenMotorVehicles"), integer("NumberOfRecoveredMotorVehicles"));
+	private static final InsertTable PROPERTY_TYPE = new InsertTable("PropertyType", 
+			integer("PropertySegmentID"), integer("PropertyDescriptionTypeID"), decimal("ValueOfProperty"), date("RecoveredDate"), 
+			integer("RecoveredDateID"));
+	private static final InsertTable SUSPECTED_DRUG_TYPE = new InsertTable("SuspectedDrugType", 
+			integer("PropertySegmentID"), integer("SuspectedDrugTypeTypeID"), integer("TypeDrugMeasurementTypeID"), 
+			decimal("EstimatedDrugQuantity"));
+	private static final InsertTable OFFENDER_SEGMENT = new InsertTable("OffenderSegment", 
+			integer("SegmentActionTypeTypeID"), integer("AdministrativeSegmentID"), integer("OffenderSequenceNumber"), 
+			integer("AgeOfOffenderMin"), integer("AgeOfOffenderMax"), varchar("NonNumericAge"), integer("SexOfPersonTypeID"), 
+			integer("RaceOfPersonTypeID"), integer("EthnicityOfPersonTypeID"));
+	private static final InsertTable VICTIM_SEGMENT = new InsertTable("VictimSegment", 
+			integer("SegmentActionTypeTypeID"), integer("AdministrativeSegmentID"), integer("VictimSequenceNumber"), 
+			integer("TypeOfVictimTypeID"), integer("OfficerActivityCircumstanceTypeID"), integer("OfficerAssignmentTypeTypeID"), 
+			varchar("OfficerOtherJurisdictionORI"), integer("AgeOfVictimMin"), integer("AgeOfVictimMax"), integer("AgeNeonateIndicator"), 
+			integer("AgeFirstWeekIndicator"), integer("AgeFirstYearIndicator"), varchar("NonNumericAge"), integer("SexOfPersonTypeID"), 
+			integer("RaceOfPersonTypeID"), integer("EthnicityOfPersonTypeID"), integer("ResidentStatusOfPersonTypeID"), 
+			integer("AdditionalJustifiableHomicideCircumstancesTypeID"));
+	private static final InsertTable TYPE_INJURY = new InsertTable("TypeInjury", 
+			integer("VictimSegmentID"), integer("TypeInjuryTypeID"));
+	private static final InsertTable VICTIM_OFFENSE_ASSOCIATION = new InsertTable("VictimOffenseAssociation", 
+			integer("VictimSegmentID"), integer("OffenseSegmentID"));
+	private static final InsertTable AGGRAVATED_ASSAULT_HOMICIDE_CIRCUMSTANCES = new InsertTable("AggravatedAssaultHomicideCircumstances", 
+			integer("VictimSegmentID"), integer("AggravatedAssaultHomicideCircumstancesTypeID"));
+	private static final InsertTable VICTIM_OFFENDER_ASSOCIATION = new InsertTable("VictimOffenderAssociation", 
+			integer("VictimSegmentID"), integer("OffenderSegmentID"), integer("VictimOffenderRelationshipTypeID"));
+	private static final InsertTable ARRESTEE_SEGMENT = new InsertTable("ArresteeSegment", 
+			integer("SegmentActionTypeTypeID"), integer("AdministrativeSegmentID"), integer("ArresteeSequenceNumber"), 
+			varchar("ArrestTransactionNumber"), date("ArrestDate"), integer("ArrestDateID"), integer("TypeOfArrestTypeID"), 
+			integer("MultipleArresteeSegmentsIndicatorTypeID"), integer("AgeOfArresteeMin"), integer("AgeOfArresteeMax"), 
+			varchar("NonNumericAge"), integer("SexOfPersonTypeID"), integer("RaceOfPersonTypeID"), integer("EthnicityOfPersonTypeID"), 
+			integer("ResidentStatusOfPersonTypeID"), integer("DispositionOfArresteeUnder18TypeID"), integer("UCROffenseCodeTypeID"));
+	private static final InsertTable ARRESTEE_SEGMENT_WAS_ARMED_WITH = new InsertTable("ArresteeSegmentWasArmedWith", 
+			integer("ArresteeSegmentID"), integer("ArresteeWasArmedWithTypeID"), varchar("AutomaticWeaponIndicator"));
+	private static final InsertTable ARREST_REPORT_SEGMENT = new InsertTable("ArrestReportSegment", 
+			integer("SegmentActionTypeTypeID"), varchar("MonthOfTape"), varchar("YearOfTape"), varchar("CityIndicator"), integer("AgencyID"), 
+			varchar("ORI"), varchar("ArrestTransactionNumber"), integer("ArresteeSequenceNumber"), date("ArrestDate"), integer("ArrestDateID"), 
+			integer("TypeOfArrestTypeID"), integer("AgeOfArresteeMin"), integer("AgeOfArresteeMax"), varchar("NonNumericAge"), 
+			integer("SexOfPersonTypeID"), integer("RaceOfPersonTypeID"), integer("EthnicityOfPersonTypeID"), 
+			integer("ResidentStatusOfPersonTypeID"), integer("DispositionOfArresteeUnder18TypeID"), integer("UCROffenseCodeTypeID"), 
+			timestamp("ReportTimestamp"));
+	private static final InsertTable ARREST_REPORT_SEGMENT_WAS_ARMED_WITH = new InsertTable("ArrestReportSegmentWasArmedWith", 
+			integer("ArrestReportSegmentID"), integer("ArresteeWasArmedWithTypeID"), varchar("AutomaticWeaponIndicator"));
+	
+	private final JdbcTemplate jdbcTemplate;
+	private int rowsPerStatement = DEFAULT_ROWS_PER_STATEMENT;
+	
+	private static final class Column {
+		
+		private final String name;
+		private final int sqlType;
+		
+		Column(String name, int sqlType) {
+			this.name = name;
+			this.sqlType = sqlType;
+		}
+		
+	}
+	
+	private static final class InsertTable {
+		
+		private final String name;
+		private final List<Column> columns = new ArrayList<>();
+		
+		InsertTable(String name, Column... columns) {
+			this.name = name;
+			Collections.addAll(this.columns, columns);
+		}
+		
+		int getWidth() {
+			return columns.size();
+		}
+		
+		String getInsertSql(int rowCount) {
+			StringBuilder sb = new StringBuilder("INSERT INTO ").append(name).append(" (");
+			StringBuilder values = new StringBuilder("(");
+			for (int i = 0; i < columns.size(); i++) {
+				sb.append(i == 0 ? "" : ", ").append(columns.get(i).name);
+				values.append(i == 0 ? "?" : ", ?");
+			}
+			sb.append(") VALUES ");
+			values.append(")");
+			for (int i = 0; i < rowCount; i++) {
+				sb.append(i == 0 ? "" : ", ").append(values);
+			}
+			return sb.toString();
+		}
+		
+		int[] getArgTypes(int rowCount) {
+			int[] ret = new int[rowCount * columns.size()];
+			for (int i = 0; i < ret.length; i++) {
+				ret[i] = columns.get(i % columns.size()).sqlType;
+			}
+			return ret;
+		}
+		
+	}
+	
+	@Autowired
+	public SegmentBulkLoader(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+	
+	public int getRowsPerStatement() {
+		return rowsPerStatement;
+	}
+	
+	/**
+	 * Set the number of rows written by each multi-row INSERT statement, and by each batch of single-row statements.
+	 * @param rowsPerStatement the number of rows, at least 1
+	 */
+	public void setRowsPerStatement(int rowsPerStatement) {
+		if (rowsPerStatement < 1) {
+			throw new IllegalArgumentException("rowsPerStatement must be at least 1");
+		}
+		this.rowsPerStatement = rowsPerStatement;
+	}
+	
+	/**
+	 * Insert administrative segments and all the segments they contain, and set the generated keys on them.
+	 * @param administrativeSegments the segments, as built for the JPA path
+	 */
+	public void insertAdministrativeSegments(Collection<AdministrativeSegment> administrativeSegments) {
+		
+		List<AdministrativeSegment> administrativeSegmentList = new ArrayList<>(administrativeSegments);
+		List<OffenseSegment> offenseSegments = new ArrayList<>();
+		List<PropertySegment> propertySegments = new ArrayList<>();
+		List<OffenderSegment> offenderSegments = new ArrayList<>();
+		List<VictimSegment> victimSegments = new ArrayList<>();
+		List<ArresteeSegment> arresteeSegments = new ArrayList<>();
+		
+		for (AdministrativeSegment administrativeSegment : administrativeSegmentList) {
+			addAll(offenseSegments, administrativeSegment.getOffenseSegments());
+			addAll(propertySegments, administrativeSegment.getPropertySegments());
+			addAll(offenderSegments, administrativeSegment.getOffenderSegments());
+			addAll(victimSegments, administrativeSegment.getVictimSegments());
+			addAll(arresteeSegments, administrativeSegment.getArresteeSegments());
+		}
+		
+		List<TypeOfWeaponForceInvolved> typeOfWeaponForceInvolveds = new ArrayList<>();
+		offenseSegments.forEach(o -> addAll(typeOfWeaponForceInvolveds, o.getTypeOfWeaponForceInvolveds()));
+		List<PropertyType> propertyTypes = new ArrayList<>();
+		List<SuspectedDrugType> suspectedDrugTypes = new ArrayList<>();
+		for (PropertySegment propertySegment : propertySegments) {
+			addAll(propertyTypes, propertySegment.getPropertyTypes());
+			addAll(suspectedDrugTypes, propertySegment.getSuspectedDrugTypes());
+		}
+		List<ArresteeSegmentWasArmedWith> arresteeSegmentWasArmedWiths = new ArrayList<>();
+		arresteeSegments.forEach(a -> addAll(arresteeSegmentWasArmedWiths, a.getArresteeSegmentWasArmedWiths()));
+		
+		// an association may be reachable from both its victim and its offender
+		Set<VictimOffenderAssociation> victimOffenderAssociationSet = Collections.newSetFromMap(new IdentityHashMap<>());
+		victimSegments.forEach(v -> addAll(victimOffenderAssociationSet, v.getVictimOffenderAssociations()));
+		offenderSegments.forEach(o -> addAll(victimOffenderAssociationSet, o.getVictimOffenderAssociations()));
+		List<VictimOffenderAssociation> victimOffenderAssociations = new ArrayList<>(victimOffenderAssociationSet);
+		
+		
+		insert(ADMINISTRATIVE_SEGMENT, administrativeSegmentList, AdministrativeSegment::setAdministrativeSegmentId, a -> new Object[] {
+				id(a.getSegmentActionType(), SegmentActionTypeType::getSegmentActionTypeTypeId), 
+				a.getMonthOfTape(), 
+				a.getYearOfTape(), 
+				a.getCityIndicator(), 
+				a.getOri(), 
+				id(a.getAgency(), Agency::getAgencyId), 
+				a.getIncidentNumber(), 
+				a.getIncidentDate(), 
+				id(a.getIncidentDateType(), DateType::getDateTypeId), 
+				a.getReportDateIndicator(), 
+				a.getIncidentHour(), 
+				id(a.getClearedExceptionallyType(), ClearedExceptionallyType::getClearedExceptionallyTypeId), 
+				a.getExceptionalClearanceDate(), 
+				id(a.getExceptionalClearanceDateType(), DateType::getDateTypeId), 
+				id(a.getCargoTheftIndicatorType(), CargoTheftIndicatorType::getCargoTheftIndicatorTypeId), 
+				asTimestamp(a.getReportTimestamp())});
+		
+		insert(OFFENSE_SEGMENT, offenseSegments, OffenseSegment::setOffenseSegmentId, o -> new Object[] {
+				id(o.getSegmentActionType(), SegmentActionTypeType::getSegmentActionTypeTypeId), 
+				o.getAdministrativeSegment().getAdministrativeSegmentId(), 
+				id(o.getUcrOffenseCodeType(), UcrOffenseCodeType::getUcrOffenseCodeTypeId), 
+				o.getOffenseAttemptedCompleted(), 
+				id(o.getLocationType(), LocationType::getLocationTypeTypeId), 
+				o.getNumberOfPremisesEntered(), 
+				id(o.getMethodOfEntryType(), MethodOfEntryType::getMethodOfEntryTypeId)});
+		
+		insert(PROPERTY_SEGMENT, propertySegments, PropertySegment::setPropertySegmentId, p -> new Object[] {
+				id(p.getSegmentActionType(), SegmentActionTypeType::getSegmentActionTypeTypeId), 
+				p.getAdministrativeSegment().getAdministrativeSegmentId(), 
+				id(p.getTypePropertyLossEtcType(), TypePropertyLossEtcType::getTypePropertyLossEtcTypeId), 
+				p.getNumberOfStolenMotorVehicles(), 
+				p.getNumberOfRecoveredMotorVehicles()});
+		
+		insert(OFFENDER_SEGMENT, offenderSegments, OffenderSegment::setOffenderSegmentId, o -> new Object[] {
+				id(o.getSegmentActionType(), SegmentActionTypeType::getSegmentActionTypeTypeId), 
+				o.getAdministrativeSegment().getAdministrativeSegmentId(), 
+				o.getOffenderSequenceNumber(), 
+				o.getAgeOfOffenderMin(), 
+				o.getAgeOfOffenderMax(), 
+				o.getNonNumericAge(), 
+				id(o.getSexOfPersonType(), SexOfPersonType::getSexOfPersonTypeId), 
+				id(o.getRaceOfPersonType(), RaceOfPersonType::getRaceOfPersonTypeId), 
+				id(o.getEthnicityOfPersonType(), EthnicityOfPersonType::getEthnicityOfPersonTypeId)});
+		
+		insert(VICTIM_SEGMENT, victimSegments, VictimSegment::setVictimSegmentId, v -> new Object[] {
+				id(v.getSegmentActionType(), SegmentActionTypeType::getSegmentActionTypeTypeId), 
+				v.getAdministrativeSegment().getAdministrativeSegmentId(), 
+				v.getVictimSequenceNumber(), 
+				id(v.getTypeOfVictimType(), TypeOfVictimType::getTypeOfVictimTypeId), 
+				id(v.getOfficerActivityCircumstanceType(), OfficerActivityCircumstanceType::getOfficerActivityCircumstanceTypeId), 
+				id(v.getOfficerAssignmentTypeType(), OfficerAssignmentTypeType::getOfficerAssignmentTypeTypeId), 
+				v.getOfficerOtherJurisdictionOri(), 
+				v.getAgeOfVictimMin(), 
+				v.getAgeOfVictimMax(), 
+				v.getAgeNeonateIndicator(), 
+				v.getAgeFirstWeekIndicator(), 
+				v.getAgeFirstYearIndicator(), 
+				v.getNonNumericAge(), 
+				id(v.getSexOfPersonType(), SexOfPersonType::getSexOfPersonTypeId), 
+				id(v.getRaceOfPersonType(), RaceOfPersonType::getRaceOfPersonTypeId), 
+				id(v.getEthnicityOfPersonType(), EthnicityOfPersonType::getEthnicityOfPersonTypeId), 
+				id(v.getResidentStatusOfPersonType(), ResidentStatusOfPersonType::getResidentStatusOfPersonTypeId), 
+				id(v.getAdditionalJustifiableHomicideCircumstancesType(), 
+						AdditionalJustifiableHomicideCircumstancesType::getAdditionalJustifiableHomicideCircumstancesTypeId)});
+		
+		insert(ARRESTEE_SEGMENT, arresteeSegments, ArresteeSegment::setArresteeSegmentId, a -> new Object[] {
+				id(a.getSegmentActionType(), SegmentActionTypeType::getSegmentActionTypeTypeId), 
+				a.getAdministrativeSegment().getAdministrativeSegmentId(), 
+				a.getArresteeSequenceNumber(), 
+				a.getArrestTransactionNumber(), 
+				a.getArrestDate(), 
+				id(a.getArrestDateType(), DateType::getDateTypeId), 
+				id(a.getTypeOfArrestType(), TypeOfArrestType::getTypeOfArrestTypeId), 
+				id(a.getMultipleArresteeSegmentsIndicatorType(), MultipleArresteeSegmentsIndicatorType::getMultipleArresteeSegmentsIndicatorTypeId), 
+				a.getAgeOfArresteeMin(), 
+				a.getAgeOfArresteeMax(), 
+				a.getNonNumericAge(), 
+				id(a.getSexOfPersonType(), SexOfPersonType::getSexOfPersonTypeId), 
+				id(a.getRaceOfPersonType(), RaceOfPersonType::getRaceOfPersonTypeId), 
+				id(a.getEthnicityOfPersonType(), EthnicityOfPersonType::getEthnicityOfPersonTypeId), 
+				id(a.getResidentStatusOfPersonType(), ResidentStatusOfPersonType::getResidentStatusOfPersonTypeId), 
+				id(a.getDispositionOfArresteeUnder18Type(), DispositionOfArresteeUnder18Type::getDispositionOfArresteeUnder18TypeId), 
+				id(a.getUcrOffenseCodeType(), UcrOffenseCodeType::getUcrOffenseCodeTypeId)});
+		
+		insert(TYPE_OF_WEAPON_FORCE_INVOLVED, typeOfWeaponForceInvolveds, 
+				TypeOfWeaponForceInvolved::setTypeOfWeaponForceInvolvedId, t -> new Object[] {
+				t.getAutomaticWeaponIndicator(), 
+				t.getOffenseSegment().getOffenseSegmentId(), 
+				id(t.getTypeOfWeaponForceInvolvedType(), TypeOfWeaponForceInvolvedType::getTypeOfWeaponForceInvolvedTypeId)});
+		
+		insert(PROPERTY_TYPE, propertyTypes, PropertyType::setPropertyTypeId, p -> new Object[] {
+				p.getPropertySegment().getPropertySegmentId(), 
+				id(p.getPropertyDescriptionType(), PropertyDescriptionType::getPropertyDescriptionTypeId), 
+				p.getValueOfProperty(), 
+				p.getRecoveredDate(), 
+				id(p.getRecoveredDateType(), DateType::getDateTypeId)});
+		
+		insert(SUSPECTED_DRUG_TYPE, suspectedDrugTypes, SuspectedDrugType::setSuspectedDrugTypeId, s -> new Object[] {
+				s.getPropertySegment().getPropertySegmentId(), 
+				id(s.getSuspectedDrugTypeType(), SuspectedDrugTypeType::getSuspectedDrugTypeTypeId), 
+				id(s.getTypeDrugMeasurementType(), TypeDrugMeasurementType::getTypeDrugMeasurementTypeId), 
+				s.getEstimatedDrugQuantity()});
+		
+		insert(ARRESTEE_SEGMENT_WAS_ARMED_WITH, arresteeSegmentWasArmedWiths, 
+				ArresteeSegmentWasArmedWith::setArresteeSegmentWasArmedWithId, a -> new Object[] {
+				a.getArresteeSegment().getArresteeSegmentId(), 
+				id(a.getArresteeWasArmedWithType(), ArresteeWasArmedWithType::getArresteeWasArmedWithTypeId), 
+				a.getAutomaticWeaponIndicator()});
+		
+		insert(VICTIM_OFFENDER_ASSOCIATION, victimOffenderAssociations, 
+				VictimOffenderAssociation::setVictimOffenderAssociationId, a -> new Object[] {
+				a.getVictimSegment().getVictimSegmentId(), 
+				a.getOffenderSegment().getOffenderSegmentId(), 
+				id(a.getVictimOffenderRelationshipType(), VictimOffenderRelationshipType::getVictimOffenderRelationshipTypeId)});
+		
+		List<Object[]> offenderSuspectedOfUsingRows = new ArrayList<>();
+		List<Object[]> typeCriminalActivityRows = new ArrayList<>();
+		List<Object[]> biasMotivationRows = new ArrayList<>();
+		for (OffenseSegment offenseSegment : offenseSegments) {
+			Integer offenseSegmentId = offenseSegment.getOffenseSegmentId();
+			addJoinRows(offenderSuspectedOfUsingRows, offenseSegmentId, offenseSegment.getOffenderSuspectedOfUsingTypes(), 
+					OffenderSuspectedOfUsingType::getOffenderSuspectedOfUsingTypeId);
+			addJoinRows(typeCriminalActivityRows, offenseSegmentId, offenseSegment.getTypeOfCriminalActivityTypes(), 
+					TypeOfCriminalActivityType::getTypeOfCriminalActivityTypeId);
+			addJoinRows(biasMotivationRows, offenseSegmentId, offenseSegment.getBiasMotivationTypes(), 
+					BiasMotivationType::getBiasMotivationTypeId);
+		}
+		insertRows(OFFENDER_SUSPECTED_OF_USING, offenderSuspectedOfUsingRows);
+		insertRows(TYPE_CRIMINAL_ACTIVITY, typeCriminalActivityRows);
+		insertRows(BIAS_MOTIVATION, biasMotivationRows);
+		
+		List<Object[]> typeInjuryRows = new ArrayList<>();
+		List<Object[]> victimOffenseAssociationRows = new ArrayList<>();
+		List<Object[]> aggravatedAssaultHomicideCircumstancesRows = new ArrayList<>();
+		for (VictimSegment victimSegment : victimSegments) {
+			Integer victimSegmentId = victimSegment.getVictimSegmentId();
+			addJoinRows(typeInjuryRows, victimSegmentId, victimSegment.getTypeInjuryTypes(), TypeInjuryType::getTypeInjuryTypeId);
+			addJoinRows(victimOffenseAssociationRows, victimSegmentId, victimSegment.getOffenseSegments(), OffenseSegment::getOffenseSegmentId);
+			addJoinRows(aggravatedAssaultHomicideCircumstancesRows, victimSegmentId, victimSegment.getAggravatedAssaultHomicideCircumstancesTypes(), 
+					AggravatedAssaultHomicideCircumstancesType::getAggravatedAssaultHomicideCircumstancesTypeId);
+		}
+		insertRows(TYPE_INJURY, typeInjuryRows);
+		insertRows(VICTIM_OFFENSE_ASSOCIATION, victimOffenseAssociationRows);
+		insertRows(AGGRAVATED_ASSAULT_HOMICIDE_CIRCUMSTANCES, aggravatedAssaultHomicideCircumstancesRows);
+		
+		log.info("Bulk loaded " + administrativeSegmentList.size() + " administrative segments");
+	}
+	
+	/**
+	 * Insert arrest report segments and their armed-with rows, and set the generated keys on them.
+	 * @param arrestReportSegments the segments, as built for the JPA path
+	 */
+	public void insertArrestReportSegments(Collection<ArrestReportSegment> arrestReportSegments) {
+		
+		List<ArrestReportSegment> arrestReportSegmentList = new ArrayList<>(arrestReportSegments);
+		List<ArrestReportSegmentWasArmedWith> arrestReportSegmentWasArmedWiths = new ArrayList<>();
+		arrestReportSegmentList.forEach(a -> addAll(arrestReportSegmentWasArmedWiths, a.getArrestReportSegmentWasArmedWiths()));
+		
+		
+		insert(ARREST_REPORT_SEGMENT, arrestReportSegmentList, ArrestReportSegment::setArrestReportSegmentId, a -> new Object[] {
+				id(a.getSegmentActionType(), SegmentActionTypeType::getSegmentActionTypeTypeId), 
+				a.getMonthOfTape(), 
+				a.getYearOfTape(), 
+				a.getCityIndicator(), 
+				id(a.getAgency(), Agency::getAgencyId), 
+				a.getOri(), 
+				a.getArrestTransactionNumber(), 
+				a.getArresteeSequenceNumber(), 
+				a.getArrestDate(), 
+				id(a.getArrestDateType(), DateType::getDateTypeId), 
+				id(a.getTypeOfArrestType(), TypeOfArrestType::getTypeOfArrestTypeId), 
+				a.getAgeOfArresteeMin(), 
+				a.getAgeOfArresteeMax(), 
+				a.getNonNumericAge(), 
+				id(a.getSexOfPersonType(), SexOfPersonType::getSexOfPersonTypeId), 
+				id(a.getRaceOfPersonType(), RaceOfPersonType::getRaceOfPersonTypeId), 
+				id(a.getEthnicityOfPersonType(), EthnicityOfPersonType::getEthnicityOfPersonTypeId), 
+				id(a.getResidentStatusOfPersonType(), ResidentStatusOfPersonType::getResidentStatusOfPersonTypeId), 
+				id(a.getDispositionOfArresteeUnder18Type(), DispositionOfArresteeUnder18Type::getDispositionOfArresteeUnder18TypeId), 
+				id(a.getUcrOffenseCodeType(), UcrOffenseCodeType::getUcrOffenseCodeTypeId), 
+				asTimestamp(a.getReportTimestamp())});
+		
+		insert(ARREST_REPORT_SEGMENT_WAS_ARMED_WITH, arrestReportSegmentWasArmedWiths, 
+				ArrestReportSegmentWasArmedWith::setArrestReportSegmentWasArmedWithId, a -> new Object[] {
+				a.getArrestReportSegment().getArrestReportSegmentId(), 
+				id(a.getArresteeWasArmedWithType(), ArresteeWasArmedWithType::getArresteeWasArmedWithTypeId), 
+				a.getAutomaticWeaponIndicator()});
+		
+		log.info("Bulk loaded " + arrestReportSegmentList.size() + " arrest report segments");
+	}
+	
+	/**
+	 * Insert the rows of a table whose keys are generated by the database, and set the keys on the entities.  The rows are sent in 
+	 * batches of rowsPerStatement single-row statements, so that the driver returns the key of every row; a multi-row statement 
+	 * reports only one.
+	 */
+	private <T> void insert(InsertTable table, List<T> entities, BiConsumer<T, Integer> idSetter, Function<T, Object[]> rowFunction) {
+		
+		String sql = table.getInsertSql(1);
+		int[] argTypes = table.getArgTypes(1);
+		for (int fromIndex = 0; fromIndex < entities.size(); fromIndex += rowsPerStatement) {
+			List<T> batch = entities.subList(fromIndex, Math.min(fromIndex + rowsPerStatement, entities.size()));
+			List<Integer> keys = jdbcTemplate.execute((Connection connection) -> {
+				try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+					for (T entity : batch) {
+						Object[] row = rowFunction.apply(entity);
+						for (int i = 0; i < row.length; i++) {
+							StatementCreatorUtils.setParameterValue(ps, i + 1, argTypes[i], row[i]);
+						}
+						ps.addBatch();
+					}
+					ps.executeBatch();
+					List<Integer> ret = new ArrayList<>(batch.size());
+					try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+						while (generatedKeys.next()) {
+							ret.add(generatedKeys.getInt(1));
+						}
+					}
+					return ret;
+				}
+			});
+			if (keys.size() != batch.size()) {
+				throw new IllegalStateException("Expected " + batch.size() + " generated keys for " + table.name + " but got " + keys.size());
+			}
+			for (int i = 0; i < batch.size(); i++) {
+				idSetter.accept(batch.get(i), keys.get(i));
+			}
+		}
+		
+	}
+	
+	private void insertRows(InsertTable table, List<Object[]> rows) {
+		
+		int fullStatementCount = rows.size() / rowsPerStatement;
+		if (fullStatementCount > 0) {
+			List<Object[]> batchArgs = new ArrayList<>(fullStatementCount);
+			for (int i = 0; i < fullStatementCount; i++) {
+				batchArgs.add(flatten(table, rows.subList(i * rowsPerStatement, (i + 1) * rowsPerStatement)));
+			}
+			jdbcTemplate.batchUpdate(table.getInsertSql(rowsPerStatement), batchArgs, table.getArgTypes(rowsPerStatement));
+		}
+		
+		int remainder = rows.size() % rowsPerStatement;
+		if (remainder > 0) {
+			jdbcTemplate.update(table.getInsertSql(remainder), 
+					flatten(table, rows.subList(rows.size() - remainder, rows.size())), table.getArgTypes(remainder));
+		}
+		
+	}
+	
+	private static Object[] flatten(InsertTable table, List<Object[]> rows) {
+		Object[] ret = new Object[rows.size() * table.getWidth()];
+		for (int i = 0; i < rows.size(); i++) {
+			System.arraycopy(rows.get(i), 0, ret, i * table.getWidth(), table.getWidth());
+		}
+		return ret;
+	}
+	
+	private static <T> void addJoinRows(List<Object[]> rows, Integer ownerId, Collection<T> targets, Function<T, Integer> targetIdFunction) {
+		if (targets != null) {
+			for (T target : targets) {
+				rows.add(new Object[] {ownerId, targetIdFunction.apply(target)});
+			}
+		}
+	}
+	
+	private static <T> void addAll(Collection<T> target, Collection<? extends T> source) {
+		if (source != null) {
+			target.addAll(source);
+		}
+	}
+	
+	private static <T> Integer id(T codeTableRow, Function<T, Integer> idFunction) {
+		return Optional.ofNullable(codeTableRow).map(idFunction).orElse(null);
+	}
+	
+	private static Timestamp asTimestamp(LocalDateTime localDateTime) {
+		return Optional.ofNullable(localDateTime).map(Timestamp::valueOf).orElse(null);
+	}
+	
+	private static Column integer(String name) {
+		return new Column(name, Types.INTEGER);
+	}
+	
+	private static Column varchar(String name) {
+		return new Column(name, Types.VARCHAR);
+	}
+	
+	private static Column date(String name) {
+		return new Column(name, Types.DATE);
+	}
+	
+	private static Column timestamp(String name) {
+		return new Column(name, Types.TIMESTAMP);
+	}
+	
+	private static Column decimal(String name) {
+		return new Column(name, Types.DOUBLE);
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.repository.segment;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.search.nibrs.stagingdata.model.segment.AdministrativeSegment;
+import org.search.nibrs.stagingdata.model.summary.ArresteeSummary;
+import org.search.nibrs.stagingdata.model.summary.IncidentSummary;
+import org.search.nibrs.stagingdata.model.summary.OffenderSummary;
+import org.search.nibrs.stagingdata.model.summary.OffenseSummary;
+import org.search.nibrs.stagingdata.model.summary.PropertySummary;
+import org.search.nibrs.stagingdata.model.summary.PropertyTypeSummary;
+import org.search.nibrs.stagingdata.model.summary.SegmentCode;
+import org.search.nibrs.stagingdata.model.summary.VictimOffenseLink;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+/**
+ * Projection queries for the summary reports.  Each query selects only the columns a summary reads, for the 
+ * administrative segments in the id collection, and joins the code tables for their codes.  
+ */
+public interface SummaryProjectionRepository extends Repository<AdministrativeSegment, Integer>{
+	
+	@Query("SELECT new org.search.nibrs.stagingdata.model.summary.IncidentSummary("
+			+ "			a.administrativeSegmentId, a.ori, a.incidentHour, c.nibrsCode, "
+			+ "			year(a.incidentDate), month(a.incidentDate), e.year, e.month) "
+			+ "FROM AdministrativeSegment a "
+			+ "LEFT JOIN a.clearedExceptionallyType c "
+			+ "LEFT JOIN a.exceptionalClearanceDateType e "
+			+ "WHERE a.administrativeSegmentId IN (?1) "
+			+ "ORDER BY a.administrativeSegmentId asc ")
+	List<IncidentSummary> findIncidentSummaries(Collection<Integer> administrativeSegmentIds);
+	
+	@Query("SELECT new org.search.nibrs.stagingdata.model.summary.OffenseSummary("
+			+ "			o.offenseSegmentId, o.administrativeSegment.administrativeSegmentId, u.nibrsCode, "
+			+ "			o.offenseAttemptedCompleted, l.nibrsCode, o.numberOfPremisesEntered, m.nibrsCode) "
+			+ "FROM OffenseSegment o "
+			+ "LEFT JOIN o.ucrOffenseCodeType u "
+			+ "LEFT JOIN o.locationType l "
+			+ "LEFT JOIN o.methodOfEntryType m "
+			+ "WHERE o.administrativeSegment.administrativeSegmentId IN (?1) "
+			+ "ORDER BY o.offenseSegmentId asc ")
+	List<OffenseSummary> findOffenseSummaries(Collection<Integer> administrativeSegmentIds);
+	
+	/**
+	 * The weapon codes keyed by offense segment id.
+	 */
+	@Query("SELECT new org.search.nibrs.stagingdata.model.summary.SegmentCode(o.offenseSegmentId, w.nibrsCode) "
+			+ "FROM TypeOfWeaponForceInvolved t "
+			+ "JOIN t.offenseSegment o "
+			+ "JOIN t.typeOfWeaponForceInvolvedType w "
+			+ "WHERE o.administrativeSegment.administrativeSegmentId IN (?1) ")
+	List<SegmentCode> findTypeOfWeaponForceInvolvedCodes(Collection<Integer> administrativeSegmentIds);
+	
+	/**
+	 * The criminal activity codes keyed by offense segment id.
+	 */
+	@Query("SELECT new org.search.nibrs.stagingdata.model.summary.SegmentCode(o.offenseSegmentId, t.nibrsCode) "
+			+ "FROM OffenseSegment o "
+			+ "JOIN o.typeOfCriminalActivityTypes t "
+			+ "WHERE o.administrativeSegment.administrativeSegmentId IN (?1) ")
+	List<SegmentCode> findTypeOfCriminalActivityCodes(Collection<Integer> administrativeSegmentIds);
+	
+	/**
+	 * The offender suspected of using codes keyed by offense segment id.
+	 */
+	@Query("SELECT new org.search.nibrs.stagingdata.model.summary.SegmentCode(o.offenseSegmentId, t.nibrsCode) "
+			+ "FROM OffenseSegment o "
+			+ "JOIN o.offenderSuspectedOfUsingTypes t "
+			+ "WHERE o.administrativeSegment.administrativeSegmentId IN (?1) ")
+	List<SegmentCode> findOffenderSuspectedOfUsingCodes(Collection<Integer> administrativeSegmentIds);
+	
+	@Query("SELECT new org.search.nibrs.stagingdata.model.summary.PropertySummary("
+			+ "			p.propertySegmentId, p.administrativeSegment.administrativeSegmentId, l.nibrsCode, p.numberOfStolenMotorVehicles) "
+			+ "FROM PropertySegment p "
+			+ "LEFT JOIN p.typePropertyLossEtcType l "
+			+ "WHERE p.administrativeSegment.administrativeSegmentId IN (?1) "
+			+ "ORDER BY p.propertySegmentId asc ")
+	List<PropertySummary> findPropertySummaries(Collection<Integer> administrativeSegmentIds);
+	
+	@Query("SELECT new org.search.nibrs.stagingdata.model.summary.PropertyTypeSummary("
+			+ "			p.propertySegmentId, d.nibrsCode, t.valueOfProperty) "
+			+ "FROM PropertyType t "
+			+ "JOIN t.propertySegment p "
+			+ "LEFT JOIN t.propertyDescriptionType d "
+			+ "WHERE p.administrativeSegment.administrativeSegmentId IN (?1) ")
+	List<PropertyTypeSummary> findPropertyTypeSummaries(Collection<Integer> administrativeSegmentIds);
+	
+	@Query("SELECT new org.search.nibrs.stagingdata.model.summary.VictimOffenseLink("
+			+ "			v.victimSegmentId, v.administrativeSegment.administrativeSegmentId, s.nibrsCode, o.offenseSegmentId, u.nibrsCode) "
+			+ "FROM VictimSegment v "
+			+ "JOIN v.offenseSegments o "
+			+ "LEFT JOIN v.sexOfPersonType s "
+			+ "LEFT JOIN o.ucrOffenseCodeType u "
+			+ "WHERE v.administrativeSegment.administrativeSegmentId IN (?1) ")
+	List<VictimOffenseLink> findVictimOffenseLinks(Collection<Integer> administrativeSegmentIds);
+	
+	@Query("SELECT new org.search.nibrs.stagingdata.model.summary.OffenderSummary("
+			+ "			o.administrativeSegment.administrativeSegmentId, o.ageOfOffenderMin, o.ageOfOffenderMax, o.nonNumericAge) "
+			+ "FROM OffenderSegment o "
+			+ "WHERE o.administrativeSegment.administrativeSegmentId IN (?1) ")
+	List<OffenderSummary> findOffenderSummaries(Collection<Integer> administrativeSegmentIds);
+	
+	@Query("SELECT new org.search.nibrs.stagingdata.model.summary.ArresteeSummary("
+			+ "			a.arresteeSegmentId, a.administrativeSegment.administrativeSegmentId, u.nibrsCode, m.nibrsCode, "
+			+ "			a.ageOfArresteeMin, a.ageOfArresteeMax, a.nonNumericAge, s.nibrsCode, r.nibrsCode, e.nibrsCode, "
+			+ "			d.year, d.month) "
+			+ "FROM ArresteeSegment a "
+			+ "LEFT JOIN a.arrestDateType d "
+			+ "LEFT JOIN a.ucrOffenseCodeType u "
+			+ "LEFT JOIN a.multipleArresteeSegmentsIndicatorType m "
+			+ "LEFT JOIN a.sexOfPersonType s "
+			+ "LEFT JOIN a.raceOfPersonType r "
+			+ "LEFT JOIN a.ethnicityOfPersonType e "
+			+ "WHERE a.administrativeSegment.administrativeSegmentId IN (?1) ")
+	List<ArresteeSummary> findArresteeSummaries(Collection<Integer> administrativeSegmentIds);
+	
+	/**
+	 * The arrestees whose arrest date falls in the year and month.  The arrestees are read directly, without the ids of 
+	 * their administrative segments. 
+	 */
+	@Query("SELECT new org.search.nibrs.stagingdata.model.summary.ArresteeSummary("
+			+ "			a.arresteeSegmentId, a.administrativeSegment.administrativeSegmentId, u.nibrsCode, m.nibrsCode, "
+			+ "			a.ageOfArresteeMin, a.ageOfArresteeMax, a.nonNumericAge, s.nibrsCode, r.nibrsCode, e.nibrsCode, "
+			+ "			d.year, d.month) "
+			+ "FROM ArresteeSegment a "
+			+ "JOIN a.administrativeSegment ad "
+			+ "JOIN a.arrestDateType d "
+			+ "LEFT JOIN a.ucrOffenseCodeType u "
+			+ "LEFT JOIN a.multipleArresteeSegmentsIndicatorType m "
+			+ "LEFT JOIN a.sexOfPersonType s "
+			+ "LEFT JOIN a.raceOfPersonType r "
+			+ "LEFT JOIN a.ethnicityOfPersonType e "
+			+ "WHERE (?1 = null OR ad.ori = ?1) AND d.year = ?2 AND d.month = ?3 "
+			+ "ORDER BY a.arresteeSegmentId asc ")
+	List<ArresteeSummary> findArresteeSummariesByOriAndArrestDate(String ori, Integer arrestYear, Integer arrestMonth);
+	
+}
@@ -17,14 +17,21 @@ package org.search.nibrs.stagingdata.service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.search.nibrs.stagingdata.model.segment.AdministrativeSegment;
 import org.search.nibrs.stagingdata.model.segment.ArresteeSegment;
+import org.search.nibrs.stagingdata.model.summary.ArresteeSummary;
+import org.search.nibrs.stagingdata.model.summary.IncidentSummary;
+import org.search.nibrs.stagingdata.model.summary.OffenseSummary;
+import org.search.nibrs.stagingdata.model.summary.PropertySummary;
 import org.search.nibrs.stagingdata.repository.segment.AdministrativeSegmentRepository;
+import org.search.nibrs.stagingdata.repository.segment.SummaryProjectionRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -36,8 +43,15 @@ import org.springframework.stereotype.Service;
 public class AdministrativeSegmentService {
 	private static final Log log = LogFactory.getLog(AdministrativeSegmentService.class);
 	
+	/**
+	 * The number of administrative segment ids bound to one projection query. 
+	 */
+	public static final int SUMMARY_BATCH_SIZE = 1000;
+	
 	@Autowired
 	AdministrativeSegmentRepository administrativeSegmentRepository;
+	@Autowired
+	SummaryProjectionRepository summaryProjectionRepository;
 	
 	public AdministrativeSegment find(Integer id){
 		return administrativeSegmentRepository.findByAdministrativeSegmentId(id);
@@ -98,4 +112,79 @@ public class AdministrativeSegmentService {
 		
 	}
 	
+	public List<IncidentSummary> findIncidentSummariesByOriAndIncidentDate(String ori, Integer year, Integer month){
+		
+		if ("StateWide".equalsIgnoreCase(ori)){
+			ori = null;
+		}
+		List<Integer> ids = administrativeSegmentRepository.findIdsByOriAndIncidentDate(ori, year, month);
+		return findIncidentSummaries(ids); 
+	}
+	
+	public List<IncidentSummary> findIncidentSummariesByOriAndClearanceDate(String ori, Integer year, Integer month){
+		
+		if ("StateWide".equalsIgnoreCase(ori)){
+			ori = null;
+		}
+		List<Integer> ids = administrativeSegmentRepository.findIdsByOriAndClearanceDate(ori, year, month);
+		return findIncidentSummaries(ids); 
+	}
+	
+	public List<ArresteeSummary> findArresteeSummariesByOriAndArrestDate(String ori, Integer arrestYear, Integer arrestMonth){
+		if ("StateWide".equalsIgnoreCase(ori)){
+			ori = null;
+		}
+		return summaryProjectionRepository.findArresteeSummariesByOriAndArrestDate(ori, arrestYear, arrestMonth); 
+	}
+	
+	/**
+	 * Assembles the incident summaries of the administrative segments, SUMMARY_BATCH_SIZE ids at a time.  Each batch 
+	 * takes one query per child segment type, however many segments the batch holds. 
+	 */
+	public List<IncidentSummary> findIncidentSummaries(List<Integer> administrativeSegmentIds){
+		List<IncidentSummary> incidentSummaries = new ArrayList<>();
+		
+		for (int fromIndex = 0; fromIndex < administrativeSegmentIds.size(); fromIndex += SUMMARY_BATCH_SIZE){
+			List<Integer> ids = administrativeSegmentIds.subList(fromIndex, 
+					Math.min(fromIndex + SUMMARY_BATCH_SIZE, administrativeSegmentIds.size()));
+			incidentSummaries.addAll(findIncidentSummaryBatch(ids));
+		}
+		
+		log.debug("incidentSummaries size " + incidentSummaries.size());
+		return incidentSummaries; 
+	}
+
+	private List<IncidentSummary> findIncidentSummaryBatch(List<Integer> ids) {
+		List<IncidentSummary> incidentSummaries = summaryProjectionRepository.findIncidentSummaries(ids);
+		Map<Integer, IncidentSummary> incidentSummaryMap = incidentSummaries.stream()
+				.collect(Collectors.toMap(IncidentSummary::getAdministrativeSegmentId, Function.identity()));
+		
+		List<OffenseSummary> offenses = summaryProjectionRepository.findOffenseSummaries(ids);
+		Map<Integer, OffenseSummary> offenseMap = offenses.stream()
+				.collect(Collectors.toMap(OffenseSummary::getOffenseSegmentId, Function.identity()));
+		summaryProjectionRepository.findTypeOfWeaponForceInvolvedCodes(ids)
+			.forEach(i->offenseMap.get(i.getSegmentId()).getTypeOfWeaponForceInvolvedCodes().add(i.getCode()));
+		summaryProjectionRepository.findTypeOfCriminalActivityCodes(ids)
+			.forEach(i->offenseMap.get(i.getSegmentId()).getTypeOfCriminalActivityCodes().add(i.getCode()));
+		summaryProjectionRepository.findOffenderSuspectedOfUsingCodes(ids)
+			.forEach(i->offenseMap.get(i.getSegmentId()).getOffenderSuspectedOfUsingCodes().add(i.getCode()));
+		offenses.forEach(i->incidentSummaryMap.get(i.getAdministrativeSegmentId()).getOffenses().add(i));
+		
+		List<PropertySummary> properties = summaryProjectionRepository.findPropertySummaries(ids);
+		Map<Integer, PropertySummary> propertyMap = properties.stream()
+				.collect(Collectors.toMap(PropertySummary::getPropertySegmentId, Function.identity()));
+		summaryProjectionRepository.findPropertyTypeSummaries(ids)
+			.forEach(i->propertyMap.get(i.getPropertySegmentId()).getPropertyTypes().add(i));
+		properties.forEach(i->incidentSummaryMap.get(i.getAdministrativeSegmentId()).getProperties().add(i));
+		
+		summaryProjectionRepository.findVictimOffenseLinks(ids)
+			.forEach(i->incidentSummaryMap.get(i.getAdministrativeSegmentId()).getVictimOffenseLinks().add(i));
+		summaryProjectionRepository.findOffenderSummaries(ids)
+			.forEach(i->incidentSummaryMap.get(i.getAdministrativeSegmentId()).getOffenders().add(i));
+		summaryProjectionRepository.findArresteeSummaries(ids)
+			.forEach(i->incidentSummaryMap.get(i.getAdministrativeSegmentId()).getArrestees().add(i));
+		
+		return incidentSummaries;
+	}
+	
 }
@@ -15,13 +15,17 @@
  */
 package org.search.nibrs.stagingdata.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
@@ -73,8 +77,16 @@ import org.search.nibrs.stagingdata.repository.TypePropertyLossEtcTypeRepository
 import org.search.nibrs.stagingdata.repository.UcrOffenseCodeTypeRepository;
 import org.search.nibrs.stagingdata.repository.VictimOffenderRelationshipTypeRepository;
 import org.search.nibrs.stagingdata.repository.segment.ArrestReportSegmentRepository;
+import org.search.nibrs.stagingdata.repository.segment.SegmentBulkLoader;
+import org.search.nibrs.stagingdata.service.summary.SummaryAggregateService;
+import org.search.nibrs.stagingdata.service.summary.SummaryFormCache;
+import org.search.nibrs.stagingdata.service.summary.SummaryFormKey;
 import org.search.nibrs.stagingdata.util.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
 
 /**
@@ -85,13 +97,17 @@ import org.springframework.stereotype.Service;
 public class ArrestReportService {
 	private static final String BAD_DELETE_REQUEST = "The report action type should be 'D' and the arrest transaction number is required ";
 
-	private static final String BAD_SAVE_REQUEST = "The Group B Report is not persisted because it misses the arrestee info. ";
+	static final String BAD_SAVE_REQUEST = "The Group B Report is not persisted because it misses the arrestee info. ";
 
 	private static final Log log = LogFactory.getLog(ArrestReportService.class);
 
 	@Autowired
 	ArrestReportSegmentRepository arrestReportSegmentRepository;
 	@Autowired
+	SegmentBulkLoader segmentBulkLoader;
+	@Autowired
+	SummaryFormCache summaryFormCache;
+	@Autowired
 	public AgencyRepository agencyRepository; 
 	@Autowired
 	public SegmentActionTypeRepository segmentActionTypeRepository; 
@@ -154,7 +170,9 @@ public class ArrestReportService {
 	
 	@Transactional
 	public ArrestReportSegment saveArrestReportSegment(ArrestReportSegment arrestReportSegment){
-		return arrestReportSegmentRepository.save(arrestReportSegment);
+		ArrestReportSegment savedArrestReportSegment = arrestReportSegmentRepository.save(arrestReportSegment);
+		invalidateSummaryForms(Arrays.asList(savedArrestReportSegment));
+		return savedArrestReportSegment;
 	}
 	
 	@Transactional
@@ -168,17 +186,102 @@ public class ArrestReportService {
 		return arrestReportSegments;
 	}
 	
+	public Page<ArrestReportSegment> findArrestReportSegments(String ori, LocalDate startDate, LocalDate endDate, int page, int size){
+		SegmentPages.checkPageSize(size);
+		Page<Integer> ids = arrestReportSegmentRepository.findIdsByOriAndArrestDateRange(
+				ori, SegmentPages.asSqlDate(startDate), SegmentPages.asSqlDate(endDate), new PageRequest(page, size, Direction.ASC, "arrestReportSegmentId"));
+		return new PageImpl<>(findArrestReportSegmentsInIdOrder(ids.getContent()), new PageRequest(page, size), ids.getTotalElements());
+	}
+	
+	/**
+	 * The segments with ids greater than afterId, in id order.  Unlike the offset pages of findArrestReportSegments the cost of a 
+	 * page does not grow with its position. 
+	 */
+	public KeysetPage<ArrestReportSegment> findArrestReportSegmentsAfter(Integer afterId, String ori, LocalDate startDate, 
+			LocalDate endDate, int size){
+		SegmentPages.checkPageSize(size);
+		List<Integer> ids = arrestReportSegmentRepository.findIdsAfterIdByOriAndArrestDateRange(
+				Optional.ofNullable(afterId).orElse(0), ori, SegmentPages.asSqlDate(startDate), SegmentPages.asSqlDate(endDate), new PageRequest(0, size));
+		return new KeysetPage<>(findArrestReportSegmentsInIdOrder(ids), SegmentPages.getNextAfterId(ids, size));
+	}
+	
+	private List<ArrestReportSegment> findArrestReportSegmentsInIdOrder(List<Integer> ids){
+		return SegmentPages.findInIdOrder(ids, arrestReportSegmentRepository::findAll, ArrestReportSegment::getArrestReportSegmentId);
+	}
+	
 	public long deleteGroupBArrestReport(String identifier){
 		if ( StringUtils.isBlank(identifier) ){
 			log.error(BAD_DELETE_REQUEST); 
 			throw new BadRequestException(BAD_DELETE_REQUEST);
 		}
+		invalidateSummaryForms(arrestReportSegmentRepository.findByArrestTransactionNumber(identifier));
 		return arrestReportSegmentRepository.deleteByArrestTransactionNumber(identifier);
 	}
 	
 	public Iterable<ArrestReportSegment> saveGroupBArrestReports(GroupBArrestReport... groupBArrestReports){
 		
+		List<ArrestReportSegment> arrestReportSegments = buildArrestReportSegments(groupBArrestReports); 
+		
+		Iterable<ArrestReportSegment> savedArrestReportSegments = arrestReportSegmentRepository.save(arrestReportSegments);
+		invalidateSummaryForms(savedArrestReportSegments);
+		return savedArrestReportSegments;
+	}
+	
+	/**
+	 * Save the reports with the JDBC bulk loader rather than through the JPA repository.  The rows written are the same as those 
+	 * written by saveGroupBArrestReports.
+	 */
+	@Transactional
+	public List<ArrestReportSegment> bulkSaveGroupBArrestReports(GroupBArrestReport... groupBArrestReports){
+		
+		List<ArrestReportSegment> arrestReportSegments = buildArrestReportSegments(groupBArrestReports); 
+		
+		segmentBulkLoader.insertArrestReportSegments(arrestReportSegments);
+		invalidateSummaryForms(arrestReportSegments);
+		return arrestReportSegments;
+	}
+	
+	/**
+	 * Invalidates the cached ASR adult forms of the ORIs and arrest months of the segments. 
+	 */
+	private void invalidateSummaryForms(Iterable<ArrestReportSegment> arrestReportSegments){
+		List<SummaryFormKey> keys = new ArrayList<>(); 
+		for (ArrestReportSegment arrestReportSegment: arrestReportSegments){
+			LocalDate arrestDate = DateTypeResolver.toLocalDate(arrestReportSegment.getArrestDate()); 
+			if (arrestDate != null){
+				keys.add(new SummaryFormKey(SummaryAggregateService.ASR_ADULT, arrestReportSegment.getOri(), 
+						arrestDate.getYear(), arrestDate.getMonthValue()));
+			}
+		}
+		summaryFormCache.invalidate(keys);
+	}
+	
+	/**
+	 * Resolve in one query which of the reports that are not deletes or replacements are already stored, so that they are saved 
+	 * as replacements.
+	 */
+	private Set<String> findExistingArrestTransactionNumbers(GroupBArrestReport... groupBArrestReports){
+		Set<String> arrestTransactionNumbers = Arrays.stream(groupBArrestReports)
+				.filter(groupBArrestReport -> !isDeleteOrReplace(groupBArrestReport.getReportActionType()))
+				.map(GroupBArrestReport::getIdentifier)
+				.filter(StringUtils::isNotBlank)
+				.collect(Collectors.toSet());
+		
+		if (arrestTransactionNumbers.isEmpty()){
+			return Collections.emptySet();
+		}
+		return new HashSet<>(arrestReportSegmentRepository.findExistingArrestTransactionNumbers(arrestTransactionNumbers));
+	}
+	
+	private boolean isDeleteOrReplace(char reportActionType){
+		String actionType = String.valueOf(reportActionType).trim();
+		return Objects.equals("D", actionType) || Objects.equals("R", actionType);
+	}
+	
+	private List<ArrestReportSegment> buildArrestReportSegments(GroupBArrestReport... groupBArrestReports){
+		
 		List<ArrestReportSegment> arrestReportSegments = new ArrayList<>(); 
+		Set<String> existingArrestTransactionNumbers = findExistingArrestTransactionNumbers(groupBArrestReports);
 		
 		for(GroupBArrestReport groupBArrestReport : groupBArrestReports){
 			ArresteeSegment arrestee = groupBArrestReport.getArrestee(); 
@@ -195,14 +298,13 @@ public class ArrestReportService {
 			
 			String reportActionType = String.valueOf(groupBArrestReport.getReportActionType()).trim();
 			
-			if (!Objects.equals("D", reportActionType) && !Objects.equals("R", reportActionType)){
-				if (arrestReportSegmentRepository.existsByArrestTransactionNumber(groupBArrestReport.getIdentifier())){
-					reportActionType = "R"; 
-				}
+			if (!isDeleteOrReplace(groupBArrestReport.getReportActionType()) 
+					&& existingArrestTransactionNumbers.contains(groupBArrestReport.getIdentifier())){
+				reportActionType = "R"; 
 			}
 
 			SegmentActionTypeType segmentActionType = codeTableService.getCodeTableType(reportActionType, 
-					segmentActionTypeRepository::findFirstByStateCode, SegmentActionTypeType::new);
+					SegmentActionTypeType.class, SegmentActionTypeType::new);
 			arrestReportSegment.setSegmentActionType(segmentActionType);
 			
 			Optional<Integer> monthOfTape = Optional.ofNullable(groupBArrestReport.getMonthOfTape());
@@ -223,10 +325,10 @@ public class ArrestReportService {
 			arrestReportSegment.setArresteeSequenceNumber(groupBArrestReport.getArresteeSequenceNumber());
 			
 			arrestReportSegment.setArrestDate(DateUtils.asDate(groupBArrestReport.getArrestDate()));
-			arrestReportSegment.setArrestDateType(codeTableService.getDateType(DateUtils.asDate(groupBArrestReport.getArrestDate())));
+			arrestReportSegment.setArrestDateType(codeTableService.getDateType(groupBArrestReport.getArrestDate()));
 			
 			TypeOfArrestType typeOfArrestType = codeTableService.getCodeTableType(
-					arrestee.getTypeOfArrest(), typeOfArrestTypeRepository::findFirstByStateCode, TypeOfArrestType::new);
+					arrestee.getTypeOfArrest(), TypeOfArrestType.class, TypeOfArrestType::new);
 			arrestReportSegment.setTypeOfArrestType(typeOfArrestType );
 			
 			arrestReportSegment.setAgeOfArresteeMin(arrestee.getAge().getAgeMin());
@@ -234,32 +336,32 @@ public class ArrestReportService {
 			arrestReportSegment.setNonNumericAge(arrestee.getAge().getNonNumericAge());
 	
 			SexOfPersonType sexOfPersonType = codeTableService.getCodeTableType(
-					arrestee.getSex(), sexOfPersonTypeRepository::findFirstByStateCode, SexOfPersonType::new);
+					arrestee.getSex(), SexOfPersonType.class, SexOfPersonType::new);
 			arrestReportSegment.setSexOfPersonType(sexOfPersonType);
 			
 			RaceOfPersonType raceOfPersonType = codeTableService.getCodeTableType(
-					arrestee.getRace(), raceOfPersonTypeRepository::findFirstByStateCode, RaceOfPersonType::new);
+					arrestee.getRace(), RaceOfPersonType.class, RaceOfPersonType::new);
 			arrestReportSegment.setRaceOfPersonType(raceOfPersonType);
 			
 			EthnicityOfPersonType ethnicityOfPersonType = codeTableService.getCodeTableType(
-					arrestee.getEthnicity(), ethnicityOfPersonTypeRepository::findFirstByStateCode, EthnicityOfPersonType::new);
+					arrestee.getEthnicity(), EthnicityOfPersonType.class, EthnicityOfPersonType::new);
 			arrestReportSegment.setEthnicityOfPersonType(ethnicityOfPersonType);
 			
 			ResidentStatusOfPersonType residentStatusOfPersonType = codeTableService.getCodeTableType(
 					arrestee.getResidentStatus(), 
-					residentStatusOfPersonTypeRepository::findFirstByStateCode, 
+					ResidentStatusOfPersonType.class, 
 					ResidentStatusOfPersonType::new);
 			arrestReportSegment.setResidentStatusOfPersonType(residentStatusOfPersonType);
 			
 			DispositionOfArresteeUnder18Type dispositionOfArresteeUnder18Type = codeTableService.getCodeTableType(
 					arrestee.getDispositionOfArresteeUnder18(), 
-					dispositionOfArresteeUnder18TypeRepository::findFirstByStateCode, 
+					DispositionOfArresteeUnder18Type.class, 
 					DispositionOfArresteeUnder18Type::new);
 			arrestReportSegment.setDispositionOfArresteeUnder18Type(dispositionOfArresteeUnder18Type );
 			
 			UcrOffenseCodeType ucrOffenseCodeType = codeTableService.getCodeTableType(
 					arrestee.getUcrArrestOffenseCode(), 
-					ucrOffenseCodeTypeRepository::findFirstByStateCode, 
+					UcrOffenseCodeType.class, 
 					UcrOffenseCodeType::new);;
 			arrestReportSegment.setUcrOffenseCodeType(ucrOffenseCodeType);
 			arrestReportSegment.setReportTimestamp(LocalDateTime.now());
@@ -269,7 +371,7 @@ public class ArrestReportService {
 			arrestReportSegments.add(arrestReportSegment);
 		}
 		
-		return arrestReportSegmentRepository.save(arrestReportSegments);
+		return arrestReportSegments;
 	}
 
 	private void processArrestReportSegmentArmedWiths(ArrestReportSegment arrestReportSegment, ArresteeSegment arrestee) {
@@ -287,7 +389,7 @@ public class ArrestReportService {
 				if (StringUtils.isNotBlank(arresteeArmedWithCode)){
 					Optional<ArresteeWasArmedWithType> arresteeWasArmedWithType = 
 							Optional.ofNullable(codeTableService.getCodeTableType(arresteeArmedWithCode,
-									arresteeWasArmedWithTypeRepository::findFirstByStateCode, 
+									ArresteeWasArmedWithType.class, 
 									null));
 					arresteeWasArmedWithType.ifPresent( type ->
 						armedWiths.add(new ArrestReportSegmentWasArmedWith(
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.search.nibrs.model.AbstractReport;
+import org.search.nibrs.model.GroupAIncidentReport;
+import org.search.nibrs.model.GroupBArrestReport;
+import org.search.nibrs.stagingdata.AppProperties;
+import org.search.nibrs.stagingdata.controller.BadRequestException;
+import org.search.nibrs.stagingdata.model.segment.AdministrativeSegment;
+import org.search.nibrs.stagingdata.model.segment.ArrestReportSegment;
+import org.search.nibrs.stagingdata.service.ReportOutcome.Status;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Saves a stream of reports in chunks, one transaction per chunk.  The reports are decoded one at a time with the Jackson streaming 
+ * parser, so the body may be a JSON array or newline delimited JSON objects and is never held in memory as a whole.  When a chunk 
+ * fails its reports are retried one per transaction, so one bad report does not reject the rest of the chunk.  Reports that are missing 
+ * the data needed to store them are rejected before they are saved.
+ */
+@Service
+public class BulkReportService {
+	private static final Log log = LogFactory.getLog(BulkReportService.class);
+	static final String MISSING_INCIDENT_NUMBER = "The Group A Report is not persisted because it misses the incident number. ";
+	
+	@Autowired
+	public GroupAIncidentService groupAIncidentService;
+	@Autowired
+	public ArrestReportService arrestReportService;
+	@Autowired
+	public ObjectMapper objectMapper;
+	@Autowired
+	public PlatformTransactionManager transactionManager;
+	@Autowired
+	public AppProperties appProperties;
+	
+	public List<ReportOutcome> saveGroupAIncidentReports(InputStream inputStream, Integer chunkSize) throws IOException{
+		return saveReports(inputStream, GroupAIncidentReport.class, chunkSize, 
+				report -> StringUtils.isBlank(report.getIncidentNumber()) ? MISSING_INCIDENT_NUMBER : null, 
+				reports -> groupAIncidentService.bulkSaveGroupAIncidentReports(reports.toArray(new GroupAIncidentReport[reports.size()]))
+					.stream()
+					.map(AdministrativeSegment::getIncidentNumber)
+					.collect(Collectors.toSet()));
+	}
+	
+	public List<ReportOutcome> saveGroupBArrestReports(InputStream inputStream, Integer chunkSize) throws IOException{
+		return saveReports(inputStream, GroupBArrestReport.class, chunkSize, 
+				report -> report.getArrestee() == null || StringUtils.isBlank(report.getIdentifier()) ? 
+						ArrestReportService.BAD_SAVE_REQUEST : null, 
+				reports -> arrestReportService.bulkSaveGroupBArrestReports(reports.toArray(new GroupBArrestReport[reports.size()]))
+					.stream()
+					.map(ArrestReportSegment::getArrestTransactionNumber)
+					.collect(Collectors.toSet()));
+	}
+	
+	/**
+	 * @param rejector returns why a report cannot be saved, or null if it can.
+	 * @param saver saves a list of reports and returns the identifiers of the reports it saved.
+	 */
+	<T extends AbstractReport> List<ReportOutcome> saveReports(InputStream inputStream, Class<T> reportType, Integer chunkSize, 
+			Function<T, String> rejector, Function<List<T>, Set<String>> saver) throws IOException{
+		
+		int size = resolveChunkSize(chunkSize);
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		
+		List<ReportOutcome> outcomes = new ArrayList<>();
+		List<T> chunk = new ArrayList<>(size);
+		List<Integer> chunkIndexes = new ArrayList<>(size);
+		int index = 0;
+		
+		try (MappingIterator<T> reports = objectMapper.readerFor(reportType).readValues(inputStream)){
+			while (true){
+				T report;
+				try{
+					if (!reports.hasNextValue()){
+						break;
+					}
+					report = reports.nextValue();
+				}
+				catch (JsonProcessingException e){
+					log.warn("Unable to read report " + index + ": " + e.getMessage());
+					outcomes.add(new ReportOutcome(index++, null, Status.FAILED, "Unable to read report: " + e.getOriginalMessage()));
+					if (e instanceof JsonParseException){
+						// the parser cannot find the start of the next report after a syntax error
+						break;
+					}
+					continue;
+				}
+				
+				String rejection = rejector.apply(report);
+				if (rejection != null){
+					outcomes.add(new ReportOutcome(index++, report.getIdentifier(), Status.REJECTED, rejection));
+					continue;
+				}
+				
+				chunk.add(report);
+				chunkIndexes.add(index++);
+				if (chunk.size() == size){
+					saveChunk(transactionTemplate, chunk, chunkIndexes, saver, outcomes);
+				}
+			}
+		}
+		saveChunk(transactionTemplate, chunk, chunkIndexes, saver, outcomes);
+		
+		outcomes.sort(Comparator.comparingInt(ReportOutcome::getIndex));
+		return outcomes;
+	}
+
+	private <T extends AbstractReport> void saveChunk(TransactionTemplate transactionTemplate, List<T> chunk, List<Integer> chunkIndexes, 
+			Function<List<T>, Set<String>> saver, List<ReportOutcome> outcomes) {
+		
+		if (chunk.isEmpty()){
+			return;
+		}
+		
+		try{
+			Set<String> savedIdentifiers = transactionTemplate.execute(status -> saver.apply(chunk));
+			for (int i = 0; i < chunk.size(); i++){
+				outcomes.add(getOutcome(chunkIndexes.get(i), chunk.get(i), savedIdentifiers));
+			}
+		}
+		catch (RuntimeException e){
+			log.warn("Unable to save " + chunk.size() + " reports in one transaction, saving them one at a time: " 
+					+ ExceptionUtils.getRootCauseMessage(e));
+			for (int i = 0; i < chunk.size(); i++){
+				T report = chunk.get(i);
+				try{
+					Set<String> savedIdentifiers = transactionTemplate.execute(status -> saver.apply(Collections.singletonList(report)));
+					outcomes.add(getOutcome(chunkIndexes.get(i), report, savedIdentifiers));
+				}
+				catch (RuntimeException reportException){
+					log.error("Unable to save report " + report.getIdentifier(), reportException);
+					outcomes.add(new ReportOutcome(chunkIndexes.get(i), report.getIdentifier(), Status.FAILED, 
+							ExceptionUtils.getRootCauseMessage(reportException)));
+				}
+			}
+		}
+		
+		chunk.clear();
+		chunkIndexes.clear();
+	}
+	
+	private ReportOutcome getOutcome(Integer index, AbstractReport report, Set<String> savedIdentifiers){
+		if (savedIdentifiers.contains(report.getIdentifier())){
+			return new ReportOutcome(index, report.getIdentifier(), Status.SAVED, null);
+		}
+		return new ReportOutcome(index, report.getIdentifier(), Status.FAILED, "The report was not saved");
+	}
+	
+	private int resolveChunkSize(Integer chunkSize){
+		Integer size = chunkSize == null ? appProperties.getBulkSaveChunkSize() : chunkSize;
+		if (size == null || size < 1){
+			throw new BadRequestException("The chunk size must be at least 1");
+		}
+		return size;
+	}
+	
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.data.repository.CrudRepository;
+
+/**
+ * In-memory copy of the code tables, so that resolving a code does not need a database round trip.  Each registered table is loaded in full 
+ * into two immutable maps, keyed by state code and by NIBRS code; where several rows share a code, the first one returned by the repository 
+ * wins, as with findFirstByStateCode.
+ * <br/>
+ * The loaded tables are published as an immutable snapshot, so lookups take no locks.  refresh() reloads the tables from the database, and 
+ * invalidate() discards them, so that each is reloaded on its next lookup.  Rows added to the database are not seen until the table is 
+ * refreshed or invalidated.
+ */
+public class CodeTableRegistry {
+	
+	private static final Log log = LogFactory.getLog(CodeTableRegistry.class);
+	
+	private final Map<Class<?>, CodeTableLoader<?>> loaders = new ConcurrentHashMap<>();
+	private final AtomicReference<Map<Class<?>, CodeTable<?>>> codeTables = new AtomicReference<>(Collections.emptyMap());
+	
+	private static final class CodeTableLoader<T> {
+		
+		private final CrudRepository<T, ?> repository;
+		private final Function<T, String> stateCodeFunction;
+		private final Function<T, String> nibrsCodeFunction;
+		
+		CodeTableLoader(CrudRepository<T, ?> repository, Function<T, String> stateCodeFunction, Function<T, String> nibrsCodeFunction) {
+			this.repository = repository;
+			this.stateCodeFunction = stateCodeFunction;
+			this.nibrsCodeFunction = nibrsCodeFunction;
+		}
+		
+		CodeTable<T> load() {
+			Map<String, T> byStateCode = new HashMap<>();
+			Map<String, T> byNibrsCode = new HashMap<>();
+			for (T row : repository.findAll()) {
+				String stateCode = stateCodeFunction.apply(row);
+				if (stateCode != null) {
+					byStateCode.putIfAbsent(stateCode, row);
+				}
+				String nibrsCode = nibrsCodeFunction.apply(row);
+				if (nibrsCode != null) {
+					byNibrsCode.putIfAbsent(nibrsCode, row);
+				}
+			}
+			return new CodeTable<>(byStateCode, byNibrsCode);
+		}
+		
+	}
+	
+	private static final class CodeTable<T> {
+		
+		private final Map<String, T> byStateCode;
+		private final Map<String, T> byNibrsCode;
+		
+		CodeTable(Map<String, T> byStateCode, Map<String, T> byNibrsCode) {
+			this.byStateCode = Collections.unmodifiableMap(byStateCode);
+			this.byNibrsCode = Collections.unmodifiableMap(byNibrsCode);
+		}
+		
+	}
+	
+	/**
+	 * Register a code table.  Tables are loaded on refresh(), or on first lookup.
+	 * @param type the entity class of the rows of the table
+	 * @param repository the repository from which to load the rows
+	 * @param stateCodeFunction function that gets the state code of a row
+	 * @param nibrsCodeFunction function that gets the NIBRS code of a row
+	 */
+	public <T> void register(Class<T> type, CrudRepository<T, ?> repository, Function<T, String> stateCodeFunction, Function<T, String> nibrsCodeFunction) {
+		loaders.put(type, new CodeTableLoader<>(repository, stateCodeFunction, nibrsCodeFunction));
+	}
+	
+	/**
+	 * Find the row of a code table with the specified state code.
+	 * @param type the entity class of the rows of the table
+	 * @param stateCode the state code
+	 * @return the row, or null if there is none
+	 */
+	public <T> T findByStateCode(Class<T> type, String stateCode) {
+		return getCodeTable(type).byStateCode.get(stateCode);
+	}
+	
+	/**
+	 * Find the row of a code table with the specified NIBRS code.
+	 * @param type the entity class of the rows of the table
+	 * @param nibrsCode the NIBRS code
+	 * @return the row, or null if there is none
+	 */
+	public <T> T findByNibrsCode(Class<T> type, String nibrsCode) {
+		return getCodeTable(type).byNibrsCode.get(nibrsCode);
+	}
+	
+	public boolean isLoaded(Class<?> type) {
+		return codeTables.get().containsKey(type);
+	}
+	
+	/**
+	 * Reload every registered table from the database.
+	 */
+	public void refresh() {
+		Map<Class<?>, CodeTable<?>> newCodeTables = new HashMap<>();
+		loaders.forEach((type, loader) -> newCodeTables.put(type, loader.load()));
+		codeTables.set(Collections.unmodifiableMap(newCodeTables));
+		log.info("Loaded " + newCodeTables.size() + " code tables");
+	}
+	
+	/**
+	 * Reload one table from the database.
+	 * @param type the entity class of the rows of the table
+	 */
+	public void refresh(Class<?> type) {
+		publish(type, getLoader(type).load());
+	}
+	
+	/**
+	 * Discard every loaded table.
+	 */
+	public void invalidate() {
+		codeTables.set(Collections.emptyMap());
+	}
+	
+	/**
+	 * Discard one loaded table.
+	 * @param type the entity class of the rows of the table
+	 */
+	public void invalidate(Class<?> type) {
+		codeTables.updateAndGet(current -> {
+			if (!current.containsKey(type)) {
+				return current;
+			}
+			Map<Class<?>, CodeTable<?>> ret = new HashMap<>(current);
+			ret.remove(type);
+			return Collections.unmodifiableMap(ret);
+		});
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <T> CodeTable<T> getCodeTable(Class<T> type) {
+		CodeTable<T> ret = (CodeTable<T>) codeTables.get().get(type);
+		if (ret == null) {
+			// two threads may both load a table that is missing; the loads are equivalent, and the later one wins
+			ret = getLoader(type).load();
+			publish(type, ret);
+		}
+		return ret;
+	}
+	
+	private void publish(Class<?> type, CodeTable<?> codeTable) {
+		codeTables.updateAndGet(current -> {
+			Map<Class<?>, CodeTable<?>> ret = new HashMap<>(current);
+			ret.put(type, codeTable);
+			return Collections.unmodifiableMap(ret);
+		});
+	}
+	
+	@SuppressWarnings("unchecked")
+	private <T> CodeTableLoader<T> getLoader(Class<T> type) {
+		CodeTableLoader<T> ret = (CodeTableLoader<T>) loaders.get(type);
+		if (ret == null) {
+			throw new IllegalArgumentException("No code table registered for " + type.getName());
+		}
+		return ret;
+	}
+
+}
@@ -15,18 +15,52 @@
  */
 package org.search.nibrs.stagingdata.service;
 
-import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.Date;
 import java.util.Optional;
 import java.util.function.Function;
 
+import javax.annotation.PostConstruct;
+
 import org.apache.commons.lang3.StringUtils;
+import org.search.nibrs.stagingdata.model.AdditionalJustifiableHomicideCircumstancesType;
+import org.search.nibrs.stagingdata.model.AgencyType;
+import org.search.nibrs.stagingdata.model.AggravatedAssaultHomicideCircumstancesType;
+import org.search.nibrs.stagingdata.model.ArresteeWasArmedWithType;
+import org.search.nibrs.stagingdata.model.BiasMotivationType;
+import org.search.nibrs.stagingdata.model.CargoTheftIndicatorType;
+import org.search.nibrs.stagingdata.model.ClearedExceptionallyType;
 import org.search.nibrs.stagingdata.model.DateType;
+import org.search.nibrs.stagingdata.model.DispositionOfArresteeUnder18Type;
+import org.search.nibrs.stagingdata.model.EthnicityOfPersonType;
+import org.search.nibrs.stagingdata.model.LocationType;
+import org.search.nibrs.stagingdata.model.MethodOfEntryType;
+import org.search.nibrs.stagingdata.model.MultipleArresteeSegmentsIndicatorType;
+import org.search.nibrs.stagingdata.model.OffenderSuspectedOfUsingType;
+import org.search.nibrs.stagingdata.model.OfficerActivityCircumstanceType;
+import org.search.nibrs.stagingdata.model.OfficerAssignmentTypeType;
+import org.search.nibrs.stagingdata.model.PropertyDescriptionType;
+import org.search.nibrs.stagingdata.model.RaceOfPersonType;
+import org.search.nibrs.stagingdata.model.ResidentStatusOfPersonType;
+import org.search.nibrs.stagingdata.model.SegmentActionTypeType;
+import org.search.nibrs.stagingdata.model.SexOfPersonType;
+import org.search.nibrs.stagingdata.model.SuspectedDrugTypeType;
+import org.search.nibrs.stagingdata.model.TypeDrugMeasurementType;
+import org.search.nibrs.stagingdata.model.TypeInjuryType;
+import org.search.nibrs.stagingdata.model.TypeOfArrestType;
+import org.search.nibrs.stagingdata.model.TypeOfCriminalActivityType;
+import org.search.nibrs.stagingdata.model.TypeOfVictimType;
+import org.search.nibrs.stagingdata.model.TypeOfWeaponForceInvolvedType;
+import org.search.nibrs.stagingdata.model.TypePropertyLossEtcType;
+import org.search.nibrs.stagingdata.model.UcrOffenseCodeType;
+import org.search.nibrs.stagingdata.model.VictimOffenderRelationshipType;
 import org.search.nibrs.stagingdata.repository.AdditionalJustifiableHomicideCircumstancesTypeRepository;
 import org.search.nibrs.stagingdata.repository.AgencyRepository;
+import org.search.nibrs.stagingdata.repository.AgencyTypeRepository;
 import org.search.nibrs.stagingdata.repository.AggravatedAssaultHomicideCircumstancesTypeRepository;
 import org.search.nibrs.stagingdata.repository.ArresteeWasArmedWithTypeRepository;
 import org.search.nibrs.stagingdata.repository.BiasMotivationTypeRepository;
+import org.search.nibrs.stagingdata.repository.CargoTheftIndicatorTypeRepository;
 import org.search.nibrs.stagingdata.repository.ClearedExceptionallyTypeRepository;
 import org.search.nibrs.stagingdata.repository.DateTypeRepository;
 import org.search.nibrs.stagingdata.repository.DispositionOfArresteeUnder18TypeRepository;
@@ -53,6 +87,8 @@ import org.search.nibrs.stagingdata.repository.TypePropertyLossEtcTypeRepository
 import org.search.nibrs.stagingdata.repository.UcrOffenseCodeTypeRepository;
 import org.search.nibrs.stagingdata.repository.VictimOffenderRelationshipTypeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
 /**
@@ -61,7 +97,6 @@ import org.springframework.stereotype.Service;
  */
 @Service
 public class CodeTableService {
-	SimpleDateFormat formatter = new SimpleDateFormat("MMddyyyy");
 
 	@Autowired
 	public DateTypeRepository dateTypeRepository; 
@@ -123,16 +158,85 @@ public class CodeTableService {
 	public AggravatedAssaultHomicideCircumstancesTypeRepository aggravatedAssaultHomicideCircumstancesTypeRepository; 
 	@Autowired
 	public VictimOffenderRelationshipTypeRepository victimOffenderRelationshipTypeRepository;
+	@Autowired
+	public CargoTheftIndicatorTypeRepository cargoTheftIndicatorTypeRepository; 
+	@Autowired
+	public AgencyTypeRepository agencyTypeRepository; 
+	
+	private final CodeTableRegistry codeTableRegistry = new CodeTableRegistry();
+	private DateTypeResolver dateTypeResolver;
+	
+	@PostConstruct
+	void registerCodeTables() {
+		dateTypeResolver = new DateTypeResolver(dateTypeRepository);
+		codeTableRegistry.register(AdditionalJustifiableHomicideCircumstancesType.class, additionalJustifiableHomicideCircumstancesTypeRepository, AdditionalJustifiableHomicideCircumstancesType::getStateCode, AdditionalJustifiableHomicideCircumstancesType::getNibrsCode);
+		codeTableRegistry.register(AgencyType.class, agencyTypeRepository, AgencyType::getStateCode, AgencyType::getNibrsCode);
+		codeTableRegistry.register(AggravatedAssaultHomicideCircumstancesType.class, aggravatedAssaultHomicideCircumstancesTypeRepository, AggravatedAssaultHomicideCircumstancesType::getStateCode, AggravatedAssaultHomicideCircumstancesType::getNibrsCode);
+		codeTableRegistry.register(ArresteeWasArmedWithType.class, arresteeWasArmedWithTypeRepository, ArresteeWasArmedWithType::getStateCode, ArresteeWasArmedWithType::getNibrsCode);
+		codeTableRegistry.register(BiasMotivationType.class, biasMotivationTypeRepository, BiasMotivationType::getStateCode, BiasMotivationType::getNibrsCode);
+		codeTableRegistry.register(CargoTheftIndicatorType.class, cargoTheftIndicatorTypeRepository, CargoTheftIndicatorType::getStateCode, CargoTheftIndicatorType::getNibrsCode);
+		codeTableRegistry.register(ClearedExceptionallyType.class, clearedExceptionallyTypeRepository, ClearedExceptionallyType::getStateCode, ClearedExceptionallyType::getNibrsCode);
+		codeTableRegistry.register(DispositionOfArresteeUnder18Type.class, dispositionOfArresteeUnder18TypeRepository, DispositionOfArresteeUnder18Type::getStateCode, DispositionOfArresteeUnder18Type::getNibrsCode);
+		codeTableRegistry.register(EthnicityOfPersonType.class, ethnicityOfPersonTypeRepository, EthnicityOfPersonType::getStateCode, EthnicityOfPersonType::getNibrsCode);
+		codeTableRegistry.register(LocationType.class, locationTypeRepository, LocationType::getStateCode, LocationType::getNibrsCode);
+		codeTableRegistry.register(MethodOfEntryType.class, methodOfEntryTypeRepository, MethodOfEntryType::getStateCode, MethodOfEntryType::getNibrsCode);
+		codeTableRegistry.register(MultipleArresteeSegmentsIndicatorType.class, multipleArresteeSegmentsIndicatorTypeRepository, MultipleArresteeSegmentsIndicatorType::getStateCode, MultipleArresteeSegmentsIndicatorType::getNibrsCode);
+		codeTableRegistry.register(OffenderSuspectedOfUsingType.class, offenderSuspectedOfUsingTypeRepository, OffenderSuspectedOfUsingType::getStateCode, OffenderSuspectedOfUsingType::getNibrsCode);
+		codeTableRegistry.register(OfficerActivityCircumstanceType.class, officerActivityCircumstanceTypeRepository, OfficerActivityCircumstanceType::getStateCode, OfficerActivityCircumstanceType::getNibrsCode);
+		codeTableRegistry.register(OfficerAssignmentTypeType.class, officerAssignmentTypeTypeRepository, OfficerAssignmentTypeType::getStateCode, OfficerAssignmentTypeType::getNibrsCode);
+		codeTableRegistry.register(PropertyDescriptionType.class, propertyDescriptionTypeRepository, PropertyDescriptionType::getStateCode, PropertyDescriptionType::getNibrsCode);
+		codeTableRegistry.register(RaceOfPersonType.class, raceOfPersonTypeRepository, RaceOfPersonType::getStateCode, RaceOfPersonType::getNibrsCode);
+		codeTableRegistry.register(ResidentStatusOfPersonType.class, residentStatusOfPersonTypeRepository, ResidentStatusOfPersonType::getStateCode, ResidentStatusOfPersonType::getNibrsCode);
+		codeTableRegistry.register(SegmentActionTypeType.class, segmentActionTypeRepository, SegmentActionTypeType::getStateCode, SegmentActionTypeType::getNibrsCode);
+		codeTableRegistry.register(SexOfPersonType.class, sexOfPersonTypeRepository, SexOfPersonType::getStateCode, SexOfPersonType::getNibrsCode);
+		codeTableRegistry.register(SuspectedDrugTypeType.class, suspectedDrugTypeTypeRepository, SuspectedDrugTypeType::getStateCode, SuspectedDrugTypeType::getNibrsCode);
+		codeTableRegistry.register(TypeDrugMeasurementType.class, typeDrugMeasurementTypeRepository, TypeDrugMeasurementType::getStateCode, TypeDrugMeasurementType::getNibrsCode);
+		codeTableRegistry.register(TypeInjuryType.class, typeInjuryTypeRepository, TypeInjuryType::getStateCode, TypeInjuryType::getNibrsCode);
+		codeTableRegistry.register(TypeOfArrestType.class, typeOfArrestTypeRepository, TypeOfArrestType::getStateCode, TypeOfArrestType::getNibrsCode);
+		codeTableRegistry.register(TypeOfCriminalActivityType.class, typeOfCriminalActivityTypeRepository, TypeOfCriminalActivityType::getStateCode, TypeOfCriminalActivityType::getNibrsCode);
+		codeTableRegistry.register(TypeOfVictimType.class, typeOfVictimTypeRepository, TypeOfVictimType::getStateCode, TypeOfVictimType::getNibrsCode);
+		codeTableRegistry.register(TypeOfWeaponForceInvolvedType.class, typeOfWeaponForceInvolvedTypeRepository, TypeOfWeaponForceInvolvedType::getStateCode, TypeOfWeaponForceInvolvedType::getNibrsCode);
+		codeTableRegistry.register(TypePropertyLossEtcType.class, typePropertyLossEtcTypeRepository, TypePropertyLossEtcType::getStateCode, TypePropertyLossEtcType::getNibrsCode);
+		codeTableRegistry.register(UcrOffenseCodeType.class, ucrOffenseCodeTypeRepository, UcrOffenseCodeType::getStateCode, UcrOffenseCodeType::getNibrsCode);
+		codeTableRegistry.register(VictimOffenderRelationshipType.class, victimOffenderRelationshipTypeRepository, VictimOffenderRelationshipType::getStateCode, VictimOffenderRelationshipType::getNibrsCode);
+	}
+	
+	/**
+	 * Load all the code tables once the application context is ready.
+	 */
+	@EventListener(ContextRefreshedEvent.class)
+	public void refreshCodeTables() {
+		codeTableRegistry.refresh();
+		dateTypeResolver.refresh();
+	}
+	
+	/**
+	 * Discard the loaded code tables, so that each is reloaded from the database on its next lookup.
+	 */
+	public void invalidateCodeTables() {
+		codeTableRegistry.invalidate();
+		dateTypeResolver.invalidate();
+	}
+	
+	public CodeTableRegistry getCodeTableRegistry() {
+		return codeTableRegistry;
+	}
+	
+	public DateTypeResolver getDateTypeResolver() {
+		return dateTypeResolver;
+	}
 	
 	public DateType getDateType(Date date) {
-		
-		Optional<Date> optionalDate = Optional.ofNullable(date); 
-		
-		DateType dateType = getCodeTableType( 
-				optionalDate.map(d -> formatter.format(d)).orElse(""), 
-				dateTypeRepository::findFirstByDateMMDDYYYY, 
-				DateType::new);  
-		return dateType;
+		return getDateType(DateTypeResolver.toLocalDate(date));
+	}
+	
+	/**
+	 * Resolve a date from the in-memory DateType table.
+	 * @param date the date
+	 * @return the DateType row, or the placeholder row for a null date or a date outside the table
+	 */
+	public DateType getDateType(LocalDate date) {
+		return Optional.ofNullable(dateTypeResolver.resolve(date)).orElseGet(() -> new DateType(99998));
 	}
 	
 	public <R> R getCodeTableType(String code,  Function<String, R> findByCodeFunction, Function<Integer, R> constructorFunction ) {
@@ -146,5 +250,16 @@ public class CodeTableService {
 		}
 		return r;
 	}
+	
+	/**
+	 * Resolve a state code from the in-memory code tables.
+	 * @param code the state code
+	 * @param type the entity class of the code table
+	 * @param constructorFunction makes the placeholder row for a blank or unknown code, or null to return null for such codes
+	 * @return the code table row
+	 */
+	public <R> R getCodeTableType(String code, Class<R> type, Function<Integer, R> constructorFunction) {
+		return getCodeTableType(code, c -> codeTableRegistry.findByStateCode(type, c), constructorFunction);
+	}
 
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.search.nibrs.stagingdata.model.DateType;
+import org.search.nibrs.stagingdata.repository.DateTypeRepository;
+
+/**
+ * In-memory copy of the DateType table, indexed by epoch day, so that resolving a date is an array lookup rather than a database round trip.  
+ * Rows are keyed by their MMDDYYYY date string, which is what findFirstByDateMMDDYYYY matched on; where several rows share a date, the first 
+ * one returned by the repository wins.
+ * <br/>
+ * The table is published as an immutable snapshot, so lookups take no locks.  It is loaded on first lookup or on refresh(); invalidate() 
+ * discards it, so that it is reloaded on its next lookup.
+ */
+public class DateTypeResolver {
+	
+	private static final Log log = LogFactory.getLog(DateTypeResolver.class);
+	
+	private static final DateTimeFormatter MMDDYYYY_FORMATTER = DateTimeFormatter.ofPattern("MMddyyyy");
+	
+	private final DateTypeRepository dateTypeRepository;
+	private volatile DateTable dateTable;
+	
+	private static final class DateTable {
+		
+		private final long firstEpochDay;
+		private final DateType[] dateTypes;
+		
+		DateTable(long firstEpochDay, DateType[] dateTypes) {
+			this.firstEpochDay = firstEpochDay;
+			this.dateTypes = dateTypes;
+		}
+		
+		DateType get(LocalDate date) {
+			long index = date.toEpochDay() - firstEpochDay;
+			if (index < 0 || index >= dateTypes.length) {
+				return null;
+			}
+			return dateTypes[(int) index];
+		}
+		
+	}
+	
+	public DateTypeResolver(DateTypeRepository dateTypeRepository) {
+		this.dateTypeRepository = dateTypeRepository;
+	}
+	
+	/**
+	 * Find the DateType row for a date.
+	 * @param date the date
+	 * @return the row, or null if the date is null or not in the table
+	 */
+	public DateType resolve(LocalDate date) {
+		if (date == null) {
+			return null;
+		}
+		DateTable table = dateTable;
+		if (table == null) {
+			// two threads may both load a missing table; the loads are equivalent, and the later one wins
+			table = load();
+			dateTable = table;
+		}
+		return table.get(date);
+	}
+	
+	/**
+	 * Find the DateType row for a date, taking the calendar day of the date in the default time zone.
+	 * @param date the date
+	 * @return the row, or null if the date is null or not in the table
+	 */
+	public DateType resolve(Date date) {
+		return resolve(toLocalDate(date));
+	}
+	
+	public boolean isLoaded() {
+		return dateTable != null;
+	}
+	
+	/**
+	 * Reload the table from the database.
+	 */
+	public void refresh() {
+		dateTable = load();
+	}
+	
+	/**
+	 * Discard the loaded table.
+	 */
+	public void invalidate() {
+		dateTable = null;
+	}
+	
+	static LocalDate toLocalDate(Date date) {
+		if (date == null) {
+			return null;
+		}
+		if (date instanceof java.sql.Date) {
+			// java.sql.Date does not support toInstant()
+			return ((java.sql.Date) date).toLocalDate();
+		}
+		return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+	}
+	
+	private DateTable load() {
+		
+		List<DateType> rows = new ArrayList<>();
+		List<LocalDate> dates = new ArrayList<>();
+		long firstEpochDay = Long.MAX_VALUE;
+		long lastEpochDay = Long.MIN_VALUE;
+		
+		for (DateType row : dateTypeRepository.findAll()) {
+			LocalDate date = parse(row.getDateMMDDYYYY());
+			if (date != null) {
+				rows.add(row);
+				dates.add(date);
+				firstEpochDay = Math.min(firstEpochDay, date.toEpochDay());
+				lastEpochDay = Math.max(lastEpochDay, date.toEpochDay());
+			}
+		}
+		
+		if (rows.isEmpty()) {
+			return new DateTable(0, new DateType[0]);
+		}
+		
+		DateType[] dateTypes = new DateType[(int) (lastEpochDay - firstEpochDay + 1)];
+		for (int i = 0; i < rows.size(); i++) {
+			int index = (int) (dates.get(i).toEpochDay() - firstEpochDay);
+			if (dateTypes[index] == null) {
+				dateTypes[index] = rows.get(i);
+			}
+		}
+		
+		log.info("Loaded " + rows.size() + " date types from " + LocalDate.ofEpochDay(firstEpochDay) + " to " + LocalDate.ofEpochDay(lastEpochDay));
+		return new DateTable(firstEpochDay, dateTypes);
+		
+	}
+	
+	private static LocalDate parse(String dateMMDDYYYY) {
+		if (dateMMDDYYYY == null || dateMMDDYYYY.length() != 8) {
+			return null;
+		}
+		try {
+			return LocalDate.parse(dateMMDDYYYY, MMDDYYYY_FORMATTER);
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+
+}
@@ -15,9 +15,11 @@
  */
 package org.search.nibrs.stagingdata.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -26,6 +28,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.transaction.Transactional;
 
@@ -57,6 +60,7 @@ import org.search.nibrs.stagingdata.model.PropertyDescriptionType;
 import org.search.nibrs.stagingdata.model.PropertyType;
 import org.search.nibrs.stagingdata.model.RaceOfPersonType;
 import org.search.nibrs.stagingdata.model.ResidentStatusOfPersonType;
+import org.search.nibrs.stagingdata.model.SegmentActionTypeType;
 import org.search.nibrs.stagingdata.model.SexOfPersonType;
 import org.search.nibrs.stagingdata.model.SuspectedDrugType;
 import org.search.nibrs.stagingdata.model.SuspectedDrugTypeType;
@@ -109,8 +113,14 @@ import org.search.nibrs.stagingdata.repository.UcrOffenseCodeTypeRepository;
 import org.search.nibrs.stagingdata.repository.VictimOffenderRelationshipTypeRepository;
 import org.search.nibrs.stagingdata.repository.segment.AdministrativeSegmentRepository;
 import org.search.nibrs.stagingdata.repository.segment.OffenseSegmentRepository;
+import org.search.nibrs.stagingdata.repository.segment.SegmentBulkLoader;
+import org.search.nibrs.stagingdata.service.summary.SummaryAggregateService;
 import org.search.nibrs.stagingdata.util.DateUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.stereotype.Service;
 
 /**
@@ -126,6 +136,10 @@ public class GroupAIncidentService {
 	@Autowired
 	OffenseSegmentRepository offenseSegmentRepository;
 	@Autowired
+	SegmentBulkLoader segmentBulkLoader;
+	@Autowired
+	SummaryAggregateService summaryAggregateService;
+	@Autowired
 	public AgencyRepository agencyRepository; 
 	@Autowired
 	public SegmentActionTypeRepository segmentActionTypeRepository; 
@@ -188,14 +202,23 @@ public class GroupAIncidentService {
 	@Autowired
 	public CodeTableService codeTableService; 
 	
+	/**
+	 * Saves a new or a stored segment.  The counts of a stored segment are subtracted from the summary aggregates before 
+	 * it is updated, and the counts of the updated segment are added after. 
+	 */
 	@Transactional
 	public AdministrativeSegment saveAdministrativeSegment(AdministrativeSegment administrativeSegment){
-		return administrativeSegmentRepository.save(administrativeSegment);
+		if (administrativeSegment.getAdministrativeSegmentId() != null){
+			summaryAggregateService.subtractAdministrativeSegments(Arrays.asList(administrativeSegment.getAdministrativeSegmentId()));
+		}
+		AdministrativeSegment savedAdministrativeSegment = administrativeSegmentRepository.save(administrativeSegment);
+		summaryAggregateService.addAdministrativeSegments(Arrays.asList(savedAdministrativeSegment.getAdministrativeSegmentId()));
+		return savedAdministrativeSegment;
 	}
 	
 	@Transactional
 	public long deleteAdministrativeSegment(String incidentNumber){
-		return administrativeSegmentRepository.deleteByIncidentNumber(incidentNumber);
+		return deleteByIncidentNumber(incidentNumber);
 	}
 	
 	@Transactional
@@ -205,6 +228,15 @@ public class GroupAIncidentService {
 			throw new BadRequestException(BAD_DELETE_REQUEST);
 		}
 
+		return deleteByIncidentNumber(incidentNumber);
+	}
+	
+	/**
+	 * Subtracts the segments from the summary aggregates, which invalidates their cached summary forms, while they can 
+	 * still be read, then deletes them. 
+	 */
+	private long deleteByIncidentNumber(String incidentNumber){
+		summaryAggregateService.subtractAdministrativeSegments(administrativeSegmentRepository.findIdsByIncidentNumber(incidentNumber));
 		return administrativeSegmentRepository.deleteByIncidentNumber(incidentNumber);
 	}
 	
@@ -218,6 +250,29 @@ public class GroupAIncidentService {
 		return administrativeSegments;
 	}
 	
+	public Page<AdministrativeSegment> findAdministrativeSegments(String ori, LocalDate startDate, LocalDate endDate, int page, int size){
+		SegmentPages.checkPageSize(size);
+		Page<Integer> ids = administrativeSegmentRepository.findIdsByOriAndIncidentDateRange(
+				ori, SegmentPages.asSqlDate(startDate), SegmentPages.asSqlDate(endDate), new PageRequest(page, size, Direction.ASC, "administrativeSegmentId"));
+		return new PageImpl<>(findAdministrativeSegmentsInIdOrder(ids.getContent()), new PageRequest(page, size), ids.getTotalElements());
+	}
+	
+	/**
+	 * The segments with ids greater than afterId, in id order.  Unlike the offset pages of findAdministrativeSegments the cost of 
+	 * a page does not grow with its position. 
+	 */
+	public KeysetPage<AdministrativeSegment> findAdministrativeSegmentsAfter(Integer afterId, String ori, LocalDate startDate, 
+			LocalDate endDate, int size){
+		SegmentPages.checkPageSize(size);
+		List<Integer> ids = administrativeSegmentRepository.findIdsAfterIdByOriAndIncidentDateRange(
+				Optional.ofNullable(afterId).orElse(0), ori, SegmentPages.asSqlDate(startDate), SegmentPages.asSqlDate(endDate), new PageRequest(0, size));
+		return new KeysetPage<>(findAdministrativeSegmentsInIdOrder(ids), SegmentPages.getNextAfterId(ids, size));
+	}
+	
+	private List<AdministrativeSegment> findAdministrativeSegmentsInIdOrder(List<Integer> ids){
+		return SegmentPages.findInIdOrder(ids, administrativeSegmentRepository::findAll, AdministrativeSegment::getAdministrativeSegmentId);
+	}
+	
 	public OffenseSegment saveOffenseSegment(OffenseSegment offenseSegment){
 		return offenseSegmentRepository.save(offenseSegment);
 	}
@@ -226,71 +281,125 @@ public class GroupAIncidentService {
 		return offenseSegmentRepository.save(offenseSegments);
 	}
 	
+	@Transactional
 	public Iterable<AdministrativeSegment> saveGroupAIncidentReports(GroupAIncidentReport... groupAIncidentReports){
 		List<AdministrativeSegment> administrativeSegments = new ArrayList<>();
 		
+		Set<String> existingIncidentNumbers = findExistingIncidentNumbers(groupAIncidentReports);
 		for (GroupAIncidentReport groupAIncidentReport: groupAIncidentReports){
-			AdministrativeSegment administrativeSegment = new AdministrativeSegment();
-			
-			log.info("Persisting GroupAIncident: " + groupAIncidentReport.getIncidentNumber());
-			administrativeSegment.setAgency(agencyRepository.findFirstByAgencyOri(groupAIncidentReport.getOri()));
-			
-			String reportActionType = String.valueOf(groupAIncidentReport.getReportActionType()).trim();
-			
-			if (!Objects.equals("D", reportActionType) && !Objects.equals("R", reportActionType)){
-				if (administrativeSegmentRepository.existsByIncidentNumber(groupAIncidentReport.getIncidentNumber())){
-					reportActionType = "R"; 
-				}
-			}
-			
-			administrativeSegment.setSegmentActionType(segmentActionTypeRepository.findFirstByStateCode(reportActionType));
-			
-			Optional<Integer> monthOfTape = Optional.ofNullable(groupAIncidentReport.getMonthOfTape());
-			monthOfTape.ifPresent( m-> {
-				administrativeSegment.setMonthOfTape(StringUtils.leftPad(String.valueOf(m), 2, '0'));
-			});
-			
-			if (groupAIncidentReport.getYearOfTape() != null){
-				administrativeSegment.setYearOfTape(String.valueOf(groupAIncidentReport.getYearOfTape()));
-			}
-			
-			administrativeSegment.setCityIndicator(groupAIncidentReport.getCityIndicator());
-			administrativeSegment.setOri(groupAIncidentReport.getOri());
-			administrativeSegment.setIncidentNumber(groupAIncidentReport.getIncidentNumber());
-			administrativeSegment.setIncidentDate(DateUtils.asDate(groupAIncidentReport.getIncidentDate().getValue()));
-			administrativeSegment.setIncidentDateType(codeTableService.getDateType(DateUtils.asDate(groupAIncidentReport.getIncidentDate().getValue())));
-			administrativeSegment.setReportDateIndicator(groupAIncidentReport.getReportDateIndicator());
-			administrativeSegment.setReportDateIndicator(groupAIncidentReport.getReportDateIndicator());
-			administrativeSegment.setExceptionalClearanceDate(DateUtils.asDate(groupAIncidentReport.getExceptionalClearanceDate().getValue()));
-			administrativeSegment.setExceptionalClearanceDateType(codeTableService.getDateType(DateUtils.asDate(groupAIncidentReport.getExceptionalClearanceDate().getValue())));
-			
-			Optional<Integer> incidentHour = Optional.ofNullable(groupAIncidentReport.getIncidentHour().getValue());
-			administrativeSegment.setIncidentHour(incidentHour.map(String::valueOf).orElse(""));
-			
-			ClearedExceptionallyType clearedExceptionallyType = 
-					codeTableService.getCodeTableType(groupAIncidentReport.getExceptionalClearanceCode(), 
-							clearedExceptionallyTypeRepository::findFirstByStateCode, 
-							ClearedExceptionallyType::new); 
-			administrativeSegment.setClearedExceptionallyType(clearedExceptionallyType);
-			
-			Agency agency = codeTableService.getCodeTableType(groupAIncidentReport.getOri(), agencyRepository::findFirstByAgencyOri, Agency::new); 
-			administrativeSegment.setAgency(agency);
-			
-			CargoTheftIndicatorType cargoTheftIndicatorType = 
-					codeTableService.getCodeTableType(groupAIncidentReport.getCargoTheftIndicator(), 
-							cargoTheftIndicatorTypeRepository::findFirstByStateCode, CargoTheftIndicatorType::new); 
-			administrativeSegment.setCargoTheftIndicatorType(cargoTheftIndicatorType);
-			administrativeSegment.setReportTimestamp(LocalDateTime.now());
-			processProperties(administrativeSegment, groupAIncidentReport);
-			processOffenses(administrativeSegment, groupAIncidentReport);
-			processOffenders(administrativeSegment, groupAIncidentReport);
-			processArrestees(administrativeSegment, groupAIncidentReport);
-			processVictims(administrativeSegment, groupAIncidentReport);
-			administrativeSegments.add(administrativeSegment);
+			administrativeSegments.add(buildAdministrativeSegment(groupAIncidentReport, existingIncidentNumbers));
+		}
+		
+		List<AdministrativeSegment> savedAdministrativeSegments = administrativeSegmentRepository.save(administrativeSegments);
+		summaryAggregateService.addAdministrativeSegments(getAdministrativeSegmentIds(savedAdministrativeSegments));
+		return savedAdministrativeSegments;
+	}
+	
+	/**
+	 * Save the reports with the JDBC bulk loader rather than through the JPA repository.  The rows written are the same as those 
+	 * written by saveGroupAIncidentReports.
+	 */
+	@Transactional
+	public List<AdministrativeSegment> bulkSaveGroupAIncidentReports(GroupAIncidentReport... groupAIncidentReports){
+		List<AdministrativeSegment> administrativeSegments = new ArrayList<>();
+		
+		Set<String> existingIncidentNumbers = findExistingIncidentNumbers(groupAIncidentReports);
+		for (GroupAIncidentReport groupAIncidentReport: groupAIncidentReports){
+			administrativeSegments.add(buildAdministrativeSegment(groupAIncidentReport, existingIncidentNumbers));
+		}
+		
+		segmentBulkLoader.insertAdministrativeSegments(administrativeSegments);
+		summaryAggregateService.addAdministrativeSegments(getAdministrativeSegmentIds(administrativeSegments));
+		return administrativeSegments;
+	}
+	
+	private List<Integer> getAdministrativeSegmentIds(List<AdministrativeSegment> administrativeSegments){
+		return administrativeSegments.stream()
+				.map(AdministrativeSegment::getAdministrativeSegmentId)
+				.collect(Collectors.toList());
+	}
+	
+	/**
+	 * Resolve in one query which of the incidents that are not deletes or replacements are already stored, so that they are 
+	 * saved as replacements.
+	 */
+	private Set<String> findExistingIncidentNumbers(GroupAIncidentReport... groupAIncidentReports){
+		Set<String> incidentNumbers = Arrays.stream(groupAIncidentReports)
+				.filter(groupAIncidentReport -> !isDeleteOrReplace(groupAIncidentReport.getReportActionType()))
+				.map(GroupAIncidentReport::getIncidentNumber)
+				.filter(Objects::nonNull)
+				.collect(Collectors.toSet());
+		
+		if (incidentNumbers.isEmpty()){
+			return Collections.emptySet();
+		}
+		return new HashSet<>(administrativeSegmentRepository.findExistingIncidentNumbers(incidentNumbers));
+	}
+	
+	private boolean isDeleteOrReplace(char reportActionType){
+		String actionType = String.valueOf(reportActionType).trim();
+		return Objects.equals("D", actionType) || Objects.equals("R", actionType);
+	}
+	
+	private AdministrativeSegment buildAdministrativeSegment(GroupAIncidentReport groupAIncidentReport, Set<String> existingIncidentNumbers) {
+		AdministrativeSegment administrativeSegment = new AdministrativeSegment();
+		
+		log.info("Persisting GroupAIncident: " + groupAIncidentReport.getIncidentNumber());
+		administrativeSegment.setAgency(agencyRepository.findFirstByAgencyOri(groupAIncidentReport.getOri()));
+		
+		String reportActionType = String.valueOf(groupAIncidentReport.getReportActionType()).trim();
+		
+		if (!isDeleteOrReplace(groupAIncidentReport.getReportActionType()) 
+				&& existingIncidentNumbers.contains(groupAIncidentReport.getIncidentNumber())){
+			reportActionType = "R"; 
 		}
 		
-		return administrativeSegmentRepository.save(administrativeSegments);
+		administrativeSegment.setSegmentActionType(codeTableService.getCodeTableType(reportActionType, SegmentActionTypeType.class, null));
+		
+		Optional<Integer> monthOfTape = Optional.ofNullable(groupAIncidentReport.getMonthOfTape());
+		monthOfTape.ifPresent( m-> {
+			administrativeSegment.setMonthOfTape(StringUtils.leftPad(String.valueOf(m), 2, '0'));
+		});
+		
+		if (groupAIncidentReport.getYearOfTape() != null){
+			administrativeSegment.setYearOfTape(String.valueOf(groupAIncidentReport.getYearOfTape()));
+		}
+		
+		administrativeSegment.setCityIndicator(groupAIncidentReport.getCityIndicator());
+		administrativeSegment.setOri(groupAIncidentReport.getOri());
+		administrativeSegment.setIncidentNumber(groupAIncidentReport.getIncidentNumber());
+		administrativeSegment.setIncidentDate(DateUtils.asDate(groupAIncidentReport.getIncidentDate().getValue()));
+		administrativeSegment.setIncidentDateType(codeTableService.getDateType(groupAIncidentReport.getIncidentDate().getValue()));
+		administrativeSegment.setReportDateIndicator(groupAIncidentReport.getReportDateIndicator());
+		administrativeSegment.setReportDateIndicator(groupAIncidentReport.getReportDateIndicator());
+		administrativeSegment.setExceptionalClearanceDate(DateUtils.asDate(groupAIncidentReport.getExceptionalClearanceDate().getValue()));
+		administrativeSegment.setExceptionalClearanceDateType(codeTableService.getDateType(groupAIncidentReport.getExceptionalClearanceDate().getValue()));
+		
+		Optional<Integer> incidentHour = Optional.ofNullable(groupAIncidentReport.getIncidentHour().getValue());
+		administrativeSegment.setIncidentHour(incidentHour.map(String::valueOf).orElse(""));
+		
+		ClearedExceptionallyType clearedExceptionallyType = 
+				codeTableService.getCodeTableType(groupAIncidentReport.getExceptionalClearanceCode(), 
+						ClearedExceptionallyType.class, 
+						ClearedExceptionallyType::new); 
+		administrativeSegment.setClearedExceptionallyType(clearedExceptionallyType);
+		
+		Agency agency = codeTableService.getCodeTableType(groupAIncidentReport.getOri(), agencyRepository::findFirstByAgencyOri, Agency::new); 
+		administrativeSegment.setAgency(agency);
+		
+		CargoTheftIndicatorType cargoTheftIndicatorType = 
+				codeTableService.getCodeTableType(groupAIncidentReport.getCargoTheftIndicator(), 
+						CargoTheftIndicatorType.class, CargoTheftIndicatorType::new); 
+		administrativeSegment.setCargoTheftIndicatorType(cargoTheftIndicatorType);
+		administrativeSegment.setReportTimestamp(LocalDateTime.now());
+		processProperties(administrativeSegment, groupAIncidentReport);
+		processOffenses(administrativeSegment, groupAIncidentReport);
+		processOffenders(administrativeSegment, groupAIncidentReport);
+		processArrestees(administrativeSegment, groupAIncidentReport);
+		processVictims(administrativeSegment, groupAIncidentReport);
+		return administrativeSegment;
 	}
+	
 	private void processProperties(AdministrativeSegment administrativeSegment,
 			GroupAIncidentReport groupAIncidentReport) {
 		if (groupAIncidentReport.getPropertyCount() > 0){
@@ -304,7 +413,7 @@ public class GroupAIncidentService {
 				propertySegment.setAdministrativeSegment(administrativeSegment);
 				
 				TypePropertyLossEtcType typePropertyLossEtcType = codeTableService.getCodeTableType(
-						property.getTypeOfPropertyLoss(), typePropertyLossEtcTypeRepository::findFirstByStateCode, TypePropertyLossEtcType::new);
+						property.getTypeOfPropertyLoss(), TypePropertyLossEtcType.class, TypePropertyLossEtcType::new);
 				propertySegment.setTypePropertyLossEtcType(typePropertyLossEtcType );
 				
 				Integer numberOfRecoveredMotorVehicles = Optional.ofNullable(property.getNumberOfRecoveredMotorVehicles())
@@ -337,7 +446,7 @@ public class GroupAIncidentService {
 				String suspectedDrugTypeString = StringUtils.trimToNull(property.getSuspectedDrugType(i)); 
 				
 				SuspectedDrugTypeType suspectedDrugTypeType = 
-						codeTableService.getCodeTableType(suspectedDrugTypeString, suspectedDrugTypeTypeRepository::findFirstByStateCode, null);
+						codeTableService.getCodeTableType(suspectedDrugTypeString, SuspectedDrugTypeType.class, null);
 				
 				if (suspectedDrugTypeType != null){
 					SuspectedDrugType suspectedDrugType = new SuspectedDrugType(); 
@@ -350,7 +459,7 @@ public class GroupAIncidentService {
 					
 					
 					TypeDrugMeasurementType typeDrugMeasurementType = codeTableService.getCodeTableType(
-							property.getTypeDrugMeasurement(i), typeDrugMeasurementTypeRepository::findFirstByStateCode, TypeDrugMeasurementType::new);
+							property.getTypeDrugMeasurement(i), TypeDrugMeasurementType.class, TypeDrugMeasurementType::new);
 					suspectedDrugType.setTypeDrugMeasurementType(typeDrugMeasurementType );
 					
 					suspectedDrugTypes.add(suspectedDrugType);
@@ -371,7 +480,7 @@ public class GroupAIncidentService {
 				String propertyDescription = StringUtils.trimToNull(property.getPropertyDescription(i)); 
 				
 				PropertyDescriptionType propertyDescriptionType = 
-						codeTableService.getCodeTableType(propertyDescription, propertyDescriptionTypeRepository::findFirstByStateCode, null);
+						codeTableService.getCodeTableType(propertyDescription, PropertyDescriptionType.class, null);
 				
 				if (propertyDescriptionType != null){
 					PropertyType propertyType = new PropertyType(); 
@@ -386,7 +495,7 @@ public class GroupAIncidentService {
 
 					Date dateRecovered = DateUtils.asDate(property.getDateRecovered()[i].getValue());
 					propertyType.setRecoveredDate(dateRecovered);
-					propertyType.setRecoveredDateType(codeTableService.getDateType(dateRecovered));
+					propertyType.setRecoveredDateType(codeTableService.getDateType(property.getDateRecovered()[i].getValue()));
 					
 					propertyTypes.add(propertyType);
 				}
@@ -435,18 +544,18 @@ public class GroupAIncidentService {
 				victimSegment.setVictimSequenceNumber(victim.getVictimSequenceNumber().getValue());
 
 				TypeOfVictimType typeOfVictimType = 
-						codeTableService.getCodeTableType(victim.getTypeOfVictim(), typeOfVictimTypeRepository::findFirstByStateCode, TypeOfVictimType::new);
+						codeTableService.getCodeTableType(victim.getTypeOfVictim(), TypeOfVictimType.class, TypeOfVictimType::new);
 				victimSegment.setTypeOfVictimType(typeOfVictimType);
 				
 				OfficerActivityCircumstanceType officerActivityCircumstanceType = 
 						codeTableService.getCodeTableType(victim.getTypeOfOfficerActivityCircumstance(), 
-								officerActivityCircumstanceTypeRepository::findFirstByStateCode, 
+								OfficerActivityCircumstanceType.class, 
 								OfficerActivityCircumstanceType::new);
 				victimSegment.setOfficerActivityCircumstanceType(officerActivityCircumstanceType);
 				
 				OfficerAssignmentTypeType officerAssignmentTypeType = 
 						codeTableService.getCodeTableType(victim.getOfficerAssignmentType(), 
-								officerAssignmentTypeTypeRepository::findFirstByStateCode, 
+								OfficerAssignmentTypeType.class, 
 								OfficerAssignmentTypeType::new);
 				victimSegment.setOfficerAssignmentTypeType(officerAssignmentTypeType);
 				
@@ -461,26 +570,26 @@ public class GroupAIncidentService {
 				victimSegment.setNonNumericAge(victimAge.map(NIBRSAge::getNonNumericAge).orElse(null));
 				
 				SexOfPersonType sexOfPersonType = codeTableService.getCodeTableType(
-						victim.getSex(), sexOfPersonTypeRepository::findFirstByStateCode, SexOfPersonType::new);
+						victim.getSex(), SexOfPersonType.class, SexOfPersonType::new);
 				victimSegment.setSexOfPersonType(sexOfPersonType);
 				
 				RaceOfPersonType raceOfPersonType = codeTableService.getCodeTableType(
-						victim.getRace(), raceOfPersonTypeRepository::findFirstByStateCode, RaceOfPersonType::new);
+						victim.getRace(), RaceOfPersonType.class, RaceOfPersonType::new);
 				victimSegment.setRaceOfPersonType(raceOfPersonType);
 				
 				EthnicityOfPersonType ethnicityOfPersonType = codeTableService.getCodeTableType(
-						victim.getEthnicity(), ethnicityOfPersonTypeRepository::findFirstByStateCode, EthnicityOfPersonType::new);
+						victim.getEthnicity(), EthnicityOfPersonType.class, EthnicityOfPersonType::new);
 				victimSegment.setEthnicityOfPersonType(ethnicityOfPersonType);
 				
 				ResidentStatusOfPersonType residentStatusOfPersonType = codeTableService.getCodeTableType(
 						victim.getResidentStatus(), 
-						residentStatusOfPersonTypeRepository::findFirstByStateCode, 
+						ResidentStatusOfPersonType.class, 
 						ResidentStatusOfPersonType::new);
 				victimSegment.setResidentStatusOfPersonType(residentStatusOfPersonType);
 				
 				AdditionalJustifiableHomicideCircumstancesType additionalJustifiableHomicideCircumstancesType = codeTableService.getCodeTableType(
 						victim.getAdditionalJustifiableHomicideCircumstances(), 
-						additionalJustifiableHomicideCircumstancesTypeRepository::findFirstByStateCode, 
+						AdditionalJustifiableHomicideCircumstancesType.class, 
 						AdditionalJustifiableHomicideCircumstancesType::new);
 				victimSegment.setAdditionalJustifiableHomicideCircumstancesType(additionalJustifiableHomicideCircumstancesType);
 				
@@ -525,7 +634,7 @@ public class GroupAIncidentService {
 					VictimOffenderRelationshipType victimOffenderRelationshipType = codeTableService
 							.getCodeTableType(
 									victimOffenderRelationship, 
-									victimOffenderRelationshipTypeRepository::findFirstByStateCode, 
+									VictimOffenderRelationshipType.class, 
 									VictimOffenderRelationshipType::new);
 					victimOffenderAssociation.setVictimOffenderRelationshipType(victimOffenderRelationshipType);
 					victimOffenderAssociations.add(victimOffenderAssociation);
@@ -543,7 +652,7 @@ public class GroupAIncidentService {
 					.filter(StringUtils::isNotBlank)
 					.map(item -> codeTableService.getCodeTableType(
 								item, 
-								aggravatedAssaultHomicideCircumstancesTypeRepository::findFirstByStateCode, 
+								AggravatedAssaultHomicideCircumstancesType.class, 
 								null) )
 					.filter(Objects::nonNull)
 					.forEach(aggravatedAssaultHomicideCircumstancesTypes::add);
@@ -556,7 +665,7 @@ public class GroupAIncidentService {
 			Set<TypeInjuryType> typeInjuryTypes = new HashSet<>();
 			Arrays.stream(victim.getTypeOfInjury())
 					.filter(StringUtils::isNotBlank)
-					.map(item -> codeTableService.getCodeTableType(item, typeInjuryTypeRepository::findFirstByStateCode, null))
+					.map(item -> codeTableService.getCodeTableType(item, TypeInjuryType.class, null))
 					.filter(Objects::nonNull)
 					.forEach(typeInjuryTypes::add);
 			victimSegment.setTypeInjuryTypes(typeInjuryTypes);
@@ -576,7 +685,7 @@ public class GroupAIncidentService {
 				if (StringUtils.isNotBlank(arresteeArmedWithCode)){
 					Optional<ArresteeWasArmedWithType> arresteeWasArmedWithType = 
 							Optional.ofNullable(codeTableService.getCodeTableType(arresteeArmedWithCode,
-									arresteeWasArmedWithTypeRepository::findFirstByStateCode, 
+									ArresteeWasArmedWithType.class, 
 									null));
 					arresteeWasArmedWithType.ifPresent( type ->
 						armedWiths.add(new ArresteeSegmentWasArmedWith(
@@ -604,16 +713,16 @@ public class GroupAIncidentService {
 				arresteeSegment.setArresteeSequenceNumber(arrestee.getArresteeSequenceNumber().getValue());
 				arresteeSegment.setArrestTransactionNumber(arrestee.getArrestTransactionNumber());
 				arresteeSegment.setArrestDate(DateUtils.asDate(arrestee.getArrestDate().getValue()));
-				arresteeSegment.setArrestDateType(codeTableService.getDateType(DateUtils.asDate(arrestee.getArrestDate().getValue())));
+				arresteeSegment.setArrestDateType(codeTableService.getDateType(arrestee.getArrestDate().getValue()));
 				
 				TypeOfArrestType typeOfArrestType = codeTableService.getCodeTableType(
-						arrestee.getTypeOfArrest(), typeOfArrestTypeRepository::findFirstByStateCode, TypeOfArrestType::new);
+						arrestee.getTypeOfArrest(), TypeOfArrestType.class, TypeOfArrestType::new);
 				arresteeSegment.setTypeOfArrestType(typeOfArrestType );
 				
 				MultipleArresteeSegmentsIndicatorType multipleArresteeSegmentsIndicatorType = 
 						codeTableService.getCodeTableType(
 							arrestee.getMultipleArresteeSegmentsIndicator(), 
-							multipleArresteeSegmentsIndicatorTypeRepository::findFirstByStateCode, 
+							MultipleArresteeSegmentsIndicatorType.class, 
 							MultipleArresteeSegmentsIndicatorType::new);
 				arresteeSegment.setMultipleArresteeSegmentsIndicatorType(multipleArresteeSegmentsIndicatorType);
 				
@@ -623,32 +732,32 @@ public class GroupAIncidentService {
 				arresteeSegment.setNonNumericAge(arresteeAge.map(NIBRSAge::getNonNumericAge).orElse(null));
 				
 				SexOfPersonType sexOfPersonType = codeTableService.getCodeTableType(
-						arrestee.getSex(), sexOfPersonTypeRepository::findFirstByStateCode, SexOfPersonType::new);
+						arrestee.getSex(), SexOfPersonType.class, SexOfPersonType::new);
 				arresteeSegment.setSexOfPersonType(sexOfPersonType);
 				
 				RaceOfPersonType raceOfPersonType = codeTableService.getCodeTableType(
-						arrestee.getRace(), raceOfPersonTypeRepository::findFirstByStateCode, RaceOfPersonType::new);
+						arrestee.getRace(), RaceOfPersonType.class, RaceOfPersonType::new);
 				arresteeSegment.setRaceOfPersonType(raceOfPersonType);
 				
 				EthnicityOfPersonType ethnicityOfPersonType = codeTableService.getCodeTableType(
-						arrestee.getEthnicity(), ethnicityOfPersonTypeRepository::findFirstByStateCode, EthnicityOfPersonType::new);
+						arrestee.getEthnicity(), EthnicityOfPersonType.class, EthnicityOfPersonType::new);
 				arresteeSegment.setEthnicityOfPersonType(ethnicityOfPersonType);
 				
 				ResidentStatusOfPersonType residentStatusOfPersonType = codeTableService.getCodeTableType(
 						arrestee.getResidentStatus(), 
-						residentStatusOfPersonTypeRepository::findFirstByStateCode, 
+						ResidentStatusOfPersonType.class, 
 						ResidentStatusOfPersonType::new);
 				arresteeSegment.setResidentStatusOfPersonType(residentStatusOfPersonType);
 				
 				DispositionOfArresteeUnder18Type dispositionOfArresteeUnder18Type = codeTableService.getCodeTableType(
 						arrestee.getDispositionOfArresteeUnder18(), 
-						dispositionOfArresteeUnder18TypeRepository::findFirstByStateCode, 
+						DispositionOfArresteeUnder18Type.class, 
 						DispositionOfArresteeUnder18Type::new);
 				arresteeSegment.setDispositionOfArresteeUnder18Type(dispositionOfArresteeUnder18Type );
 				
 				UcrOffenseCodeType ucrOffenseCodeType = codeTableService.getCodeTableType(
 						arrestee.getUcrArrestOffenseCode(), 
-						ucrOffenseCodeTypeRepository::findFirstByStateCode, 
+						UcrOffenseCodeType.class, 
 						UcrOffenseCodeType::new);;
 				arresteeSegment.setUcrOffenseCodeType(ucrOffenseCodeType);
 	
@@ -679,15 +788,15 @@ public class GroupAIncidentService {
 				offenderSegment.setOffenderSequenceNumber(offender.getOffenderSequenceNumber().getValue());
 				
 				SexOfPersonType sexOfPersonType = codeTableService.getCodeTableType(
-						offender.getSex(), sexOfPersonTypeRepository::findFirstByStateCode, SexOfPersonType::new);
+						offender.getSex(), SexOfPersonType.class, SexOfPersonType::new);
 				offenderSegment.setSexOfPersonType(sexOfPersonType);
 				
 				RaceOfPersonType raceOfPersonType = codeTableService.getCodeTableType(
-						offender.getRace(), raceOfPersonTypeRepository::findFirstByStateCode, RaceOfPersonType::new);
+						offender.getRace(), RaceOfPersonType.class, RaceOfPersonType::new);
 				offenderSegment.setRaceOfPersonType(raceOfPersonType);
 				
 				EthnicityOfPersonType ethnicityOfPersonType = codeTableService.getCodeTableType(
-						offender.getEthnicity(), ethnicityOfPersonTypeRepository::findFirstByStateCode, EthnicityOfPersonType::new);
+						offender.getEthnicity(), EthnicityOfPersonType.class, EthnicityOfPersonType::new);
 				offenderSegment.setEthnicityOfPersonType(ethnicityOfPersonType);
 
 				offenderSegments.add(offenderSegment);
@@ -711,20 +820,20 @@ public class GroupAIncidentService {
 				
 				UcrOffenseCodeType ucrOffenseCodeType = 
 						codeTableService.getCodeTableType(offense.getUcrOffenseCode(), 
-								ucrOffenseCodeTypeRepository::findFirstByStateCode, UcrOffenseCodeType::new);
+								UcrOffenseCodeType.class, UcrOffenseCodeType::new);
 				offenseSegment.setUcrOffenseCodeType(ucrOffenseCodeType);
 				offenseSegment.setOffenseAttemptedCompleted(offense.getOffenseAttemptedCompleted());
 				
 				LocationType locationType = 
 						codeTableService.getCodeTableType(offense.getLocationType(), 
-								locationTypeRepository::findFirstByStateCode, LocationType::new);
+								LocationType.class, LocationType::new);
 				offenseSegment.setLocationType(locationType);
 				
 				offenseSegment.setNumberOfPremisesEntered(offense.getNumberOfPremisesEntered().getValue());
 				
 				MethodOfEntryType methodOfEntryType = 
 						codeTableService.getCodeTableType(offense.getMethodOfEntry(), 
-								methodOfEntryTypeRepository::findFirstByStateCode, MethodOfEntryType::new);
+								MethodOfEntryType.class, MethodOfEntryType::new);
 				offenseSegment.setMethodOfEntryType(methodOfEntryType);
 				processTypeOfWeaponForceInvolved(offenseSegment, offense); 
 				processTypeOfCriminalActivityCount(offenseSegment, offense); 
@@ -734,7 +843,7 @@ public class GroupAIncidentService {
 				Arrays.stream(offense.getBiasMotivation())
 					.filter(StringUtils::isNotBlank)
 					.map(code -> codeTableService.getCodeTableType(code, 
-								biasMotivationTypeRepository::findFirstByStateCode, null))
+								BiasMotivationType.class, null))
 					.filter(Objects::nonNull)
 					.forEach(biasMotivationTypes::add);
 					
@@ -755,7 +864,7 @@ public class GroupAIncidentService {
 			for (int i = 0; i < offense.getPopulatedOffendersSuspectedOfUsingCount(); i++){
 				String offenderSuspectedUsingCode = StringUtils.trimToNull(offense.getOffendersSuspectedOfUsing(i));
 				OffenderSuspectedOfUsingType offenderSuspectedOfUsingType = 
-						codeTableService.getCodeTableType(offenderSuspectedUsingCode, offenderSuspectedOfUsingTypeRepository::findFirstByStateCode, null);
+						codeTableService.getCodeTableType(offenderSuspectedUsingCode, OffenderSuspectedOfUsingType.class, null);
 				if (offenderSuspectedOfUsingType != null){
 					offenderSuspectedOfUsingTypes.add(offenderSuspectedOfUsingType); 
 				}
@@ -772,7 +881,7 @@ public class GroupAIncidentService {
 			for (int i = 0; i < offense.getPopulatedTypeOfCriminalActivityCount(); i++){
 				String typeOfCriminalActivityCode = StringUtils.trimToNull(offense.getTypeOfCriminalActivity(i));
 				TypeOfCriminalActivityType typeOfCriminalActivityType = 
-						codeTableService.getCodeTableType(typeOfCriminalActivityCode, typeOfCriminalActivityTypeRepository::findFirstByStateCode, null);
+						codeTableService.getCodeTableType(typeOfCriminalActivityCode, TypeOfCriminalActivityType.class, null);
 				if (typeOfCriminalActivityType != null){
 					typeOfCriminalActivityTypes.add(typeOfCriminalActivityType); 
 				}
@@ -794,7 +903,7 @@ public class GroupAIncidentService {
 				if (StringUtils.isNotBlank(typeOfWeaponForceInvolvedCode)){
 					Optional<TypeOfWeaponForceInvolvedType> typeOfWeaponForceInvolvedType = 
 							Optional.ofNullable(codeTableService.getCodeTableType(typeOfWeaponForceInvolvedCode,
-									typeOfWeaponForceInvolvedTypeRepository::findFirstByStateCode, 
+									TypeOfWeaponForceInvolvedType.class, 
 									null));
 					typeOfWeaponForceInvolvedType.ifPresent( type ->
 						typeOfWeaponForceInvolveds.add(new TypeOfWeaponForceInvolved(
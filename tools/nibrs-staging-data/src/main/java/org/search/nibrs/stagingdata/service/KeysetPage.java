@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service;
+
+import java.util.List;
+
+/**
+ * A page of segments in id order.  The next page is requested with nextAfterId, which is null on the last page.
+ */
+public class KeysetPage<T> {
+	
+	private List<T> content;
+	private Integer nextAfterId;
+	
+	public KeysetPage() {
+		super();
+	}
+	
+	public KeysetPage(List<T> content, Integer nextAfterId) {
+		super();
+		this.content = content;
+		this.nextAfterId = nextAfterId;
+	}
+	
+	public List<T> getContent() {
+		return content;
+	}
+	public void setContent(List<T> content) {
+		this.content = content;
+	}
+	public Integer getNextAfterId() {
+		return nextAfterId;
+	}
+	public void setNextAfterId(Integer nextAfterId) {
+		this.nextAfterId = nextAfterId;
+	}
+
+}
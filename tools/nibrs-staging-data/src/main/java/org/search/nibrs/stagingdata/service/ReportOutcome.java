@@ -0,0 +1,76 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service;
+
+/**
+ * The result of persisting one report from a bulk request.  The index is the position of the report in the request body.
+ */
+public class ReportOutcome {
+	
+	public enum Status {
+		SAVED, 
+		REJECTED, 
+		FAILED
+	}
+	
+	private int index;
+	private String identifier;
+	private Status status;
+	private String message;
+	
+	public ReportOutcome() {
+		super();
+	}
+	
+	public ReportOutcome(int index, String identifier, Status status, String message) {
+		super();
+		this.index = index;
+		this.identifier = identifier;
+		this.status = status;
+		this.message = message;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+	public void setIndex(int index) {
+		this.index = index;
+	}
+	public String getIdentifier() {
+		return identifier;
+	}
+	public void setIdentifier(String identifier) {
+		this.identifier = identifier;
+	}
+	public Status getStatus() {
+		return status;
+	}
+	public void setStatus(Status status) {
+		this.status = status;
+	}
+	public String getMessage() {
+		return message;
+	}
+	public void setMessage(String message) {
+		this.message = message;
+	}
+
+	@Override
+	public String toString() {
+		return "ReportOutcome [index=" + index + ", identifier=" + identifier + ", status=" + status + ", message=" + message + "]";
+	}
+	
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.function.Function;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.search.nibrs.stagingdata.model.segment.AdministrativeSegment;
+import org.search.nibrs.stagingdata.model.segment.ArrestReportSegment;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Writes segments as newline delimited JSON.  The segments are read a keyset page at a time, each page in its own read only 
+ * transaction, and the persistence context is cleared after each page, so only one page of entities is held in memory.
+ */
+@Service
+public class SegmentExportService {
+	
+	public static final int EXPORT_PAGE_SIZE = 100;
+	
+	@Autowired
+	public GroupAIncidentService groupAIncidentService;
+	@Autowired
+	public ArrestReportService arrestReportService;
+	@Autowired
+	public ObjectMapper objectMapper;
+	@Autowired
+	public PlatformTransactionManager transactionManager;
+	@PersistenceContext
+	public EntityManager entityManager;
+	
+	public long exportAdministrativeSegments(String ori, LocalDate startDate, LocalDate endDate, OutputStream outputStream) throws IOException{
+		return export(afterId -> groupAIncidentService.findAdministrativeSegmentsAfter(afterId, ori, startDate, endDate, EXPORT_PAGE_SIZE), 
+				outputStream);
+	}
+	
+	public long exportArrestReportSegments(String ori, LocalDate startDate, LocalDate endDate, OutputStream outputStream) throws IOException{
+		return export(afterId -> arrestReportService.findArrestReportSegmentsAfter(afterId, ori, startDate, endDate, EXPORT_PAGE_SIZE), 
+				outputStream);
+	}
+	
+	/**
+	 * @param pageLoader loads the page following the id it is passed. 
+	 * @return the number of segments written.
+	 */
+	<T> long export(Function<Integer, KeysetPage<T>> pageLoader, OutputStream outputStream) throws IOException{
+		
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(true);
+		ObjectWriter objectWriter = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		
+		long count = 0;
+		Integer afterId = 0;
+		while (afterId != null){
+			Integer pageAfterId = afterId;
+			KeysetPage<T> page;
+			try{
+				page = transactionTemplate.execute(status -> {
+					KeysetPage<T> keysetPage = pageLoader.apply(pageAfterId);
+					try{
+						for (T segment : keysetPage.getContent()){
+							outputStream.write(objectWriter.writeValueAsBytes(segment));
+							outputStream.write('\n');
+						}
+					}
+					catch (IOException e){
+						throw new UncheckedIOException(e);
+					}
+					entityManager.clear();
+					return keysetPage;
+				});
+			}
+			catch (UncheckedIOException e){
+				throw e.getCause();
+			}
+			
+			outputStream.flush();
+			count += page.getContent().size();
+			afterId = page.getNextAfterId();
+		}
+		
+		return count;
+	}
+	
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.search.nibrs.stagingdata.controller.BadRequestException;
+
+/**
+ * Helpers shared by the paged segment queries of the services.  The queries select a page of ids, and the segments of the page are 
+ * then fetched by id.
+ */
+final class SegmentPages {
+	
+	static final int MAX_PAGE_SIZE = 1000;
+	
+	private SegmentPages() {
+	}
+	
+	static void checkPageSize(int size){
+		if (size < 1 || size > MAX_PAGE_SIZE){
+			throw new BadRequestException("The page size must be between 1 and " + MAX_PAGE_SIZE);
+		}
+	}
+	
+	static java.sql.Date asSqlDate(LocalDate localDate){
+		return localDate == null ? null : java.sql.Date.valueOf(localDate);
+	}
+	
+	/**
+	 * @return the id to request the page after a keyset page of ids with, or null if the page is the last one.
+	 */
+	static Integer getNextAfterId(List<Integer> ids, int size){
+		return ids.size() < size ? null : ids.get(ids.size() - 1);
+	}
+	
+	/**
+	 * Fetch the segments with the ids, in id order.
+	 * @param finder fetches the segments with a list of ids, in any order and possibly repeated
+	 * @param idGetter the id of a segment
+	 */
+	static <T> List<T> findInIdOrder(List<Integer> ids, Function<List<Integer>, List<T>> finder, Function<T, Integer> idGetter){
+		if (ids.isEmpty()){
+			return new ArrayList<>();
+		}
+		
+		return finder.apply(ids)
+				.stream()
+				.distinct()
+				.sorted(Comparator.comparing(idGetter))
+				.collect(Collectors.toList());
+	}
+	
+}
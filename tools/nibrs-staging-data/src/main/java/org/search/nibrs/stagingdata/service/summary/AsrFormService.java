@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -36,8 +37,10 @@ import org.search.nibrs.model.reports.asr.AsrAdultRow.Race;
 import org.search.nibrs.model.reports.asr.AsrAdultRowName;
 import org.search.nibrs.stagingdata.AppProperties;
 import org.search.nibrs.stagingdata.model.Agency;
-import org.search.nibrs.stagingdata.model.segment.ArresteeSegment;
-import org.search.nibrs.stagingdata.model.segment.OffenseSegment;
+import org.search.nibrs.stagingdata.model.summary.ArresteeSummary;
+import org.search.nibrs.stagingdata.model.summary.IncidentSummary;
+import org.search.nibrs.stagingdata.model.summary.OffenseSummary;
+import org.search.nibrs.stagingdata.model.summary.VictimOffenseLink;
 import org.search.nibrs.stagingdata.repository.AgencyRepository;
 import org.search.nibrs.stagingdata.service.AdministrativeSegmentService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -127,26 +130,11 @@ public class AsrFormService {
 		
 		AsrAdult asrAdult = new AsrAdult(ori, arrestYear, arrestMonth); 
 		
-		if (!"StateWide".equalsIgnoreCase(ori)){
-			Agency agency = agencyRepository.findFirstByAgencyOri(ori); 
-			if (agency!= null){
-				asrAdult.setAgencyName(agency.getAgencyName());
-				asrAdult.setStateName(agency.getStateName());
-				asrAdult.setStateCode(agency.getStateCode());
-				asrAdult.setPopulation(agency.getPopulation());
-			}
-			else{
-				return asrAdult; 
-			}
-		}
-		else{
-			asrAdult.setAgencyName(ori);
-			asrAdult.setStateName("");
-			asrAdult.setStateCode("");
-			asrAdult.setPopulation(null);
+		if (!fillTheAgencyInformation(asrAdult)){
+			return asrAdult; 
 		}
 
-		processGroupAArrests(ori, arrestYear, arrestMonth, asrAdult);
+		countGroupAArrestees(administrativeSegmentService.findArresteeSummariesByOriAndArrestDate(ori, arrestYear, arrestMonth), asrAdult);
 //		processGroupBArrests(ori, arrestYear, arrestMonth, asrAdult);
 		
 		log.info("asrAdult: " + asrAdult);
@@ -164,28 +152,57 @@ public class AsrFormService {
 		return asrAdult;
 	}
 
-	private void processGroupAArrests(String ori, Integer arrestYear, Integer arrestMonth, AsrAdult asrAdult) {
+	/**
+	 * Fills the agency columns of the form from the agency of its ORI.  
+	 * 
+	 * @return false if the ORI is not the StateWide ORI and no agency has it. 
+	 */
+	public boolean fillTheAgencyInformation(AsrAdult asrAdult) {
+		String ori = asrAdult.getOri(); 
+		if (!"StateWide".equalsIgnoreCase(ori)){
+			Agency agency = agencyRepository.findFirstByAgencyOri(ori); 
+			if (agency!= null){
+				asrAdult.setAgencyName(agency.getAgencyName());
+				asrAdult.setStateName(agency.getStateName());
+				asrAdult.setStateCode(agency.getStateCode());
+				asrAdult.setPopulation(agency.getPopulation());
+			}
+			else{
+				return false; 
+			}
+		}
+		else{
+			asrAdult.setAgencyName(ori);
+			asrAdult.setStateName("");
+			asrAdult.setStateCode("");
+			asrAdult.setPopulation(null);
+		}
+		return true;
+	}
+	
+	public void countGroupAArrestees(List<ArresteeSummary> arrestees, AsrAdult asrAdult) {
+		countGroupAArrestees(arrestees, findIncidentsOfDrugAndRapeArrestees(getAdultArrestees(arrestees)), asrAdult);
+	}
+	
+	/**
+	 * Counts the adult arrestees with the incidents already assembled.  The incident map must hold the incidents of the 
+	 * 35A and 11A arrestees, keyed by administrative segment id. 
+	 */
+	public void countGroupAArrestees(List<ArresteeSummary> arrestees, Map<Integer, IncidentSummary> incidentMap, AsrAdult asrAdult) {
 		AsrAdultRow[] asrAdultRows = asrAdult.getRows(); 
 		
-		List<ArresteeSegment> arresteeSegments = administrativeSegmentService.findArresteeSegmentByOriAndArrestDate(ori, arrestYear, arrestMonth); 
+		List<ArresteeSummary> filteredArrestees = getAdultArrestees(arrestees);
 		
-		List<ArresteeSegment> filteredArresteeSegments = arresteeSegments
-				.stream()
-				.filter(i->
-						Arrays.asList("C", "N").contains(i.getMultipleArresteeSegmentsIndicatorType().getNibrsCode()) &&  
-						(i.getAverageAge() >= 18 || i.isAgeUnknown()))
-				.collect(Collectors.toList());
-
-		for (ArresteeSegment arresteeSegment: filteredArresteeSegments){
+		for (ArresteeSummary arrestee: filteredArrestees){
 			
 			AsrAdultRowName asrAdultRowName = null;
 			
-			String offenseCode = arresteeSegment.getUcrOffenseCodeType().getNibrsCode();
+			String offenseCode = arrestee.getUcrOffenseCode();
 			if ("35A".equals(offenseCode)){
-				asrAdultRowName=get35AAsrAdultRowName(arresteeSegment);
+				asrAdultRowName=get35AAsrAdultRowName(incidentMap.get(arrestee.getAdministrativeSegmentId()));
 			}
 			else if ("11A".equals(offenseCode)){
-				asrAdultRowName = offenseCodeRowNameMap.get(offenseCode + getVictimGender(arresteeSegment));
+				asrAdultRowName = offenseCodeRowNameMap.get(offenseCode + getVictimGender(arrestee, incidentMap.get(arrestee.getAdministrativeSegmentId())));
 			}
 			else{
 				asrAdultRowName = offenseCodeRowNameMap.get(offenseCode); 
@@ -194,10 +211,10 @@ public class AsrFormService {
 			log.info("arrestee offenseCode: " + offenseCode);
 			log.info("asrAdultRowName: " + asrAdultRowName);
 			if (asrAdultRowName != null){
-				countToAgeGroups(asrAdultRows, arresteeSegment, asrAdultRowName);
+				countToAgeGroups(asrAdultRows, arrestee, asrAdultRowName);
 				
-				countToRaceGroups(asrAdultRows, arresteeSegment, asrAdultRowName);
-				countToEthnicityGroups(asrAdultRows, arresteeSegment, asrAdultRowName);
+				countToRaceGroups(asrAdultRows, arrestee, asrAdultRowName);
+				countToEthnicityGroups(asrAdultRows, arrestee, asrAdultRowName);
 				
 				
 			}
@@ -206,19 +223,40 @@ public class AsrFormService {
 		
 	}
 
-	private AsrAdultRowName get35AAsrAdultRowName(ArresteeSegment arresteeSegment) {
-		OffenseSegment offenseSegment = arresteeSegment.getAdministrativeSegment()
-				.getOffenseSegments()
+	private List<ArresteeSummary> getAdultArrestees(List<ArresteeSummary> arrestees) {
+		return arrestees
+				.stream()
+				.filter(i->
+						Arrays.asList("C", "N").contains(i.getMultipleArresteeSegmentsIndicatorCode()) &&  
+						(i.isAgeUnknown() || i.getAverageAge() >= 18))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * The 35A and 11A rows read the offenses and victims of the arrestee's incident, so only the incidents of those 
+	 * arrestees are assembled. 
+	 */
+	private Map<Integer, IncidentSummary> findIncidentsOfDrugAndRapeArrestees(List<ArresteeSummary> arrestees) {
+		List<Integer> administrativeSegmentIds = arrestees.stream()
+				.filter(i -> Arrays.asList("35A", "11A").contains(i.getUcrOffenseCode()))
+				.map(ArresteeSummary::getAdministrativeSegmentId)
+				.distinct()
+				.collect(Collectors.toList());
+		
+		return administrativeSegmentService.findIncidentSummaries(administrativeSegmentIds)
+				.stream()
+				.collect(Collectors.toMap(IncidentSummary::getAdministrativeSegmentId, Function.identity()));
+	}
+
+	private AsrAdultRowName get35AAsrAdultRowName(IncidentSummary incident) {
+		OffenseSummary offense = incident.getOffenses()
 				.stream()
-				.filter(i-> Objects.equals("35A", i.getUcrOffenseCodeType().getNibrsCode()))
+				.filter(i-> Objects.equals("35A", i.getUcrOffenseCode()))
 				.findFirst().orElse(null);
 		
 		AsrAdultRowName asrAdultRowName = null;
-		if (offenseSegment != null){
-			List<String> criminalActivityTypes = offenseSegment.getTypeOfCriminalActivityTypes()
-					.stream()
-					.map(i->i.getNibrsCode())
-					.collect(Collectors.toList());
+		if (offense != null){
+			List<String> criminalActivityTypes = offense.getTypeOfCriminalActivityCodes();
 					
 			String rowNamePrefix = null; 
 			
@@ -230,9 +268,7 @@ public class AsrFormService {
 			}
 			
 			if (StringUtils.isNotBlank(rowNamePrefix)){
-				List<String> suspectedDrugCode = offenseSegment.getOffenderSuspectedOfUsingTypes().stream()
-						.map(i->i.getNibrsCode())
-						.collect(Collectors.toList());
+				List<String> suspectedDrugCode = offense.getOffenderSuspectedOfUsingCodes();
 				
 				if (CollectionUtils.containsAny(OPIUM_COCAINE_AND_DERIVATIVES_CODES, suspectedDrugCode)){
 					asrAdultRowName = AsrAdultRowName.valueOf(rowNamePrefix + "_OPIUM_COCAINE_DERIVATIVES");
@@ -252,19 +288,20 @@ public class AsrFormService {
 		return asrAdultRowName;
 	}
 
-	private String getVictimGender(ArresteeSegment arresteeSegment) {
-		String offenseCode = arresteeSegment.getUcrOffenseCodeType().getNibrsCode(); 
-		String victimGender = arresteeSegment.getAdministrativeSegment()
-				.getVictimSegments()
+	private String getVictimGender(ArresteeSummary arrestee, IncidentSummary incident) {
+		String offenseCode = arrestee.getUcrOffenseCode(); 
+		String victimGender = incident.getVictimOffenseLinks()
 				.stream()
-				.filter(i->i.getOffenseSegments().stream().anyMatch(o->Objects.equals(offenseCode, o.getUcrOffenseCodeType().getNibrsCode())))
-				.map(i->i.getSexOfPersonType().getNibrsCode()).findFirst().orElse("");
+				.filter(i->Objects.equals(offenseCode, i.getUcrOffenseCode()))
+				.map(VictimOffenseLink::getSexOfPersonCode)
+				.filter(Objects::nonNull)
+				.findFirst().orElse("");
 		return victimGender;
 	}
 
-	private void countToEthnicityGroups(AsrAdultRow[] asrAdultRows, ArresteeSegment arresteeSegment,
+	private void countToEthnicityGroups(AsrAdultRow[] asrAdultRows, ArresteeSummary arrestee,
 			AsrAdultRowName asrAdultRowName) {
-		String ethnicityString = arresteeSegment.getEthnicityOfPersonType().getNibrsCode();
+		String ethnicityString = arrestee.getEthnicityOfPersonCode();
 		if (StringUtils.isNotBlank(ethnicityString) && !"U".equals(ethnicityString)){
 			Ethnicity ethnicity = Ethnicity.valueOf(ethnicityString); 
 			asrAdultRows[asrAdultRowName.ordinal()].getEthnicityGroups()[ethnicity.ordinal()]++;
@@ -293,9 +330,9 @@ public class AsrFormService {
 		}
 	}
 
-	private void countToRaceGroups(AsrAdultRow[] asrAdultRows, ArresteeSegment arresteeSegment,
+	private void countToRaceGroups(AsrAdultRow[] asrAdultRows, ArresteeSummary arrestee,
 			AsrAdultRowName asrAdultRowName) {
-		String raceString = arresteeSegment.getRaceOfPersonType().getNibrsCode();
+		String raceString = arrestee.getRaceOfPersonCode();
 		if (StringUtils.isNotBlank(raceString) && !"U".equals(raceString)){
 			Race race = Race.valueOf(raceString); 
 			asrAdultRows[asrAdultRowName.ordinal()].getRaceGroups()[race.ordinal()]++;
@@ -324,11 +361,11 @@ public class AsrFormService {
 		}
 	}
 	
-	private void countToAgeGroups(AsrAdultRow[] asrAdultRows, ArresteeSegment arresteeSegment,
+	private void countToAgeGroups(AsrAdultRow[] asrAdultRows, ArresteeSummary arrestee,
 			AsrAdultRowName asrAdultRowName) {
-		AdultAgeGroup ageGroup = getAgeGroup(arresteeSegment);
+		AdultAgeGroup ageGroup = getAgeGroup(arrestee);
 		if (ageGroup != null){
-			switch( arresteeSegment.getSexOfPersonType().getNibrsCode() ){
+			switch( arrestee.getSexOfPersonCode() ){
 			case "M":
 				asrAdultRows[asrAdultRowName.ordinal()].getMaleAgeGroups()[ageGroup.ordinal()] ++;
 				asrAdultRows[asrAdultRowName.ordinal()].getMaleAgeGroups()[AdultAgeGroup.TOTAL.ordinal()] ++;
@@ -395,13 +432,13 @@ public class AsrFormService {
 		}
 	}
 
-	private AdultAgeGroup getAgeGroup(ArresteeSegment arresteeSegment) {
+	private AdultAgeGroup getAgeGroup(ArresteeSummary arrestee) {
 		
-		if (arresteeSegment.isAgeUnknown()) return null; 
+		if (arrestee.isAgeUnknown()) return null; 
 
 		AdultAgeGroup ageGroup = null; 
 		
-		Integer averageAge = arresteeSegment.getAverageAge();
+		Integer averageAge = arrestee.getAverageAge();
 		if (averageAge < 25){
 			ageGroup = AdultAgeGroup.valueOf(StringUtils.join("_", averageAge.toString()));
 		}
@@ -24,8 +24,8 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.commons.collections.CollectionUtils;
@@ -44,15 +44,12 @@ import org.search.nibrs.model.reports.ReturnAForm;
 import org.search.nibrs.model.reports.ReturnARowName;
 import org.search.nibrs.stagingdata.AppProperties;
 import org.search.nibrs.stagingdata.model.Agency;
-import org.search.nibrs.stagingdata.model.PropertyType;
-import org.search.nibrs.stagingdata.model.TypeOfWeaponForceInvolved;
-import org.search.nibrs.stagingdata.model.TypeOfWeaponForceInvolvedType;
-import org.search.nibrs.stagingdata.model.segment.AdministrativeSegment;
-import org.search.nibrs.stagingdata.model.segment.ArresteeSegment;
-import org.search.nibrs.stagingdata.model.segment.OffenderSegment;
-import org.search.nibrs.stagingdata.model.segment.OffenseSegment;
-import org.search.nibrs.stagingdata.model.segment.PropertySegment;
-import org.search.nibrs.stagingdata.model.segment.VictimSegment;
+import org.search.nibrs.stagingdata.model.summary.ArresteeSummary;
+import org.search.nibrs.stagingdata.model.summary.IncidentSummary;
+import org.search.nibrs.stagingdata.model.summary.OffenderSummary;
+import org.search.nibrs.stagingdata.model.summary.OffenseSummary;
+import org.search.nibrs.stagingdata.model.summary.PropertySummary;
+import org.search.nibrs.stagingdata.model.summary.PropertyTypeSummary;
 import org.search.nibrs.stagingdata.repository.AgencyRepository;
 import org.search.nibrs.stagingdata.service.AdministrativeSegmentService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -109,6 +106,26 @@ public class ReturnAFormService {
 		
 		ReturnAForm returnAForm = new ReturnAForm(ori, year, month); 
 		
+		if (!fillTheAgencyInformation(returnAForm)){
+			return returnAForm; 
+		}
+
+		countReportedOffenses(administrativeSegmentService.findIncidentSummariesByOriAndIncidentDate(ori, year, month), returnAForm);
+		countOffenseClearances(administrativeSegmentService.findIncidentSummariesByOriAndClearanceDate(ori, year, month), returnAForm);
+		
+		fillTheTotalRows(returnAForm);
+
+		log.info("returnAForm: " + returnAForm);
+		return returnAForm;
+	}
+
+	/**
+	 * Fills the agency columns of the form from the agency of its ORI.  
+	 * 
+	 * @return false if the ORI is not the StateWide ORI and no agency has it. 
+	 */
+	public boolean fillTheAgencyInformation(ReturnAForm returnAForm) {
+		String ori = returnAForm.getOri(); 
 		if (!"StateWide".equalsIgnoreCase(ori)){
 			Agency agency = agencyRepository.findFirstByAgencyOri(ori); 
 			if (agency!= null){
@@ -118,7 +135,7 @@ public class ReturnAFormService {
 				returnAForm.setPopulation(agency.getPopulation());
 			}
 			else{
-				return returnAForm; 
+				return false; 
 			}
 		}
 		else{
@@ -127,33 +144,32 @@ public class ReturnAFormService {
 			returnAForm.setStateCode("");
 			returnAForm.setPopulation(null);
 		}
-
-		processReportedOffenses(ori, year, month, returnAForm);
-		processOffenseClearances(ori, year, month, returnAForm);
-		
+		return true;
+	}
+	
+	/**
+	 * Sets the total rows that are the sums of other rows.  The counting methods leave them to this method, so forms 
+	 * counted separately can be added together before it is called. 
+	 */
+	public void fillTheTotalRows(ReturnAForm returnAForm) {
 		fillTheForcibleRapeTotalRow(returnAForm);
 		fillTheRobberyTotalRow(returnAForm);
 		fillTheAssaultTotalRow(returnAForm);
 		fillTheBurglaryTotalRow(returnAForm);
 		fillTheMotorVehicleTheftTotalRow(returnAForm);
 		fillTheGrandTotalRow(returnAForm);
-
-		log.info("returnAForm: " + returnAForm);
-		return returnAForm;
 	}
 
-	private void processOffenseClearances(String ori, Integer year, Integer month, ReturnAForm returnAForm) {
-		List<AdministrativeSegment> administrativeSegments = administrativeSegmentService.findIdsByOriAndClearanceDate(ori, year, month);
-		
-		for (AdministrativeSegment administrativeSegment: administrativeSegments){
-			if (administrativeSegment.getOffenseSegments().size() == 0) continue;
+	public void countOffenseClearances(List<IncidentSummary> incidents, ReturnAForm returnAForm) {
+		for (IncidentSummary incident: incidents){
+			if (incident.getOffenses().size() == 0) continue;
 			
-			boolean isClearanceInvolvingOnlyJuvenile = isClearanceInvolvingOnlyJuvenile(administrativeSegment);
+			boolean isClearanceInvolvingOnlyJuvenile = isClearanceInvolvingOnlyJuvenile(incident);
 			
-			List<OffenseSegment> offenses = getClearedOffenses(administrativeSegment);
-			for (OffenseSegment offense: offenses){
+			List<OffenseSummary> offenses = getClearedOffenses(incident);
+			for (OffenseSummary offense: offenses){
 				ReturnARowName returnARowName = null; 
-				switch (OffenseCode.forCode(offense.getUcrOffenseCodeType().getNibrsCode())){
+				switch (OffenseCode.forCode(offense.getUcrOffenseCode())){
 				case _09A:
 					returnARowName = ReturnARowName.MURDER_NONNEGLIGENT_HOMICIDE;
 					break; 
@@ -161,7 +177,7 @@ public class ReturnAFormService {
 					returnARowName = ReturnARowName.MANSLAUGHTER_BY_NEGLIGENCE; 
 					break; 
 				case _11A: 
-					returnARowName = getRowFor11AOffense(administrativeSegment, offense);
+					returnARowName = getRowFor11AOffense(incident, offense);
 					break;
 				case _120:
 					returnARowName = getReturnARowForRobbery(offense);
@@ -187,7 +203,7 @@ public class ReturnAFormService {
 					returnARowName = ReturnARowName.LARCENY_THEFT_TOTAL; 
 					break; 
 				case _240: 
-					countClearedMotorVehicleTheftOffense(returnAForm, offense, isClearanceInvolvingOnlyJuvenile );
+					countClearedMotorVehicleTheftOffense(returnAForm, incident, offense, isClearanceInvolvingOnlyJuvenile );
 					break; 
 				default: 
 				}
@@ -204,15 +220,15 @@ public class ReturnAFormService {
 		}
 	}
 
-	private void countClearedMotorVehicleTheftOffense(ReturnAForm returnAForm, OffenseSegment offense,
+	private void countClearedMotorVehicleTheftOffense(ReturnAForm returnAForm, IncidentSummary incident, OffenseSummary offense,
 			boolean isClearanceInvolvingOnlyJuvenile) {
-		List<PropertySegment> properties =  offense.getAdministrativeSegment().getPropertySegments()
-				.stream().filter(property->TypeOfPropertyLossCode._7.code.equals(property.getTypePropertyLossEtcType().getNibrsCode()))
+		List<PropertySummary> properties =  incident.getProperties()
+				.stream().filter(property->TypeOfPropertyLossCode._7.code.equals(property.getTypePropertyLossCode()))
 				.collect(Collectors.toList());
 		
-		for (PropertySegment property: properties){
+		for (PropertySummary property: properties){
 			List<String> motorVehicleCodes = property.getPropertyTypes().stream()
-					.map(propertyType -> propertyType.getPropertyDescriptionType().getNibrsCode())
+					.map(PropertyTypeSummary::getPropertyDescriptionCode)
 					.filter(code -> PropertyDescriptionCode.isMotorVehicleCode(code))
 					.collect(Collectors.toList()); 
 			if ("A".equals(offense.getOffenseAttemptedCompleted())){
@@ -280,20 +296,20 @@ public class ReturnAFormService {
 		
 	}
 
-	private boolean isClearanceInvolvingOnlyJuvenile(AdministrativeSegment administrativeSegment) {
+	private boolean isClearanceInvolvingOnlyJuvenile(IncidentSummary incident) {
 		boolean isClearanceInvolvingOnlyJuvenile = false; 
-		if (ClearedExceptionallyCode.applicableCodeSet().contains(administrativeSegment.getClearedExceptionallyType().getNibrsCode())){
-			Set<OffenderSegment> offenders = administrativeSegment.getOffenderSegments();
+		if (ClearedExceptionallyCode.applicableCodeSet().contains(incident.getClearedExceptionallyCode())){
+			List<OffenderSummary> offenders = incident.getOffenders();
 			isClearanceInvolvingOnlyJuvenile = offenders.stream().allMatch(offender -> offender.isJuvenile() || offender.isAgeUnknown()); 
 		}
 		else {
-			Set<ArresteeSegment> arrestees = administrativeSegment.getArresteeSegments();
+			List<ArresteeSummary> arrestees = incident.getArrestees();
 			isClearanceInvolvingOnlyJuvenile = arrestees.stream().allMatch(arrestee -> arrestee.isJuvenile() || arrestee.isAgeUnknown()); 
 		}
 		return isClearanceInvolvingOnlyJuvenile;
 	}
 
-	private void countClearedBurglaryOffense(ReturnAForm returnAForm, OffenseSegment offense, boolean isClearanceInvolvingOnlyJuvenile) {
+	private void countClearedBurglaryOffense(ReturnAForm returnAForm, OffenseSummary offense, boolean isClearanceInvolvingOnlyJuvenile) {
 		ReturnARowName returnARowName = getBurglaryRow(offense);
 		
 //		If there is an entry in Data Element 10 (Number of Premises Entered) and an entry of 19 
@@ -304,7 +320,7 @@ public class ReturnAFormService {
 			
 			int increment = 1;
 			int numberOfPremisesEntered = Optional.ofNullable(offense.getNumberOfPremisesEntered()).orElse(0);
-			if (numberOfPremisesEntered > 0 && "19".equals(offense.getLocationType().getNibrsCode())){
+			if (numberOfPremisesEntered > 0 && "19".equals(offense.getLocationCode())){
 				increment = offense.getNumberOfPremisesEntered(); 
 			}
 			
@@ -316,39 +332,39 @@ public class ReturnAFormService {
 		}
 	}
 
-	private ReturnARowName getBurglaryRow(OffenseSegment offense) {
+	private ReturnARowName getBurglaryRow(OffenseSummary offense) {
 		ReturnARowName returnARowName = null; 
 		if ("C".equals(offense.getOffenseAttemptedCompleted())){
-			if (offense.getMethodOfEntryType().getNibrsCode().equals("F")){
+			if ("F".equals(offense.getMethodOfEntryCode())){
 				returnARowName = ReturnARowName.FORCIBLE_ENTRY_BURGLARY; 
 			}
-			else if (offense.getMethodOfEntryType().getNibrsCode().equals("N")){
+			else if ("N".equals(offense.getMethodOfEntryCode())){
 				returnARowName = ReturnARowName.UNLAWFUL_ENTRY_NO_FORCE_BURGLARY; 
 			}
 		}
 		else if ("A".equals(offense.getOffenseAttemptedCompleted()) && 
-				Arrays.asList("N", "F").contains(offense.getMethodOfEntryType().getNibrsCode())){
+				Arrays.asList("N", "F").contains(offense.getMethodOfEntryCode())){
 			returnARowName = ReturnARowName.ATTEMPTED_FORCIBLE_ENTRY_BURGLARY; 
 		}
 		return returnARowName;
 	}
 
-	private List<OffenseSegment> getClearedOffenses(AdministrativeSegment administrativeSegment) {
+	private List<OffenseSummary> getClearedOffenses(IncidentSummary incident) {
 		//TODO need to handle the Time-Window submission types and Time-Window offenses  
-		List<OffenseSegment> offenses = new ArrayList<>(); 
+		List<OffenseSummary> offenses = new ArrayList<>(); 
 		
-		OffenseSegment reportingOffense = null; 
+		OffenseSummary reportingOffense = null; 
 		Integer reportingOffenseValue = 99; 
-		for (OffenseSegment offense: administrativeSegment.getOffenseSegments()){
+		for (OffenseSummary offense: incident.getOffenses()){
 			if (!Arrays.asList("A", "C").contains(offense.getOffenseAttemptedCompleted())){
 				continue;
 			}
 			
-			if (offense.getUcrOffenseCodeType().getNibrsCode().equals(OffenseCode._200.code)){
+			if (OffenseCode._200.code.equals(offense.getUcrOffenseCode())){
 				offenses.add(offense);
 				continue;
 			}
-			Integer offenseValue = Optional.ofNullable(partIOffensesMap.get(offense.getUcrOffenseCodeType().getNibrsCode())).orElse(99); 
+			Integer offenseValue = Optional.ofNullable(partIOffensesMap.get(offense.getUcrOffenseCode())).orElse(99); 
 			
 			if (offenseValue < reportingOffenseValue){
 				reportingOffense = offense; 
@@ -362,30 +378,28 @@ public class ReturnAFormService {
 		return offenses;
 	}
 
-	private void processReportedOffenses(String ori, Integer year, Integer month, ReturnAForm returnAForm) {
-		List<AdministrativeSegment> administrativeSegments = administrativeSegmentService.findByOriAndIncidentDate(ori, year, month);
-
+	public void countReportedOffenses(List<IncidentSummary> incidents, ReturnAForm returnAForm) {
 		PropertyStolenByClassification[] stolenProperties = returnAForm.getPropertyStolenByClassifications();
-		for (AdministrativeSegment administrativeSegment: administrativeSegments){
-			if (administrativeSegment.getOffenseSegments().size() == 0) continue; 
+		for (IncidentSummary incident: incidents){
+			if (incident.getOffenses().size() == 0) continue; 
 			
-			List<OffenseSegment> offensesToReport = getReturnAOffenses(administrativeSegment); 
-			for (OffenseSegment offense: offensesToReport){
+			List<OffenseSummary> offensesToReport = getReturnAOffenses(incident); 
+			for (OffenseSummary offense: offensesToReport){
 				
 				ReturnARowName returnARowName = null; 
 				int burglaryOffenseCount = 0; 
 				boolean hasMotorVehicleTheftOffense = false; 
 				double stolenPropertyValue = 0.0;
-				OffenseCode offenseCode = OffenseCode.forCode(offense.getUcrOffenseCodeType().getNibrsCode()); 
+				OffenseCode offenseCode = OffenseCode.forCode(offense.getUcrOffenseCode()); 
 				switch (offenseCode){
 				case _09A:
 					returnARowName = ReturnARowName.MURDER_NONNEGLIGENT_HOMICIDE; 
-					processStolenProperties(stolenProperties, administrativeSegment, PropertyStolenByClassificationRowName.MURDER_AND_NONNEGLIGENT_MANSLAUGHTER);	
-					sumPropertyValuesByType(returnAForm, administrativeSegment);
+					processStolenProperties(stolenProperties, incident, PropertyStolenByClassificationRowName.MURDER_AND_NONNEGLIGENT_MANSLAUGHTER);	
+					sumPropertyValuesByType(returnAForm, incident);
 					break; 
 				case _09B: 
 					returnARowName = ReturnARowName.MANSLAUGHTER_BY_NEGLIGENCE; 
-					stolenPropertyValue = getStolenPropertyValue(administrativeSegment);
+					stolenPropertyValue = getStolenPropertyValue(incident);
 					log.info("09B offense stolen property value: " + stolenPropertyValue); 
 					break; 
 				//case _09C: // TODO  Not finding anything about 09C in the "Conversion of NIBRS Data to Summary Data" document. comment out this block -hw 20190110
@@ -393,17 +407,17 @@ public class ReturnAFormService {
 				//	returnAForm.getRows()[returnARowName.ordinal()].increaseUnfoundedOffenses(1); ///?why
 				//	break; 
 				case _11A: 
-					returnARowName = getRowFor11AOffense(administrativeSegment, offense);
+					returnARowName = getRowFor11AOffense(incident, offense);
 					if (returnARowName != null){
-						processStolenProperties(stolenProperties, administrativeSegment, PropertyStolenByClassificationRowName.RAPE);
-						sumPropertyValuesByType(returnAForm, administrativeSegment);
+						processStolenProperties(stolenProperties, incident, PropertyStolenByClassificationRowName.RAPE);
+						sumPropertyValuesByType(returnAForm, incident);
 					}
 					break;
 				case _120:
 					returnARowName = getReturnARowForRobbery(offense);
 					if (returnARowName != null){
-						processRobberyStolenPropertyByLocation(stolenProperties, offense);
-						sumPropertyValuesByType(returnAForm, administrativeSegment);
+						processRobberyStolenPropertyByLocation(stolenProperties, incident, offense);
+						sumPropertyValuesByType(returnAForm, incident);
 					}
 					break; 
 				case _13A:
@@ -414,7 +428,7 @@ public class ReturnAFormService {
 					returnARowName = getReturnARowFor13B13COffense(offense);
 					break;
 				case _220: 
-					burglaryOffenseCount = countBurglaryOffense(returnAForm, offense);
+					burglaryOffenseCount = countBurglaryOffense(returnAForm, incident, offense);
 					break;
 				case _23A: 
 				case _23B:
@@ -425,12 +439,12 @@ public class ReturnAFormService {
 				case _23G: 
 				case _23H: 
 					returnARowName = ReturnARowName.LARCENY_THEFT_TOTAL; 
-					processLarcenyStolenPropertyByValue(stolenProperties, administrativeSegment);
-					processLarcenyStolenPropertyByNature(stolenProperties, offenseCode, administrativeSegment);
-					sumPropertyValuesByType(returnAForm, administrativeSegment);
+					processLarcenyStolenPropertyByValue(stolenProperties, incident);
+					processLarcenyStolenPropertyByNature(stolenProperties, offenseCode, incident);
+					sumPropertyValuesByType(returnAForm, incident);
 					break; 
 				case _240: 
-					hasMotorVehicleTheftOffense = countMotorVehicleTheftOffense(returnAForm, offense);
+					hasMotorVehicleTheftOffense = countMotorVehicleTheftOffense(returnAForm, incident, offense);
 					break; 
 				default: 
 				}
@@ -440,7 +454,7 @@ public class ReturnAFormService {
 				}
 				
 				if ( burglaryOffenseCount > 0 || hasMotorVehicleTheftOffense){
-					sumPropertyValuesByType(returnAForm, administrativeSegment);
+					sumPropertyValuesByType(returnAForm, incident);
 				}
 				
 //				log.info("ReturnA property by type stolen total: " + returnAForm.getPropertyTypeValues()[PropertyTypeValueRowName.TOTAL.ordinal()].getStolen());
@@ -453,22 +467,22 @@ public class ReturnAFormService {
 	}
 
 	private void processLarcenyStolenPropertyByNature(PropertyStolenByClassification[] stolenProperties, OffenseCode offenseCode, 
-			AdministrativeSegment administrativeSegment) {
+			IncidentSummary incident) {
 		
 		String offenseCodeString = offenseCode.code;
 		if ("23H".equals(offenseCodeString)){
-			List<PropertyType> stolenPropertyTypes =  administrativeSegment.getPropertySegments()
+			List<PropertyTypeSummary> stolenPropertyTypes =  incident.getProperties()
 					.stream()
-					.filter(propertySegment -> propertySegment.getTypePropertyLossEtcType().getNibrsCode().equals("7"))
+					.filter(property -> "7".equals(property.getTypePropertyLossCode()))
 					.flatMap(i->i.getPropertyTypes().stream())
 					.filter(i->i.getValueOfProperty() > 0)
 					.collect(Collectors.toList());
 			
 			if (stolenPropertyTypes.size() > 0){
-				PropertyType propertyTypeWithMaxValue = Collections.max(stolenPropertyTypes, Comparator.comparing(PropertyType::getValueOfProperty));
-				if ("38".equals(propertyTypeWithMaxValue.getPropertyDescriptionType().getNibrsCode())
-						|| "04".equals(propertyTypeWithMaxValue.getPropertyDescriptionType().getNibrsCode())){
-					offenseCodeString += propertyTypeWithMaxValue.getPropertyDescriptionType().getNibrsCode(); 
+				PropertyTypeSummary propertyTypeWithMaxValue = Collections.max(stolenPropertyTypes, Comparator.comparing(PropertyTypeSummary::getValueOfProperty));
+				if ("38".equals(propertyTypeWithMaxValue.getPropertyDescriptionCode())
+						|| "04".equals(propertyTypeWithMaxValue.getPropertyDescriptionCode())){
+					offenseCodeString += propertyTypeWithMaxValue.getPropertyDescriptionCode(); 
 				}
 			}
 		}
@@ -478,13 +492,13 @@ public class ReturnAFormService {
 		stolenProperties[propertyStolenByClassificationRowName.ordinal()].increaseNumberOfOffenses(1);
 		stolenProperties[PropertyStolenByClassificationRowName.LARCENIES_TOTAL_BY_NATURE.ordinal()].increaseNumberOfOffenses(1);
 
-		double stolenPropertyValue = getStolenPropertyValue(administrativeSegment);
+		double stolenPropertyValue = getStolenPropertyValue(incident);
 		stolenProperties[propertyStolenByClassificationRowName.ordinal()].increaseMonetaryValue(stolenPropertyValue);
 		stolenProperties[PropertyStolenByClassificationRowName.LARCENIES_TOTAL_BY_NATURE.ordinal()].increaseMonetaryValue(stolenPropertyValue);
 	}
 
-	private void processLarcenyStolenPropertyByValue(PropertyStolenByClassification[] stolenProperties, AdministrativeSegment administrativeSegment) {
-		double stolenPropertyValue = getStolenPropertyValue(administrativeSegment);
+	private void processLarcenyStolenPropertyByValue(PropertyStolenByClassification[] stolenProperties, IncidentSummary incident) {
+		double stolenPropertyValue = getStolenPropertyValue(incident);
 		PropertyStolenByClassificationRowName propertyStolenByClassificationRowName = null;
 		
 		if (stolenPropertyValue >= 200.0){
@@ -506,15 +520,15 @@ public class ReturnAFormService {
 	}
 
 	private void processRobberyStolenPropertyByLocation(PropertyStolenByClassification[] stolenProperties,
-			OffenseSegment offenseSegment) {
-		String locationType = appProperties.getLocationCodeMapping().get(offenseSegment.getLocationType().getNibrsCode());
+			IncidentSummary incident, OffenseSummary offense) {
+		String locationType = appProperties.getLocationCodeMapping().get(offense.getLocationCode());
 		if ( StringUtils.isNotBlank(locationType)){
 			PropertyStolenByClassificationRowName rowName = PropertyStolenByClassificationRowName.valueOf("ROBBERY_" + locationType);
 			stolenProperties[rowName.ordinal()].increaseNumberOfOffenses(1);
 			stolenProperties[PropertyStolenByClassificationRowName.ROBBERY_TOTAL.ordinal()].increaseNumberOfOffenses(1);
 			stolenProperties[PropertyStolenByClassificationRowName.GRAND_TOTAL.ordinal()].increaseNumberOfOffenses(1);
 			
-			Double stolenPropertyValue = getStolenPropertyValue(offenseSegment.getAdministrativeSegment());
+			Double stolenPropertyValue = getStolenPropertyValue(incident);
 			stolenProperties[rowName.ordinal()].increaseMonetaryValue(stolenPropertyValue);
 			stolenProperties[PropertyStolenByClassificationRowName.ROBBERY_TOTAL.ordinal()].increaseMonetaryValue(stolenPropertyValue);
 			stolenProperties[PropertyStolenByClassificationRowName.GRAND_TOTAL.ordinal()].increaseMonetaryValue(stolenPropertyValue);
@@ -522,37 +536,37 @@ public class ReturnAFormService {
 	}
 
 	private void processStolenProperties(PropertyStolenByClassification[] stolenProperties,
-			AdministrativeSegment administrativeSegment, PropertyStolenByClassificationRowName propertyStolenByClassificationRowName) {
+			IncidentSummary incident, PropertyStolenByClassificationRowName propertyStolenByClassificationRowName) {
 		double stolenPropertyValue;
 		stolenProperties[propertyStolenByClassificationRowName.ordinal()].increaseNumberOfOffenses(1);
 		stolenProperties[PropertyStolenByClassificationRowName.GRAND_TOTAL.ordinal()].increaseNumberOfOffenses(1);
-		stolenPropertyValue = getStolenPropertyValue(administrativeSegment);
+		stolenPropertyValue = getStolenPropertyValue(incident);
 		stolenProperties[propertyStolenByClassificationRowName.ordinal()].increaseMonetaryValue(stolenPropertyValue);
 		stolenProperties[PropertyStolenByClassificationRowName.GRAND_TOTAL.ordinal()].increaseMonetaryValue(stolenPropertyValue);
 	}
 
-	private Double getStolenPropertyValue(AdministrativeSegment administrativeSegment) {
-		return administrativeSegment.getPropertySegments()
+	private Double getStolenPropertyValue(IncidentSummary incident) {
+		return incident.getProperties()
 				.stream()
-				.filter(propertySegment -> propertySegment.getTypePropertyLossEtcType().getNibrsCode().equals("7"))
+				.filter(property -> "7".equals(property.getTypePropertyLossCode()))
 				.flatMap(i->i.getPropertyTypes().stream())
 				.filter(i->i.getValueOfProperty() > 0)
-				.map(PropertyType::getValueOfProperty)
+				.map(PropertyTypeSummary::getValueOfProperty)
 				.reduce(Double::sum).orElse(0.0);
 	}
 
-	private void sumPropertyValuesByType(ReturnAForm returnAForm, AdministrativeSegment administrativeSegment) {
-		for (PropertySegment propertySegment: administrativeSegment.getPropertySegments()){
-			List<PropertyType> propertyTypes = propertySegment.getPropertyTypes()
+	private void sumPropertyValuesByType(ReturnAForm returnAForm, IncidentSummary incident) {
+		for (PropertySummary property: incident.getProperties()){
+			List<PropertyTypeSummary> propertyTypes = property.getPropertyTypes()
 					.stream()
 					.filter(propertyType -> propertyType.getValueOfProperty() > 0)
 					.collect(Collectors.toList()); 
 			
 			if (propertyTypes.size() > 0){
-				for (PropertyType propertyType: propertyTypes){
-					String propertyDescription = appProperties.getPropertyCodeMapping().get(propertyType.getPropertyDescriptionType().getNibrsCode());
+				for (PropertyTypeSummary propertyType: propertyTypes){
+					String propertyDescription = appProperties.getPropertyCodeMapping().get(propertyType.getPropertyDescriptionCode());
 					PropertyTypeValueRowName rowName = PropertyTypeValueRowName.valueOf(propertyDescription); 
-					switch (propertySegment.getTypePropertyLossEtcType().getNibrsCode()){
+					switch (property.getTypePropertyLossCode()){
 					case "7":
 						returnAForm.getPropertyTypeValues()[rowName.ordinal()].increaseStolen(propertyType.getValueOfProperty());
 						returnAForm.getPropertyTypeValues()[PropertyTypeValueRowName.TOTAL.ordinal()].increaseStolen(propertyType.getValueOfProperty());
@@ -652,17 +666,17 @@ public class ReturnAFormService {
 				ReturnARowName.ATTEMPTS_TO_COMMIT_FORCIBLE_RAPE);
 	}
 
-	private boolean countMotorVehicleTheftOffense(ReturnAForm returnAForm, OffenseSegment offense) {
+	private boolean countMotorVehicleTheftOffense(ReturnAForm returnAForm, IncidentSummary incident, OffenseSummary offense) {
 		
-		List<PropertySegment> properties =  offense.getAdministrativeSegment().getPropertySegments()
-				.stream().filter(property->TypeOfPropertyLossCode._7.code.equals(property.getTypePropertyLossEtcType().getNibrsCode()))
+		List<PropertySummary> properties =  incident.getProperties()
+				.stream().filter(property->TypeOfPropertyLossCode._7.code.equals(property.getTypePropertyLossCode()))
 				.collect(Collectors.toList());
 		
 		int totalOffenseCount = 0;
-		for (PropertySegment property: properties){
+		for (PropertySummary property: properties){
 			int offenseCountInThisProperty = 0;
 			List<String> motorVehicleCodes = property.getPropertyTypes().stream()
-					.map(propertyType -> propertyType.getPropertyDescriptionType().getNibrsCode())
+					.map(PropertyTypeSummary::getPropertyDescriptionCode)
 					.filter(code -> PropertyDescriptionCode.isMotorVehicleCode(code))
 					.collect(Collectors.toList()); 
 			
@@ -713,7 +727,7 @@ public class ReturnAFormService {
 			totalOffenseCount += offenseCountInThisProperty;
 			
 			if (offenseCountInThisProperty > 0){
-				double valueOfStolenProperty = getStolenPropertyValue(offense.getAdministrativeSegment());
+				double valueOfStolenProperty = getStolenPropertyValue(incident);
 				returnAForm.getPropertyStolenByClassifications()
 					[PropertyStolenByClassificationRowName.MOTOR_VEHICLE_THEFT.ordinal()]
 						.increaseMonetaryValue(valueOfStolenProperty);
@@ -733,7 +747,7 @@ public class ReturnAFormService {
 		return totalOffenseCount > 0; 
 	}
 
-	private int countBurglaryOffense(ReturnAForm returnAForm, OffenseSegment offense) {
+	private int countBurglaryOffense(ReturnAForm returnAForm, IncidentSummary incident, OffenseSummary offense) {
 		ReturnARowName returnARowName = getBurglaryRow(offense);
 		
 		int burglaryOffenseCount = 0; 
@@ -744,7 +758,7 @@ public class ReturnAFormService {
 		if (returnARowName != null){
 			int numberOfPremisesEntered = Optional.ofNullable(offense.getNumberOfPremisesEntered()).orElse(0);
 			if ( numberOfPremisesEntered > 0 
-					&& LocationTypeCode._19.code.equals(offense.getLocationType().getNibrsCode())){
+					&& LocationTypeCode._19.code.equals(offense.getLocationCode())){
 				burglaryOffenseCount = offense.getNumberOfPremisesEntered();
 			}
 			else {
@@ -756,7 +770,7 @@ public class ReturnAFormService {
 		
 		if (burglaryOffenseCount > 0){
 			PropertyStolenByClassificationRowName propertyStolenByClassificationRowName = 
-					getPropertyStolenByClassificationBurglaryRowName(offense.getLocationType().getNibrsCode(), offense.getAdministrativeSegment().getIncidentHour());
+					getPropertyStolenByClassificationBurglaryRowName(offense.getLocationCode(), incident.getIncidentHour());
 			returnAForm.getPropertyStolenByClassifications()[propertyStolenByClassificationRowName.ordinal()]
 					.increaseNumberOfOffenses(burglaryOffenseCount);
 			returnAForm.getPropertyStolenByClassifications()[PropertyStolenByClassificationRowName.BURGLARY_TOTAL.ordinal()]
@@ -764,7 +778,7 @@ public class ReturnAFormService {
 			returnAForm.getPropertyStolenByClassifications()[PropertyStolenByClassificationRowName.GRAND_TOTAL.ordinal()]
 					.increaseNumberOfOffenses(burglaryOffenseCount);
 			
-			double stolenPropertyValue = getStolenPropertyValue(offense.getAdministrativeSegment());
+			double stolenPropertyValue = getStolenPropertyValue(incident);
 			returnAForm.getPropertyStolenByClassifications()[propertyStolenByClassificationRowName.ordinal()]
 					.increaseMonetaryValue(stolenPropertyValue);
 			returnAForm.getPropertyStolenByClassifications()[PropertyStolenByClassificationRowName.BURGLARY_TOTAL.ordinal()]
@@ -803,12 +817,12 @@ public class ReturnAFormService {
 		return propertyStolenByClassificationRowName;
 	}
 
-	private ReturnARowName getReturnARowFor13B13COffense(OffenseSegment offense) {
+	private ReturnARowName getReturnARowFor13B13COffense(OffenseSummary offense) {
 		ReturnARowName returnARowName = null; 
 		boolean containsValidWeaponForceType = 
-				offense.getTypeOfWeaponForceInvolveds()
+				offense.getTypeOfWeaponForceInvolvedCodes()
 				.stream()
-				.filter(type -> Arrays.asList("40", "90", "95", "99", " ").contains(type.getTypeOfWeaponForceInvolvedType().getNibrsCode()))
+				.filter(code -> Arrays.asList("40", "90", "95", "99", " ").contains(code))
 				.count() > 0;
 				
 		if (containsValidWeaponForceType){
@@ -817,12 +831,8 @@ public class ReturnAFormService {
 		return returnARowName;
 	}
 
-	private ReturnARowName getReturnARowForRobbery(OffenseSegment offense) {
-		List<String> typeOfWeaponInvolvedCodes = offense.getTypeOfWeaponForceInvolveds()
-				.stream()
-				.map(TypeOfWeaponForceInvolved::getTypeOfWeaponForceInvolvedType)
-				.map(TypeOfWeaponForceInvolvedType::getNibrsCode)
-				.collect(Collectors.toList()); 
+	private ReturnARowName getReturnARowForRobbery(OffenseSummary offense) {
+		List<String> typeOfWeaponInvolvedCodes = offense.getTypeOfWeaponForceInvolvedCodes(); 
 
 		if (CollectionUtils.containsAny(typeOfWeaponInvolvedCodes, Arrays.asList("11", "12", "13", "14", "15"))){
 			return ReturnARowName.FIREARM_ROBBERY; 
@@ -842,12 +852,8 @@ public class ReturnAFormService {
 		return null;
 	}
 
-	private ReturnARowName getReturnARowForAssault(OffenseSegment offense) {
-		List<String> typeOfWeaponInvolvedCodes = offense.getTypeOfWeaponForceInvolveds()
-				.stream()
-				.map(TypeOfWeaponForceInvolved::getTypeOfWeaponForceInvolvedType)
-				.map(TypeOfWeaponForceInvolvedType::getNibrsCode)
-				.collect(Collectors.toList()); 
+	private ReturnARowName getReturnARowForAssault(OffenseSummary offense) {
+		List<String> typeOfWeaponInvolvedCodes = offense.getTypeOfWeaponForceInvolvedCodes(); 
 		
 		if (CollectionUtils.containsAny(typeOfWeaponInvolvedCodes, Arrays.asList("11", "12", "13", "14", "15"))){
 			return ReturnARowName.FIREARM_ASSAULT; 
@@ -867,15 +873,14 @@ public class ReturnAFormService {
 		return null;
 	}
 	
-	private ReturnARowName getRowFor11AOffense(AdministrativeSegment administrativeSegment,
-			OffenseSegment offense) {
+	private ReturnARowName getRowFor11AOffense(IncidentSummary incident,
+			OffenseSummary offense) {
 		
 		ReturnARowName returnARowName = null;
-		List<VictimSegment> victimSegments = administrativeSegment.getVictimSegments()
-			.stream().filter(victim->victim.getOffenseSegments().contains(offense))
-			.filter(victim->victim.getSexOfPersonType().getNibrsCode().equals("F"))
-			.collect(Collectors.toList());
-		if (victimSegments.size() > 0){
+		boolean hasFemaleVictim = incident.getVictimOffenseLinks()
+			.stream().filter(link->Objects.equals(link.getOffenseSegmentId(), offense.getOffenseSegmentId()))
+			.anyMatch(link->"F".equals(link.getSexOfPersonCode()));
+		if (hasFemaleVictim){
 			switch (offense.getOffenseAttemptedCompleted()){
 			case "C": 
 				returnARowName = ReturnARowName.RAPE_BY_FORCE;
@@ -890,21 +895,21 @@ public class ReturnAFormService {
 		return returnARowName;
 	}
 
-	private List<OffenseSegment> getReturnAOffenses(AdministrativeSegment administrativeSegment) {
-		List<OffenseSegment> offenses = new ArrayList<>(); 
+	private List<OffenseSummary> getReturnAOffenses(IncidentSummary incident) {
+		List<OffenseSummary> offenses = new ArrayList<>(); 
 		
-		OffenseSegment reportingOffense = null; 
+		OffenseSummary reportingOffense = null; 
 		Integer reportingOffenseValue = 99; 
-		for (OffenseSegment offense: administrativeSegment.getOffenseSegments()){
+		for (OffenseSummary offense: incident.getOffenses()){
 			if (!Arrays.asList("A", "C").contains(offense.getOffenseAttemptedCompleted())){
 				continue;
 			}
 			
-			if (offense.getUcrOffenseCodeType().getNibrsCode().equals(OffenseCode._09C.code)){
+			if (OffenseCode._09C.code.equals(offense.getUcrOffenseCode())){
 				offenses.add(offense);
 				continue;
 			}
-			Integer offenseValue = Optional.ofNullable(partIOffensesMap.get(offense.getUcrOffenseCodeType().getNibrsCode())).orElse(99); 
+			Integer offenseValue = Optional.ofNullable(partIOffensesMap.get(offense.getUcrOffenseCode())).orElse(99); 
 			
 			if (offenseValue < reportingOffenseValue){
 				reportingOffense = offense; 
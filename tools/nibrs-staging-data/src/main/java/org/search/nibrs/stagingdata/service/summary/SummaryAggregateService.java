@@ -0,0 +1,585 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service.summary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import javax.transaction.Transactional;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.search.nibrs.model.reports.PropertyStolenByClassification;
+import org.search.nibrs.model.reports.PropertyStolenByClassificationRowName;
+import org.search.nibrs.model.reports.PropertyTypeValue;
+import org.search.nibrs.model.reports.PropertyTypeValueRowName;
+import org.search.nibrs.model.reports.ReturnAForm;
+import org.search.nibrs.model.reports.ReturnAFormRow;
+import org.search.nibrs.model.reports.ReturnARowName;
+import org.search.nibrs.model.reports.asr.AsrAdult;
+import org.search.nibrs.model.reports.asr.AsrAdultRow;
+import org.search.nibrs.model.reports.asr.AsrAdultRow.AdultAgeGroup;
+import org.search.nibrs.model.reports.asr.AsrAdultRow.Ethnicity;
+import org.search.nibrs.model.reports.asr.AsrAdultRow.Race;
+import org.search.nibrs.model.reports.asr.AsrAdultRowName;
+import org.search.nibrs.stagingdata.model.SummaryAggregate;
+import org.search.nibrs.stagingdata.model.summary.ArresteeSummary;
+import org.search.nibrs.stagingdata.model.summary.IncidentSummary;
+import org.search.nibrs.stagingdata.repository.SummaryAggregateLock;
+import org.search.nibrs.stagingdata.repository.SummaryAggregateRepository;
+import org.search.nibrs.stagingdata.repository.segment.AdministrativeSegmentRepository;
+import org.search.nibrs.stagingdata.service.AdministrativeSegmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the Return A and ASR adult counts of each ORI and month in the SummaryAggregate table, and builds the summary 
+ * forms from them.  The counts of the administrative segments are added when the segments are saved and subtracted 
+ * before they are deleted, so the forms read only the aggregate cells instead of the segments. 
+ * <br/>
+ * The aggregates are written under the {@link SummaryAggregateLock}, so two transactions never both insert the first row of 
+ * a cell.  The aggregates of the segments stored before they were kept are backfilled when the application starts. 
+ */
+@Service
+public class SummaryAggregateService {
+	private static final Log log = LogFactory.getLog(SummaryAggregateService.class);
+	private static final Comparator<String> ORI_ORDER = Comparator.nullsFirst(Comparator.naturalOrder()); 
+	
+	public static final String RETURN_A = "RETURN_A";
+	public static final String ASR_ADULT = "ASR_ADULT";
+	
+	private static final String ROWS = "ROWS";
+	private static final String PROPERTY_STOLEN_BY_CLASSIFICATIONS = "PROPERTY_STOLEN_BY_CLASSIFICATIONS";
+	private static final String PROPERTY_TYPE_VALUES = "PROPERTY_TYPE_VALUES";
+	private static final String MALE_AGE_GROUPS = "MALE_AGE_GROUPS";
+	private static final String FEMALE_AGE_GROUPS = "FEMALE_AGE_GROUPS";
+	private static final String RACE_GROUPS = "RACE_GROUPS";
+	private static final String ETHNICITY_GROUPS = "ETHNICITY_GROUPS";
+	
+	private static final String REPORTED_OFFENSES = "REPORTED_OFFENSES";
+	private static final String UNFOUNDED_OFFENSES = "UNFOUNDED_OFFENSES";
+	private static final String CLEARED_OFFENSES = "CLEARED_OFFENSES";
+	private static final String CLEARANCE_INVOLVING_ONLY_JUVENILE = "CLEARANCE_INVOLVING_ONLY_JUVENILE";
+	private static final String NUMBER_OF_OFFENSES = "NUMBER_OF_OFFENSES";
+	private static final String MONETARY_VALUE = "MONETARY_VALUE";
+	private static final String STOLEN = "STOLEN";
+	private static final String RECOVERED = "RECOVERED";
+	
+	@Autowired
+	AdministrativeSegmentService administrativeSegmentService;
+	@Autowired
+	AdministrativeSegmentRepository administrativeSegmentRepository;
+	@Autowired
+	SummaryAggregateRepository summaryAggregateRepository;
+	@Autowired
+	ReturnAFormService returnAFormService;
+	@Autowired
+	AsrFormService asrFormService;
+	@Autowired
+	SummaryFormCache summaryFormCache;
+	@Autowired
+	SummaryAggregateLock summaryAggregateLock;
+	@Autowired
+	public PlatformTransactionManager transactionManager;
+	
+	/**
+	 * The cached form, or the form built from the aggregates when it is not cached. 
+	 */
+	public ReturnAForm createReturnASummaryReport(String ori, Integer year, Integer month){
+		return summaryFormCache.get(new SummaryFormKey(RETURN_A, ori, year, month), 
+				() -> sumReturnASummaryReport(ori, year, month));
+	}
+	
+	/**
+	 * The cached form, or the form built from the aggregates when it is not cached. 
+	 */
+	public AsrAdult createAsrAdultSummaryReport(String ori, Integer arrestYear, Integer arrestMonth){
+		return summaryFormCache.get(new SummaryFormKey(ASR_ADULT, ori, arrestYear, arrestMonth), 
+				() -> sumAsrAdultSummaryReport(ori, arrestYear, arrestMonth));
+	}
+	
+	private ReturnAForm sumReturnASummaryReport(String ori, Integer year, Integer month){
+		ReturnAForm returnAForm = new ReturnAForm(ori, year, month); 
+		
+		if (!returnAFormService.fillTheAgencyInformation(returnAForm)){
+			return returnAForm; 
+		}
+		
+		for (SummaryAggregate summaryAggregate: findSummaryAggregates(RETURN_A, ori, year, month)){
+			addToReturnAForm(returnAForm, summaryAggregate);
+		}
+		returnAFormService.fillTheTotalRows(returnAForm);
+		
+		return returnAForm; 
+	}
+	
+	private AsrAdult sumAsrAdultSummaryReport(String ori, Integer arrestYear, Integer arrestMonth){
+		AsrAdult asrAdult = new AsrAdult(ori, arrestYear, arrestMonth); 
+		
+		if (!asrFormService.fillTheAgencyInformation(asrAdult)){
+			return asrAdult; 
+		}
+		
+		for (SummaryAggregate summaryAggregate: findSummaryAggregates(ASR_ADULT, ori, arrestYear, arrestMonth)){
+			addToAsrAdult(asrAdult, summaryAggregate);
+		}
+		
+		return asrAdult; 
+	}
+	
+	private List<SummaryAggregate> findSummaryAggregates(String summaryForm, String ori, Integer year, Integer month){
+		if ("StateWide".equalsIgnoreCase(ori)){
+			ori = null;
+		}
+		return summaryAggregateRepository.sumBySummaryFormAndOriAndYearAndMonth(summaryForm, ori, year, month);
+	}
+	
+	/**
+	 * Adds the counts of the saved administrative segments to the aggregates, and invalidates the cached forms they are 
+	 * counted in. 
+	 */
+	@Transactional
+	public void addAdministrativeSegments(List<Integer> administrativeSegmentIds){
+		updateSummaryAggregates(administrativeSegmentIds, 1, key -> true);
+	}
+	
+	/**
+	 * Subtracts the counts of the administrative segments from the aggregates, and invalidates the cached forms they 
+	 * are counted in.  It must be called before the segments are deleted. 
+	 */
+	@Transactional
+	public void subtractAdministrativeSegments(List<Integer> administrativeSegmentIds){
+		updateSummaryAggregates(administrativeSegmentIds, -1, key -> true);
+	}
+	
+	/**
+	 * Recounts the aggregates of every ORI from the stored segments, see {@link #rebuildSummaryAggregates(String)}. 
+	 * 
+	 * @return the number of ORI months recounted
+	 */
+	public long rebuildSummaryAggregates(){
+		Set<String> oris = new TreeSet<>(ORI_ORDER); 
+		oris.addAll(administrativeSegmentRepository.findDistinctOris()); 
+		oris.addAll(summaryAggregateRepository.findDistinctOris()); 
+		
+		long count = 0; 
+		for (String ori: oris){
+			count += rebuildSummaryAggregates(ori); 
+		}
+		log.info("Rebuilt the summary aggregates of " + count + " months of " + oris.size() + " ORIs");
+		return count; 
+	}
+	
+	/**
+	 * Backfills the aggregates of the ORIs whose segments are stored but not aggregated, e.g. the segments saved before 
+	 * the aggregates were kept, before the forms are read from them.  An ORI none of whose segments is counted in the 
+	 * forms is recounted at each start. 
+	 */
+	@EventListener(ContextRefreshedEvent.class)
+	public void backfillSummaryAggregates(){
+		Set<String> oris = new TreeSet<>(ORI_ORDER); 
+		oris.addAll(administrativeSegmentRepository.findDistinctOris()); 
+		oris.removeAll(summaryAggregateRepository.findDistinctOris()); 
+		
+		for (String ori: oris){
+			log.info("Backfilling the summary aggregates of the ORI " + ori);
+			rebuildSummaryAggregates(ori); 
+		}
+	}
+	
+	/**
+	 * Recounts the aggregates of the ORI, or of the segments without an ORI when the ORI is null, from the stored 
+	 * segments.  Each month of the ORI is deleted and recounted in a transaction of its own under the 
+	 * {@link SummaryAggregateLock}, so the segments saved meanwhile are counted once, and a failure leaves the months 
+	 * already recounted in place. 
+	 * 
+	 * @return the number of months recounted
+	 */
+	public int rebuildSummaryAggregates(String ori){
+		Set<SummaryAggregateKey> keys = new LinkedHashSet<>(); 
+		for (Object[] yearAndMonth: summaryAggregateRepository.findYearsAndMonthsOfOri(ori)){
+			keys.add(new SummaryAggregateKey(ori, (Integer) yearAndMonth[0], (Integer) yearAndMonth[1])); 
+		}
+		
+		Integer afterId = 0; 
+		List<Integer> ids; 
+		do {
+			ids = administrativeSegmentRepository.findIdsOfOriAfterId(afterId, ori, 
+					new PageRequest(0, AdministrativeSegmentService.SUMMARY_BATCH_SIZE));
+			if (!ids.isEmpty()){
+				administrativeSegmentService.findIncidentSummaries(ids)
+					.forEach(incident -> keys.addAll(getSummaryAggregateKeys(incident)));
+				afterId = ids.get(ids.size() - 1);
+			}
+		} while (ids.size() == AdministrativeSegmentService.SUMMARY_BATCH_SIZE);
+		
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		for (SummaryAggregateKey key: keys){
+			transactionTemplate.execute(status -> recountSummaryAggregates(key)); 
+		}
+		
+		log.debug("Rebuilt the summary aggregates of " + keys.size() + " months of the ORI " + ori);
+		return keys.size(); 
+	}
+	
+	private int recountSummaryAggregates(SummaryAggregateKey key){
+		summaryAggregateLock.lock();
+		summaryAggregateRepository.deleteByOriAndYearAndMonth(key.ori, key.year, key.month);
+		summaryFormCache.invalidate(Arrays.asList(new SummaryFormKey(RETURN_A, key.ori, key.year, key.month), 
+				new SummaryFormKey(ASR_ADULT, key.ori, key.year, key.month)));
+		
+		int count = 0; 
+		Integer afterId = 0; 
+		List<Integer> ids; 
+		do {
+			ids = administrativeSegmentRepository.findIdsOfOriAfterIdBySummaryDate(afterId, key.ori, key.year, key.month, 
+					new PageRequest(0, AdministrativeSegmentService.SUMMARY_BATCH_SIZE));
+			if (!ids.isEmpty()){
+				updateSummaryAggregates(ids, 1, key::equals);
+				afterId = ids.get(ids.size() - 1);
+				count += ids.size(); 
+			}
+		} while (ids.size() == AdministrativeSegmentService.SUMMARY_BATCH_SIZE);
+		
+		return count; 
+	}
+	
+	/**
+	 * Adds the counts of the segments, multiplied by the sign, to the aggregates of the keys the key filter accepts. 
+	 */
+	private void updateSummaryAggregates(List<Integer> administrativeSegmentIds, int sign, Predicate<SummaryAggregateKey> keyFilter){
+		if (administrativeSegmentIds.isEmpty()){
+			return; 
+		}
+		
+		summaryAggregateLock.lock();
+		List<IncidentSummary> incidents = administrativeSegmentService.findIncidentSummaries(administrativeSegmentIds);
+		
+		Map<SummaryAggregateKey, List<IncidentSummary>> reportedIncidents = new HashMap<>(); 
+		Map<SummaryAggregateKey, List<IncidentSummary>> clearedIncidents = new HashMap<>(); 
+		Map<SummaryAggregateKey, List<ArresteeSummary>> arrestees = new HashMap<>(); 
+		
+		for (IncidentSummary incident: incidents){
+			if (incident.getIncidentYear() != null){
+				addToGroup(reportedIncidents, keyFilter, new SummaryAggregateKey(incident.getOri(), incident.getIncidentYear(), incident.getIncidentMonth()), incident);
+				addToGroup(reportedIncidents, keyFilter, new SummaryAggregateKey(incident.getOri(), incident.getIncidentYear(), 0), incident);
+			}
+			
+			for (SummaryAggregateKey key: getClearanceKeys(incident)){
+				addToGroup(clearedIncidents, keyFilter, key, incident);
+			}
+			
+			for (ArresteeSummary arrestee: incident.getArrestees()){
+				if (arrestee.getArrestYear() != null && arrestee.getArrestMonth() != null){
+					addToGroup(arrestees, keyFilter, new SummaryAggregateKey(incident.getOri(), arrestee.getArrestYear(), arrestee.getArrestMonth()), arrestee);
+				}
+			}
+		}
+		
+		Map<SummaryAggregateKey, ReturnAForm> returnAForms = new HashMap<>(); 
+		reportedIncidents.forEach((key, group) -> 
+			returnAFormService.countReportedOffenses(group, returnAForms.computeIfAbsent(key, SummaryAggregateKey::newReturnAForm)));
+		clearedIncidents.forEach((key, group) -> 
+			returnAFormService.countOffenseClearances(group, returnAForms.computeIfAbsent(key, SummaryAggregateKey::newReturnAForm)));
+		returnAForms.forEach((key, returnAForm) -> saveSummaryAggregates(RETURN_A, key, getSummaryAggregates(returnAForm), sign));
+		summaryFormCache.invalidate(returnAForms.keySet().stream()
+				.map(key -> new SummaryFormKey(RETURN_A, key.ori, key.year, key.month))
+				.collect(Collectors.toList()));
+		
+		Map<Integer, IncidentSummary> incidentMap = incidents.stream()
+				.collect(Collectors.toMap(IncidentSummary::getAdministrativeSegmentId, Function.identity())); 
+		arrestees.forEach((key, group) -> {
+			AsrAdult asrAdult = new AsrAdult(key.ori, key.year, key.month); 
+			asrFormService.countGroupAArrestees(group, incidentMap, asrAdult);
+			saveSummaryAggregates(ASR_ADULT, key, getSummaryAggregates(asrAdult), sign);
+		});
+		summaryFormCache.invalidate(arrestees.keySet().stream()
+				.map(key -> new SummaryFormKey(ASR_ADULT, key.ori, key.year, key.month))
+				.collect(Collectors.toList()));
+	}
+	
+	/**
+	 * An incident is cleared in the month of its exceptional clearance and in the months of its arrests, and once in 
+	 * each of the years of those months. 
+	 */
+	private Set<SummaryAggregateKey> getClearanceKeys(IncidentSummary incident){
+		Set<SummaryAggregateKey> keys = new LinkedHashSet<>(); 
+		if (incident.getExceptionalClearanceYear() != null && incident.getExceptionalClearanceMonth() != null){
+			keys.add(new SummaryAggregateKey(incident.getOri(), incident.getExceptionalClearanceYear(), incident.getExceptionalClearanceMonth()));
+		}
+		for (ArresteeSummary arrestee: incident.getArrestees()){
+			if (arrestee.getArrestYear() != null && arrestee.getArrestMonth() != null){
+				keys.add(new SummaryAggregateKey(incident.getOri(), arrestee.getArrestYear(), arrestee.getArrestMonth()));
+			}
+		}
+		
+		Set<SummaryAggregateKey> yearKeys = keys.stream()
+				.map(key -> new SummaryAggregateKey(key.ori, key.year, 0))
+				.collect(Collectors.toSet()); 
+		keys.addAll(yearKeys);
+		return keys; 
+	}
+	
+	/**
+	 * The keys of the months and years the incident is reported or cleared in. 
+	 */
+	private Set<SummaryAggregateKey> getSummaryAggregateKeys(IncidentSummary incident){
+		Set<SummaryAggregateKey> keys = new LinkedHashSet<>(); 
+		if (incident.getIncidentYear() != null){
+			keys.add(new SummaryAggregateKey(incident.getOri(), incident.getIncidentYear(), incident.getIncidentMonth()));
+			keys.add(new SummaryAggregateKey(incident.getOri(), incident.getIncidentYear(), 0));
+		}
+		keys.addAll(getClearanceKeys(incident));
+		return keys; 
+	}
+	
+	private <T> void addToGroup(Map<SummaryAggregateKey, List<T>> groups, Predicate<SummaryAggregateKey> keyFilter, 
+			SummaryAggregateKey key, T member){
+		if (keyFilter.test(key)){
+			groups.computeIfAbsent(key, k -> new ArrayList<>()).add(member);
+		}
+	}
+	
+	private void saveSummaryAggregates(String summaryForm, SummaryAggregateKey key, List<SummaryAggregate> increments, int sign){
+		if (increments.isEmpty()){
+			return; 
+		}
+		
+		// rows of the same cell, e.g. written before the cells were unique, are merged into one 
+		List<SummaryAggregate> changedSummaryAggregates = new ArrayList<>(); 
+		List<SummaryAggregate> emptySummaryAggregates = new ArrayList<>(); 
+		Map<String, SummaryAggregate> summaryAggregates = 
+				summaryAggregateRepository.findBySummaryFormAndOriAndYearAndMonth(summaryForm, key.ori, key.year, key.month)
+				.stream()
+				.collect(Collectors.toMap(this::getCellName, Function.identity(), (summaryAggregate, duplicate) -> {
+					summaryAggregate.setAggregateValue(summaryAggregate.getAggregateValue() + duplicate.getAggregateValue());
+					emptySummaryAggregates.add(duplicate);
+					return summaryAggregate; 
+				})); 
+		Set<SummaryAggregate> mergedSummaryAggregates = emptySummaryAggregates.stream()
+				.map(duplicate -> summaryAggregates.get(getCellName(duplicate)))
+				.collect(Collectors.toSet()); 
+		
+		for (SummaryAggregate increment: increments){
+			SummaryAggregate summaryAggregate = summaryAggregates.get(getCellName(increment)); 
+			mergedSummaryAggregates.remove(summaryAggregate); 
+			if (summaryAggregate == null){
+				summaryAggregate = new SummaryAggregate(key.ori, key.year, key.month, summaryForm, 
+						increment.getSection(), increment.getRowName(), increment.getColumnName(), 0.0);
+			}
+			
+			summaryAggregate.setAggregateValue(summaryAggregate.getAggregateValue() + sign * increment.getAggregateValue());
+			if (Math.abs(summaryAggregate.getAggregateValue()) < 0.005){
+				if (summaryAggregate.getSummaryAggregateId() != null){
+					emptySummaryAggregates.add(summaryAggregate);
+				}
+			}
+			else{
+				changedSummaryAggregates.add(summaryAggregate);
+			}
+		}
+		
+		for (SummaryAggregate summaryAggregate: mergedSummaryAggregates){
+			if (Math.abs(summaryAggregate.getAggregateValue()) < 0.005){
+				emptySummaryAggregates.add(summaryAggregate);
+			}
+			else{
+				changedSummaryAggregates.add(summaryAggregate);
+			}
+		}
+		
+		summaryAggregateRepository.save(changedSummaryAggregates);
+		summaryAggregateRepository.delete(emptySummaryAggregates);
+	}
+	
+	private String getCellName(SummaryAggregate summaryAggregate){
+		return summaryAggregate.getSection() + "." + summaryAggregate.getRowName() + "." + summaryAggregate.getColumnName(); 
+	}
+	
+	private List<SummaryAggregate> getSummaryAggregates(ReturnAForm returnAForm){
+		List<SummaryAggregate> summaryAggregates = new ArrayList<>(); 
+		
+		for (ReturnARowName rowName: ReturnARowName.values()){
+			ReturnAFormRow row = returnAForm.getRows()[rowName.ordinal()]; 
+			addSummaryAggregate(summaryAggregates, ROWS, rowName.name(), REPORTED_OFFENSES, row.getReportedOffenses());
+			addSummaryAggregate(summaryAggregates, ROWS, rowName.name(), UNFOUNDED_OFFENSES, row.getUnfoundedOffenses());
+			addSummaryAggregate(summaryAggregates, ROWS, rowName.name(), CLEARED_OFFENSES, row.getClearedOffenses());
+			addSummaryAggregate(summaryAggregates, ROWS, rowName.name(), CLEARANCE_INVOLVING_ONLY_JUVENILE, row.getClearanceInvolvingOnlyJuvenile());
+		}
+		
+		for (PropertyStolenByClassificationRowName rowName: PropertyStolenByClassificationRowName.values()){
+			PropertyStolenByClassification row = returnAForm.getPropertyStolenByClassifications()[rowName.ordinal()]; 
+			addSummaryAggregate(summaryAggregates, PROPERTY_STOLEN_BY_CLASSIFICATIONS, rowName.name(), NUMBER_OF_OFFENSES, row.getNumberOfOffenses());
+			addSummaryAggregate(summaryAggregates, PROPERTY_STOLEN_BY_CLASSIFICATIONS, rowName.name(), MONETARY_VALUE, row.getMonetaryValue());
+		}
+		
+		for (PropertyTypeValueRowName rowName: PropertyTypeValueRowName.values()){
+			PropertyTypeValue row = returnAForm.getPropertyTypeValues()[rowName.ordinal()]; 
+			addSummaryAggregate(summaryAggregates, PROPERTY_TYPE_VALUES, rowName.name(), STOLEN, row.getStolen());
+			addSummaryAggregate(summaryAggregates, PROPERTY_TYPE_VALUES, rowName.name(), RECOVERED, row.getRecovered());
+		}
+		
+		return summaryAggregates;
+	}
+	
+	private List<SummaryAggregate> getSummaryAggregates(AsrAdult asrAdult){
+		List<SummaryAggregate> summaryAggregates = new ArrayList<>(); 
+		
+		for (AsrAdultRowName rowName: AsrAdultRowName.values()){
+			AsrAdultRow row = asrAdult.getRows()[rowName.ordinal()]; 
+			for (AdultAgeGroup ageGroup: AdultAgeGroup.values()){
+				addSummaryAggregate(summaryAggregates, MALE_AGE_GROUPS, rowName.name(), ageGroup.name(), row.getMaleAgeGroups()[ageGroup.ordinal()]);
+				addSummaryAggregate(summaryAggregates, FEMALE_AGE_GROUPS, rowName.name(), ageGroup.name(), row.getFemaleAgeGroups()[ageGroup.ordinal()]);
+			}
+			for (Race race: Race.values()){
+				addSummaryAggregate(summaryAggregates, RACE_GROUPS, rowName.name(), race.name(), row.getRaceGroups()[race.ordinal()]);
+			}
+			for (Ethnicity ethnicity: Ethnicity.values()){
+				addSummaryAggregate(summaryAggregates, ETHNICITY_GROUPS, rowName.name(), ethnicity.name(), row.getEthnicityGroups()[ethnicity.ordinal()]);
+			}
+		}
+		
+		return summaryAggregates;
+	}
+	
+	private void addSummaryAggregate(List<SummaryAggregate> summaryAggregates, String section, String rowName, String columnName, double value){
+		if (value != 0){
+			summaryAggregates.add(new SummaryAggregate(section, rowName, columnName, value));
+		}
+	}
+	
+	private void addToReturnAForm(ReturnAForm returnAForm, SummaryAggregate summaryAggregate){
+		double value = summaryAggregate.getAggregateValue(); 
+		int count = (int) Math.round(value); 
+		
+		switch (summaryAggregate.getSection()){
+		case ROWS: 
+			ReturnAFormRow row = returnAForm.getRows()[ReturnARowName.valueOf(summaryAggregate.getRowName()).ordinal()];
+			switch (summaryAggregate.getColumnName()){
+			case REPORTED_OFFENSES: 
+				row.increaseReportedOffenses(count);
+				break; 
+			case UNFOUNDED_OFFENSES: 
+				row.increaseUnfoundedOffenses(count);
+				break; 
+			case CLEARED_OFFENSES: 
+				row.increaseClearedOffenses(count);
+				break; 
+			case CLEARANCE_INVOLVING_ONLY_JUVENILE: 
+				row.increaseClearanceInvolvingOnlyJuvenile(count);
+				break; 
+			default: 
+			}
+			break; 
+		case PROPERTY_STOLEN_BY_CLASSIFICATIONS: 
+			PropertyStolenByClassification propertyStolenByClassification = returnAForm.getPropertyStolenByClassifications()
+				[PropertyStolenByClassificationRowName.valueOf(summaryAggregate.getRowName()).ordinal()];
+			switch (summaryAggregate.getColumnName()){
+			case NUMBER_OF_OFFENSES: 
+				propertyStolenByClassification.increaseNumberOfOffenses(count);
+				break; 
+			case MONETARY_VALUE: 
+				propertyStolenByClassification.increaseMonetaryValue(value);
+				break; 
+			default: 
+			}
+			break; 
+		case PROPERTY_TYPE_VALUES: 
+			PropertyTypeValue propertyTypeValue = returnAForm.getPropertyTypeValues()
+				[PropertyTypeValueRowName.valueOf(summaryAggregate.getRowName()).ordinal()];
+			switch (summaryAggregate.getColumnName()){
+			case STOLEN: 
+				propertyTypeValue.increaseStolen(value);
+				break; 
+			case RECOVERED: 
+				propertyTypeValue.increaseRecovered(value);
+				break; 
+			default: 
+			}
+			break; 
+		default: 
+			log.warn("Unknown Return A aggregate section " + summaryAggregate.getSection());
+		}
+	}
+	
+	private void addToAsrAdult(AsrAdult asrAdult, SummaryAggregate summaryAggregate){
+		AsrAdultRow row = asrAdult.getRows()[AsrAdultRowName.valueOf(summaryAggregate.getRowName()).ordinal()];
+		int count = (int) Math.round(summaryAggregate.getAggregateValue()); 
+		
+		switch (summaryAggregate.getSection()){
+		case MALE_AGE_GROUPS: 
+			row.getMaleAgeGroups()[AdultAgeGroup.valueOf(summaryAggregate.getColumnName()).ordinal()] += count;
+			break; 
+		case FEMALE_AGE_GROUPS: 
+			row.getFemaleAgeGroups()[AdultAgeGroup.valueOf(summaryAggregate.getColumnName()).ordinal()] += count;
+			break; 
+		case RACE_GROUPS: 
+			row.getRaceGroups()[Race.valueOf(summaryAggregate.getColumnName()).ordinal()] += count;
+			break; 
+		case ETHNICITY_GROUPS: 
+			row.getEthnicityGroups()[Ethnicity.valueOf(summaryAggregate.getColumnName()).ordinal()] += count;
+			break; 
+		default: 
+			log.warn("Unknown ASR adult aggregate section " + summaryAggregate.getSection());
+		}
+	}
+	
+	private static final class SummaryAggregateKey {
+		private final String ori; 
+		private final Integer year; 
+		private final Integer month; 
+		
+		private SummaryAggregateKey(String ori, Integer year, Integer month) {
+			this.ori = ori;
+			this.year = year;
+			this.month = month;
+		}
+		
+		private ReturnAForm newReturnAForm(){
+			return new ReturnAForm(ori, year, month); 
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof SummaryAggregateKey)){
+				return false;
+			}
+			SummaryAggregateKey other = (SummaryAggregateKey) obj;
+			return Objects.equals(ori, other.ori) && Objects.equals(year, other.year) && Objects.equals(month, other.month);
+		}
+		
+		@Override
+		public int hashCode() {
+			return Objects.hash(ori, year, month);
+		}
+	}
+}
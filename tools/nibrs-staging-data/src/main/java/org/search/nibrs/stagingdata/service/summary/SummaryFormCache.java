@@ -0,0 +1,143 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service.summary;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.search.nibrs.stagingdata.AppProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Holds the summary forms computed for an ORI, year and month, up to appProperties.summaryFormCacheSize forms.  The 
+ * least recently read form is evicted first.  The writers invalidate the forms their segments are counted in, and the 
+ * cached forms are shared by the readers, so they must not be modified. 
+ */
+@Service
+public class SummaryFormCache {
+	private static final Log log = LogFactory.getLog(SummaryFormCache.class);
+	
+	@Autowired
+	public AppProperties appProperties; 
+	
+	private final Map<SummaryFormKey, Object> summaryForms = new LinkedHashMap<SummaryFormKey, Object>(16, 0.75f, true){
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<SummaryFormKey, Object> eldest) {
+			if (size() > appProperties.getSummaryFormCacheSize()){
+				evictionCount++;
+				return true; 
+			}
+			return false;
+		}
+	};
+	
+	private long hitCount = 0; 
+	private long missCount = 0; 
+	private long evictionCount = 0; 
+	private long invalidationCount = 0; 
+	
+	/*
+	 * Counts the invalidations, so that a form computed while its segments changed is not cached. 
+	 */
+	private long generation = 0; 
+	
+	/**
+	 * The cached form of the key, or the form the loader computes, which is cached. 
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(SummaryFormKey key, Supplier<T> loader){
+		long loadGeneration; 
+		synchronized (this) {
+			T summaryForm = (T) summaryForms.get(key);
+			if (summaryForm != null){
+				hitCount++;
+				return summaryForm; 
+			}
+			missCount++;
+			loadGeneration = generation; 
+		}
+		
+		T summaryForm = loader.get(); 
+		
+		synchronized (this) {
+			if (loadGeneration == generation){
+				summaryForms.put(key, summaryForm);
+			}
+		}
+		return summaryForm; 
+	}
+	
+	/**
+	 * Invalidates the forms of the keys, the forms of the whole years of the keys, and the same forms of the StateWide 
+	 * ORI.  In a transaction the forms are invalidated again after the commit, since a form read before the commit is 
+	 * counted from the old segments. 
+	 */
+	public void invalidate(Collection<SummaryFormKey> keys){
+		Set<SummaryFormKey> affectedKeys = new LinkedHashSet<>(); 
+		for (SummaryFormKey key: keys){
+			affectedKeys.add(key);
+			affectedKeys.add(new SummaryFormKey(key.getSummaryForm(), key.getOri(), key.getYear(), 0));
+			affectedKeys.add(new SummaryFormKey(key.getSummaryForm(), SummaryFormKey.STATE_WIDE, key.getYear(), key.getMonth()));
+			affectedKeys.add(new SummaryFormKey(key.getSummaryForm(), SummaryFormKey.STATE_WIDE, key.getYear(), 0));
+		}
+		
+		if (affectedKeys.isEmpty()){
+			return; 
+		}
+		
+		removeAll(affectedKeys);
+		if (TransactionSynchronizationManager.isSynchronizationActive()){
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCommit() {
+					removeAll(affectedKeys);
+				}
+			});
+		}
+	}
+	
+	private synchronized void removeAll(Set<SummaryFormKey> keys){
+		generation++; 
+		for (SummaryFormKey key: keys){
+			if (summaryForms.remove(key) != null){
+				invalidationCount++; 
+			}
+		}
+		log.debug("Invalidated the summary forms " + keys);
+	}
+	
+	public synchronized void invalidateAll(){
+		generation++; 
+		invalidationCount += summaryForms.size(); 
+		summaryForms.clear();
+	}
+	
+	public synchronized SummaryFormCacheStatistics getStatistics(){
+		return new SummaryFormCacheStatistics(hitCount, missCount, evictionCount, invalidationCount, summaryForms.size(), 
+				appProperties.getSummaryFormCacheSize());
+	}
+}
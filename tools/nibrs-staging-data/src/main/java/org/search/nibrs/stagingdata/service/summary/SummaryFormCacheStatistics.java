@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service.summary;
+
+/**
+ * The counters of the SummaryFormCache since the application started. 
+ */
+public class SummaryFormCacheStatistics {
+	
+	private final long hitCount; 
+	private final long missCount; 
+	private final long evictionCount; 
+	private final long invalidationCount; 
+	private final int size; 
+	private final int maximumSize; 
+	
+	public SummaryFormCacheStatistics(long hitCount, long missCount, long evictionCount, long invalidationCount, int size,
+			int maximumSize) {
+		this.hitCount = hitCount;
+		this.missCount = missCount;
+		this.evictionCount = evictionCount;
+		this.invalidationCount = invalidationCount;
+		this.size = size;
+		this.maximumSize = maximumSize;
+	}
+
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getMissCount() {
+		return missCount;
+	}
+
+	public long getRequestCount() {
+		return hitCount + missCount;
+	}
+	
+	/**
+	 * The share of the requests served from the cache, 0 before the first request. 
+	 */
+	public double getHitRate() {
+		return getRequestCount() == 0 ? 0.0 : (double) hitCount / getRequestCount();
+	}
+
+	public long getEvictionCount() {
+		return evictionCount;
+	}
+
+	public long getInvalidationCount() {
+		return invalidationCount;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	@Override
+	public String toString() {
+		return "SummaryFormCacheStatistics [hitCount=" + hitCount + ", missCount=" + missCount + ", hitRate=" + getHitRate()
+				+ ", evictionCount=" + evictionCount + ", invalidationCount=" + invalidationCount + ", size=" + size
+				+ ", maximumSize=" + maximumSize + "]";
+	}
+}
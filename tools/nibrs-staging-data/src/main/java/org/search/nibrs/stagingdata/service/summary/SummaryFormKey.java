@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service.summary;
+
+import java.util.Objects;
+
+/**
+ * The summary form of an ORI, year and month held by the SummaryFormCache.  The StateWide ORI is matched in any case. 
+ */
+public final class SummaryFormKey {
+	
+	public static final String STATE_WIDE = "StateWide";
+	
+	private final String summaryForm; 
+	private final String ori; 
+	private final Integer year; 
+	private final Integer month; 
+	
+	public SummaryFormKey(String summaryForm, String ori, Integer year, Integer month) {
+		this.summaryForm = summaryForm;
+		this.ori = STATE_WIDE.equalsIgnoreCase(ori) ? STATE_WIDE : ori;
+		this.year = year;
+		this.month = month;
+	}
+
+	public String getSummaryForm() {
+		return summaryForm;
+	}
+
+	public String getOri() {
+		return ori;
+	}
+
+	public Integer getYear() {
+		return year;
+	}
+
+	public Integer getMonth() {
+		return month;
+	}
+	
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof SummaryFormKey)){
+			return false;
+		}
+		SummaryFormKey other = (SummaryFormKey) obj;
+		return Objects.equals(summaryForm, other.summaryForm) && Objects.equals(ori, other.ori) 
+				&& Objects.equals(year, other.year) && Objects.equals(month, other.month);
+	}
+	
+	@Override
+	public int hashCode() {
+		return Objects.hash(summaryForm, ori, year, month);
+	}
+
+	@Override
+	public String toString() {
+		return "SummaryFormKey [summaryForm=" + summaryForm + ", ori=" + ori + ", year=" + year + ", month=" + month + "]";
+	}
+}
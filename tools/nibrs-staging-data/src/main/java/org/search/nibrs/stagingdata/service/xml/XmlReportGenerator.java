@@ -22,7 +22,10 @@ import static org.search.nibrs.xml.NibrsNamespaceContext.Namespace.J;
 import static org.search.nibrs.xml.NibrsNamespaceContext.Namespace.NC;
 import static org.search.nibrs.xml.NibrsNamespaceContext.Namespace.NIBRS;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
@@ -37,6 +40,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.BooleanUtils;
@@ -163,7 +167,7 @@ public class XmlReportGenerator {
 			Document document = this.createGroupAIncidentReport(administrativeSegment);
 			
 			String fileName = appProperties.getNibrsNiemDocumentFolder() + "/GroupAIncident" + administrativeSegment.getIncidentNumber() + "-" + LocalDateTime.now().format(formatter) + ".xml";
-			FileUtils.writeStringToFile(new File(fileName), XmlUtils.nodeToString(document), "UTF-8");
+			writeDocument(document, fileName);
 		}
 		catch (Exception e) {
 			log.error("Failed to generate and write the report for GroupA Incident:\n " + administrativeSegment);
@@ -185,7 +189,7 @@ public class XmlReportGenerator {
 				
 				String fileName = appProperties.getNibrsNiemDocumentFolder() + "/GroupBArrestReport" + arrestReportSegment.getArrestTransactionNumber() + "-" + LocalDateTime.now().format(formatter) + ".xml";
 				
-				FileUtils.writeStringToFile(new File(fileName), XmlUtils.nodeToString(document), "UTF-8");			
+				writeDocument(document, fileName);
 			}
 			catch (Exception e) {
 				log.error("Failed to generate and write the report for Group B Arrest Report:\n " + arrestReportSegment);
@@ -194,6 +198,12 @@ public class XmlReportGenerator {
 		}
 	}
 
+	private void writeDocument(Document document, String fileName) throws IOException, TransformerException {
+		try (OutputStream outputStream = new BufferedOutputStream(FileUtils.openOutputStream(new File(fileName)))) {
+			XmlUtils.writeNode(document, outputStream);
+		}
+	}
+
 	public Document createGroupAIncidentReport(AdministrativeSegment administrativeSegment) throws ParserConfigurationException {
 		Document document = XmlUtils.createNewDocument();
 		Element submissionElement = XmlUtils.appendChildElement(document, NIBRS, "Submission");
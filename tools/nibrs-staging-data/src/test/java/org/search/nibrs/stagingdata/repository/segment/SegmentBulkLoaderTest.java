@@ -0,0 +1,701 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.repository.segment;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Date;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.search.nibrs.stagingdata.model.AdditionalJustifiableHomicideCircumstancesType;
+import org.search.nibrs.stagingdata.model.Agency;
+import org.search.nibrs.stagingdata.model.AggravatedAssaultHomicideCircumstancesType;
+import org.search.nibrs.stagingdata.model.ArrestReportSegmentWasArmedWith;
+import org.search.nibrs.stagingdata.model.ArresteeSegmentWasArmedWith;
+import org.search.nibrs.stagingdata.model.ArresteeWasArmedWithType;
+import org.search.nibrs.stagingdata.model.BiasMotivationType;
+import org.search.nibrs.stagingdata.model.CargoTheftIndicatorType;
+import org.search.nibrs.stagingdata.model.ClearedExceptionallyType;
+import org.search.nibrs.stagingdata.model.DateType;
+import org.search.nibrs.stagingdata.model.DispositionOfArresteeUnder18Type;
+import org.search.nibrs.stagingdata.model.EthnicityOfPersonType;
+import org.search.nibrs.stagingdata.model.LocationType;
+import org.search.nibrs.stagingdata.model.MethodOfEntryType;
+import org.search.nibrs.stagingdata.model.MultipleArresteeSegmentsIndicatorType;
+import org.search.nibrs.stagingdata.model.OffenderSuspectedOfUsingType;
+import org.search.nibrs.stagingdata.model.OfficerActivityCircumstanceType;
+import org.search.nibrs.stagingdata.model.OfficerAssignmentTypeType;
+import org.search.nibrs.stagingdata.model.PropertyDescriptionType;
+import org.search.nibrs.stagingdata.model.PropertyType;
+import org.search.nibrs.stagingdata.model.RaceOfPersonType;
+import org.search.nibrs.stagingdata.model.ResidentStatusOfPersonType;
+import org.search.nibrs.stagingdata.model.SegmentActionTypeType;
+import org.search.nibrs.stagingdata.model.SexOfPersonType;
+import org.search.nibrs.stagingdata.model.SuspectedDrugType;
+import org.search.nibrs.stagingdata.model.SuspectedDrugTypeType;
+import org.search.nibrs.stagingdata.model.TypeDrugMeasurementType;
+import org.search.nibrs.stagingdata.model.TypeInjuryType;
+import org.search.nibrs.stagingdata.model.TypeOfArrestType;
+import org.search.nibrs.stagingdata.model.TypeOfCriminalActivityType;
+import org.search.nibrs.stagingdata.model.TypeOfVictimType;
+import org.search.nibrs.stagingdata.model.TypeOfWeaponForceInvolved;
+import org.search.nibrs.stagingdata.model.TypeOfWeaponForceInvolvedType;
+import org.search.nibrs.stagingdata.model.TypePropertyLossEtcType;
+import org.search.nibrs.stagingdata.model.UcrOffenseCodeType;
+import org.search.nibrs.stagingdata.model.VictimOffenderAssociation;
+import org.search.nibrs.stagingdata.model.VictimOffenderRelationshipType;
+import org.search.nibrs.stagingdata.model.segment.AdministrativeSegment;
+import org.search.nibrs.stagingdata.model.segment.ArrestReportSegment;
+import org.search.nibrs.stagingdata.model.segment.ArresteeSegment;
+import org.search.nibrs.stagingdata.model.segment.OffenderSegment;
+import org.search.nibrs.stagingdata.model.segment.OffenseSegment;
+import org.search.nibrs.stagingdata.model.segment.PropertySegment;
+import org.search.nibrs.stagingdata.model.segment.VictimSegment;
+import org.search.nibrs.stagingdata.util.DateUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Checks that the bulk loader writes the same rows as the JPA repositories.  The segments reference code table rows by key only, so 
+ * referential integrity is switched off while the tests run.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SegmentBulkLoaderTest {
+	
+	private static final String MYSQL_SCHEMA = "../../analytics/db/schema-mysql.sql";
+	
+	private static final String JPA_INCIDENT_NUMBER = "BULKJPA";
+	private static final String BULK_INCIDENT_NUMBER = "BULKJDBC";
+	
+	@Autowired
+	public AdministrativeSegmentRepository administrativeSegmentRepository; 
+	@Autowired
+	public ArrestReportSegmentRepository arrestReportSegmentRepository; 
+	@Autowired
+	public SegmentBulkLoader segmentBulkLoader; 
+	@Autowired
+	public JdbcTemplate jdbcTemplate; 
+	@Autowired
+	public PlatformTransactionManager transactionManager; 
+	
+	@Before
+	public void setup() {
+		jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+	}
+	
+	@After
+	public void tearDown() {
+		segmentBulkLoader.setRowsPerStatement(SegmentBulkLoader.DEFAULT_ROWS_PER_STATEMENT);
+		deleteBulkSegments(jdbcTemplate);
+		jdbcTemplate.update("DELETE FROM ArrestReportSegmentWasArmedWith WHERE ArrestReportSegmentID IN "
+				+ "(SELECT ArrestReportSegmentID FROM ArrestReportSegment WHERE ArrestTransactionNumber LIKE 'BULK%')");
+		jdbcTemplate.update("DELETE FROM ArrestReportSegment WHERE ArrestTransactionNumber LIKE 'BULK%'");
+		jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+	}
+	
+	/**
+	 * Deletes the administrative segments whose incident numbers start with BULK, with all their child rows. 
+	 */
+	public static void deleteBulkSegments(JdbcTemplate jdbcTemplate) {
+		for (String table : Arrays.asList("TypeOfWeaponForceInvolved", "OffenderSuspectedOfUsing", "TypeCriminalActivity", "BiasMotivation", 
+				"VictimOffenseAssociation")) {
+			jdbcTemplate.update("DELETE FROM " + table + " WHERE OffenseSegmentID IN (SELECT OffenseSegmentID FROM OffenseSegment o "
+					+ "JOIN AdministrativeSegment a ON a.AdministrativeSegmentID = o.AdministrativeSegmentID WHERE a.IncidentNumber LIKE 'BULK%')");
+		}
+		for (String table : Arrays.asList("TypeInjury", "AggravatedAssaultHomicideCircumstances", "VictimOffenderAssociation")) {
+			jdbcTemplate.update("DELETE FROM " + table + " WHERE VictimSegmentID IN (SELECT VictimSegmentID FROM VictimSegment v "
+					+ "JOIN AdministrativeSegment a ON a.AdministrativeSegmentID = v.AdministrativeSegmentID WHERE a.IncidentNumber LIKE 'BULK%')");
+		}
+		for (String table : Arrays.asList("PropertyType", "SuspectedDrugType")) {
+			jdbcTemplate.update("DELETE FROM " + table + " WHERE PropertySegmentID IN (SELECT PropertySegmentID FROM PropertySegment p "
+					+ "JOIN AdministrativeSegment a ON a.AdministrativeSegmentID = p.AdministrativeSegmentID WHERE a.IncidentNumber LIKE 'BULK%')");
+		}
+		jdbcTemplate.update("DELETE FROM ArresteeSegmentWasArmedWith WHERE ArresteeSegmentID IN (SELECT ArresteeSegmentID FROM ArresteeSegment s "
+				+ "JOIN AdministrativeSegment a ON a.AdministrativeSegmentID = s.AdministrativeSegmentID WHERE a.IncidentNumber LIKE 'BULK%')");
+		for (String table : Arrays.asList("OffenseSegment", "PropertySegment", "OffenderSegment", "VictimSegment", "ArresteeSegment")) {
+			jdbcTemplate.update("DELETE FROM " + table + " WHERE AdministrativeSegmentID IN "
+					+ "(SELECT AdministrativeSegmentID FROM AdministrativeSegment WHERE IncidentNumber LIKE 'BULK%')");
+		}
+		jdbcTemplate.update("DELETE FROM AdministrativeSegment WHERE IncidentNumber LIKE 'BULK%'");
+	}
+	
+	@Test
+	public void testBulkLoadWritesSameRowsAsJpa() {
+		
+		AdministrativeSegment jpaSegment = administrativeSegmentRepository.saveAndFlush(getAdministrativeSegment(JPA_INCIDENT_NUMBER));
+		AdministrativeSegment bulkSegment = getAdministrativeSegment(BULK_INCIDENT_NUMBER);
+		segmentBulkLoader.insertAdministrativeSegments(Collections.singletonList(bulkSegment));
+		
+		assertThat(bulkSegment.getAdministrativeSegmentId(), notNullValue());
+		bulkSegment.getOffenseSegments().forEach(o -> assertThat(o.getOffenseSegmentId(), notNullValue()));
+		bulkSegment.getVictimSegments().forEach(v -> assertThat(v.getVictimSegmentId(), notNullValue()));
+		
+		List<String> jpaRows = getAdministrativeSegmentRows(jdbcTemplate, jpaSegment.getAdministrativeSegmentId());
+		List<String> bulkRows = getAdministrativeSegmentRows(jdbcTemplate, bulkSegment.getAdministrativeSegmentId());
+		assertThat(bulkRows.size(), equalTo(30));
+		assertThat(bulkRows, equalTo(jpaRows.stream()
+				.map(row -> row.replace(JPA_INCIDENT_NUMBER, BULK_INCIDENT_NUMBER))
+				.sorted()
+				.collect(Collectors.toList())));
+		
+		ArrestReportSegment jpaArrestReportSegment = arrestReportSegmentRepository.saveAndFlush(getArrestReportSegment(JPA_INCIDENT_NUMBER));
+		ArrestReportSegment bulkArrestReportSegment = getArrestReportSegment(BULK_INCIDENT_NUMBER);
+		segmentBulkLoader.insertArrestReportSegments(Collections.singletonList(bulkArrestReportSegment));
+		
+		List<String> jpaArrestRows = getArrestReportSegmentRows(jdbcTemplate, jpaArrestReportSegment.getArrestReportSegmentId());
+		List<String> bulkArrestRows = getArrestReportSegmentRows(jdbcTemplate, bulkArrestReportSegment.getArrestReportSegmentId());
+		assertThat(bulkArrestRows.size(), equalTo(3));
+		assertThat(bulkArrestRows, equalTo(jpaArrestRows.stream()
+				.map(row -> row.replace(JPA_INCIDENT_NUMBER, BULK_INCIDENT_NUMBER))
+				.sorted()
+				.collect(Collectors.toList())));
+	}
+	
+	@Test
+	public void testMultiRowStatementsAndGeneratedKeys() {
+		
+		segmentBulkLoader.setRowsPerStatement(2);
+		
+		List<AdministrativeSegment> administrativeSegments = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			administrativeSegments.add(getAdministrativeSegment(BULK_INCIDENT_NUMBER + i));
+		}
+		segmentBulkLoader.insertAdministrativeSegments(administrativeSegments);
+		
+		List<Integer> ids = administrativeSegments.stream().map(AdministrativeSegment::getAdministrativeSegmentId).collect(Collectors.toList());
+		for (int i = 1; i < ids.size(); i++) {
+			assertTrue(ids.get(i) > ids.get(i - 1));
+		}
+		for (int i = 0; i < 5; i++) {
+			assertThat(getAdministrativeSegmentRows(jdbcTemplate, ids.get(i)).size(), equalTo(30));
+		}
+		
+		AdministrativeSegment jpaSegment = administrativeSegmentRepository.saveAndFlush(getAdministrativeSegment(JPA_INCIDENT_NUMBER));
+		assertTrue(jpaSegment.getAdministrativeSegmentId() > ids.get(4));
+		
+		List<AdministrativeSegment> moreSegments = Arrays.asList(getAdministrativeSegment(BULK_INCIDENT_NUMBER + 5));
+		segmentBulkLoader.insertAdministrativeSegments(moreSegments);
+		assertTrue(moreSegments.get(0).getAdministrativeSegmentId() > jpaSegment.getAdministrativeSegmentId());
+	}
+	
+	@Test
+	public void testConcurrentLoads() throws Exception {
+		
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		List<AdministrativeSegment> firstSegments = Arrays.asList(getAdministrativeSegment(BULK_INCIDENT_NUMBER + 0));
+		List<AdministrativeSegment> secondSegments = Arrays.asList(getAdministrativeSegment(BULK_INCIDENT_NUMBER + 1));
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		try {
+			transactionTemplate.execute(status -> {
+				segmentBulkLoader.insertAdministrativeSegments(firstSegments);
+				Future<?> secondLoad = executorService.submit(() -> transactionTemplate.execute(secondStatus -> {
+					segmentBulkLoader.insertAdministrativeSegments(secondSegments);
+					return null;
+				}));
+				// the second load does not wait for the first to be committed
+				try {
+					secondLoad.get(10, TimeUnit.SECONDS);
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+				return null;
+			});
+		} finally {
+			executorService.shutdownNow();
+		}
+		
+		assertTrue(secondSegments.get(0).getAdministrativeSegmentId() > firstSegments.get(0).getAdministrativeSegmentId());
+		assertThat(getAdministrativeSegmentRows(jdbcTemplate, firstSegments.get(0).getAdministrativeSegmentId()).size(), equalTo(30));
+		assertThat(getAdministrativeSegmentRows(jdbcTemplate, secondSegments.get(0).getAdministrativeSegmentId()).size(), equalTo(30));
+	}
+	
+	@Test
+	public void testFindExistingReports() {
+		
+		jdbcTemplate.update("INSERT INTO SegmentActionTypeType (SegmentActionTypeTypeID, StateCode, StateDescription, NIBRSCode, "
+				+ "NIBRSDescription) VALUES (90001, 'I', 'Incident Report', 'I', 'Incident Report'), (90002, 'D', 'Delete', 'D', 'Delete')");
+		try {
+			List<AdministrativeSegment> administrativeSegments = Arrays.asList(
+					getAdministrativeSegment("BULK1", 90001), getAdministrativeSegment("BULK2", 90001), getAdministrativeSegment("BULK3", 90002),
+					getAdministrativeSegment("BULK1", 90002), getAdministrativeSegment("BULK3", 90001)); 
+			segmentBulkLoader.insertAdministrativeSegments(administrativeSegments);
+			
+			assertThat(new HashSet<>(administrativeSegmentRepository.findExistingIncidentNumbers(Arrays.asList("BULK1", "BULK2", "BULK3", "BULK4"))), 
+					equalTo(new HashSet<>(Arrays.asList("BULK2", "BULK3"))));
+			assertThat(administrativeSegmentRepository.findExistingIncidentNumbers(Arrays.asList("BULK1")).isEmpty(), equalTo(true));
+			
+			List<ArrestReportSegment> arrestReportSegments = Arrays.asList(
+					getArrestReportSegment("BULK1", 90001), getArrestReportSegment("BULK2", 90001), getArrestReportSegment("BULK2", 90002)); 
+			segmentBulkLoader.insertArrestReportSegments(arrestReportSegments);
+			
+			assertThat(arrestReportSegmentRepository.findExistingArrestTransactionNumbers(Arrays.asList("BULK1", "BULK2", "BULK3")), 
+					equalTo(Arrays.asList("BULK1")));
+		}
+		finally {
+			jdbcTemplate.update("DELETE FROM SegmentActionTypeType WHERE SegmentActionTypeTypeID IN (90001, 90002)");
+		}
+	}
+	
+	@Test
+	public void testPagedIdQueries() {
+		
+		List<AdministrativeSegment> administrativeSegments = new ArrayList<>();
+		List<ArrestReportSegment> arrestReportSegments = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			AdministrativeSegment administrativeSegment = getAdministrativeSegment(BULK_INCIDENT_NUMBER + i);
+			administrativeSegment.setOri(i < 5 ? "BULKORI01" : "BULKORI02");
+			administrativeSegment.setIncidentDate(DateUtils.asDate(LocalDate.of(2017, 5, 10 + i)));
+			administrativeSegments.add(administrativeSegment);
+			
+			ArrestReportSegment arrestReportSegment = getArrestReportSegment(BULK_INCIDENT_NUMBER + i);
+			arrestReportSegment.setOri(i < 5 ? "BULKORI01" : "BULKORI02");
+			arrestReportSegment.setArrestDate(DateUtils.asDate(LocalDate.of(2017, 5, 10 + i)));
+			arrestReportSegments.add(arrestReportSegment);
+		}
+		segmentBulkLoader.insertAdministrativeSegments(administrativeSegments);
+		segmentBulkLoader.insertArrestReportSegments(arrestReportSegments);
+		List<Integer> ids = administrativeSegments.stream().map(AdministrativeSegment::getAdministrativeSegmentId).collect(Collectors.toList());
+		List<Integer> arrestIds = arrestReportSegments.stream().map(ArrestReportSegment::getArrestReportSegmentId).collect(Collectors.toList());
+		
+		Date startDate = Date.valueOf(LocalDate.of(2017, 5, 11));
+		Date endDate = Date.valueOf(LocalDate.of(2017, 5, 14));
+		
+		Page<Integer> page = administrativeSegmentRepository.findIdsByOriAndIncidentDateRange("BULKORI01", startDate, endDate, 
+				new PageRequest(1, 3, Direction.ASC, "administrativeSegmentId"));
+		assertThat(page.getTotalElements(), equalTo(4L));
+		assertThat(page.getContent(), equalTo(Arrays.asList(ids.get(4))));
+		assertThat(administrativeSegmentRepository.findIdsByOriAndIncidentDateRange("BULKORI02", null, null, new PageRequest(0, 3)).getContent(), 
+				equalTo(Arrays.asList(ids.get(5))));
+		
+		assertThat(administrativeSegmentRepository.findIdsAfterIdByOriAndIncidentDateRange(0, "BULKORI01", startDate, null, new PageRequest(0, 2)), 
+				equalTo(Arrays.asList(ids.get(1), ids.get(2))));
+		assertThat(administrativeSegmentRepository.findIdsAfterIdByOriAndIncidentDateRange(ids.get(2), "BULKORI01", startDate, null, new PageRequest(0, 2)), 
+				equalTo(Arrays.asList(ids.get(3), ids.get(4))));
+		assertThat(administrativeSegmentRepository.findIdsAfterIdByOriAndIncidentDateRange(ids.get(4), "BULKORI01", startDate, null, new PageRequest(0, 2)), 
+				equalTo(Collections.emptyList()));
+		
+		page = arrestReportSegmentRepository.findIdsByOriAndArrestDateRange("BULKORI01", startDate, endDate, 
+				new PageRequest(0, 3, Direction.ASC, "arrestReportSegmentId"));
+		assertThat(page.getTotalElements(), equalTo(4L));
+		assertThat(page.getContent(), equalTo(arrestIds.subList(1, 4)));
+		assertThat(arrestReportSegmentRepository.findIdsAfterIdByOriAndArrestDateRange(arrestIds.get(3), "BULKORI01", null, endDate, new PageRequest(0, 2)), 
+				equalTo(Arrays.asList(arrestIds.get(4))));
+	}
+	
+	@Test
+	public void testBulkLoadIntoMysqlSchema() throws Exception {
+		
+		File mysqlSchema = new File(MYSQL_SCHEMA);
+		Assume.assumeTrue(mysqlSchema.exists());
+		
+		AdministrativeSegment jpaSegment = administrativeSegmentRepository.saveAndFlush(getAdministrativeSegment(JPA_INCIDENT_NUMBER));
+		List<String> jpaRows = getAdministrativeSegmentRows(jdbcTemplate, jpaSegment.getAdministrativeSegmentId());
+		ArrestReportSegment jpaArrestReportSegment = arrestReportSegmentRepository.saveAndFlush(getArrestReportSegment(JPA_INCIDENT_NUMBER));
+		List<String> jpaArrestRows = getArrestReportSegmentRows(jdbcTemplate, jpaArrestReportSegment.getArrestReportSegmentId());
+		
+		SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+				"jdbc:h2:mem:bulkLoaderMysql;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", true);
+		try {
+			// H2 has no USE statement; the tables go in the default schema
+			String script = new String(Files.readAllBytes(mysqlSchema.toPath()), StandardCharsets.UTF_8)
+					.replaceAll("(?im)^use .*$", "");
+			try (Connection connection = dataSource.getConnection()) {
+				ScriptUtils.executeSqlScript(connection, new ByteArrayResource(script.getBytes(StandardCharsets.UTF_8)));
+			}
+			
+			JdbcTemplate mysqlJdbcTemplate = new JdbcTemplate(dataSource);
+			mysqlJdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+			SegmentBulkLoader mysqlBulkLoader = new SegmentBulkLoader(mysqlJdbcTemplate);
+			
+			AdministrativeSegment bulkSegment = getAdministrativeSegment(JPA_INCIDENT_NUMBER);
+			mysqlBulkLoader.insertAdministrativeSegments(Collections.singletonList(bulkSegment));
+			assertThat(getAdministrativeSegmentRows(mysqlJdbcTemplate, bulkSegment.getAdministrativeSegmentId()), equalTo(jpaRows));
+			
+			ArrestReportSegment bulkArrestReportSegment = getArrestReportSegment(JPA_INCIDENT_NUMBER);
+			mysqlBulkLoader.insertArrestReportSegments(Collections.singletonList(bulkArrestReportSegment));
+			assertThat(getArrestReportSegmentRows(mysqlJdbcTemplate, bulkArrestReportSegment.getArrestReportSegmentId()), equalTo(jpaArrestRows));
+			
+			// the auto-increment counter continues after the keys written by the loader
+			mysqlJdbcTemplate.update("INSERT INTO TypeInjury (VictimSegmentID, TypeInjuryTypeID) VALUES (1, 1)");
+			Integer maxTypeInjuryId = mysqlJdbcTemplate.queryForObject("SELECT MAX(TypeInjuryID) FROM TypeInjury", Integer.class);
+			assertThat(maxTypeInjuryId, equalTo(3));
+			Integer victimSegmentId = bulkSegment.getVictimSegments().iterator().next().getVictimSegmentId();
+			mysqlJdbcTemplate.update("INSERT INTO VictimSegment (SegmentActionTypeTypeID, AdministrativeSegmentID, TypeOfVictimTypeID, "
+					+ "OfficerActivityCircumstanceTypeID, OfficerAssignmentTypeTypeID, AgeNeonateIndicator, AgeFirstWeekIndicator, "
+					+ "AgeFirstYearIndicator, SexOfPersonTypeID, RaceOfPersonTypeID, EthnicityOfPersonTypeID, ResidentStatusOfPersonTypeID, "
+					+ "AdditionalJustifiableHomicideCircumstancesTypeID) VALUES (1, 1, 1, 1, 1, 0, 0, 0, 1, 1, 1, 1, 1)");
+			Integer maxVictimSegmentId = mysqlJdbcTemplate.queryForObject("SELECT MAX(VictimSegmentID) FROM VictimSegment", Integer.class);
+			assertThat(maxVictimSegmentId, equalTo(victimSegmentId + 2));
+		} finally {
+			dataSource.destroy();
+		}
+	}
+	
+	/**
+	 * The rows written for an administrative segment, with generated keys replaced by the natural keys of the rows they refer to, in 
+	 * sorted order.
+	 */
+	private static List<String> getAdministrativeSegmentRows(JdbcTemplate jdbcTemplate, Integer administrativeSegmentId) {
+		List<String> rows = new ArrayList<>();
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "AdministrativeSegment", 
+				"SELECT SegmentActionTypeTypeID, MonthOfTape, YearOfTape, CityIndicator, ORI, AgencyID, IncidentNumber, IncidentDate, "
+				+ "IncidentDateID, ReportDateIndicator, IncidentHour, ClearedExceptionallyTypeID, ExceptionalClearanceDate, "
+				+ "ExceptionalClearanceDateID, CargoTheftIndicatorTypeID FROM AdministrativeSegment WHERE AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "OffenseSegment", 
+				"SELECT SegmentActionTypeTypeID, UCROffenseCodeTypeID, OffenseAttemptedCompleted, LocationTypeTypeID, "
+				+ "NumberOfPremisesEntered, MethodOfEntryTypeID FROM OffenseSegment WHERE AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "TypeOfWeaponForceInvolved", 
+				"SELECT o.UCROffenseCodeTypeID, t.TypeOfWeaponForceInvolvedTypeID, t.AutomaticWeaponIndicator FROM TypeOfWeaponForceInvolved t "
+				+ "JOIN OffenseSegment o ON o.OffenseSegmentID = t.OffenseSegmentID WHERE o.AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "OffenderSuspectedOfUsing", 
+				"SELECT o.UCROffenseCodeTypeID, t.OffenderSuspectedOfUsingTypeID FROM OffenderSuspectedOfUsing t "
+				+ "JOIN OffenseSegment o ON o.OffenseSegmentID = t.OffenseSegmentID WHERE o.AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "TypeCriminalActivity", 
+				"SELECT o.UCROffenseCodeTypeID, t.TypeOfCriminalActivityTypeID FROM TypeCriminalActivity t "
+				+ "JOIN OffenseSegment o ON o.OffenseSegmentID = t.OffenseSegmentID WHERE o.AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "BiasMotivation", 
+				"SELECT o.UCROffenseCodeTypeID, t.BiasMotivationTypeID FROM BiasMotivation t "
+				+ "JOIN OffenseSegment o ON o.OffenseSegmentID = t.OffenseSegmentID WHERE o.AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "PropertySegment", 
+				"SELECT SegmentActionTypeTypeID, TypePropertyLossEtcTypeID, NumberOfStolenMotorVehicles, NumberOfRecoveredMotorVehicles "
+				+ "FROM PropertySegment WHERE AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "PropertyType", 
+				"SELECT p.TypePropertyLossEtcTypeID, t.PropertyDescriptionTypeID, t.ValueOfProperty, t.RecoveredDate, t.RecoveredDateID "
+				+ "FROM PropertyType t JOIN PropertySegment p ON p.PropertySegmentID = t.PropertySegmentID WHERE p.AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "SuspectedDrugType", 
+				"SELECT p.TypePropertyLossEtcTypeID, t.SuspectedDrugTypeTypeID, t.TypeDrugMeasurementTypeID, t.EstimatedDrugQuantity "
+				+ "FROM SuspectedDrugType t JOIN PropertySegment p ON p.PropertySegmentID = t.PropertySegmentID WHERE p.AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "OffenderSegment", 
+				"SELECT SegmentActionTypeTypeID, OffenderSequenceNumber, AgeOfOffenderMin, AgeOfOffenderMax, NonNumericAge, SexOfPersonTypeID, "
+				+ "RaceOfPersonTypeID, EthnicityOfPersonTypeID FROM OffenderSegment WHERE AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "VictimSegment", 
+				"SELECT SegmentActionTypeTypeID, VictimSequenceNumber, TypeOfVictimTypeID, OfficerActivityCircumstanceTypeID, "
+				+ "OfficerAssignmentTypeTypeID, OfficerOtherJurisdictionORI, AgeOfVictimMin, AgeOfVictimMax, AgeNeonateIndicator, "
+				+ "AgeFirstWeekIndicator, AgeFirstYearIndicator, NonNumericAge, SexOfPersonTypeID, RaceOfPersonTypeID, EthnicityOfPersonTypeID, "
+				+ "ResidentStatusOfPersonTypeID, AdditionalJustifiableHomicideCircumstancesTypeID FROM VictimSegment WHERE AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "TypeInjury", 
+				"SELECT v.VictimSequenceNumber, t.TypeInjuryTypeID FROM TypeInjury t "
+				+ "JOIN VictimSegment v ON v.VictimSegmentID = t.VictimSegmentID WHERE v.AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "AggravatedAssaultHomicideCircumstances", 
+				"SELECT v.VictimSequenceNumber, t.AggravatedAssaultHomicideCircumstancesTypeID FROM AggravatedAssaultHomicideCircumstances t "
+				+ "JOIN VictimSegment v ON v.VictimSegmentID = t.VictimSegmentID WHERE v.AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "VictimOffenseAssociation", 
+				"SELECT v.VictimSequenceNumber, o.UCROffenseCodeTypeID FROM VictimOffenseAssociation t "
+				+ "JOIN VictimSegment v ON v.VictimSegmentID = t.VictimSegmentID "
+				+ "JOIN OffenseSegment o ON o.OffenseSegmentID = t.OffenseSegmentID WHERE v.AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "VictimOffenderAssociation", 
+				"SELECT v.VictimSequenceNumber, o.OffenderSequenceNumber, t.VictimOffenderRelationshipTypeID FROM VictimOffenderAssociation t "
+				+ "JOIN VictimSegment v ON v.VictimSegmentID = t.VictimSegmentID "
+				+ "JOIN OffenderSegment o ON o.OffenderSegmentID = t.OffenderSegmentID WHERE v.AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "ArresteeSegment", 
+				"SELECT SegmentActionTypeTypeID, ArresteeSequenceNumber, ArrestTransactionNumber, ArrestDate, ArrestDateID, TypeOfArrestTypeID, "
+				+ "MultipleArresteeSegmentsIndicatorTypeID, AgeOfArresteeMin, AgeOfArresteeMax, NonNumericAge, SexOfPersonTypeID, "
+				+ "RaceOfPersonTypeID, EthnicityOfPersonTypeID, ResidentStatusOfPersonTypeID, DispositionOfArresteeUnder18TypeID, "
+				+ "UCROffenseCodeTypeID FROM ArresteeSegment WHERE AdministrativeSegmentID = ?");
+		addRows(rows, jdbcTemplate, administrativeSegmentId, "ArresteeSegmentWasArmedWith", 
+				"SELECT a.ArresteeSequenceNumber, t.ArresteeWasArmedWithTypeID, t.AutomaticWeaponIndicator FROM ArresteeSegmentWasArmedWith t "
+				+ "JOIN ArresteeSegment a ON a.ArresteeSegmentID = t.ArresteeSegmentID WHERE a.AdministrativeSegmentID = ?");
+		Collections.sort(rows);
+		return rows;
+	}
+	
+	private static List<String> getArrestReportSegmentRows(JdbcTemplate jdbcTemplate, Integer arrestReportSegmentId) {
+		List<String> rows = new ArrayList<>();
+		addRows(rows, jdbcTemplate, arrestReportSegmentId, "ArrestReportSegment", 
+				"SELECT SegmentActionTypeTypeID, MonthOfTape, YearOfTape, CityIndicator, AgencyID, ORI, ArrestTransactionNumber, "
+				+ "ArresteeSequenceNumber, ArrestDate, ArrestDateID, TypeOfArrestTypeID, AgeOfArresteeMin, AgeOfArresteeMax, NonNumericAge, "
+				+ "SexOfPersonTypeID, RaceOfPersonTypeID, EthnicityOfPersonTypeID, ResidentStatusOfPersonTypeID, "
+				+ "DispositionOfArresteeUnder18TypeID, UCROffenseCodeTypeID FROM ArrestReportSegment WHERE ArrestReportSegmentID = ?");
+		addRows(rows, jdbcTemplate, arrestReportSegmentId, "ArrestReportSegmentWasArmedWith", 
+				"SELECT ArresteeWasArmedWithTypeID, AutomaticWeaponIndicator FROM ArrestReportSegmentWasArmedWith WHERE ArrestReportSegmentID = ?");
+		Collections.sort(rows);
+		return rows;
+	}
+	
+	private static void addRows(List<String> rows, JdbcTemplate jdbcTemplate, Integer id, String table, String sql) {
+		for (Map<String, Object> row : jdbcTemplate.queryForList(sql, id)) {
+			rows.add(table + row.values().stream().map(SegmentBulkLoaderTest::normalize).collect(Collectors.toList()));
+		}
+	}
+	
+	private static String normalize(Object value) {
+		if (value instanceof Number && !(value instanceof Integer)) {
+			return new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+		}
+		return String.valueOf(value);
+	}
+	
+	@SuppressWarnings("serial")
+	public static AdministrativeSegment getAdministrativeSegment(String incidentNumber) {
+		
+		SegmentActionTypeType segmentActionType = new SegmentActionTypeType(1);
+		
+		AdministrativeSegment administrativeSegment = new AdministrativeSegment();
+		administrativeSegment.setSegmentActionType(segmentActionType);
+		administrativeSegment.setMonthOfTape("05");
+		administrativeSegment.setYearOfTape("2017");
+		administrativeSegment.setCityIndicator("CITY");
+		administrativeSegment.setOri("WA1234567");
+		administrativeSegment.setAgency(new Agency(1));
+		administrativeSegment.setIncidentNumber(incidentNumber);
+		administrativeSegment.setIncidentDate(DateUtils.asDate(LocalDate.of(2017, 5, 12)));
+		administrativeSegment.setIncidentDateType(new DateType(2324));
+		administrativeSegment.setReportDateIndicator(null);
+		administrativeSegment.setIncidentHour("13");
+		administrativeSegment.setClearedExceptionallyType(new ClearedExceptionallyType(2));
+		administrativeSegment.setExceptionalClearanceDate(DateUtils.asDate(LocalDate.of(2017, 6, 1)));
+		administrativeSegment.setExceptionalClearanceDateType(new DateType(2344));
+		administrativeSegment.setCargoTheftIndicatorType(new CargoTheftIndicatorType(99998));
+		administrativeSegment.setReportTimestamp(LocalDateTime.now());
+		
+		OffenseSegment offenseSegment1 = new OffenseSegment();
+		offenseSegment1.setSegmentActionType(segmentActionType);
+		offenseSegment1.setAdministrativeSegment(administrativeSegment);
+		offenseSegment1.setUcrOffenseCodeType(new UcrOffenseCodeType(30));
+		offenseSegment1.setOffenseAttemptedCompleted("C");
+		offenseSegment1.setLocationType(new LocationType(4));
+		offenseSegment1.setNumberOfPremisesEntered(2);
+		offenseSegment1.setMethodOfEntryType(new MethodOfEntryType(1));
+		offenseSegment1.setBiasMotivationTypes(new HashSet<BiasMotivationType>(){{
+			add(new BiasMotivationType(11));
+		}});
+		offenseSegment1.setOffenderSuspectedOfUsingTypes(new HashSet<OffenderSuspectedOfUsingType>(){{
+			add(new OffenderSuspectedOfUsingType(1));
+			add(new OffenderSuspectedOfUsingType(2));
+		}});
+		TypeOfWeaponForceInvolved typeOfWeaponForceInvolved1 = new TypeOfWeaponForceInvolved();
+		typeOfWeaponForceInvolved1.setOffenseSegment(offenseSegment1);
+		typeOfWeaponForceInvolved1.setTypeOfWeaponForceInvolvedType(new TypeOfWeaponForceInvolvedType(120, null, null, null, null));
+		typeOfWeaponForceInvolved1.setAutomaticWeaponIndicator("A");
+		TypeOfWeaponForceInvolved typeOfWeaponForceInvolved2 = new TypeOfWeaponForceInvolved();
+		typeOfWeaponForceInvolved2.setOffenseSegment(offenseSegment1);
+		typeOfWeaponForceInvolved2.setTypeOfWeaponForceInvolvedType(new TypeOfWeaponForceInvolvedType(110, null, null, null, null));
+		typeOfWeaponForceInvolved2.setAutomaticWeaponIndicator("");
+		offenseSegment1.setTypeOfWeaponForceInvolveds(new HashSet<TypeOfWeaponForceInvolved>(){{
+			add(typeOfWeaponForceInvolved1);
+			add(typeOfWeaponForceInvolved2);
+		}});
+		
+		OffenseSegment offenseSegment2 = new OffenseSegment();
+		offenseSegment2.setSegmentActionType(segmentActionType);
+		offenseSegment2.setAdministrativeSegment(administrativeSegment);
+		offenseSegment2.setUcrOffenseCodeType(new UcrOffenseCodeType(44));
+		offenseSegment2.setOffenseAttemptedCompleted("A");
+		offenseSegment2.setLocationType(new LocationType(2));
+		offenseSegment2.setMethodOfEntryType(new MethodOfEntryType(99998));
+		offenseSegment2.setTypeOfCriminalActivityTypes(new HashSet<TypeOfCriminalActivityType>(){{
+			add(new TypeOfCriminalActivityType(3));
+			add(new TypeOfCriminalActivityType(4));
+		}});
+		administrativeSegment.setOffenseSegments(new HashSet<>(Arrays.asList(offenseSegment1, offenseSegment2)));
+		
+		PropertySegment propertySegment1 = new PropertySegment();
+		propertySegment1.setSegmentActionType(segmentActionType);
+		propertySegment1.setAdministrativeSegment(administrativeSegment);
+		propertySegment1.setTypePropertyLossEtcType(new TypePropertyLossEtcType(7));
+		propertySegment1.setNumberOfStolenMotorVehicles(1);
+		propertySegment1.setNumberOfRecoveredMotorVehicles(0);
+		PropertyType propertyType1 = new PropertyType();
+		propertyType1.setPropertySegment(propertySegment1);
+		propertyType1.setPropertyDescriptionType(new PropertyDescriptionType(3));
+		propertyType1.setValueOfProperty(10000.0);
+		propertyType1.setRecoveredDateType(new DateType(99998));
+		PropertyType propertyType2 = new PropertyType();
+		propertyType2.setPropertySegment(propertySegment1);
+		propertyType2.setPropertyDescriptionType(new PropertyDescriptionType(20));
+		propertyType2.setValueOfProperty(250.0);
+		propertyType2.setRecoveredDate(DateUtils.asDate(LocalDate.of(2017, 5, 20)));
+		propertyType2.setRecoveredDateType(new DateType(2332));
+		propertySegment1.setPropertyTypes(new HashSet<>(Arrays.asList(propertyType1, propertyType2)));
+		
+		PropertySegment propertySegment2 = new PropertySegment();
+		propertySegment2.setSegmentActionType(segmentActionType);
+		propertySegment2.setAdministrativeSegment(administrativeSegment);
+		propertySegment2.setTypePropertyLossEtcType(new TypePropertyLossEtcType(6));
+		SuspectedDrugType suspectedDrugType = new SuspectedDrugType();
+		suspectedDrugType.setPropertySegment(propertySegment2);
+		suspectedDrugType.setSuspectedDrugTypeType(new SuspectedDrugTypeType(1));
+		suspectedDrugType.setTypeDrugMeasurementType(new TypeDrugMeasurementType(3));
+		suspectedDrugType.setEstimatedDrugQuantity(0.125);
+		propertySegment2.setSuspectedDrugTypes(new HashSet<>(Arrays.asList(suspectedDrugType)));
+		administrativeSegment.setPropertySegments(new HashSet<>(Arrays.asList(propertySegment1, propertySegment2)));
+		
+		OffenderSegment offenderSegment1 = getOffenderSegment(administrativeSegment, 1, 25);
+		OffenderSegment offenderSegment2 = getOffenderSegment(administrativeSegment, 2, null);
+		administrativeSegment.setOffenderSegments(new HashSet<>(Arrays.asList(offenderSegment1, offenderSegment2)));
+		
+		VictimSegment victimSegment1 = getVictimSegment(administrativeSegment, 1);
+		victimSegment1.setOffenseSegments(new HashSet<>(Arrays.asList(offenseSegment1, offenseSegment2)));
+		victimSegment1.setTypeInjuryTypes(new HashSet<TypeInjuryType>(){{
+			add(new TypeInjuryType(2));
+			add(new TypeInjuryType(5));
+		}});
+		victimSegment1.setAggravatedAssaultHomicideCircumstancesTypes(new HashSet<AggravatedAssaultHomicideCircumstancesType>(){{
+			add(new AggravatedAssaultHomicideCircumstancesType(1));
+		}});
+		victimSegment1.setVictimOffenderAssociations(new HashSet<>(Arrays.asList(
+				getVictimOffenderAssociation(victimSegment1, offenderSegment1, 5), 
+				getVictimOffenderAssociation(victimSegment1, offenderSegment2, 7))));
+		
+		VictimSegment victimSegment2 = getVictimSegment(administrativeSegment, 2);
+		victimSegment2.setOffenseSegments(new HashSet<>(Arrays.asList(offenseSegment2)));
+		victimSegment2.setVictimOffenderAssociations(new HashSet<>(Arrays.asList(
+				getVictimOffenderAssociation(victimSegment2, offenderSegment1, 12))));
+		administrativeSegment.setVictimSegments(new HashSet<>(Arrays.asList(victimSegment1, victimSegment2)));
+		
+		ArresteeSegment arresteeSegment = new ArresteeSegment();
+		arresteeSegment.setSegmentActionType(segmentActionType);
+		arresteeSegment.setAdministrativeSegment(administrativeSegment);
+		arresteeSegment.setArresteeSequenceNumber(1);
+		arresteeSegment.setArrestTransactionNumber("A" + incidentNumber);
+		arresteeSegment.setArrestDate(DateUtils.asDate(LocalDate.of(2017, 5, 13)));
+		arresteeSegment.setArrestDateType(new DateType(2325));
+		arresteeSegment.setTypeOfArrestType(new TypeOfArrestType(1));
+		arresteeSegment.setMultipleArresteeSegmentsIndicatorType(new MultipleArresteeSegmentsIndicatorType(3));
+		arresteeSegment.setAgeOfArresteeMin(25);
+		arresteeSegment.setAgeOfArresteeMax(25);
+		arresteeSegment.setSexOfPersonType(new SexOfPersonType(1));
+		arresteeSegment.setRaceOfPersonType(new RaceOfPersonType(2));
+		arresteeSegment.setEthnicityOfPersonType(new EthnicityOfPersonType(3));
+		arresteeSegment.setResidentStatusOfPersonType(new ResidentStatusOfPersonType(1));
+		arresteeSegment.setDispositionOfArresteeUnder18Type(new DispositionOfArresteeUnder18Type(99998));
+		arresteeSegment.setUcrOffenseCodeType(new UcrOffenseCodeType(30));
+		arresteeSegment.setArresteeSegmentWasArmedWiths(new HashSet<>(Arrays.asList(
+				new ArresteeSegmentWasArmedWith(null, arresteeSegment, new ArresteeWasArmedWithType(2), "A"))));
+		administrativeSegment.setArresteeSegments(new HashSet<>(Arrays.asList(arresteeSegment)));
+		
+		return administrativeSegment;
+	}
+	
+	private static OffenderSegment getOffenderSegment(AdministrativeSegment administrativeSegment, Integer offenderSequenceNumber, Integer age) {
+		OffenderSegment offenderSegment = new OffenderSegment();
+		offenderSegment.setSegmentActionType(administrativeSegment.getSegmentActionType());
+		offenderSegment.setAdministrativeSegment(administrativeSegment);
+		offenderSegment.setOffenderSequenceNumber(offenderSequenceNumber);
+		offenderSegment.setAgeOfOffenderMin(age);
+		offenderSegment.setAgeOfOffenderMax(age);
+		offenderSegment.setNonNumericAge(age == null ? "00" : null);
+		offenderSegment.setSexOfPersonType(new SexOfPersonType(offenderSequenceNumber));
+		offenderSegment.setRaceOfPersonType(new RaceOfPersonType(1));
+		offenderSegment.setEthnicityOfPersonType(new EthnicityOfPersonType(99998));
+		return offenderSegment;
+	}
+	
+	private static VictimSegment getVictimSegment(AdministrativeSegment administrativeSegment, Integer victimSequenceNumber) {
+		VictimSegment victimSegment = new VictimSegment();
+		victimSegment.setSegmentActionType(administrativeSegment.getSegmentActionType());
+		victimSegment.setAdministrativeSegment(administrativeSegment);
+		victimSegment.setVictimSequenceNumber(victimSequenceNumber);
+		victimSegment.setTypeOfVictimType(new TypeOfVictimType(victimSequenceNumber));
+		victimSegment.setOfficerActivityCircumstanceType(new OfficerActivityCircumstanceType(99998));
+		victimSegment.setOfficerAssignmentTypeType(new OfficerAssignmentTypeType(99998));
+		victimSegment.setAgeOfVictimMin(30 + victimSequenceNumber);
+		victimSegment.setAgeOfVictimMax(30 + victimSequenceNumber);
+		victimSegment.setAgeNeonateIndicator(0);
+		victimSegment.setAgeFirstWeekIndicator(0);
+		victimSegment.setAgeFirstYearIndicator(0);
+		victimSegment.setSexOfPersonType(new SexOfPersonType(2));
+		victimSegment.setRaceOfPersonType(new RaceOfPersonType(1));
+		victimSegment.setEthnicityOfPersonType(new EthnicityOfPersonType(2));
+		victimSegment.setResidentStatusOfPersonType(new ResidentStatusOfPersonType(1));
+		victimSegment.setAdditionalJustifiableHomicideCircumstancesType(new AdditionalJustifiableHomicideCircumstancesType(99998));
+		return victimSegment;
+	}
+	
+	private static VictimOffenderAssociation getVictimOffenderAssociation(VictimSegment victimSegment, OffenderSegment offenderSegment, 
+			Integer victimOffenderRelationshipTypeId) {
+		VictimOffenderAssociation victimOffenderAssociation = new VictimOffenderAssociation();
+		victimOffenderAssociation.setVictimSegment(victimSegment);
+		victimOffenderAssociation.setOffenderSegment(offenderSegment);
+		victimOffenderAssociation.setVictimOffenderRelationshipType(new VictimOffenderRelationshipType(victimOffenderRelationshipTypeId));
+		return victimOffenderAssociation;
+	}
+	
+	private static AdministrativeSegment getAdministrativeSegment(String incidentNumber, Integer segmentActionTypeTypeId) {
+		AdministrativeSegment administrativeSegment = getAdministrativeSegment(incidentNumber);
+		administrativeSegment.setSegmentActionType(new SegmentActionTypeType(segmentActionTypeTypeId));
+		return administrativeSegment;
+	}
+	
+	private static ArrestReportSegment getArrestReportSegment(String arrestTransactionNumber, Integer segmentActionTypeTypeId) {
+		ArrestReportSegment arrestReportSegment = getArrestReportSegment(arrestTransactionNumber);
+		arrestReportSegment.setSegmentActionType(new SegmentActionTypeType(segmentActionTypeTypeId));
+		return arrestReportSegment;
+	}
+	
+	private static ArrestReportSegment getArrestReportSegment(String arrestTransactionNumber) {
+		ArrestReportSegment arrestReportSegment = new ArrestReportSegment();
+		arrestReportSegment.setSegmentActionType(new SegmentActionTypeType(1));
+		arrestReportSegment.setMonthOfTape("05");
+		arrestReportSegment.setYearOfTape("2017");
+		arrestReportSegment.setAgency(new Agency(1));
+		arrestReportSegment.setOri("WA1234567");
+		arrestReportSegment.setArrestTransactionNumber(arrestTransactionNumber);
+		arrestReportSegment.setArresteeSequenceNumber(1);
+		arrestReportSegment.setArrestDate(DateUtils.asDate(LocalDate.of(2017, 5, 13)));
+		arrestReportSegment.setArrestDateType(new DateType(2325));
+		arrestReportSegment.setTypeOfArrestType(new TypeOfArrestType(2));
+		arrestReportSegment.setNonNumericAge("BB");
+		arrestReportSegment.setSexOfPersonType(new SexOfPersonType(2));
+		arrestReportSegment.setRaceOfPersonType(new RaceOfPersonType(1));
+		arrestReportSegment.setEthnicityOfPersonType(new EthnicityOfPersonType(2));
+		arrestReportSegment.setResidentStatusOfPersonType(new ResidentStatusOfPersonType(1));
+		arrestReportSegment.setDispositionOfArresteeUnder18Type(new DispositionOfArresteeUnder18Type(1));
+		arrestReportSegment.setUcrOffenseCodeType(new UcrOffenseCodeType(30));
+		arrestReportSegment.setReportTimestamp(LocalDateTime.now());
+		arrestReportSegment.setArrestReportSegmentWasArmedWiths(new HashSet<>(Arrays.asList(
+				new ArrestReportSegmentWasArmedWith(null, arrestReportSegment, new ArresteeWasArmedWithType(1), ""), 
+				new ArrestReportSegmentWasArmedWith(null, arrestReportSegment, new ArresteeWasArmedWithType(3), "A"))));
+		return arrestReportSegment;
+	}
+
+}
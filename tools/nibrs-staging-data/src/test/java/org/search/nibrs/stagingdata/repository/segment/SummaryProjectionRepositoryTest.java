@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.repository.segment;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.search.nibrs.stagingdata.model.segment.AdministrativeSegment;
+import org.search.nibrs.stagingdata.model.summary.ArresteeSummary;
+import org.search.nibrs.stagingdata.model.summary.IncidentSummary;
+import org.search.nibrs.stagingdata.model.summary.OffenderSummary;
+import org.search.nibrs.stagingdata.model.summary.OffenseSummary;
+import org.search.nibrs.stagingdata.model.summary.PropertySummary;
+import org.search.nibrs.stagingdata.model.summary.PropertyTypeSummary;
+import org.search.nibrs.stagingdata.service.AdministrativeSegmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * Checks the summary projections against segments written by the bulk loader.  The code table rows the projections join 
+ * are inserted by the test. 
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SummaryProjectionRepositoryTest {
+	
+	@Autowired
+	public SegmentBulkLoader segmentBulkLoader; 
+	@Autowired
+	public AdministrativeSegmentService administrativeSegmentService; 
+	@Autowired
+	public JdbcTemplate jdbcTemplate; 
+	
+	@Before
+	public void setup() {
+		jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+		jdbcTemplate.update("INSERT INTO TypeOfWeaponForceInvolvedType VALUES (110, '11', 'Firearm', '11', 'Firearm'), "
+				+ "(120, '12', 'Handgun', '12', 'Handgun')");
+		jdbcTemplate.update("INSERT INTO TypeOfCriminalActivityType VALUES (3, 'C', 'Cultivating', 'C', 'Cultivating'), "
+				+ "(4, 'D', 'Distributing', 'D', 'Distributing')");
+		jdbcTemplate.update("INSERT INTO SexOfPersonType VALUES (1, 'M', 'Male', 'M', 'Male'), (2, 'F', 'Female', 'F', 'Female')");
+		jdbcTemplate.update("INSERT INTO DateType VALUES (2325, '2017-05-13', 2017, '2017', 2, 5, 'May', '2017-05', 13, 'Saturday', 7, "
+				+ "'05/13/2017')");
+	}
+	
+	@After
+	public void tearDown() {
+		SegmentBulkLoaderTest.deleteBulkSegments(jdbcTemplate);
+		jdbcTemplate.update("DELETE FROM TypeOfWeaponForceInvolvedType WHERE TypeOfWeaponForceInvolvedTypeID IN (110, 120)");
+		jdbcTemplate.update("DELETE FROM TypeOfCriminalActivityType WHERE TypeOfCriminalActivityTypeID IN (3, 4)");
+		jdbcTemplate.update("DELETE FROM SexOfPersonType WHERE SexOfPersonTypeID IN (1, 2)");
+		jdbcTemplate.update("DELETE FROM DateType WHERE DateTypeID = 2325");
+		jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+	}
+	
+	@Test
+	public void testFindIncidentSummaries() {
+		AdministrativeSegment administrativeSegment = SegmentBulkLoaderTest.getAdministrativeSegment("BULKSUM");
+		segmentBulkLoader.insertAdministrativeSegments(Arrays.asList(administrativeSegment));
+		
+		List<IncidentSummary> incidents = administrativeSegmentService.findIncidentSummaries(
+				Arrays.asList(administrativeSegment.getAdministrativeSegmentId()));
+		assertThat(incidents.size(), equalTo(1));
+		
+		IncidentSummary incident = incidents.get(0);
+		assertThat(incident.getAdministrativeSegmentId(), equalTo(administrativeSegment.getAdministrativeSegmentId()));
+		assertThat(incident.getOri(), equalTo("WA1234567"));
+		assertThat(incident.getIncidentHour(), equalTo("13"));
+		
+		assertThat(incident.getOffenses().size(), equalTo(2));
+		OffenseSummary completedOffense = incident.getOffenses().stream()
+				.filter(i -> "C".equals(i.getOffenseAttemptedCompleted())).findFirst().get(); 
+		assertThat(completedOffense.getNumberOfPremisesEntered(), equalTo(2));
+		assertThat(completedOffense.getTypeOfWeaponForceInvolvedCodes().size(), equalTo(2));
+		assertThat(completedOffense.getTypeOfWeaponForceInvolvedCodes(), hasItems("11", "12"));
+		assertTrue(completedOffense.getTypeOfCriminalActivityCodes().isEmpty());
+		OffenseSummary attemptedOffense = incident.getOffenses().stream()
+				.filter(i -> "A".equals(i.getOffenseAttemptedCompleted())).findFirst().get(); 
+		assertThat(attemptedOffense.getTypeOfCriminalActivityCodes(), hasItems("C", "D"));
+		assertTrue(attemptedOffense.getTypeOfWeaponForceInvolvedCodes().isEmpty());
+		
+		assertThat(incident.getProperties().size(), equalTo(2));
+		PropertySummary stolenProperty = incident.getProperties().stream()
+				.filter(i -> i.getNumberOfStolenMotorVehicles() != null).findFirst().get(); 
+		assertThat(stolenProperty.getNumberOfStolenMotorVehicles(), equalTo(1));
+		List<Double> values = stolenProperty.getPropertyTypes().stream()
+				.map(PropertyTypeSummary::getValueOfProperty).sorted().collect(Collectors.toList()); 
+		assertThat(values, equalTo(Arrays.asList(250.0, 10000.0)));
+		
+		assertThat(incident.getVictimOffenseLinks().size(), equalTo(3));
+		assertTrue(incident.getVictimOffenseLinks().stream().allMatch(i -> "F".equals(i.getSexOfPersonCode())));
+		assertThat(incident.getVictimOffenseLinks().stream()
+				.filter(i -> i.getOffenseSegmentId().equals(attemptedOffense.getOffenseSegmentId())).count(), equalTo(2L));
+		
+		assertThat(incident.getOffenders().size(), equalTo(2));
+		assertThat(incident.getOffenders().stream().filter(OffenderSummary::isAgeUnknown).count(), equalTo(1L));
+		
+		assertThat(incident.getArrestees().size(), equalTo(1));
+		ArresteeSummary arrestee = incident.getArrestees().get(0);
+		assertThat(arrestee.getAverageAge(), equalTo(25));
+		assertThat(arrestee.getSexOfPersonCode(), equalTo("M"));
+	}
+	
+	@Test
+	public void testFindIncidentSummariesInBatches() {
+		List<AdministrativeSegment> administrativeSegments = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			administrativeSegments.add(SegmentBulkLoaderTest.getAdministrativeSegment("BULKSUM" + i));
+		}
+		segmentBulkLoader.insertAdministrativeSegments(administrativeSegments);
+		
+		List<Integer> ids = administrativeSegments.stream()
+				.map(AdministrativeSegment::getAdministrativeSegmentId)
+				.collect(Collectors.toList()); 
+		List<Integer> idsWithMissingSegments = new ArrayList<>(ids); 
+		idsWithMissingSegments.addAll(Collections.nCopies(AdministrativeSegmentService.SUMMARY_BATCH_SIZE, -1));
+		
+		List<IncidentSummary> incidents = administrativeSegmentService.findIncidentSummaries(idsWithMissingSegments);
+		assertThat(incidents.stream().map(IncidentSummary::getAdministrativeSegmentId).collect(Collectors.toList()), equalTo(ids));
+		assertTrue(incidents.stream().allMatch(i -> i.getOffenses().size() == 2 && i.getProperties().size() == 2));
+	}
+	
+	@Test
+	public void testFindArresteeSummariesByOriAndArrestDate() {
+		AdministrativeSegment administrativeSegment = SegmentBulkLoaderTest.getAdministrativeSegment("BULKSUM");
+		segmentBulkLoader.insertAdministrativeSegments(Arrays.asList(administrativeSegment));
+		
+		List<ArresteeSummary> arrestees = administrativeSegmentService.findArresteeSummariesByOriAndArrestDate("WA1234567", 2017, 5);
+		assertThat(arrestees.size(), equalTo(1));
+		assertThat(arrestees.get(0).getAdministrativeSegmentId(), equalTo(administrativeSegment.getAdministrativeSegmentId()));
+		
+		assertThat(administrativeSegmentService.findArresteeSummariesByOriAndArrestDate("StateWide", 2017, 5).size(), equalTo(1));
+		assertTrue(administrativeSegmentService.findArresteeSummariesByOriAndArrestDate("WA1234568", 2017, 5).isEmpty());
+		assertTrue(administrativeSegmentService.findArresteeSummariesByOriAndArrestDate("WA1234567", 2017, 6).isEmpty());
+	}
+	
+}
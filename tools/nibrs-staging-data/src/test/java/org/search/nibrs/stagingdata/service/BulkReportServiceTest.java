@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.search.nibrs.model.GroupAIncidentReport;
+import org.search.nibrs.model.GroupBArrestReport;
+import org.search.nibrs.stagingdata.AppProperties;
+import org.search.nibrs.stagingdata.controller.BadRequestException;
+import org.search.nibrs.stagingdata.service.ReportOutcome.Status;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public class BulkReportServiceTest {
+	
+	private BulkReportService bulkReportService;
+	private ObjectMapper objectMapper;
+	private List<List<String>> savedChunks;
+	private Function<GroupAIncidentReport, String> rejector;
+	private Function<List<GroupAIncidentReport>, Set<String>> saver;
+	
+	@Before
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		bulkReportService = new BulkReportService();
+		bulkReportService.objectMapper = objectMapper;
+		bulkReportService.transactionManager = mock(PlatformTransactionManager.class);
+		bulkReportService.appProperties = new AppProperties();
+		
+		savedChunks = new ArrayList<>();
+		rejector = report -> StringUtils.isBlank(report.getIncidentNumber()) ? "Missing incident number" : null;
+		saver = reports -> {
+			List<String> incidentNumbers = reports.stream().map(GroupAIncidentReport::getIncidentNumber).collect(Collectors.toList());
+			if (incidentNumbers.contains("FAILS") ){
+				throw new IllegalStateException("Unable to save FAILS");
+			}
+			savedChunks.add(incidentNumbers);
+			return incidentNumbers.stream().filter(incidentNumber -> !incidentNumber.startsWith("SKIPPED")).collect(Collectors.toSet());
+		};
+	}
+	
+	@Test
+	public void testJsonArrayInChunks() throws Exception {
+		
+		String body = "[" + Arrays.asList("1", "2", "3", "4", "5").stream().map(this::getIncidentJson).collect(Collectors.joining(",")) + "]";
+		List<ReportOutcome> outcomes = bulkReportService.saveReports(asStream(body), GroupAIncidentReport.class, 2, rejector, saver);
+		
+		assertThat(savedChunks, equalTo(Arrays.asList(Arrays.asList("1", "2"), Arrays.asList("3", "4"), Arrays.asList("5"))));
+		assertThat(outcomes.size(), equalTo(5));
+		for (int i = 0; i < 5; i++) {
+			assertThat(outcomes.get(i).getIndex(), equalTo(i));
+			assertThat(outcomes.get(i).getIdentifier(), equalTo(String.valueOf(i + 1)));
+			assertThat(outcomes.get(i).getStatus(), equalTo(Status.SAVED));
+		}
+		
+		savedChunks.clear();
+		bulkReportService.appProperties.setBulkSaveChunkSize(3);
+		bulkReportService.saveReports(asStream(body), GroupAIncidentReport.class, null, rejector, saver);
+		assertThat(savedChunks, equalTo(Arrays.asList(Arrays.asList("1", "2", "3"), Arrays.asList("4", "5"))));
+	}
+	
+	@Test
+	public void testNdjsonWithFailedAndRejectedReports() throws Exception {
+		
+		String body = getIncidentJson("1") + "\n" + getIncidentJson("FAILS") + "\n" + getIncidentJson("") + "\n" 
+				+ getIncidentJson("4") + "\n" + "{\"incidentNumber\": [\"5\"]}\n" + getIncidentJson("6") + "\n" 
+				+ getIncidentJson("SKIPPED7") + "\n";
+		List<ReportOutcome> outcomes = bulkReportService.saveReports(asStream(body), GroupAIncidentReport.class, 4, rejector, saver);
+		
+		// the first chunk fails as a whole and is retried one report at a time; the rejected report is never saved
+		assertThat(savedChunks, equalTo(Arrays.asList(Arrays.asList("1"), Arrays.asList("4"), Arrays.asList("6"), Arrays.asList("SKIPPED7"))));
+		assertThat(outcomes.stream().map(ReportOutcome::getStatus).collect(Collectors.toList()), equalTo(Arrays.asList(
+				Status.SAVED, Status.FAILED, Status.REJECTED, Status.SAVED, Status.FAILED, Status.SAVED, Status.FAILED)));
+		assertThat(outcomes.get(1).getIdentifier(), equalTo("FAILS"));
+		assertThat(outcomes.get(1).getMessage(), equalTo("IllegalStateException: Unable to save FAILS"));
+		assertThat(outcomes.get(2).getMessage(), equalTo("Missing incident number"));
+		assertThat(outcomes.get(4).getIndex(), equalTo(4));
+		assertThat(outcomes.get(4).getIdentifier(), nullValue());
+		assertThat(outcomes.get(5).getIdentifier(), equalTo("6"));
+		assertThat(outcomes.get(6).getMessage(), equalTo("The report was not saved"));
+	}
+	
+	@Test
+	public void testMalformedNdjsonStopsReading() throws Exception {
+		
+		String body = getIncidentJson("1") + "\n" + getIncidentJson("2") + "\n" + "{\"incidentNumber\": \"3\"\n" + getIncidentJson("4") + "\n";
+		List<ReportOutcome> outcomes = bulkReportService.saveReports(asStream(body), GroupAIncidentReport.class, 10, rejector, saver);
+		
+		assertThat(savedChunks, equalTo(Arrays.asList(Arrays.asList("1", "2"))));
+		assertThat(outcomes.stream().map(ReportOutcome::getStatus).collect(Collectors.toList()), equalTo(Arrays.asList(
+				Status.SAVED, Status.SAVED, Status.FAILED)));
+	}
+	
+	@Test
+	public void testGroupBReportWithoutArresteeRejected() throws Exception {
+		
+		ArrestReportService arrestReportService = mock(ArrestReportService.class);
+		bulkReportService.arrestReportService = arrestReportService;
+		
+		List<ReportOutcome> outcomes = bulkReportService.saveGroupBArrestReports(asStream("[{\"ori\": \"WA1234567\"}]"), null);
+		
+		assertThat(outcomes.size(), equalTo(1));
+		assertThat(outcomes.get(0).getStatus(), equalTo(Status.REJECTED));
+		assertThat(outcomes.get(0).getIdentifier(), nullValue());
+		assertThat(outcomes.get(0).getMessage(), equalTo(ArrestReportService.BAD_SAVE_REQUEST));
+		verify(arrestReportService, never()).bulkSaveGroupBArrestReports(any(GroupBArrestReport[].class));
+	}
+	
+	@Test(expected = BadRequestException.class)
+	public void testInvalidChunkSize() throws Exception {
+		bulkReportService.saveReports(asStream("[]"), GroupAIncidentReport.class, 0, rejector, saver);
+	}
+	
+	private String getIncidentJson(String incidentNumber) {
+		return "{\"ori\": \"WA1234567\", \"incidentNumber\": \"" + incidentNumber + "\", \"cityIndicator\": \"CITY\"}";
+	}
+	
+	private static InputStream asStream(String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.search.nibrs.stagingdata.model.SexOfPersonType;
+import org.search.nibrs.stagingdata.repository.SexOfPersonTypeRepository;
+
+public class CodeTableRegistryTest {
+	
+	private SexOfPersonTypeRepository sexOfPersonTypeRepository;
+	private CodeTableRegistry codeTableRegistry;
+	private List<SexOfPersonType> rows;
+	
+	@Before
+	public void setUp() {
+		rows = Arrays.asList(
+				new SexOfPersonType(1, "M", "Male", "M", "Male"),
+				new SexOfPersonType(2, "F", "Female", "F", "Female"),
+				new SexOfPersonType(3, "X", "Unknown", "U", "Unknown"),
+				new SexOfPersonType(4, "M", "Male (duplicate)", "M", "Male"));
+		sexOfPersonTypeRepository = mock(SexOfPersonTypeRepository.class);
+		when(sexOfPersonTypeRepository.findAll()).thenReturn(rows);
+		codeTableRegistry = new CodeTableRegistry();
+		codeTableRegistry.register(SexOfPersonType.class, sexOfPersonTypeRepository, SexOfPersonType::getStateCode, SexOfPersonType::getNibrsCode);
+	}
+	
+	@Test
+	public void testLookup() {
+		
+		assertFalse(codeTableRegistry.isLoaded(SexOfPersonType.class));
+		
+		assertThat(codeTableRegistry.findByStateCode(SexOfPersonType.class, "M"), sameInstance(rows.get(0)));
+		assertThat(codeTableRegistry.findByStateCode(SexOfPersonType.class, "X"), sameInstance(rows.get(2)));
+		assertThat(codeTableRegistry.findByStateCode(SexOfPersonType.class, "U"), nullValue());
+		assertThat(codeTableRegistry.findByNibrsCode(SexOfPersonType.class, "U"), sameInstance(rows.get(2)));
+		assertThat(codeTableRegistry.findByNibrsCode(SexOfPersonType.class, "X"), nullValue());
+		
+		assertTrue(codeTableRegistry.isLoaded(SexOfPersonType.class));
+		verify(sexOfPersonTypeRepository, times(1)).findAll();
+		
+	}
+	
+	@Test
+	public void testRefreshAndInvalidate() {
+		
+		codeTableRegistry.refresh();
+		assertTrue(codeTableRegistry.isLoaded(SexOfPersonType.class));
+		assertThat(codeTableRegistry.findByStateCode(SexOfPersonType.class, "F"), sameInstance(rows.get(1)));
+		verify(sexOfPersonTypeRepository, times(1)).findAll();
+		
+		SexOfPersonType newRow = new SexOfPersonType(5, "F", "Female", "F", "Female");
+		when(sexOfPersonTypeRepository.findAll()).thenReturn(Arrays.asList(newRow));
+		assertThat(codeTableRegistry.findByStateCode(SexOfPersonType.class, "F"), sameInstance(rows.get(1)));
+		
+		codeTableRegistry.invalidate(SexOfPersonType.class);
+		assertFalse(codeTableRegistry.isLoaded(SexOfPersonType.class));
+		assertThat(codeTableRegistry.findByStateCode(SexOfPersonType.class, "F"), sameInstance(newRow));
+		assertThat(codeTableRegistry.findByStateCode(SexOfPersonType.class, "M"), nullValue());
+		verify(sexOfPersonTypeRepository, times(2)).findAll();
+		
+		when(sexOfPersonTypeRepository.findAll()).thenReturn(rows);
+		codeTableRegistry.refresh(SexOfPersonType.class);
+		assertThat(codeTableRegistry.findByStateCode(SexOfPersonType.class, "M").getSexOfPersonTypeId(), equalTo(1));
+		
+		codeTableRegistry.invalidate();
+		assertFalse(codeTableRegistry.isLoaded(SexOfPersonType.class));
+		
+	}
+	
+	@Test
+	public void testCodeTableServiceLookup() {
+		
+		CodeTableService codeTableService = new CodeTableService();
+		codeTableService.getCodeTableRegistry().register(SexOfPersonType.class, sexOfPersonTypeRepository, SexOfPersonType::getStateCode, 
+				SexOfPersonType::getNibrsCode);
+		
+		assertThat(codeTableService.getCodeTableType("M", SexOfPersonType.class, SexOfPersonType::new), sameInstance(rows.get(0)));
+		assertThat(codeTableService.getCodeTableType("", SexOfPersonType.class, SexOfPersonType::new).getSexOfPersonTypeId(), equalTo(99998));
+		assertThat(codeTableService.getCodeTableType("?", SexOfPersonType.class, SexOfPersonType::new).getSexOfPersonTypeId(), equalTo(99998));
+		assertThat(codeTableService.getCodeTableType("?", SexOfPersonType.class, null), nullValue());
+		
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnregisteredTable() {
+		codeTableRegistry.findByStateCode(String.class, "M");
+	}
+
+}
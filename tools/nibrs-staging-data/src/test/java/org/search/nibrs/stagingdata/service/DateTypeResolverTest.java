@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.search.nibrs.stagingdata.model.DateType;
+import org.search.nibrs.stagingdata.repository.DateTypeRepository;
+import org.search.nibrs.stagingdata.util.DateUtils;
+
+public class DateTypeResolverTest {
+	
+	private DateTypeRepository dateTypeRepository;
+	private DateTypeResolver dateTypeResolver;
+	
+	@Before
+	public void setUp() {
+		List<DateType> rows = new ArrayList<>();
+		rows.add(dateType(2, LocalDate.of(2016, 12, 31)));
+		rows.add(dateType(1, LocalDate.of(2016, 12, 30)));
+		rows.add(dateType(3, LocalDate.of(2017, 1, 2)));
+		rows.add(dateType(4, LocalDate.of(2017, 1, 2)));
+		rows.add(new DateType(99998, null, null, null, null, null, null, null, null, null, null, "Unknown"));
+		dateTypeRepository = mock(DateTypeRepository.class);
+		when(dateTypeRepository.findAll()).thenReturn(rows);
+		dateTypeResolver = new DateTypeResolver(dateTypeRepository);
+	}
+	
+	private static DateType dateType(Integer id, LocalDate date) {
+		return new DateType(id, DateUtils.asDate(date), date.getYear(), String.valueOf(date.getYear()), null, date.getMonthValue(), 
+				null, null, date.getDayOfMonth(), null, null, String.format("%02d%02d%04d", date.getMonthValue(), date.getDayOfMonth(), date.getYear()));
+	}
+	
+	@Test
+	public void testResolve() {
+		
+		assertFalse(dateTypeResolver.isLoaded());
+		
+		assertThat(dateTypeResolver.resolve(LocalDate.of(2016, 12, 30)).getDateTypeId(), equalTo(1));
+		assertThat(dateTypeResolver.resolve(LocalDate.of(2016, 12, 31)).getDateTypeId(), equalTo(2));
+		assertThat(dateTypeResolver.resolve(LocalDate.of(2017, 1, 2)).getDateTypeId(), equalTo(3));
+		assertThat(dateTypeResolver.resolve(DateUtils.asDate(LocalDate.of(2016, 12, 31))).getDateTypeId(), equalTo(2));
+		assertThat(dateTypeResolver.resolve(java.sql.Date.valueOf(LocalDate.of(2016, 12, 31))).getDateTypeId(), equalTo(2));
+		
+		assertThat(dateTypeResolver.resolve(LocalDate.of(2017, 1, 1)), nullValue());
+		assertThat(dateTypeResolver.resolve(LocalDate.of(2016, 12, 29)), nullValue());
+		assertThat(dateTypeResolver.resolve(LocalDate.of(2017, 1, 3)), nullValue());
+		assertThat(dateTypeResolver.resolve((LocalDate) null), nullValue());
+		
+		assertTrue(dateTypeResolver.isLoaded());
+		verify(dateTypeRepository, times(1)).findAll();
+		
+	}
+	
+	@Test
+	public void testRefreshAndInvalidate() {
+		
+		dateTypeResolver.refresh();
+		assertTrue(dateTypeResolver.isLoaded());
+		dateTypeResolver.resolve(LocalDate.of(2016, 12, 31));
+		verify(dateTypeRepository, times(1)).findAll();
+		
+		dateTypeResolver.invalidate();
+		assertFalse(dateTypeResolver.isLoaded());
+		dateTypeResolver.resolve(LocalDate.of(2016, 12, 31));
+		verify(dateTypeRepository, times(2)).findAll();
+		
+	}
+	
+	@Test
+	public void testEmptyTable() {
+		when(dateTypeRepository.findAll()).thenReturn(new ArrayList<>());
+		assertThat(dateTypeResolver.resolve(LocalDate.of(2016, 12, 31)), nullValue());
+	}
+
+}
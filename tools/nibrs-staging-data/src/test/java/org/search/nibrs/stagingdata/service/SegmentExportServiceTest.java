@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+public class SegmentExportServiceTest {
+	
+	private SegmentExportService segmentExportService;
+	private List<Map<String, Integer>> segments;
+	private List<Integer> requestedAfterIds;
+	
+	@Before
+	public void setUp() {
+		segmentExportService = new SegmentExportService();
+		segmentExportService.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		segmentExportService.transactionManager = mock(PlatformTransactionManager.class);
+		segmentExportService.entityManager = mock(EntityManager.class);
+		
+		segments = new ArrayList<>();
+		for (int id = 1; id <= 5; id++) {
+			segments.add(Collections.singletonMap("id", id * 10));
+		}
+		requestedAfterIds = new ArrayList<>();
+	}
+	
+	@Test
+	public void testExportInKeysetPages() throws Exception {
+		
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		long count = segmentExportService.export(this::getPage, outputStream);
+		
+		assertThat(count, equalTo(5L));
+		assertThat(requestedAfterIds, equalTo(Arrays.asList(0, 20, 40)));
+		assertThat(new String(outputStream.toByteArray(), StandardCharsets.UTF_8), 
+				equalTo("{\"id\":10}\n{\"id\":20}\n{\"id\":30}\n{\"id\":40}\n{\"id\":50}\n"));
+		verify(segmentExportService.entityManager, times(3)).clear();
+	}
+	
+	@Test
+	public void testExportNothing() throws Exception {
+		
+		segments.clear();
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		
+		assertThat(segmentExportService.export(this::getPage, outputStream), equalTo(0L));
+		assertThat(outputStream.size(), equalTo(0));
+	}
+	
+	private KeysetPage<Map<String, Integer>> getPage(Integer afterId) {
+		requestedAfterIds.add(afterId);
+		List<Map<String, Integer>> content = segments.stream()
+				.filter(segment -> segment.get("id") > afterId)
+				.limit(2)
+				.collect(Collectors.toList());
+		Integer nextAfterId = content.size() < 2 ? null : content.get(1).get("id");
+		return new KeysetPage<>(content, nextAfterId);
+	}
+
+}
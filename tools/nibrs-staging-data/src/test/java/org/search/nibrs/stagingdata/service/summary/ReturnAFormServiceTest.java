@@ -0,0 +1,138 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service.summary;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.search.nibrs.model.reports.PropertyStolenByClassificationRowName;
+import org.search.nibrs.model.reports.PropertyTypeValueRowName;
+import org.search.nibrs.model.reports.ReturnAForm;
+import org.search.nibrs.model.reports.ReturnARowName;
+import org.search.nibrs.stagingdata.AppProperties;
+import org.search.nibrs.stagingdata.model.summary.ArresteeSummary;
+import org.search.nibrs.stagingdata.model.summary.IncidentSummary;
+import org.search.nibrs.stagingdata.model.summary.OffenseSummary;
+import org.search.nibrs.stagingdata.model.summary.PropertySummary;
+import org.search.nibrs.stagingdata.model.summary.PropertyTypeSummary;
+import org.search.nibrs.stagingdata.model.summary.VictimOffenseLink;
+import org.search.nibrs.stagingdata.repository.AgencyRepository;
+import org.search.nibrs.stagingdata.service.AdministrativeSegmentService;
+
+/**
+ * Runs the Return A counting rules over incident summaries, without a database.
+ */
+public class ReturnAFormServiceTest {
+	
+	private ReturnAFormService returnAFormService;
+	
+	@Before
+	public void setUp() {
+		returnAFormService = new ReturnAFormService();
+		returnAFormService.administrativeSegmentService = mock(AdministrativeSegmentService.class);
+		returnAFormService.agencyRepository = mock(AgencyRepository.class);
+		returnAFormService.appProperties = new AppProperties();
+	}
+	
+	@Test
+	public void testReportedOffenses() {
+		IncidentSummary burglary = getIncident(1, "13", "N");
+		addOffense(burglary, 11, "220", "C", "20", "F");
+		addStolenProperty(burglary, 12, "20", 250.0);
+		
+		IncidentSummary assault = getIncident(2, "22", "N");
+		addOffense(assault, 21, "13A", "C", "13", null, "20");
+		addOffense(assault, 22, "13B", "C", "13", null, "40");
+		
+		IncidentSummary rape = getIncident(3, null, "N");
+		OffenseSummary rapeOffense = addOffense(rape, 31, "11A", "A", "20", null);
+		rape.getVictimOffenseLinks().add(new VictimOffenseLink(32, 3, "F", rapeOffense.getOffenseSegmentId(), "11A"));
+		
+		when(returnAFormService.administrativeSegmentService.findIncidentSummariesByOriAndIncidentDate("StateWide", 2017, 5))
+			.thenReturn(Arrays.asList(burglary, assault, rape));
+		
+		ReturnAForm returnAForm = returnAFormService.createReturnASummaryReport("StateWide", 2017, 5);
+		
+		assertThat(returnAForm.getRows()[ReturnARowName.FORCIBLE_ENTRY_BURGLARY.ordinal()].getReportedOffenses(), equalTo(1));
+		assertThat(returnAForm.getRows()[ReturnARowName.KNIFE_CUTTING_INSTRUMENT_ASSAULT.ordinal()].getReportedOffenses(), equalTo(1));
+		assertThat(returnAForm.getRows()[ReturnARowName.OTHER_ASSAULT_NOT_AGGRAVATED.ordinal()].getReportedOffenses(), equalTo(0));
+		assertThat(returnAForm.getRows()[ReturnARowName.ATTEMPTS_TO_COMMIT_FORCIBLE_RAPE.ordinal()].getReportedOffenses(), equalTo(1));
+		assertThat(returnAForm.getRows()[ReturnARowName.GRAND_TOTAL.ordinal()].getReportedOffenses(), equalTo(3));
+		
+		assertThat(returnAForm.getPropertyStolenByClassifications()[PropertyStolenByClassificationRowName.BURGLARY_RESIDENCE_DAY.ordinal()]
+				.getNumberOfOffenses(), equalTo(1));
+		assertThat(returnAForm.getPropertyStolenByClassifications()[PropertyStolenByClassificationRowName.BURGLARY_RESIDENCE_DAY.ordinal()]
+				.getMonetaryValue(), equalTo(250.0));
+		assertThat(returnAForm.getPropertyTypeValues()[PropertyTypeValueRowName.CURRENCY_NOTES_ETC.ordinal()].getStolen(), equalTo(250.0));
+		verify(returnAFormService.administrativeSegmentService).findIncidentSummariesByOriAndClearanceDate("StateWide", 2017, 5);
+	}
+	
+	@Test
+	public void testClearedOffenses() {
+		IncidentSummary arrest = getIncident(1, "13", "N");
+		addOffense(arrest, 11, "13A", "C", "13", null, "12");
+		arrest.getArrestees().add(getArrestee(1, 15));
+		
+		IncidentSummary exceptionalClearance = getIncident(2, "13", "A");
+		addOffense(exceptionalClearance, 21, "220", "C", "19", "N").setNumberOfPremisesEntered(3);
+		
+		when(returnAFormService.administrativeSegmentService.findIncidentSummariesByOriAndClearanceDate("StateWide", 2017, 6))
+			.thenReturn(Arrays.asList(arrest, exceptionalClearance));
+		
+		ReturnAForm returnAForm = returnAFormService.createReturnASummaryReport("StateWide", 2017, 6);
+		
+		assertThat(returnAForm.getRows()[ReturnARowName.FIREARM_ASSAULT.ordinal()].getClearedOffenses(), equalTo(1));
+		assertThat(returnAForm.getRows()[ReturnARowName.FIREARM_ASSAULT.ordinal()].getClearanceInvolvingOnlyJuvenile(), equalTo(1));
+		assertThat(returnAForm.getRows()[ReturnARowName.UNLAWFUL_ENTRY_NO_FORCE_BURGLARY.ordinal()].getClearedOffenses(), equalTo(3));
+		assertThat(returnAForm.getRows()[ReturnARowName.UNLAWFUL_ENTRY_NO_FORCE_BURGLARY.ordinal()].getClearanceInvolvingOnlyJuvenile(), 
+				equalTo(3));
+		assertThat(returnAForm.getRows()[ReturnARowName.GRAND_TOTAL.ordinal()].getClearedOffenses(), equalTo(4));
+		assertThat(returnAForm.getRows()[ReturnARowName.GRAND_TOTAL.ordinal()].getReportedOffenses(), equalTo(0));
+	}
+	
+	private static IncidentSummary getIncident(Integer administrativeSegmentId, String incidentHour, String clearedExceptionallyCode) {
+		return new IncidentSummary(administrativeSegmentId, "WA1234567", incidentHour, clearedExceptionallyCode, 
+				2017, 6, null, null);
+	}
+	
+	private static OffenseSummary addOffense(IncidentSummary incident, Integer offenseSegmentId, String ucrOffenseCode, 
+			String offenseAttemptedCompleted, String locationCode, String methodOfEntryCode, String... typeOfWeaponForceInvolvedCodes) {
+		OffenseSummary offense = new OffenseSummary(offenseSegmentId, incident.getAdministrativeSegmentId(), ucrOffenseCode, 
+				offenseAttemptedCompleted, locationCode, null, methodOfEntryCode);
+		offense.getTypeOfWeaponForceInvolvedCodes().addAll(Arrays.asList(typeOfWeaponForceInvolvedCodes));
+		incident.getOffenses().add(offense);
+		return offense;
+	}
+	
+	private static void addStolenProperty(IncidentSummary incident, Integer propertySegmentId, String propertyDescriptionCode, 
+			Double valueOfProperty) {
+		PropertySummary property = new PropertySummary(propertySegmentId, incident.getAdministrativeSegmentId(), "7", null);
+		property.getPropertyTypes().add(new PropertyTypeSummary(propertySegmentId, propertyDescriptionCode, valueOfProperty));
+		incident.getProperties().add(property);
+	}
+	
+	private static ArresteeSummary getArrestee(Integer arresteeSegmentId, Integer age) {
+		return new ArresteeSummary(arresteeSegmentId, 1, "13A", "N", age, age, null, "M", "W", "N", 2017, 6);
+	}
+	
+}
@@ -0,0 +1,401 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service.summary;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.search.nibrs.common.ParsedObject;
+import org.search.nibrs.model.ArresteeSegment;
+import org.search.nibrs.model.GroupAIncidentReport;
+import org.search.nibrs.model.NIBRSAge;
+import org.search.nibrs.model.OffenseSegment;
+import org.search.nibrs.model.PropertySegment;
+import org.search.nibrs.model.reports.PropertyStolenByClassificationRowName;
+import org.search.nibrs.model.reports.PropertyTypeValueRowName;
+import org.search.nibrs.model.reports.ReturnAForm;
+import org.search.nibrs.model.reports.ReturnARowName;
+import org.search.nibrs.model.reports.asr.AsrAdult;
+import org.search.nibrs.model.reports.asr.AsrAdultRow.AdultAgeGroup;
+import org.search.nibrs.model.reports.asr.AsrAdultRowName;
+import org.search.nibrs.stagingdata.model.UcrOffenseCodeType;
+import org.search.nibrs.stagingdata.model.segment.AdministrativeSegment;
+import org.search.nibrs.stagingdata.repository.segment.SegmentBulkLoader;
+import org.search.nibrs.stagingdata.repository.segment.SegmentBulkLoaderTest;
+import org.search.nibrs.stagingdata.service.CodeTableService;
+import org.search.nibrs.stagingdata.service.GroupAIncidentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * Checks that the forms built from the summary aggregates are the forms counted from the segments.  The code table rows 
+ * the counting reads are inserted by the test. 
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class SummaryAggregateServiceTest {
+	
+	@Autowired
+	public SegmentBulkLoader segmentBulkLoader; 
+	@Autowired
+	public SummaryAggregateService summaryAggregateService; 
+	@Autowired
+	public ReturnAFormService returnAFormService; 
+	@Autowired
+	public AsrFormService asrFormService; 
+	@Autowired
+	public SummaryFormCache summaryFormCache; 
+	@Autowired
+	public GroupAIncidentService groupAIncidentService; 
+	@Autowired
+	public CodeTableService codeTableService; 
+	@Autowired
+	public JdbcTemplate jdbcTemplate; 
+	
+	@Before
+	public void setup() {
+		insertCodeRows(jdbcTemplate);
+		codeTableService.invalidateCodeTables();
+	}
+	
+	@After
+	public void tearDown() {
+		SegmentBulkLoaderTest.deleteBulkSegments(jdbcTemplate);
+		jdbcTemplate.update("DELETE FROM SummaryAggregate");
+		summaryFormCache.invalidateAll();
+		deleteCodeRows(jdbcTemplate);
+		codeTableService.invalidateCodeTables();
+	}
+	
+	/**
+	 * The code tables whose placeholder rows, for blank and unknown codes, are inserted by insertCodeRows. 
+	 */
+	private static final String[] PLACEHOLDER_CODE_TABLES = {"AgencyType", "CargoTheftIndicatorType", 
+			"OfficerAssignmentTypeType", "OfficerActivityCircumstanceType", "TypeOfWeaponForceInvolvedType", "SuspectedDrugTypeType", "MethodOfEntryType", 
+			"LocationTypeType", "ClearedExceptionallyType", "DispositionOfArresteeUnder18Type", "ArresteeWasArmedWithType", 
+			"MultipleArresteeSegmentsIndicatorType", "TypeOfArrestType", "AdditionalJustifiableHomicideCircumstancesType", 
+			"TypeInjuryType", "EthnicityOfPersonType", "TypeOfVictimType", "TypeDrugMeasurementType", "PropertyDescriptionType", 
+			"RaceOfPersonType", "SexOfPersonType", "TypeOfCriminalActivityType", "OffenderSuspectedOfUsingType", 
+			"VictimOffenderRelationshipType", "AggravatedAssaultHomicideCircumstancesType", "TypePropertyLossEtcType", 
+			"ResidentStatusOfPersonType"};
+	
+	/**
+	 * Inserts the code table rows the counting of the SegmentBulkLoaderTest segments reads, and the placeholder rows the 
+	 * segments saved from reports refer to for codes that are not in the tables. 
+	 */
+	public static void insertCodeRows(JdbcTemplate jdbcTemplate) {
+		jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+		for (String table: PLACEHOLDER_CODE_TABLES) {
+			jdbcTemplate.update("INSERT INTO " + table + " VALUES (99998, '', 'Unknown', '', 'Unknown')");
+		}
+		jdbcTemplate.update("INSERT INTO BiasMotivationType VALUES (99998, '', 'Unknown', '', 'Unknown', '')");
+		jdbcTemplate.update("INSERT INTO UCROffenseCodeType VALUES (99998, '', 'Unknown', '', 'Unknown', '', '', '', '')");
+		jdbcTemplate.update("INSERT INTO Agency VALUES (99998, '', 'Unknown', 99998, '', 'Unknown', NULL)");
+		jdbcTemplate.update("INSERT INTO DateType VALUES (99998, '1899-12-31', 1899, 'Unkn', 0, 0, 'Unknown', 'Unknown', 0, 'Unknown', 0, "
+				+ "'Unknown')");
+		jdbcTemplate.update("INSERT INTO SegmentActionTypeType VALUES (1, 'I', 'Incident', 'I', 'Incident'), "
+				+ "(2, 'R', 'Replacement', 'R', 'Replacement')");
+		jdbcTemplate.update("INSERT INTO UCROffenseCodeType VALUES (30, '120', 'Robbery', '120', 'Robbery', '', '', '', ''), "
+				+ "(44, '35A', 'Drug/Narcotic Violations', '35A', 'Drug/Narcotic Violations', '', '', '', '')");
+		jdbcTemplate.update("INSERT INTO TypeOfWeaponForceInvolvedType VALUES (110, '11', 'Firearm', '11', 'Firearm'), "
+				+ "(120, '12', 'Handgun', '12', 'Handgun')");
+		jdbcTemplate.update("INSERT INTO TypeOfCriminalActivityType VALUES (3, 'C', 'Cultivating', 'C', 'Cultivating'), "
+				+ "(4, 'D', 'Distributing', 'D', 'Distributing')");
+		jdbcTemplate.update("INSERT INTO TypePropertyLossEtcType VALUES (6, '6', 'Seized', '6', 'Seized'), (7, '7', 'Stolen', '7', 'Stolen')");
+		jdbcTemplate.update("INSERT INTO PropertyDescriptionType VALUES (3, '03', 'Automobiles', '03', 'Automobiles'), "
+				+ "(20, '20', 'Money', '20', 'Money')");
+		jdbcTemplate.update("INSERT INTO ClearedExceptionallyType VALUES (2, 'A', 'Death of Offender', 'A', 'Death of Offender')");
+		jdbcTemplate.update("INSERT INTO MultipleArresteeSegmentsIndicatorType VALUES (3, 'N', 'Not Applicable', 'N', 'Not Applicable')");
+		jdbcTemplate.update("INSERT INTO SexOfPersonType VALUES (1, 'M', 'Male', 'M', 'Male'), (2, 'F', 'Female', 'F', 'Female')");
+		jdbcTemplate.update("INSERT INTO RaceOfPersonType VALUES (2, 'B', 'Black', 'B', 'Black')");
+		jdbcTemplate.update("INSERT INTO EthnicityOfPersonType VALUES (3, 'N', 'Not Hispanic', 'N', 'Not Hispanic')");
+		jdbcTemplate.update("INSERT INTO DateType VALUES (2325, '2017-05-13', 2017, '2017', 2, 5, 'May', '2017-05', 13, 'Saturday', 7, "
+				+ "'05/13/2017'), (2344, '2017-06-01', 2017, '2017', 2, 6, 'June', '2017-06', 1, 'Thursday', 5, '06/01/2017')");
+	}
+	
+	public static void deleteCodeRows(JdbcTemplate jdbcTemplate) {
+		for (String table: PLACEHOLDER_CODE_TABLES) {
+			jdbcTemplate.update("DELETE FROM " + table + " WHERE " + table + "ID = 99998");
+		}
+		jdbcTemplate.update("DELETE FROM BiasMotivationType WHERE BiasMotivationTypeID = 99998");
+		jdbcTemplate.update("DELETE FROM UCROffenseCodeType WHERE UCROffenseCodeTypeID = 99998");
+		jdbcTemplate.update("DELETE FROM Agency WHERE AgencyID = 99998");
+		jdbcTemplate.update("DELETE FROM DateType WHERE DateTypeID = 99998");
+		jdbcTemplate.update("DELETE FROM SegmentActionTypeType WHERE SegmentActionTypeTypeID IN (1, 2)");
+		jdbcTemplate.update("DELETE FROM UCROffenseCodeType WHERE UCROffenseCodeTypeID IN (30, 44)");
+		jdbcTemplate.update("DELETE FROM TypeOfWeaponForceInvolvedType WHERE TypeOfWeaponForceInvolvedTypeID IN (110, 120)");
+		jdbcTemplate.update("DELETE FROM TypeOfCriminalActivityType WHERE TypeOfCriminalActivityTypeID IN (3, 4)");
+		jdbcTemplate.update("DELETE FROM TypePropertyLossEtcType WHERE TypePropertyLossEtcTypeID IN (6, 7)");
+		jdbcTemplate.update("DELETE FROM PropertyDescriptionType WHERE PropertyDescriptionTypeID IN (3, 20)");
+		jdbcTemplate.update("DELETE FROM ClearedExceptionallyType WHERE ClearedExceptionallyTypeID = 2");
+		jdbcTemplate.update("DELETE FROM MultipleArresteeSegmentsIndicatorType WHERE MultipleArresteeSegmentsIndicatorTypeID = 3");
+		jdbcTemplate.update("DELETE FROM SexOfPersonType WHERE SexOfPersonTypeID IN (1, 2)");
+		jdbcTemplate.update("DELETE FROM RaceOfPersonType WHERE RaceOfPersonTypeID = 2");
+		jdbcTemplate.update("DELETE FROM EthnicityOfPersonType WHERE EthnicityOfPersonTypeID = 3");
+		jdbcTemplate.update("DELETE FROM DateType WHERE DateTypeID IN (2325, 2344)");
+		jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+	}
+	
+	@Test
+	public void testAddAdministrativeSegments() {
+		summaryAggregateService.addAdministrativeSegments(insertAdministrativeSegments(2));
+		
+		ReturnAForm returnAForm = summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5);
+		assertThat(returnAForm.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(2));
+		assertThat(returnAForm.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getClearedOffenses(), equalTo(2));
+		assertThat(returnAForm.getRows()[ReturnARowName.GRAND_TOTAL.ordinal()].getReportedOffenses(), equalTo(2));
+		
+		ReturnAForm yearReturnAForm = summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 0);
+		assertThat(yearReturnAForm.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getClearedOffenses(), equalTo(2));
+		
+		AsrAdult asrAdult = summaryAggregateService.createAsrAdultSummaryReport("StateWide", 2017, 5);
+		assertThat(asrAdult.getRows()[AsrAdultRowName.ROBBERY.ordinal()].getMaleAgeGroups()[AdultAgeGroup._25To29.ordinal()], equalTo(2));
+		
+		assertSameAsCountedForms();
+	}
+	
+	@Test
+	public void testSubtractAdministrativeSegments() {
+		List<Integer> ids = insertAdministrativeSegments(2);
+		summaryAggregateService.addAdministrativeSegments(ids);
+		assertThat(summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5)
+				.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(2));
+		
+		summaryAggregateService.subtractAdministrativeSegments(ids.subList(0, 1));
+		
+		ReturnAForm returnAForm = summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5);
+		assertThat(returnAForm.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(1));
+		
+		summaryAggregateService.subtractAdministrativeSegments(ids.subList(1, 2));
+		
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM SummaryAggregate", Integer.class), equalTo(0));
+	}
+	
+	@Test
+	public void testRebuildSummaryAggregates() {
+		List<Integer> ids = insertAdministrativeSegments(3);
+		summaryAggregateService.addAdministrativeSegments(ids.subList(0, 1));
+		
+		// the cells of a month without segments are deleted
+		jdbcTemplate.update("INSERT INTO SummaryAggregate (ORI, Year, Month, SummaryForm, Section, RowName, ColumnName, AggregateValue) "
+				+ "SELECT ORI, Year, 3, SummaryForm, Section, RowName, ColumnName, AggregateValue FROM SummaryAggregate WHERE Month = 5");
+		
+		assertThat(summaryAggregateService.rebuildSummaryAggregates(), equalTo(4L));
+		
+		ReturnAForm returnAForm = summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5);
+		assertThat(returnAForm.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(3));
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM SummaryAggregate WHERE Month = 3", Integer.class), equalTo(0));
+		assertSameAsCountedForms();
+	}
+	
+	@Test
+	public void testBackfillSummaryAggregates() {
+		insertAdministrativeSegments(2);
+		
+		summaryAggregateService.backfillSummaryAggregates();
+		
+		int cellCount = jdbcTemplate.queryForObject("SELECT count(*) FROM SummaryAggregate", Integer.class);
+		assertThat(summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5)
+				.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(2));
+		assertSameAsCountedForms();
+		
+		// a second start leaves the aggregated ORIs as they are
+		summaryAggregateService.backfillSummaryAggregates();
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM SummaryAggregate", Integer.class), equalTo(cellCount));
+		assertThat(summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5)
+				.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(2));
+	}
+	
+	@Test
+	public void testMergeDuplicateCells() {
+		AdministrativeSegment administrativeSegment = SegmentBulkLoaderTest.getAdministrativeSegment("BULKAGG0");
+		administrativeSegment.setOri(null);
+		segmentBulkLoader.insertAdministrativeSegments(Arrays.asList(administrativeSegment));
+		summaryAggregateService.addAdministrativeSegments(Arrays.asList(administrativeSegment.getAdministrativeSegmentId()));
+		int cellCount = jdbcTemplate.queryForObject("SELECT count(*) FROM SummaryAggregate", Integer.class);
+
+		// the unique cell index does not cover the null ORI, so a second first write of the same cells is possible
+		jdbcTemplate.update("INSERT INTO SummaryAggregate (ORI, Year, Month, SummaryForm, Section, RowName, ColumnName, AggregateValue) "
+				+ "SELECT ORI, Year, Month, SummaryForm, Section, RowName, ColumnName, AggregateValue FROM SummaryAggregate");
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM SummaryAggregate", Integer.class), equalTo(2 * cellCount));
+
+		summaryAggregateService.subtractAdministrativeSegments(Arrays.asList(administrativeSegment.getAdministrativeSegmentId()));
+
+		assertThat(summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5)
+				.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(1));
+		assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM SummaryAggregate", Integer.class), equalTo(cellCount));
+	}
+
+	@Test
+	public void testSaveGroupAIncidentReports() {
+		groupAIncidentService.saveGroupAIncidentReports(getGroupAIncidentReport("BULKAGG0"), getGroupAIncidentReport("BULKAGG1"));
+		
+		assertThat(summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5)
+				.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(2));
+		assertSameAsCountedForms();
+	}
+	
+	@Test
+	public void testBulkSaveReplacementAndDelete() {
+		groupAIncidentService.bulkSaveGroupAIncidentReports(getGroupAIncidentReport("BULKAGG0"), getGroupAIncidentReport("BULKAGG1"));
+		assertThat(summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5)
+				.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(2));
+		
+		// the stored incident is saved again as a replacement
+		GroupAIncidentReport replacement = getGroupAIncidentReport("BULKAGG1");
+		replacement.getOffenses().get(0).setTypeOfWeaponForceInvolved(0, "12");
+		groupAIncidentService.bulkSaveGroupAIncidentReports(replacement);
+		assertSameAsCountedForms();
+		
+		groupAIncidentService.deleteGroupAIncidentReport("BULKAGG1");
+		assertThat(summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5)
+				.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(1));
+		assertSameAsCountedForms();
+	}
+	
+	@Test
+	public void testUpdateAdministrativeSegment() {
+		Integer id = groupAIncidentService.saveGroupAIncidentReports(getGroupAIncidentReport("BULKAGG0"))
+				.iterator().next().getAdministrativeSegmentId();
+		assertThat(summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5)
+				.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(1));
+		
+		// the robbery becomes a drug offense, which the Return A does not count
+		AdministrativeSegment administrativeSegment = groupAIncidentService.findAdministrativeSegment(id);
+		administrativeSegment.getOffenseSegments().stream()
+			.filter(offenseSegment -> offenseSegment.getUcrOffenseCodeType().getUcrOffenseCodeTypeId() == 30)
+			.forEach(offenseSegment -> offenseSegment.setUcrOffenseCodeType(new UcrOffenseCodeType(44)));
+		groupAIncidentService.saveAdministrativeSegment(administrativeSegment);
+		
+		ReturnAForm returnAForm = summaryAggregateService.createReturnASummaryReport("StateWide", 2017, 5);
+		assertThat(returnAForm.getRows()[ReturnARowName.FIREARM_ROBBERY.ordinal()].getReportedOffenses(), equalTo(0));
+		assertThat(returnAForm.getRows()[ReturnARowName.GRAND_TOTAL.ordinal()].getReportedOffenses(), equalTo(0));
+		assertSameAsCountedForms();
+	}
+	
+	/**
+	 * A firearm robbery in May 2017, cleared exceptionally in June 2017, with an adult male arrested in May 2017. 
+	 */
+	private GroupAIncidentReport getGroupAIncidentReport(String incidentNumber) {
+		GroupAIncidentReport incident = new GroupAIncidentReport();
+		incident.setReportActionType('I');
+		incident.setYearOfTape(2017);
+		incident.setMonthOfTape(5);
+		incident.setOri("WA1234567");
+		incident.setIncidentNumber(incidentNumber);
+		incident.setIncidentDate(new ParsedObject<>(LocalDate.of(2017, 5, 12)));
+		incident.setExceptionalClearanceCode("A");
+		incident.setExceptionalClearanceDate(new ParsedObject<>(LocalDate.of(2017, 6, 1)));
+		incident.setCityIndicator("CITY");
+		
+		OffenseSegment offense = new OffenseSegment();
+		incident.addOffense(offense);
+		offense.setUcrOffenseCode("120");
+		offense.setOffenseAttemptedCompleted("C");
+		offense.setTypeOfWeaponForceInvolved(0, "11");
+		offense.setLocationType("15");
+		offense.setNumberOfPremisesEntered(ParsedObject.getMissingParsedObject());
+		
+		ArresteeSegment arrestee = new ArresteeSegment(ArresteeSegment.GROUP_A_ARRESTEE_SEGMENT_TYPE_IDENTIFIER);
+		incident.addArrestee(arrestee);
+		arrestee.setArresteeSequenceNumber(new ParsedObject<>(1));
+		arrestee.setArrestTransactionNumber(incidentNumber);
+		arrestee.setArrestDate(new ParsedObject<>(LocalDate.of(2017, 5, 13)));
+		arrestee.setTypeOfArrest("O");
+		arrestee.setMultipleArresteeSegmentsIndicator("N");
+		arrestee.setUcrArrestOffenseCode("120");
+		arrestee.setAge(NIBRSAge.getAge(27, null));
+		arrestee.setSex("M");
+		arrestee.setRace("B");
+		arrestee.setEthnicity("N");
+		arrestee.setResidentStatus("R");
+		
+		PropertySegment property = new PropertySegment();
+		incident.addProperty(property);
+		property.setTypeOfPropertyLoss("7");
+		property.setPropertyDescription(0, "03");
+		property.setValueOfProperty(0, new ParsedObject<>(10000));
+		
+		return incident;
+	}
+	
+	private List<Integer> insertAdministrativeSegments(int count) {
+		List<AdministrativeSegment> administrativeSegments = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			administrativeSegments.add(SegmentBulkLoaderTest.getAdministrativeSegment("BULKAGG" + i));
+		}
+		segmentBulkLoader.insertAdministrativeSegments(administrativeSegments);
+		
+		return administrativeSegments.stream()
+				.map(AdministrativeSegment::getAdministrativeSegmentId)
+				.collect(Collectors.toList());
+	}
+	
+	private void assertSameAsCountedForms() {
+		for (int month: new int[]{0, 5, 6}) {
+			assertReturnAFormEquals(returnAFormService.createReturnASummaryReport("StateWide", 2017, month), 
+					summaryAggregateService.createReturnASummaryReport("StateWide", 2017, month));
+			assertAsrAdultEquals(asrFormService.createAsrAdultSummaryReport("StateWide", 2017, month), 
+					summaryAggregateService.createAsrAdultSummaryReport("StateWide", 2017, month));
+		}
+	}
+	
+	public static void assertReturnAFormEquals(ReturnAForm expected, ReturnAForm actual) {
+		for (ReturnARowName rowName: ReturnARowName.values()) {
+			assertEquals(rowName.name(), expected.getRows()[rowName.ordinal()].toString(), actual.getRows()[rowName.ordinal()].toString());
+		}
+		for (PropertyStolenByClassificationRowName rowName: PropertyStolenByClassificationRowName.values()) {
+			assertEquals(rowName.name(), expected.getPropertyStolenByClassifications()[rowName.ordinal()].getNumberOfOffenses(), 
+					actual.getPropertyStolenByClassifications()[rowName.ordinal()].getNumberOfOffenses());
+			assertEquals(rowName.name(), expected.getPropertyStolenByClassifications()[rowName.ordinal()].getMonetaryValue(), 
+					actual.getPropertyStolenByClassifications()[rowName.ordinal()].getMonetaryValue(), 0.001);
+		}
+		for (PropertyTypeValueRowName rowName: PropertyTypeValueRowName.values()) {
+			assertEquals(rowName.name(), expected.getPropertyTypeValues()[rowName.ordinal()].getStolen(), 
+					actual.getPropertyTypeValues()[rowName.ordinal()].getStolen(), 0.001);
+			assertEquals(rowName.name(), expected.getPropertyTypeValues()[rowName.ordinal()].getRecovered(), 
+					actual.getPropertyTypeValues()[rowName.ordinal()].getRecovered(), 0.001);
+		}
+	}
+	
+	public static void assertAsrAdultEquals(AsrAdult expected, AsrAdult actual) {
+		for (AsrAdultRowName rowName: AsrAdultRowName.values()) {
+			assertArrayEquals(rowName.name(), expected.getRows()[rowName.ordinal()].getMaleAgeGroups(), 
+					actual.getRows()[rowName.ordinal()].getMaleAgeGroups());
+			assertArrayEquals(rowName.name(), expected.getRows()[rowName.ordinal()].getFemaleAgeGroups(), 
+					actual.getRows()[rowName.ordinal()].getFemaleAgeGroups());
+			assertArrayEquals(rowName.name(), expected.getRows()[rowName.ordinal()].getRaceGroups(), 
+					actual.getRows()[rowName.ordinal()].getRaceGroups());
+			assertArrayEquals(rowName.name(), expected.getRows()[rowName.ordinal()].getEthnicityGroups(), 
+					actual.getRows()[rowName.ordinal()].getEthnicityGroups());
+		}
+	}
+	
+}
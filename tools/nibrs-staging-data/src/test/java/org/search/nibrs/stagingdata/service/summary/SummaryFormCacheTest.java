@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.stagingdata.service.summary;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.search.nibrs.model.reports.ReturnAForm;
+import org.search.nibrs.stagingdata.AppProperties;
+
+/**
+ * Runs the summary form cache without a database.
+ */
+public class SummaryFormCacheTest {
+	
+	private SummaryFormCache summaryFormCache;
+	
+	@Before
+	public void setUp() {
+		summaryFormCache = new SummaryFormCache();
+		summaryFormCache.appProperties = new AppProperties();
+		summaryFormCache.appProperties.setSummaryFormCacheSize(2);
+	}
+	
+	@Test
+	public void testGet() {
+		ReturnAForm returnAForm = getReturnAForm("WA1234567", 2017, 5);
+		assertThat(getReturnAForm("WA1234567", 2017, 5), sameInstance(returnAForm));
+		assertThat(getReturnAForm("stateWide", 2017, 5), not(sameInstance(returnAForm)));
+		assertThat(getReturnAForm("StateWide", 2017, 5), sameInstance(getReturnAForm("STATEWIDE", 2017, 5)));
+		
+		SummaryFormCacheStatistics statistics = summaryFormCache.getStatistics(); 
+		assertThat(statistics.getHitCount(), equalTo(3L));
+		assertThat(statistics.getMissCount(), equalTo(2L));
+		assertThat(statistics.getHitRate(), equalTo(0.6));
+		assertThat(statistics.getSize(), equalTo(2));
+	}
+	
+	@Test
+	public void testEviction() {
+		ReturnAForm may = getReturnAForm("WA1234567", 2017, 5);
+		ReturnAForm june = getReturnAForm("WA1234567", 2017, 6);
+		getReturnAForm("WA1234567", 2017, 5);
+		getReturnAForm("WA1234567", 2017, 7);
+		
+		assertThat(getReturnAForm("WA1234567", 2017, 5), sameInstance(may));
+		assertThat(getReturnAForm("WA1234567", 2017, 6), not(sameInstance(june)));
+		assertThat(summaryFormCache.getStatistics().getEvictionCount(), equalTo(2L));
+		assertThat(summaryFormCache.getStatistics().getSize(), equalTo(2));
+	}
+	
+	@Test
+	public void testInvalidate() {
+		summaryFormCache.appProperties.setSummaryFormCacheSize(10);
+		ReturnAForm may = getReturnAForm("WA1234567", 2017, 5);
+		ReturnAForm year = getReturnAForm("WA1234567", 2017, 0);
+		ReturnAForm stateWideMay = getReturnAForm("StateWide", 2017, 5);
+		ReturnAForm stateWideYear = getReturnAForm("StateWide", 2017, 0);
+		ReturnAForm june = getReturnAForm("WA1234567", 2017, 6);
+		ReturnAForm otherOri = getReturnAForm("WA7654321", 2017, 5);
+		
+		summaryFormCache.invalidate(Arrays.asList(new SummaryFormKey(SummaryAggregateService.RETURN_A, "WA1234567", 2017, 5)));
+		
+		assertThat(getReturnAForm("WA1234567", 2017, 5), not(sameInstance(may)));
+		assertThat(getReturnAForm("WA1234567", 2017, 0), not(sameInstance(year)));
+		assertThat(getReturnAForm("StateWide", 2017, 5), not(sameInstance(stateWideMay)));
+		assertThat(getReturnAForm("StateWide", 2017, 0), not(sameInstance(stateWideYear)));
+		assertThat(getReturnAForm("WA1234567", 2017, 6), sameInstance(june));
+		assertThat(getReturnAForm("WA7654321", 2017, 5), sameInstance(otherOri));
+		assertThat(summaryFormCache.getStatistics().getInvalidationCount(), equalTo(4L));
+		
+		summaryFormCache.invalidateAll();
+		assertThat(summaryFormCache.getStatistics().getSize(), equalTo(0));
+	}
+	
+	@Test
+	public void testInvalidateWhileLoading() {
+		ReturnAForm returnAForm = summaryFormCache.get(new SummaryFormKey(SummaryAggregateService.RETURN_A, "WA1234567", 2017, 5), () -> {
+			summaryFormCache.invalidate(Arrays.asList(new SummaryFormKey(SummaryAggregateService.RETURN_A, "WA1234567", 2017, 5)));
+			return new ReturnAForm("WA1234567", 2017, 5);
+		});
+		
+		assertThat(getReturnAForm("WA1234567", 2017, 5), not(sameInstance(returnAForm)));
+	}
+	
+	private ReturnAForm getReturnAForm(String ori, int year, int month) {
+		return summaryFormCache.get(new SummaryFormKey(SummaryAggregateService.RETURN_A, ori, year, month), 
+				() -> new ReturnAForm(ori, year, month));
+	}
+	
+}
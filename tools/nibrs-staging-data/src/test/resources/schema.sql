@@ -657,6 +657,30 @@ CREATE TABLE LEOKASegment (
                 CONSTRAINT idLEOKASegment PRIMARY KEY (LEOKASegmentID)
 );
 
+CREATE TABLE SummaryAggregate (
+                SummaryAggregateID IDENTITY NOT NULL,
+                ORI VARCHAR(9),
+                Year INTEGER NOT NULL,
+                Month INTEGER NOT NULL,
+                SummaryForm VARCHAR(20) NOT NULL,
+                Section VARCHAR(40) NOT NULL,
+                RowName VARCHAR(60) NOT NULL,
+                ColumnName VARCHAR(40) NOT NULL,
+                AggregateValue DOUBLE NOT NULL,
+                CONSTRAINT SummaryAggregate_pk PRIMARY KEY (SummaryAggregateID)
+);
+
+CREATE INDEX SummaryAggregate_Form_Date_idx ON SummaryAggregate (SummaryForm, Year, Month, ORI);
+
+CREATE UNIQUE INDEX SummaryAggregate_Cell_idx ON SummaryAggregate (SummaryForm, ORI, Year, Month, Section, RowName, ColumnName);
+
+CREATE TABLE SummaryAggregateLock (
+                SummaryAggregateLockID INTEGER NOT NULL,
+                CONSTRAINT SummaryAggregateLock_pk PRIMARY KEY (SummaryAggregateLockID)
+);
+
+INSERT INTO SummaryAggregateLock (SummaryAggregateLockID) VALUES (1);
+
 
 ALTER TABLE Violation ADD CONSTRAINT Submission_Violation_fk
 FOREIGN KEY (SubmissionID)
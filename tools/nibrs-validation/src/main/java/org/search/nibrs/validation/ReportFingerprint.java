@@ -0,0 +1,309 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.common.ParsedObject;
+import org.search.nibrs.model.AbstractPersonSegment;
+import org.search.nibrs.model.AbstractReport;
+import org.search.nibrs.model.ArresteeSegment;
+import org.search.nibrs.model.GroupAIncidentReport;
+import org.search.nibrs.model.GroupBArrestReport;
+import org.search.nibrs.model.NIBRSAge;
+import org.search.nibrs.model.OffenderSegment;
+import org.search.nibrs.model.OffenseSegment;
+import org.search.nibrs.model.PropertySegment;
+import org.search.nibrs.model.VictimSegment;
+import org.search.nibrs.model.ZeroReport;
+
+/**
+ * Computes a stable hash of the content of a report: everything the validators read, and nothing else.  The report is rendered field by field,
+ * segment by segment, in the order of FlatFileTranslator, but losslessly: parsed values keep their missing and invalid flags, and ages keep their
+ * parse errors.  The source (file and line) of the report is not part of its content, so a report resubmitted unchanged in another file has the same
+ * fingerprint.
+ */
+public final class ReportFingerprint {
+	
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	
+	private final StringBuilder sb = new StringBuilder(2048);
+	
+	private ReportFingerprint() {
+	}
+	
+	/**
+	 * Compute the fingerprint of a report.
+	 * @param report the report
+	 * @return the hex-encoded SHA-256 hash of the report content, or null if the report is of a type that the validators do not validate
+	 */
+	public static String fingerprint(AbstractReport report) {
+		String rendering = render(report);
+		return rendering == null ? null : sha256(rendering);
+	}
+	
+	/**
+	 * Render the content of a report as a string.
+	 * @param report the report
+	 * @return the rendering, or null if the report is of a type that the validators do not validate
+	 */
+	static String render(AbstractReport report) {
+		ReportFingerprint fingerprint = new ReportFingerprint();
+		if (report instanceof GroupAIncidentReport) {
+			fingerprint.appendGroupAIncidentReport((GroupAIncidentReport) report);
+		} else if (report instanceof GroupBArrestReport) {
+			fingerprint.appendReport('B', report);
+		} else if (report instanceof ZeroReport) {
+			fingerprint.appendReport('0', report);
+			fingerprint.append(((ZeroReport) report).getIncidentNumber());
+		} else {
+			return null;
+		}
+		return fingerprint.sb.toString();
+	}
+	
+	static String sha256(String s) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+		byte[] hash = digest.digest(s.getBytes(StandardCharsets.UTF_8));
+		char[] ret = new char[hash.length * 2];
+		for (int i = 0; i < hash.length; i++) {
+			ret[i * 2] = HEX_DIGITS[(hash[i] >> 4) & 0xf];
+			ret[i * 2 + 1] = HEX_DIGITS[hash[i] & 0xf];
+		}
+		return new String(ret);
+	}
+	
+	private void appendReport(char type, AbstractReport report) {
+		sb.append(type);
+		append(report.getReportActionType());
+		append(report.getAdminSegmentLevel());
+		append(report.getOri());
+		append(report.getCityIndicator());
+		append(report.getYearOfTape());
+		append(report.getMonthOfTape());
+		append(report.getHasUpstreamErrors());
+		sb.append('\n');
+		for (ArresteeSegment arrestee : report.getArrestees()) {
+			appendArresteeSegment(arrestee);
+		}
+	}
+	
+	private void appendGroupAIncidentReport(GroupAIncidentReport report) {
+		appendReport('A', report);
+		append(report.getIncidentNumber());
+		append(report.getIncidentDate());
+		append(report.getReportDateIndicator());
+		append(report.getIncidentHour());
+		append(report.getExceptionalClearanceCode());
+		append(report.getExceptionalClearanceDate());
+		append(report.getCargoTheftIndicator());
+		append(report.includesCargoTheft());
+		append(report.includesLeoka());
+		sb.append('\n');
+		for (OffenseSegment offense : report.getOffenses()) {
+			appendOffenseSegment(offense);
+		}
+		for (PropertySegment property : report.getProperties()) {
+			appendPropertySegment(property);
+		}
+		for (VictimSegment victim : report.getVictims()) {
+			appendVictimSegment(victim);
+		}
+		for (OffenderSegment offender : report.getOffenders()) {
+			appendOffenderSegment(offender);
+		}
+	}
+	
+	private void appendOffenseSegment(OffenseSegment offense) {
+		sb.append('O');
+		append(offense.getUcrOffenseCode());
+		append(offense.getOffenseAttemptedCompleted());
+		append(offense.getOffendersSuspectedOfUsing());
+		append(offense.getPopulatedOffendersSuspectedOfUsingCount());
+		append(offense.getLocationType());
+		append(offense.getNumberOfPremisesEntered());
+		append(offense.getMethodOfEntry());
+		append(offense.getTypeOfCriminalActivity());
+		append(offense.getPopulatedTypeOfCriminalActivityCount());
+		append(offense.getTypeOfWeaponForceInvolved());
+		append(offense.getPopulatedTypeOfWeaponForceInvolvedCount());
+		append(offense.getAutomaticWeaponIndicator());
+		append(offense.getBiasMotivation());
+		append(offense.getPopulatedBiasMotivationCount());
+		sb.append('\n');
+	}
+	
+	private void appendPropertySegment(PropertySegment property) {
+		sb.append('P');
+		append(property.getTypeOfPropertyLoss());
+		append(property.getPropertyDescription());
+		append(property.getPopulatedPropertyDescriptionCount());
+		append(property.getValueOfProperty());
+		append(property.getDateRecovered());
+		append(property.getNumberOfStolenMotorVehicles());
+		append(property.getNumberOfRecoveredMotorVehicles());
+		append(property.getSuspectedDrugType());
+		append(property.getPopulatedSuspectedDrugTypeCount());
+		append(property.getEstimatedDrugQuantity());
+		append(property.getTypeDrugMeasurement());
+		sb.append('\n');
+	}
+	
+	private void appendVictimSegment(VictimSegment victim) {
+		sb.append('V');
+		append(victim.getVictimSequenceNumber());
+		append(victim.getUcrOffenseCodeConnection());
+		append(victim.getPopulatedUcrOffenseCodeConnectionCount());
+		append(victim.getTypeOfVictim());
+		append(victim.getTypeOfOfficerActivityCircumstance());
+		append(victim.getOfficerAssignmentType());
+		append(victim.getOfficerOtherJurisdictionORI());
+		appendPerson(victim);
+		append(victim.getResidentStatus());
+		append(victim.getAggravatedAssaultHomicideCircumstances());
+		append(victim.getPopulatedAggravatedAssaultHomicideCircumstancesCount());
+		append(victim.getAdditionalJustifiableHomicideCircumstances());
+		append(victim.getTypeOfInjury());
+		append(victim.getPopulatedTypeOfInjuryCount());
+		append(victim.getOffenderNumberRelated());
+		append(victim.getPopulatedOffenderNumberRelatedCount());
+		append(victim.getVictimOffenderRelationship());
+		sb.append('\n');
+	}
+	
+	private void appendOffenderSegment(OffenderSegment offender) {
+		sb.append('F');
+		append(offender.getOffenderSequenceNumber());
+		appendPerson(offender);
+		sb.append('\n');
+	}
+	
+	private void appendArresteeSegment(ArresteeSegment arrestee) {
+		sb.append('R');
+		append(arrestee.getSegmentType());
+		append(arrestee.getArresteeSequenceNumber());
+		append(arrestee.getArrestTransactionNumber());
+		append(arrestee.getArrestDate());
+		append(arrestee.getTypeOfArrest());
+		append(arrestee.getMultipleArresteeSegmentsIndicator());
+		append(arrestee.getUcrArrestOffenseCode());
+		append(arrestee.getArresteeArmedWith());
+		append(arrestee.getAutomaticWeaponIndicator());
+		appendPerson(arrestee);
+		append(arrestee.getResidentStatus());
+		append(arrestee.getDispositionOfArresteeUnder18());
+		sb.append('\n');
+	}
+	
+	private void appendPerson(AbstractPersonSegment person) {
+		NIBRSAge age = person.getAge();
+		if (age == null) {
+			appendNull();
+		} else {
+			sb.append('a');
+			append(age.getAgeMin());
+			append(age.getAgeMax());
+			append(age.getNonNumericAge());
+			append(age.getError());
+		}
+		append(person.getSex());
+		append(person.getRace());
+		append(person.getEthnicity());
+	}
+	
+	private void append(NIBRSError error) {
+		if (error == null) {
+			appendNull();
+		} else {
+			sb.append('e');
+			append(error.getNIBRSErrorCode() == null ? null : error.getNIBRSErrorCode().name());
+			append(error.getDataElementIdentifier());
+			append(error.getValue() == null ? null : error.getValue().toString());
+		}
+	}
+	
+	private void append(ParsedObject<?> parsedObject) {
+		if (parsedObject == null) {
+			appendNull();
+		} else {
+			sb.append(parsedObject.isMissing() ? 'm' : parsedObject.isInvalid() ? 'i' : 'p');
+			Object value = parsedObject.getValue();
+			append(value == null ? null : value.toString());
+		}
+	}
+	
+	private void append(ParsedObject<?>[] parsedObjects) {
+		if (parsedObjects == null) {
+			appendNull();
+		} else {
+			append(parsedObjects.length);
+			for (ParsedObject<?> parsedObject : parsedObjects) {
+				append(parsedObject);
+			}
+		}
+	}
+	
+	private void append(String[] values) {
+		if (values == null) {
+			appendNull();
+		} else {
+			append(values.length);
+			for (String value : values) {
+				append(value);
+			}
+		}
+	}
+	
+	private void append(String value) {
+		if (value == null) {
+			appendNull();
+		} else {
+			// length-prefixed, so that no value can be mistaken for a delimiter
+			sb.append(value.length()).append(':').append(value);
+		}
+	}
+	
+	private void append(Integer value) {
+		if (value == null) {
+			appendNull();
+		} else {
+			sb.append(value).append(';');
+		}
+	}
+	
+	private void append(char value) {
+		sb.append(value);
+	}
+	
+	private void append(boolean value) {
+		sb.append(value ? 'T' : 'F');
+	}
+	
+	private void appendNull() {
+		sb.append('~');
+	}
+	
+}
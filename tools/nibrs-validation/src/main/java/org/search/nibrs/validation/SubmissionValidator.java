@@ -17,6 +17,8 @@ package org.search.nibrs.validation;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -46,14 +48,50 @@ public class SubmissionValidator {
 	GroupAIncidentReportValidator groupAIncidentReportValidator;
 	@Autowired
 	GroupBArrestReportValidator groupBArrestReportValidator;
+	
 	/**
-	 * Apply edits to validate all Reports within the specified submission.
+	 * The number of reports validated by each task in parallel mode; validating one report is too little work to be worth a task.
+	 */
+	static final int REPORTS_PER_TASK = 16;
+	
+	private ForkJoinPool forkJoinPool;
+	
+	private ValidationResultCache validationResultCache;
+	
+	/**
+	 * The pool on which submissions are validated in parallel, or null (the default) to validate on the calling thread.
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return forkJoinPool;
+	}
+
+	public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+		this.forkJoinPool = forkJoinPool;
+	}
+	
+	/**
+	 * The cache from which the errors in reports already seen are taken, or null (the default) to validate every report.
+	 */
+	public ValidationResultCache getValidationResultCache() {
+		return validationResultCache;
+	}
+
+	public void setValidationResultCache(ValidationResultCache validationResultCache) {
+		this.validationResultCache = validationResultCache;
+	}
+
+	/**
+	 * Apply edits to validate all Reports within the specified submission.  If a pool has been set, the reports are validated in parallel on it.
 	 * 
 	 * @param nibrsSubmission submission containing all the reports to be validated
 	 * @return A List of all errors encountered in validating the submission
 	 */
 	public List<NIBRSError> validate(NIBRSSubmission nibrsSubmission) {
 
+		if (forkJoinPool != null) {
+			return validate(nibrsSubmission, forkJoinPool);
+		}
+		
 		List<NIBRSError> errorList = new ArrayList<NIBRSError>();
 		List<AbstractReport> reportList = nibrsSubmission.getReports();
 
@@ -67,7 +105,64 @@ public class SubmissionValidator {
 	}
 
 	/**
-	 * Validate an individual Report within the specified submission
+	 * Apply edits to validate all Reports within the specified submission, validating reports in parallel on the specified pool.  The edits
+	 * apply to one report at a time, so reports are validated independently, and their errors are merged in report order: the result is the same
+	 * list, in the same order, as sequential validation produces.
+	 * 
+	 * @param nibrsSubmission submission containing all the reports to be validated
+	 * @param pool the pool on which to validate the reports
+	 * @return A List of all errors encountered in validating the submission
+	 */
+	public List<NIBRSError> validate(NIBRSSubmission nibrsSubmission, ForkJoinPool pool) {
+		List<AbstractReport> reportList = nibrsSubmission.getReports();
+		return pool.invoke(new ValidateReportsTask(reportList, 0, reportList.size()));
+	}
+
+	/**
+	 * Validates a range of the reports in a submission, splitting the range in half until it is small enough to validate directly.
+	 */
+	private final class ValidateReportsTask extends RecursiveTask<List<NIBRSError>> {
+		
+		private static final long serialVersionUID = 1L;
+		
+		private final List<AbstractReport> reportList;
+		private final int start;
+		private final int end;
+		
+		ValidateReportsTask(List<AbstractReport> reportList, int start, int end) {
+			this.reportList = reportList;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected List<NIBRSError> compute() {
+			
+			if (end - start <= REPORTS_PER_TASK) {
+				List<NIBRSError> ret = new ArrayList<NIBRSError>();
+				for (int i = start; i < end; i++) {
+					ret.addAll(validateReport(reportList.get(i)));
+				}
+				return ret;
+			}
+			
+			int middle = (start + end) >>> 1;
+			ValidateReportsTask left = new ValidateReportsTask(reportList, start, middle);
+			ValidateReportsTask right = new ValidateReportsTask(reportList, middle, end);
+			left.fork();
+			List<NIBRSError> ret = right.compute();
+			// the left half precedes the right half in the submission
+			List<NIBRSError> leftErrors = left.join();
+			leftErrors.addAll(ret);
+			return leftErrors;
+			
+		}
+		
+	}
+
+	/**
+	 * Validate an individual Report within the specified submission.  If a cache has been set, and the report has been validated before with the
+	 * same content, the errors are taken from the cache.
 	 * @param report the report to be validated
 	 * @return A List of all errors encountered in validating the report
 	 */
@@ -75,6 +170,17 @@ public class SubmissionValidator {
 		
 		log.info("Validating report: " + report.getGloballyUniqueReportIdentifier());
 		
+		List<NIBRSError> nibrsErrorList = validationResultCache == null ? applyValidators(report) 
+				: validationResultCache.getErrors(report, this::applyValidators);
+
+		log.info("Found " + nibrsErrorList.size() + " errors");
+
+		return nibrsErrorList;
+		
+	}
+	
+	private List<NIBRSError> applyValidators(AbstractReport report) {
+		
 		List<NIBRSError> nibrsErrorList = new ArrayList<>();
 
 		if (report instanceof ZeroReport) {
@@ -89,8 +195,6 @@ public class SubmissionValidator {
 			nibrsErrorList = groupBArrestReportValidator.validate(groupBIncidentReport);
 		}
 
-		log.info("Found " + nibrsErrorList.size() + " errors");
-
 		return nibrsErrorList;
 		
 	}
@@ -0,0 +1,284 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.model.AbstractReport;
+
+/**
+ * Cache of the errors found in validating reports, keyed by the fingerprint of the report content, so that a report resubmitted unchanged need not
+ * be validated again.  Entries are held in memory, up to a maximum number with the least recently used evicted first, and optionally also on disk,
+ * one file per entry, so that they survive a restart.
+ * <br/>
+ * Keys combine the report fingerprint with the validator configuration: a signature of the validator code and the ValidatorProperties settings.
+ * The configuration is checked on every lookup, and when it changes the in-memory entries are discarded; entries on disk for other configurations
+ * can never be hit, and are removed by invalidate().
+ * <br/>
+ * Cached errors are detached from the report that produced them.  On a hit, the caller gets new errors that refer to the report passed in.
+ * Instances are safe for concurrent use.
+ */
+public class ValidationResultCache {
+	
+	private static final Log log = LogFactory.getLog(ValidationResultCache.class);
+	
+	public static final int DEFAULT_MAXIMUM_SIZE = 10000;
+	
+	private static final String FILE_SUFFIX = ".errors";
+	
+	private final ValidatorProperties validatorProperties;
+	private final String validatorSignature;
+	private final Path directory;
+	private final Map<String, List<NIBRSError>> entries;
+	private volatile String configuration;
+	
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder diskHitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	
+	public ValidationResultCache(ValidatorProperties validatorProperties) {
+		this(validatorProperties, DEFAULT_MAXIMUM_SIZE, null);
+	}
+	
+	/**
+	 * Create a cache.
+	 * @param validatorProperties the properties with which the validators were configured
+	 * @param maximumSize the maximum number of entries to hold in memory
+	 * @param directory the directory in which to store entries on disk (created if necessary), or null to hold entries only in memory
+	 */
+	public ValidationResultCache(ValidatorProperties validatorProperties, int maximumSize, Path directory) {
+		this.validatorProperties = validatorProperties;
+		this.validatorSignature = validatorSignature();
+		this.directory = directory;
+		this.entries = new LinkedHashMap<String, List<NIBRSError>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, List<NIBRSError>> eldest) {
+				return size() > maximumSize;
+			}
+		};
+		if (directory != null) {
+			try {
+				Files.createDirectories(directory);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+	
+	/**
+	 * Get the errors in a report from the cache, or validate the report and cache the errors.
+	 * @param report the report
+	 * @param validator the function that validates a report, called on a miss
+	 * @return the errors in the report
+	 */
+	public List<NIBRSError> getErrors(AbstractReport report, Function<AbstractReport, List<NIBRSError>> validator) {
+		
+		String fingerprint = ReportFingerprint.fingerprint(report);
+		if (fingerprint == null) {
+			return validator.apply(report);
+		}
+		String key = ReportFingerprint.sha256(currentConfiguration() + "\n" + fingerprint);
+		
+		List<NIBRSError> cachedErrors;
+		synchronized (entries) {
+			cachedErrors = entries.get(key);
+		}
+		if (cachedErrors != null) {
+			hitCount.increment();
+		} else if (directory != null && (cachedErrors = read(key)) != null) {
+			diskHitCount.increment();
+			synchronized (entries) {
+				entries.put(key, cachedErrors);
+			}
+		}
+		
+		if (cachedErrors != null) {
+			List<NIBRSError> ret = new ArrayList<>(cachedErrors.size());
+			for (NIBRSError cachedError : cachedErrors) {
+				NIBRSError e = new NIBRSError(cachedError);
+				if (e.getReport() == null) {
+					e.setReport(report);
+				}
+				if (e.getContext() == null) {
+					e.setContext(report.getSource());
+				}
+				ret.add(e);
+			}
+			return ret;
+		}
+		
+		missCount.increment();
+		List<NIBRSError> ret = validator.apply(report);
+		List<NIBRSError> detachedErrors = new ArrayList<>(ret.size());
+		for (NIBRSError error : ret) {
+			NIBRSError e = new NIBRSError(error);
+			if (e.getReport() == report) {
+				e.setReport(null);
+			}
+			if (e.getContext() == report.getSource()) {
+				e.setContext(null);
+			}
+			detachedErrors.add(e);
+		}
+		synchronized (entries) {
+			entries.put(key, detachedErrors);
+		}
+		if (directory != null) {
+			write(key, detachedErrors);
+		}
+		return ret;
+		
+	}
+	
+	/**
+	 * Discard all entries, in memory and on disk.
+	 */
+	public void invalidate() {
+		synchronized (entries) {
+			entries.clear();
+		}
+		if (directory != null) {
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+				for (Path file : files) {
+					Files.deleteIfExists(file);
+				}
+			} catch (IOException e) {
+				log.warn("Unable to remove cached validation results from " + directory, e);
+			}
+		}
+	}
+	
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+	
+	/**
+	 * The number of lookups satisfied from memory.
+	 */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+	
+	/**
+	 * The number of lookups satisfied from disk.
+	 */
+	public long getDiskHitCount() {
+		return diskHitCount.sum();
+	}
+	
+	/**
+	 * The number of lookups that required the report to be validated.
+	 */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+	
+	private String currentConfiguration() {
+		String ret = validatorSignature + "\n" + new TreeMap<>(validatorProperties.getStateToFbiRaceCodeMapping());
+		if (!ret.equals(configuration)) {
+			synchronized (entries) {
+				if (!ret.equals(configuration)) {
+					if (configuration != null) {
+						log.info("Validator configuration changed, discarding " + entries.size() + " cached validation results");
+					}
+					entries.clear();
+					configuration = ret;
+				}
+			}
+		}
+		return ret;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private List<NIBRSError> read(String key) {
+		Path file = directory.resolve(key + FILE_SUFFIX);
+		try (InputStream in = Files.newInputStream(file); ObjectInputStream ois = new ObjectInputStream(in)) {
+			return (List<NIBRSError>) ois.readObject();
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException | ClassNotFoundException | ClassCastException e) {
+			log.warn("Unable to read cached validation result " + file, e);
+			return null;
+		}
+	}
+	
+	private void write(String key, List<NIBRSError> errors) {
+		Path file = directory.resolve(key + FILE_SUFFIX);
+		Path tempFile = null;
+		try {
+			tempFile = Files.createTempFile(directory, key, ".tmp");
+			try (OutputStream out = Files.newOutputStream(tempFile); ObjectOutputStream oos = new ObjectOutputStream(out)) {
+				oos.writeObject(errors);
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			tempFile = null;
+		} catch (NotSerializableException e) {
+			// some error values cannot be written; the result stays in memory only
+			log.debug("Validation result not written to disk: " + e.getMessage());
+		} catch (IOException e) {
+			log.warn("Unable to write cached validation result " + file, e);
+		} finally {
+			if (tempFile != null) {
+				try {
+					Files.deleteIfExists(tempFile);
+				} catch (IOException e) {
+					log.warn("Unable to remove " + tempFile, e);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Identify the validator code, so that results cached on disk by one build of the validators are not used by another.
+	 */
+	static String validatorSignature() {
+		StringBuilder ret = new StringBuilder();
+		ret.append(SubmissionValidator.class.getPackage().getImplementationVersion());
+		try {
+			File codeSource = new File(SubmissionValidator.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+			ret.append('@').append(codeSource.lastModified());
+		} catch (Exception e) {
+			log.debug("Unable to determine the location of the validator code", e);
+		}
+		return ret.toString();
+	}
+
+}
@@ -126,7 +126,7 @@ public class GroupAIncidentReportRulesFactory {
 
 	private List<Rule<GroupAIncidentReport>> rulesList = new ArrayList<>();
 	private Set<String> cargoTheftOffenses = new HashSet<>();
-	private Set<String> trueExceptionalClearanceCodes = new HashSet<>();
+	private Set<String> trueExceptionalClearanceCodes;
 	private ValidatorProperties validatorProperties;
 
 	public static GroupAIncidentReportRulesFactory instance(ValidatorProperties validatorProperties) {
@@ -149,8 +149,7 @@ public class GroupAIncidentReportRulesFactory {
 		cargoTheftOffenses.add(OffenseCode._510.code);
 		cargoTheftOffenses.add(OffenseCode._270.code);
 		
-		trueExceptionalClearanceCodes = ClearedExceptionallyCode.codeSet();
-		trueExceptionalClearanceCodes.remove(ClearedExceptionallyCode.N.code);
+		trueExceptionalClearanceCodes = ClearedExceptionallyCode.applicableCodeSet();
 		
 		rulesList.add(getRule101("ori", "1"));
 		rulesList.add(getRule101("incidentNumber", "2"));
@@ -453,7 +452,7 @@ public class GroupAIncidentReportRulesFactory {
 			public NIBRSError apply(GroupAIncidentReport subject) {
 				NIBRSError ret = null;
 				int victimCount = subject.getVictimCount();
-				List<Integer> priorVictimOffenders = new ArrayList<>();
+				Set<Integer> priorVictimOffenders = new HashSet<>();
 				if (victimCount > 1) {
 					for (int i=0;i < victimCount && ret == null;i++) {
 						VictimSegment vs = subject.getVictims().get(i);
@@ -16,11 +16,15 @@
 package org.search.nibrs.validation.groupa;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.common.ValidationTarget;
 import org.search.nibrs.model.ArresteeSegment;
 import org.search.nibrs.model.GroupAIncidentReport;
 import org.search.nibrs.model.OffenderSegment;
@@ -31,11 +35,25 @@ import org.search.nibrs.model.codes.NIBRSErrorCode;
 import org.search.nibrs.validation.ArresteeSegmentRulesFactory;
 import org.search.nibrs.validation.ValidatorProperties;
 import org.search.nibrs.validation.rules.Rule;
+import org.search.nibrs.validation.rules.RuleProfiler;
+import org.search.nibrs.validation.rules.ValidationPlan;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
  * Class that validates a Group A Incident Report and all of its contained child segments.
+ * <br/>
+ * Instances may be shared between threads.  The rule lists are built in the constructor and are unmodifiable, the rules hold nothing but
+ * configuration fixed at construction, and the errors for a report are collected in a list local to the validate call.
+ * <br/>
+ * The reports are not thread safe, however.  The rules change none of the reported values, but the accessors they read through build and cache
+ * derived state on the report and its segments on first use, such as the offender and victim index of the report and the list views of a
+ * victim.  Different reports may be validated concurrently; a single report must be validated by one thread at a time, and must not be changed
+ * while it is validated.
+ * <br/>
+ * If a RuleProfiler is supplied, each rule is wrapped so that its applications are counted and timed by the profiler.
+ * <br/>
+ * Each rule list is compiled into a ValidationPlan, so that rules that declare a precondition are only applied to the segments that meet it.
  * 
  */
 @Component
@@ -45,113 +63,124 @@ public class GroupAIncidentReportValidator {
 	@SuppressWarnings("unused")
 	private static final Logger LOG = LogManager.getLogger(GroupAIncidentReportValidator.class);
 	
-	private List<Rule<GroupAIncidentReport>> incidentReportRules = new ArrayList<>();
-	private List<Rule<OffenseSegment>> offenseSegmentRules = new ArrayList<>();
-	private List<Rule<PropertySegment>> propertySegmentRules = new ArrayList<>();
-	private List<Rule<VictimSegment>> victimSegmentRules = new ArrayList<>();
-	private List<Rule<OffenderSegment>> offenderSegmentRules = new ArrayList<>();
-	private List<Rule<ArresteeSegment>> groupAArresteeSegmentRules = new ArrayList<>();
+	private final ValidationPlan<GroupAIncidentReport> incidentReportRules;
+	private final ValidationPlan<OffenseSegment> offenseSegmentRules;
+	private final ValidationPlan<PropertySegment> propertySegmentRules;
+	private final ValidationPlan<VictimSegment> victimSegmentRules;
+	private final ValidationPlan<OffenderSegment> offenderSegmentRules;
+	private final ValidationPlan<ArresteeSegment> groupAArresteeSegmentRules;
 	
-	@Autowired
 	public GroupAIncidentReportValidator(ValidatorProperties validatorProperties) {
-		incidentReportRules = new GroupAIncidentReportRulesFactory(validatorProperties).getRulesList();
-		offenseSegmentRules = new OffenseSegmentRulesFactory().getRulesList();
-		propertySegmentRules = new PropertySegmentRulesFactory().getRulesList();
-		victimSegmentRules = VictimSegmentRulesFactory.instance(validatorProperties).getRulesList();
-		offenderSegmentRules = OffenderSegmentRulesFactory.instance(validatorProperties).getRulesList();
-		groupAArresteeSegmentRules = ArresteeSegmentRulesFactory.instance(ArresteeSegmentRulesFactory.GROUP_A_ARRESTEE_MODE, validatorProperties).getRulesList();
+		this(validatorProperties, Optional.empty());
+	}
+	
+	@Autowired
+	public GroupAIncidentReportValidator(ValidatorProperties validatorProperties, Optional<RuleProfiler> ruleProfiler) {
+		incidentReportRules = rules(new GroupAIncidentReportRulesFactory(validatorProperties).getRulesList(), GroupAIncidentReport.class, ruleProfiler);
+		offenseSegmentRules = rules(new OffenseSegmentRulesFactory().getRulesList(), OffenseSegment.class, ruleProfiler);
+		propertySegmentRules = rules(new PropertySegmentRulesFactory().getRulesList(), PropertySegment.class, ruleProfiler);
+		victimSegmentRules = rules(VictimSegmentRulesFactory.instance(validatorProperties).getRulesList(), VictimSegment.class, ruleProfiler);
+		offenderSegmentRules = rules(OffenderSegmentRulesFactory.instance(validatorProperties).getRulesList(), OffenderSegment.class, ruleProfiler);
+		groupAArresteeSegmentRules = rules(
+				ArresteeSegmentRulesFactory.instance(ArresteeSegmentRulesFactory.GROUP_A_ARRESTEE_MODE, validatorProperties).getRulesList(), 
+				ArresteeSegment.class, ruleProfiler);
+	}
+	
+	private static <T extends ValidationTarget> ValidationPlan<T> rules(List<Rule<T>> ruleList, Class<T> subjectClass, Optional<RuleProfiler> ruleProfiler) {
+		return new ValidationPlan<>(ruleProfiler.isPresent() ? ruleProfiler.get().instrument(ruleList, subjectClass) : ruleList);
 	}
 
 	public List<NIBRSError> validate(GroupAIncidentReport groupAIncidentReport) {
 		
 		List<NIBRSError> ret = new ArrayList<NIBRSError>();
 		
-		for (Rule<GroupAIncidentReport> r : incidentReportRules) {
-			NIBRSError e = r.apply(groupAIncidentReport);
-			if (e != null) {
-				ret.add(e);
-			}
-		}
-		
-		for (Rule<OffenseSegment> r : offenseSegmentRules) {
-			for (OffenseSegment s : groupAIncidentReport.getOffenses()) {
-				NIBRSError e = r.apply(s);
-				if (e != null) {
-					ret.add(e);
-				}
-			}
-		}
-		
-		for (Rule<PropertySegment> r : propertySegmentRules) {
-			for (PropertySegment s : groupAIncidentReport.getProperties()) {
-				NIBRSError e = r.apply(s);
-				if (e != null) {
-					ret.add(e);
-				}
-			}
-		}
+		incidentReportRules.apply(groupAIncidentReport, ret::add);
+		offenseSegmentRules.apply(groupAIncidentReport.getOffenses(), ret::add);
+		propertySegmentRules.apply(groupAIncidentReport.getProperties(), ret::add);
 
-		for (Rule<VictimSegment> r : victimSegmentRules) {
-			for (VictimSegment s : groupAIncidentReport.getVictims()) {
-				NIBRSError nibrsError = r.apply(s);
-				processVictimSegmentError(ret, nibrsError);
-			}
-		}
-
-		for (Rule<OffenderSegment> r : offenderSegmentRules) {
-			for (OffenderSegment s : groupAIncidentReport.getOffenders()) {
-				NIBRSError nibrsError = r.apply(s);
-				if (nibrsError != null) {
-					ret.add(nibrsError);
-				}
-			}
-		}
+		DuplicateErrorIndex duplicateErrorIndex = new DuplicateErrorIndex(ret);
 
-		for (Rule<ArresteeSegment> r : groupAArresteeSegmentRules) {
-			for (ArresteeSegment s : groupAIncidentReport.getArrestees()) {
-				NIBRSError nibrsError = r.apply(s);
-				processArresteeSegmentError(ret, nibrsError);
-			}
-		}
+		victimSegmentRules.apply(groupAIncidentReport.getVictims(), e -> processVictimSegmentError(ret, e, duplicateErrorIndex));
+		offenderSegmentRules.apply(groupAIncidentReport.getOffenders(), ret::add);
+		groupAArresteeSegmentRules.apply(groupAIncidentReport.getArrestees(), e -> processArresteeSegmentError(ret, e, duplicateErrorIndex));
 		
 		return ret;
 		
 	}
 
 	private void processArresteeSegmentError(List<NIBRSError> ret,
-			NIBRSError nibrsError) {
+			NIBRSError nibrsError, DuplicateErrorIndex duplicateErrorIndex) {
 		if (nibrsError != null) {
 			if (!nibrsError.getRuleNumber().equals(NIBRSErrorCode._071.getCode())){
 				ret.add(nibrsError);
 			}
-			else{
-				long count =  
-					ret.stream()
-					   	.filter(item->item.getRuleNumber().equals(NIBRSErrorCode._071.getCode()))
-					   	.count();
-				if (count == 0){
-					ret.add(nibrsError);
-				}
+			else if (duplicateErrorIndex.isFirst071()){
+				ret.add(nibrsError);
 			}
 		}
 	}
 
-	private void processVictimSegmentError(List<NIBRSError> ret, NIBRSError nibrsError) {
+	private void processVictimSegmentError(List<NIBRSError> ret, NIBRSError nibrsError, DuplicateErrorIndex duplicateErrorIndex) {
 		if (nibrsError != null) {
 			if (!nibrsError.getRuleNumber().equals(NIBRSErrorCode._070.getCode())){
 				ret.add(nibrsError);
 			}
-			else{
-				long count =  
-					ret.stream()
-						.filter(item->item.getRuleNumber().equals(NIBRSErrorCode._070.getCode()))
-					   	.filter(item->nibrsError.getValue().equals(item.getValue()))
-					   	.count();
-				if (count == 0){
-					ret.add(nibrsError);
+			else if (duplicateErrorIndex.isFirst070(nibrsError.getValue())){
+				ret.add(nibrsError);
+			}
+		}
+	}
+	
+	/**
+	 * Tracks which 070 errors (one per value) and 071 errors (one per report) are already in a report's error list, so that each new error can be
+	 * checked without rescanning the list.  Errors with these codes can also come from the rules applied before the victim and arrestee rules, so
+	 * the index is seeded from the list the first time it is consulted.
+	 */
+	private static final class DuplicateErrorIndex {
+		
+		private final List<NIBRSError> errorList;
+		private Set<Object> reported070Values;
+		private boolean reported071;
+		private boolean seeded;
+		
+		DuplicateErrorIndex(List<NIBRSError> errorList) {
+			this.errorList = errorList;
+		}
+		
+		/**
+		 * Record a 070 error with the specified value.
+		 * @return true if no 070 error with the value has been reported yet
+		 */
+		boolean isFirst070(Object value) {
+			seed();
+			return reported070Values.add(value);
+		}
+		
+		/**
+		 * Record a 071 error.
+		 * @return true if no 071 error has been reported yet
+		 */
+		boolean isFirst071() {
+			seed();
+			boolean ret = !reported071;
+			reported071 = true;
+			return ret;
+		}
+		
+		private void seed() {
+			if (!seeded) {
+				reported070Values = new HashSet<>();
+				for (NIBRSError e : errorList) {
+					if (e.getRuleNumber().equals(NIBRSErrorCode._070.getCode())) {
+						reported070Values.add(e.getValue());
+					} else if (e.getRuleNumber().equals(NIBRSErrorCode._071.getCode())) {
+						reported071 = true;
+					}
 				}
+				seeded = true;
 			}
 		}
+		
 	}
 	
 }
@@ -18,6 +18,7 @@ package org.search.nibrs.validation.groupa;
 import static org.search.nibrs.util.ArrayUtils.allNull;
 import static org.search.nibrs.util.ArrayUtils.allMissing;
 import static org.search.nibrs.util.ArrayUtils.notAllNull;
+import static org.search.nibrs.validation.rules.RulePrecondition.anyOf;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -51,6 +52,7 @@ import org.search.nibrs.model.codes.TypeOfPropertyLossCode;
 import org.search.nibrs.validation.rules.DuplicateCodedValueRule;
 import org.search.nibrs.validation.rules.NumericValueRule;
 import org.search.nibrs.validation.rules.Rule;
+import org.search.nibrs.validation.rules.SubjectAttribute;
 import org.search.nibrs.validation.rules.ValidValueListRule;
 
 public class PropertySegmentRulesFactory {
@@ -125,6 +127,8 @@ public class PropertySegmentRulesFactory {
 	@SuppressWarnings("unused")
 	private static final Logger LOG = LogManager.getLogger(PropertySegmentRulesFactory.class);
 	
+	static final SubjectAttribute<PropertySegment> TYPE_OF_PROPERTY_LOSS = SubjectAttribute.singleValued("typeOfPropertyLoss", PropertySegment::getTypeOfPropertyLoss);
+	
 	private List<Rule<PropertySegment>> rulesList = new ArrayList<>();
 	private Set<String> zeroValuePropertyDescriptions = new HashSet<>();
 	
@@ -156,26 +160,26 @@ public class PropertySegmentRulesFactory {
 		rulesList.add(getRule355());
 		rulesList.add(getRule356());
 		rulesList.add(getRule357());
-		rulesList.add(getRule358());
+		rulesList.add(anyOf(TYPE_OF_PROPERTY_LOSS, TypeOfPropertyLossCode._7.code).guard(getRule358()));
 		rulesList.add(getRule359());
 		rulesList.add(getRule360());
-		rulesList.add(getRule361());
+		rulesList.add(anyOf(TYPE_OF_PROPERTY_LOSS, TypeOfPropertyLossCode._5.code).guard(getRule361()));
 		rulesList.add(getRule362());
 		rulesList.add(getRule363forQuantity());
 		rulesList.add(getRule363forMeasurement());
-		rulesList.add(getRule364forQuantity());
-		rulesList.add(getRule364forMeasurement());
+		rulesList.add(anyOf(TYPE_OF_PROPERTY_LOSS, TypeOfPropertyLossCode._6.code).guard(getRule364forQuantity()));
+		rulesList.add(anyOf(TYPE_OF_PROPERTY_LOSS, TypeOfPropertyLossCode._6.code).guard(getRule364forMeasurement()));
 		rulesList.add(getRule365());
 		rulesList.add(getRule366());
 		rulesList.add(getRule367());
 		rulesList.add(getRule368());
 		rulesList.add(getRule375());
 		rulesList.add(getRule384());
-		rulesList.add(getRule387());
+		rulesList.add(anyOf(TYPE_OF_PROPERTY_LOSS, TypeOfPropertyLossCode._6.code).guard(getRule387()));
 		rulesList.add(getRule388());
 		rulesList.add(getRule390());
 		rulesList.add(getRule391());
-		rulesList.add(getRule392());
+		rulesList.add(anyOf(TYPE_OF_PROPERTY_LOSS, TypeOfPropertyLossCode._1.code).guard(getRule392()));
 		
 	}
 	
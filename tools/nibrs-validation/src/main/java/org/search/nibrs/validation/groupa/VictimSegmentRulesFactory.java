@@ -23,6 +23,7 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 import static org.search.nibrs.util.ArrayUtils.allNull;
+import static org.search.nibrs.validation.rules.RulePrecondition.anyOf;
 
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -53,6 +54,7 @@ import org.search.nibrs.validation.rules.AbstractBeanPropertyRule;
 import org.search.nibrs.validation.rules.DuplicateCodedValueRule;
 import org.search.nibrs.validation.rules.NullObjectRule;
 import org.search.nibrs.validation.rules.Rule;
+import org.search.nibrs.validation.rules.SubjectAttribute;
 import org.search.nibrs.validation.rules.ValidValueListRule;
 
 public class VictimSegmentRulesFactory {
@@ -68,6 +70,14 @@ public class VictimSegmentRulesFactory {
 		return new VictimSegmentRulesFactory(validatorProperties);
 	}
 	
+	static final SubjectAttribute<VictimSegment> UCR_OFFENSE_CODES = new SubjectAttribute<>("ucrOffenseCode", VictimSegment::getUcrOffenseCodeList);
+	static final SubjectAttribute<VictimSegment> TYPE_OF_VICTIM = SubjectAttribute.singleValued("typeOfVictim", VictimSegment::getTypeOfVictim);
+	
+	private static final Set<String> CRIME_AGAINST_PERSON_CODES = OffenseCode.codeSet().stream()
+			.filter(OffenseCode::isCrimeAgainstPersonCode).collect(Collectors.toSet());
+	private static final Set<String> CRIME_AGAINST_SOCIETY_CODES = OffenseCode.codeSet().stream()
+			.filter(OffenseCode::isCrimeAgainstSocietyCode).collect(Collectors.toSet());
+	
 	private static final List<String> INJURY_OFFENSE_LIST = Arrays.asList(
 			OffenseCode._100.code,
 			OffenseCode._11A.code,
@@ -133,11 +143,11 @@ public class VictimSegmentRulesFactory {
 		rulesList__2_1.add(getRule404ForRaceOfVictim());		
 		rulesList__2_1.add(getRule404ForEthnicityOfVictim());		
 		rulesList__2_1.add(getRule404ForResidentStatusOfVictim());		
-		rulesList__2_1.add(getRule404ForAggravatedAssaultHomicideCircumstances());
+		rulesList__2_1.add(anyOf(UCR_OFFENSE_CODES, OffenseCode._09C.code).guard(getRule404ForAggravatedAssaultHomicideCircumstances()));
 		rulesList__2_1.add(getRule404OffenderNumberToBeRelated());
 		rulesList__2_1.add(getRule404ForTypeOfInjury());
 		rulesList__2_1.add(getRule404ForRelationshipOfVictimToOffender());		
-		rulesList__2_1.add(getRule404ForAdditionalJustifiableHomicideCircsumstances());
+		rulesList__2_1.add(anyOf(UCR_OFFENSE_CODES, OffenseCode._09C.code).guard(getRule404ForAdditionalJustifiableHomicideCircsumstances()));
 		rulesList__2_1.add(getRule406ForTypeOfInjury());		
 		rulesList__2_1.add(getRule406ForAggravatedAssaultHomicideCircumstances());		
 		rulesList__2_1.add(getRule406ForVictimConnectedToUcrOffenseCode());
@@ -150,14 +160,14 @@ public class VictimSegmentRulesFactory {
 		rulesList__2_1.add(getRule422ForAgeOfVictim());
 		Rule<VictimSegment> rule450 = getRule450ForAgeOfVictim__2_1();
 		rulesList__2_1.add(rule450);				
-		rulesList__2_1.add(getRule453ForAgeOfVictim());
-		rulesList__2_1.add(getRule453ForSexOfVictim());
-		rulesList__2_1.add(getRule453ForRaceOfVictim());
-		rulesList__2_1.add(getRule454ForTypeOfOfficerActivityCircumstance());
-		rulesList__2_1.add(getRule454ForSexOfVictim());
-		rulesList__2_1.add(getRule454ForRaceOfVictim());
-		rulesList__2_1.add(getRule454ForAgeOfVictim());
-		rulesList__2_1.add(getRule454ForOfficerAssignmentType());
+		rulesList__2_1.add(anyOf(TYPE_OF_VICTIM, TypeOfVictimCode.I.code).guard(getRule453ForAgeOfVictim()));
+		rulesList__2_1.add(anyOf(TYPE_OF_VICTIM, TypeOfVictimCode.I.code).guard(getRule453ForSexOfVictim()));
+		rulesList__2_1.add(anyOf(TYPE_OF_VICTIM, TypeOfVictimCode.I.code).guard(getRule453ForRaceOfVictim()));
+		rulesList__2_1.add(anyOf(TYPE_OF_VICTIM, TypeOfVictimCode.L.code).guard(getRule454ForTypeOfOfficerActivityCircumstance()));
+		rulesList__2_1.add(anyOf(TYPE_OF_VICTIM, TypeOfVictimCode.L.code).guard(getRule454ForSexOfVictim()));
+		rulesList__2_1.add(anyOf(TYPE_OF_VICTIM, TypeOfVictimCode.L.code).guard(getRule454ForRaceOfVictim()));
+		rulesList__2_1.add(anyOf(TYPE_OF_VICTIM, TypeOfVictimCode.L.code).guard(getRule454ForAgeOfVictim()));
+		rulesList__2_1.add(anyOf(TYPE_OF_VICTIM, TypeOfVictimCode.L.code).guard(getRule454ForOfficerAssignmentType()));
 		rulesList__2_1.add(getRule455ForAdditionalJustifiableHomicideCircsumstances());	
 		rulesList__2_1.add(getRule456());
 		rulesList__2_1.add(getRule457ForAdditionalJustifiableHomicideCircsumstances());
@@ -170,22 +180,22 @@ public class VictimSegmentRulesFactory {
 		rulesList__2_1.add(getRule458ForTypeOfInjury());
 		rulesList__2_1.add(getRule459ForOffenderNumberToBeRelated());
 		rulesList__2_1.add(getRule460ForRelationshipOfVictimToOffender());
-		rulesList__2_1.add(getRule462());
-		rulesList__2_1.add(getRule463());
-		rulesList__2_1.add(getRule464ForTypeOfVictim());
-		rulesList__2_1.add(getRule465ForTypeOfVictim());
-		rulesList__2_1.add(getRule467ForTypeOfVictim());		
-		rulesList__2_1.add(getRule469ForSexOfVictim());
+		rulesList__2_1.add(anyOf(UCR_OFFENSE_CODES, OffenseCode._13A.code).guard(getRule462()));
+		rulesList__2_1.add(anyOf(UCR_OFFENSE_CODES, OffenseCode._09C.code).guard(getRule463()));
+		rulesList__2_1.add(anyOf(UCR_OFFENSE_CODES, CRIME_AGAINST_PERSON_CODES).guard(getRule464ForTypeOfVictim()));
+		rulesList__2_1.add(anyOf(UCR_OFFENSE_CODES, CRIME_AGAINST_SOCIETY_CODES).guard(getRule465ForTypeOfVictim()));
+		rulesList__2_1.add(anyOf(TYPE_OF_VICTIM, TypeOfVictimCode.S.code).guard(getRule467ForTypeOfVictim()));		
+		rulesList__2_1.add(anyOf(UCR_OFFENSE_CODES, OffenseCode._36B.code, OffenseCode._11A.code).guard(getRule469ForSexOfVictim()));
 		rulesList__2_1.add(getRule468ForRelationshipOfVictimToOffender());
 		rulesList__2_1.add(getRule471());
 		rulesList__2_1.add(getRule472());
 		rulesList__2_1.add(getRule475());
 		rulesList__2_1.add(getRule476());
-		rulesList__2_1.add(getRule477());
+		rulesList__2_1.add(anyOf(UCR_OFFENSE_CODES, OffenseCode._13A.code, OffenseCode._09A.code, OffenseCode._09B.code, OffenseCode._09C.code).guard(getRule477()));
 		rulesList__2_1.add(getRule478());
 		rulesList__2_1.add(getRule479());
-		rulesList__2_1.add(getRule481ForAgeOfVictim());		
-		rulesList__2_1.add(getRule482ForTypeOfVictim());
+		rulesList__2_1.add(anyOf(UCR_OFFENSE_CODES, OffenseCode._36B.code).guard(getRule481ForAgeOfVictim()));		
+		rulesList__2_1.add(anyOf(TYPE_OF_VICTIM, TypeOfVictimCode.L.code).guard(getRule482ForTypeOfVictim()));
 		rulesList__2_1.add(getRule483ForTypeOfOfficerActivity());
 		rulesList__2_1.add(getRule483ForOfficerAssignmentType());
 		rulesList__2_1.add(getRule483ForOfficerOtherJurisdictionORI());
@@ -16,7 +16,9 @@
 package org.search.nibrs.validation.groupb;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import org.search.nibrs.common.NIBRSError;
 import org.search.nibrs.model.ArresteeSegment;
@@ -25,24 +27,39 @@ import org.search.nibrs.model.codes.NIBRSErrorCode;
 import org.search.nibrs.validation.ArresteeSegmentRulesFactory;
 import org.search.nibrs.validation.ValidatorProperties;
 import org.search.nibrs.validation.rules.Rule;
+import org.search.nibrs.validation.rules.RuleProfiler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
  * Class that validates a Group B Arrest Report and all of its contained child segments.
+ * <br/>
+ * Instances are safe for concurrent use, for the same reasons as GroupAIncidentReportValidator: the rule lists are unmodifiable and the rules
+ * are stateless.  As there, a RuleProfiler may be supplied to count and time rule applications.
  * 
  */
 @Component
 public class GroupBArrestReportValidator {
 	
-	private List<Rule<GroupBArrestReport>> incidentReportRules = new ArrayList<>();
-	private List<Rule<ArresteeSegment>> groupBArresteeSegmentRules = new ArrayList<>();
+	private final List<Rule<GroupBArrestReport>> incidentReportRules;
+	private final List<Rule<ArresteeSegment>> groupBArresteeSegmentRules;
 	
-	@Autowired
 	public GroupBArrestReportValidator(ValidatorProperties validatorProperties) {
-		incidentReportRules = new GroupBArrestReportRulesFactory().getRulesList();
-		groupBArresteeSegmentRules = ArresteeSegmentRulesFactory
+		this(validatorProperties, Optional.empty());
+	}
+	
+	@Autowired
+	public GroupBArrestReportValidator(ValidatorProperties validatorProperties, Optional<RuleProfiler> ruleProfiler) {
+		List<Rule<GroupBArrestReport>> reportRules = new GroupBArrestReportRulesFactory().getRulesList();
+		List<Rule<ArresteeSegment>> arresteeRules = ArresteeSegmentRulesFactory
 				.instance(ArresteeSegmentRulesFactory.GROUP_B_ARRESTEE_MODE, validatorProperties).getRulesList();
+		if (ruleProfiler.isPresent()) {
+			incidentReportRules = ruleProfiler.get().instrument(reportRules, GroupBArrestReport.class);
+			groupBArresteeSegmentRules = ruleProfiler.get().instrument(arresteeRules, ArresteeSegment.class);
+		} else {
+			incidentReportRules = Collections.unmodifiableList(reportRules);
+			groupBArresteeSegmentRules = Collections.unmodifiableList(arresteeRules);
+		}
 	}
 
 	public List<NIBRSError> validate(GroupBArrestReport groupBIncidentReport) {
@@ -19,6 +19,15 @@ import java.beans.BeanInfo;
 import java.beans.IntrospectionException;
 import java.beans.Introspector;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -29,16 +38,22 @@ import org.search.nibrs.model.GroupBArrestReport;
 import org.search.nibrs.model.codes.NIBRSErrorCode;
 
 /**
- * Abstract base class for rules that obtain values to test from a named bean property.
+ * Abstract base class for rules that obtain values to test from a named bean property.  The property's read method is looked up once, when the
+ * rule is constructed, and bound into an accessor function, so applying the rule makes a plain method call rather than a reflective one.
  *
  * @param <T> The class of subjects to which this rule applies
  */
 public abstract class AbstractBeanPropertyRule<T extends ValidationTarget> implements Rule<T> {
 	
-	@SuppressWarnings("unused")
 	private static final Logger LOG = LogManager.getLogger(AbstractBeanPropertyRule.class);
 	
+	/**
+	 * Accessors by read method; many rules test the same property, and each accessor is a generated class.
+	 */
+	private static final Map<Method, Function<Object, Object>> ACCESSORS = new ConcurrentHashMap<>();
+	
 	protected PropertyDescriptor property;
+	private final Function<Object, Object> accessor;
 	protected String dataElementIdentifier;
 	protected NIBRSErrorCode errorCode;
 	
@@ -59,6 +74,7 @@ public abstract class AbstractBeanPropertyRule<T extends ValidationTarget> imple
 			// this really should never happen...
 			throw new RuntimeException(e);
 		}
+		this.accessor = ACCESSORS.computeIfAbsent(property.getReadMethod(), AbstractBeanPropertyRule::createAccessor);
 		this.dataElementIdentifier = dataElementIdentifier;
 		this.errorCode = errorCode;
 	}
@@ -67,22 +83,50 @@ public abstract class AbstractBeanPropertyRule<T extends ValidationTarget> imple
 	public final NIBRSError apply(T subject) {
 		NIBRSError ret = null;
 		if (!ignore(subject)) {
-			try {
-				Object value = property.getReadMethod().invoke(subject, new Object[0]);
-				if (propertyViolatesRule(value, subject)) {
-					ret = subject.getErrorTemplate();
-					ret.setNIBRSErrorCode(errorCode);
-					ret.setValue(value);
-					ret.setDataElementIdentifier(dataElementIdentifier);
-				}
-			} catch (ReflectiveOperationException e) {
-				// this really should never happen...
-				throw new RuntimeException(e);
+			Object value = accessor.apply(subject);
+			if (propertyViolatesRule(value, subject)) {
+				ret = subject.getErrorTemplate();
+				ret.setNIBRSErrorCode(errorCode);
+				ret.setValue(value);
+				ret.setDataElementIdentifier(dataElementIdentifier);
 			}
 		}
 		return ret;
 	}
 	
+	/**
+	 * Create a function that calls the specified read method.  The function is generated with LambdaMetafactory, which the JIT can inline like
+	 * a hand-written lambda; if the method cannot be bound that way, the function invokes a method handle instead.
+	 */
+	@SuppressWarnings("unchecked")
+	static Function<Object, Object> createAccessor(Method readMethod) {
+		MethodHandle getter;
+		try {
+			getter = MethodHandles.publicLookup().unreflect(readMethod);
+		} catch (IllegalAccessException e) {
+			// bean property read methods are public, so this really should never happen...
+			throw new RuntimeException(e);
+		}
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			CallSite callSite = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+					MethodType.methodType(Object.class, Object.class), getter, getter.type().wrap());
+			return (Function<Object, Object>) callSite.getTarget().invokeExact();
+		} catch (Throwable t) {
+			LOG.debug("Unable to generate accessor for " + readMethod + ", using a method handle", t);
+			MethodHandle genericGetter = getter.asType(MethodType.methodType(Object.class, Object.class));
+			return subject -> {
+				try {
+					return genericGetter.invokeExact(subject);
+				} catch (RuntimeException | Error e) {
+					throw e;
+				} catch (Throwable t2) {
+					throw new RuntimeException(t2);
+				}
+			};
+		}
+	}
+	
 	/**
 	 * Templated method that derived types can override to determine if the rule should be ignored for a particular incident.
 	 */
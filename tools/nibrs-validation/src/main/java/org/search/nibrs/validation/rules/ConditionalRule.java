@@ -0,0 +1,51 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.common.ValidationTarget;
+
+/**
+ * Decorator that attaches a precondition to a rule.  The precondition is not checked here; apply() simply delegates, and it is up to a
+ * ValidationPlan to skip the rule for subjects that fail the precondition.
+ *
+ * @param <T> The class of subjects to which the rule applies
+ */
+final class ConditionalRule<T extends ValidationTarget> implements Rule<T> {
+	
+	private final Rule<T> rule;
+	private final RulePrecondition<T> precondition;
+	
+	ConditionalRule(Rule<T> rule, RulePrecondition<T> precondition) {
+		this.rule = rule;
+		this.precondition = precondition;
+	}
+
+	@Override
+	public NIBRSError apply(T subject) {
+		return rule.apply(subject);
+	}
+	
+	@Override
+	public RulePrecondition<T> getPrecondition() {
+		return precondition;
+	}
+	
+	Rule<T> getRule() {
+		return rule;
+	}
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import org.search.nibrs.model.codes.NIBRSErrorCode;
+
+/**
+ * Snapshot of the statistics recorded by a RuleProfiler for one NIBRSErrorCode.  A rule is only known to report a code once it has returned an
+ * error with that code, so the invocation count and time are those of the rules that have reported the code at least once.
+ */
+public final class ErrorCodeStatistics {
+	
+	private final NIBRSErrorCode errorCode;
+	private final long hitCount;
+	private final int ruleCount;
+	private final long ruleInvocationCount;
+	private final long ruleTotalNanos;
+	
+	public ErrorCodeStatistics(NIBRSErrorCode errorCode, long hitCount, int ruleCount, long ruleInvocationCount, long ruleTotalNanos) {
+		this.errorCode = errorCode;
+		this.hitCount = hitCount;
+		this.ruleCount = ruleCount;
+		this.ruleInvocationCount = ruleInvocationCount;
+		this.ruleTotalNanos = ruleTotalNanos;
+	}
+
+	public NIBRSErrorCode getErrorCode() {
+		return errorCode;
+	}
+
+	/**
+	 * The number of errors reported with this code.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * The number of rules that have reported this code.
+	 */
+	public int getRuleCount() {
+		return ruleCount;
+	}
+
+	public long getRuleInvocationCount() {
+		return ruleInvocationCount;
+	}
+
+	public long getRuleTotalNanos() {
+		return ruleTotalNanos;
+	}
+
+	@Override
+	public String toString() {
+		return errorCode.getCode() + ": hits=" + hitCount + ", rules=" + ruleCount + ", ruleInvocations=" + ruleInvocationCount + ", ruleTotalNanos="
+				+ ruleTotalNanos;
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.common.ValidationTarget;
+import org.search.nibrs.model.codes.NIBRSErrorCode;
+
+/**
+ * Decorator that counts and times the applications of another rule, on behalf of a RuleProfiler.  Counters are LongAdders, so the rule can be
+ * applied from many threads at once.
+ *
+ * @param <T> The class of subjects to which the rule applies
+ */
+final class ProfilingRule<T extends ValidationTarget> implements Rule<T> {
+	
+	private final Rule<T> rule;
+	private final String ruleName;
+	private final String subjectType;
+	private final LongAdder invocationCount = new LongAdder();
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final Map<NIBRSErrorCode, LongAdder> hitCountsByErrorCode = new ConcurrentHashMap<>();
+	
+	ProfilingRule(Rule<T> rule, String ruleName, String subjectType) {
+		this.rule = rule;
+		this.ruleName = ruleName;
+		this.subjectType = subjectType;
+	}
+
+	@Override
+	public NIBRSError apply(T subject) {
+		long start = System.nanoTime();
+		NIBRSError ret = rule.apply(subject);
+		totalNanos.add(System.nanoTime() - start);
+		invocationCount.increment();
+		if (ret != null) {
+			hitCount.increment();
+			NIBRSErrorCode errorCode = ret.getNIBRSErrorCode();
+			if (errorCode != null) {
+				hitCountsByErrorCode.computeIfAbsent(errorCode, c -> new LongAdder()).increment();
+			}
+		}
+		return ret;
+	}
+	
+	@Override
+	public RulePrecondition<T> getPrecondition() {
+		return rule.getPrecondition();
+	}
+	
+	RuleStatistics getStatistics() {
+		Map<NIBRSErrorCode, Long> hits = new EnumMap<>(NIBRSErrorCode.class);
+		hitCountsByErrorCode.forEach((errorCode, count) -> hits.put(errorCode, count.sum()));
+		return new RuleStatistics(ruleName, subjectType, invocationCount.sum(), hitCount.sum(), totalNanos.sum(), hits);
+	}
+	
+	void reset() {
+		invocationCount.reset();
+		hitCount.reset();
+		totalNanos.reset();
+		hitCountsByErrorCode.clear();
+	}
+
+}
@@ -31,5 +31,14 @@ public interface Rule<T extends ValidationTarget> {
 	 * @return the error object representing the result of validation (or null if the subject passes the test - that is, if it's valid according to the rule)
 	 */
 	public NIBRSError apply(T subject);
+	
+	/**
+	 * Get the condition that a subject must meet for this rule to possibly return an error, so that a ValidationPlan can skip the rule for
+	 * subjects that do not meet it.
+	 * @return the precondition, or null if the rule must be applied to every subject
+	 */
+	public default RulePrecondition<T> getPrecondition() {
+		return null;
+	}
 
 }
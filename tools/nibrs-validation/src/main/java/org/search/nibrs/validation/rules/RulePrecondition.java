@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.search.nibrs.common.ValidationTarget;
+
+/**
+ * A necessary condition for a rule to return an error: the subject's attribute has at least one of a fixed set of values.  A ValidationPlan does
+ * not apply a rule to subjects that fail its precondition, so a precondition must never exclude a subject for which the rule could fire.
+ *
+ * @param <T> The class of subjects to which the rule applies
+ */
+public final class RulePrecondition<T extends ValidationTarget> {
+	
+	private final SubjectAttribute<T> attribute;
+	private final Set<String> values;
+	
+	private RulePrecondition(SubjectAttribute<T> attribute, Collection<String> values) {
+		this.attribute = attribute;
+		this.values = Collections.unmodifiableSet(new HashSet<>(values));
+	}
+	
+	public static <T extends ValidationTarget> RulePrecondition<T> anyOf(SubjectAttribute<T> attribute, Collection<String> values) {
+		return new RulePrecondition<>(attribute, values);
+	}
+
+	public static <T extends ValidationTarget> RulePrecondition<T> anyOf(SubjectAttribute<T> attribute, String... values) {
+		return new RulePrecondition<>(attribute, Arrays.asList(values));
+	}
+	
+	public SubjectAttribute<T> getAttribute() {
+		return attribute;
+	}
+	
+	public Set<String> getValues() {
+		return values;
+	}
+	
+	public boolean isSatisfiedBy(T subject) {
+		for (String value : attribute.getValues(subject)) {
+			if (values.contains(value)) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * Attach this precondition to a rule.
+	 * @param rule the rule, which must not be able to fire for a subject that fails this precondition
+	 * @return a rule that behaves exactly like the specified rule, and that reports this precondition
+	 */
+	public Rule<T> guard(Rule<T> rule) {
+		return new ConditionalRule<>(rule, this);
+	}
+	
+	@Override
+	public String toString() {
+		return attribute + " in " + values;
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.search.nibrs.common.ValidationTarget;
+import org.search.nibrs.model.codes.NIBRSErrorCode;
+
+/**
+ * Optional instrumentation for validators.  A validator that is given a profiler wraps each of its rules so that every application of the rule
+ * is counted and timed; the statistics are available from this object, and over JMX once the profiler is registered with an MBean server.
+ * <br/>
+ * In a Spring context, declaring a RuleProfiler bean turns profiling on in the Group A and Group B validators (and Spring Boot's JMX support
+ * exports it).  Profiling costs two clock reads per rule application, so leave it off unless the numbers are wanted.
+ */
+public class RuleProfiler implements RuleProfilerMXBean {
+	
+	public static final String DEFAULT_OBJECT_NAME = "org.search.nibrs.validation:type=RuleProfiler";
+	
+	private final List<ProfilingRule<?>> rules = new CopyOnWriteArrayList<>();
+	
+	/**
+	 * Wrap each of the specified rules so that its applications are recorded by this profiler.
+	 * @param ruleList the rules to instrument
+	 * @param subjectClass the class of subjects to which the rules apply
+	 * @return an unmodifiable list of the wrapped rules, in the same order
+	 */
+	public <T extends ValidationTarget> List<Rule<T>> instrument(List<Rule<T>> ruleList, Class<T> subjectClass) {
+		List<Rule<T>> ret = new ArrayList<>(ruleList.size());
+		for (int i = 0; i < ruleList.size(); i++) {
+			Rule<T> rule = ruleList.get(i);
+			ProfilingRule<T> profilingRule = new ProfilingRule<>(rule, subjectClass.getSimpleName() + "[" + i + "] " + describe(rule), 
+					subjectClass.getSimpleName());
+			rules.add(profilingRule);
+			ret.add(profilingRule);
+		}
+		return Collections.unmodifiableList(ret);
+	}
+	
+	private static String describe(Rule<?> rule) {
+		while (rule instanceof ConditionalRule) {
+			rule = ((ConditionalRule<?>) rule).getRule();
+		}
+		String className = rule.getClass().getName();
+		String ret = className.substring(className.lastIndexOf('.') + 1);
+		if (rule instanceof AbstractBeanPropertyRule) {
+			ret += "(" + ((AbstractBeanPropertyRule<?>) rule).property.getName() + ")";
+		}
+		return ret;
+	}
+
+	@Override
+	public List<RuleStatistics> getRuleStatistics() {
+		List<RuleStatistics> ret = new ArrayList<>(rules.size());
+		for (ProfilingRule<?> rule : rules) {
+			ret.add(rule.getStatistics());
+		}
+		ret.sort(Comparator.comparingLong(RuleStatistics::getTotalNanos).reversed());
+		return ret;
+	}
+
+	@Override
+	public List<ErrorCodeStatistics> getErrorCodeStatistics() {
+		
+		Map<NIBRSErrorCode, long[]> totals = new EnumMap<>(NIBRSErrorCode.class);
+		
+		for (RuleStatistics ruleStatistics : getRuleStatistics()) {
+			for (Map.Entry<NIBRSErrorCode, Long> hits : ruleStatistics.getHitCountsByErrorCode().entrySet()) {
+				long[] total = totals.computeIfAbsent(hits.getKey(), c -> new long[4]);
+				total[0] += hits.getValue();
+				total[1]++;
+				total[2] += ruleStatistics.getInvocationCount();
+				total[3] += ruleStatistics.getTotalNanos();
+			}
+		}
+		
+		List<ErrorCodeStatistics> ret = new ArrayList<>(totals.size());
+		totals.forEach((errorCode, total) -> ret.add(new ErrorCodeStatistics(errorCode, total[0], (int) total[1], total[2], total[3])));
+		ret.sort(Comparator.comparingLong(ErrorCodeStatistics::getHitCount).reversed());
+		return ret;
+		
+	}
+
+	@Override
+	public long getTotalInvocationCount() {
+		return getRuleStatistics().stream().mapToLong(RuleStatistics::getInvocationCount).sum();
+	}
+
+	@Override
+	public long getTotalNanos() {
+		return getRuleStatistics().stream().mapToLong(RuleStatistics::getTotalNanos).sum();
+	}
+
+	@Override
+	public void reset() {
+		for (ProfilingRule<?> rule : rules) {
+			rule.reset();
+		}
+	}
+	
+	/**
+	 * Register this profiler with the platform MBean server under the default object name.
+	 * @return the name under which the profiler is registered
+	 * @throws JMException if registration fails, for example because another profiler is already registered under the name
+	 */
+	public ObjectName registerMBean() throws JMException {
+		return registerMBean(ManagementFactory.getPlatformMBeanServer(), new ObjectName(DEFAULT_OBJECT_NAME));
+	}
+	
+	public ObjectName registerMBean(MBeanServer mBeanServer, ObjectName objectName) throws JMException {
+		return mBeanServer.registerMBean(this, objectName).getObjectName();
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import java.util.List;
+
+/**
+ * JMX view of a RuleProfiler.
+ */
+public interface RuleProfilerMXBean {
+	
+	/**
+	 * @return the statistics of every instrumented rule, most expensive (by total time) first
+	 */
+	List<RuleStatistics> getRuleStatistics();
+	
+	/**
+	 * @return the statistics of every error code reported so far, most frequent first
+	 */
+	List<ErrorCodeStatistics> getErrorCodeStatistics();
+	
+	long getTotalInvocationCount();
+	
+	long getTotalNanos();
+	
+	/**
+	 * Zero all counters.
+	 */
+	void reset();
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import java.util.Collections;
+import java.util.Map;
+
+import org.search.nibrs.model.codes.NIBRSErrorCode;
+
+/**
+ * Snapshot of the invocation count, hit (error) count and cumulative time of one rule, as recorded by a RuleProfiler.
+ */
+public final class RuleStatistics {
+	
+	private final String ruleName;
+	private final String subjectType;
+	private final long invocationCount;
+	private final long hitCount;
+	private final long totalNanos;
+	private final Map<NIBRSErrorCode, Long> hitCountsByErrorCode;
+	
+	public RuleStatistics(String ruleName, String subjectType, long invocationCount, long hitCount, long totalNanos,
+			Map<NIBRSErrorCode, Long> hitCountsByErrorCode) {
+		this.ruleName = ruleName;
+		this.subjectType = subjectType;
+		this.invocationCount = invocationCount;
+		this.hitCount = hitCount;
+		this.totalNanos = totalNanos;
+		this.hitCountsByErrorCode = Collections.unmodifiableMap(hitCountsByErrorCode);
+	}
+
+	/**
+	 * The name of the rule: the subject type and position of the rule in its validator's rule list, and the rule class.
+	 */
+	public String getRuleName() {
+		return ruleName;
+	}
+
+	/**
+	 * The simple name of the class of subjects to which the rule applies.
+	 */
+	public String getSubjectType() {
+		return subjectType;
+	}
+
+	public long getInvocationCount() {
+		return invocationCount;
+	}
+
+	/**
+	 * The number of invocations that returned an error.
+	 */
+	public long getHitCount() {
+		return hitCount;
+	}
+
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+	
+	public double getMeanNanos() {
+		return invocationCount == 0 ? 0 : (double) totalNanos / invocationCount;
+	}
+
+	/**
+	 * The hit count broken down by the code of the errors returned.  Most rules only ever return one code.
+	 */
+	public Map<NIBRSErrorCode, Long> getHitCountsByErrorCode() {
+		return hitCountsByErrorCode;
+	}
+
+	@Override
+	public String toString() {
+		return ruleName + ": invocations=" + invocationCount + ", hits=" + hitCount + ", totalNanos=" + totalNanos + ", hitCountsByErrorCode="
+				+ hitCountsByErrorCode;
+	}
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Function;
+
+import org.search.nibrs.common.ValidationTarget;
+
+/**
+ * A named, possibly multi-valued, coded attribute of a validation subject, to which rule preconditions refer.  Attributes are compared by identity,
+ * so each should be declared once (as a constant) and shared by all the rules that depend on it.
+ *
+ * @param <T> The class of subjects that have the attribute
+ */
+public final class SubjectAttribute<T extends ValidationTarget> {
+	
+	private final String name;
+	private final Function<T, ? extends Collection<String>> valueFunction;
+	
+	public SubjectAttribute(String name, Function<T, ? extends Collection<String>> valueFunction) {
+		this.name = name;
+		this.valueFunction = valueFunction;
+	}
+	
+	/**
+	 * Create an attribute that has exactly one value (possibly null) per subject.
+	 * @param name the attribute name
+	 * @param valueFunction function that reads the value from a subject
+	 * @return the attribute
+	 */
+	public static <T extends ValidationTarget> SubjectAttribute<T> singleValued(String name, Function<T, String> valueFunction) {
+		return new SubjectAttribute<>(name, subject -> Collections.singletonList(valueFunction.apply(subject)));
+	}
+	
+	public String getName() {
+		return name;
+	}
+	
+	public Collection<String> getValues(T subject) {
+		return valueFunction.apply(subject);
+	}
+	
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
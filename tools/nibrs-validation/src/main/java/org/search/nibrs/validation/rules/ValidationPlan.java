@@ -0,0 +1,129 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.common.ValidationTarget;
+
+/**
+ * A list of rules compiled so that each subject is only tested against the rules that can possibly fire for it.  Rules without a precondition
+ * always run; rules with one are indexed by the attribute values that satisfy it, and the set of rules for a subject is the union of the
+ * unconditional rules and the rules indexed under each of the subject's attribute values.
+ * <br/>
+ * Rules are applied in list order, and for each rule the subjects are visited in list order, so the errors come out in the same order as they
+ * would from applying every rule to every subject.  Instances are immutable and safe for concurrent use.
+ *
+ * @param <T> The class of subjects to which the rules apply
+ */
+public final class ValidationPlan<T extends ValidationTarget> {
+	
+	private final List<Rule<T>> rules;
+	private final BitSet unconditionalRules = new BitSet();
+	private final Map<SubjectAttribute<T>, Map<String, BitSet>> conditionalRules = new LinkedHashMap<>();
+	
+	public ValidationPlan(List<Rule<T>> rules) {
+		this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+		for (int i = 0; i < this.rules.size(); i++) {
+			RulePrecondition<T> precondition = this.rules.get(i).getPrecondition();
+			if (precondition == null) {
+				unconditionalRules.set(i);
+			} else {
+				Map<String, BitSet> rulesByValue = conditionalRules.computeIfAbsent(precondition.getAttribute(), a -> new HashMap<>());
+				for (String value : precondition.getValues()) {
+					rulesByValue.computeIfAbsent(value, v -> new BitSet()).set(i);
+				}
+			}
+		}
+	}
+	
+	public List<Rule<T>> getRules() {
+		return rules;
+	}
+	
+	/**
+	 * Determine which rules can fire for a subject.
+	 * @param subject the subject
+	 * @return a new set of the indexes (into getRules()) of the rules to apply to the subject
+	 */
+	public BitSet getApplicableRules(T subject) {
+		BitSet ret = (BitSet) unconditionalRules.clone();
+		for (Map.Entry<SubjectAttribute<T>, Map<String, BitSet>> entry : conditionalRules.entrySet()) {
+			Map<String, BitSet> rulesByValue = entry.getValue();
+			for (String value : entry.getKey().getValues(subject)) {
+				BitSet rulesForValue = rulesByValue.get(value);
+				if (rulesForValue != null) {
+					ret.or(rulesForValue);
+				}
+			}
+		}
+		return ret;
+	}
+	
+	/**
+	 * Apply the applicable rules to a subject.
+	 * @param subject the subject
+	 * @param errorConsumer receives each error, in rule order
+	 */
+	public void apply(T subject, Consumer<NIBRSError> errorConsumer) {
+		BitSet applicableRules = getApplicableRules(subject);
+		for (int i = applicableRules.nextSetBit(0); i >= 0; i = applicableRules.nextSetBit(i + 1)) {
+			NIBRSError e = rules.get(i).apply(subject);
+			if (e != null) {
+				errorConsumer.accept(e);
+			}
+		}
+	}
+	
+	/**
+	 * Apply the applicable rules to each of a list of subjects.
+	 * @param subjects the subjects
+	 * @param errorConsumer receives each error, ordered by rule and then by subject
+	 */
+	public void apply(List<? extends T> subjects, Consumer<NIBRSError> errorConsumer) {
+		int subjectCount = subjects.size();
+		if (subjectCount == 1) {
+			apply(subjects.get(0), errorConsumer);
+			return;
+		}
+		BitSet[] applicableRules = new BitSet[subjectCount];
+		BitSet anyApplicableRules = new BitSet();
+		for (int j = 0; j < subjectCount; j++) {
+			applicableRules[j] = getApplicableRules(subjects.get(j));
+			anyApplicableRules.or(applicableRules[j]);
+		}
+		for (int i = anyApplicableRules.nextSetBit(0); i >= 0; i = anyApplicableRules.nextSetBit(i + 1)) {
+			Rule<T> rule = rules.get(i);
+			for (int j = 0; j < subjectCount; j++) {
+				if (applicableRules[j].get(i)) {
+					NIBRSError e = rule.apply(subjects.get(j));
+					if (e != null) {
+						errorConsumer.accept(e);
+					}
+				}
+			}
+		}
+	}
+
+}
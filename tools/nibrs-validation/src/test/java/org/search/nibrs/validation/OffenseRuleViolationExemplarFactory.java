@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -764,7 +765,7 @@ final class OffenseRuleViolationExemplarFactory {
 			
 			List<GroupAIncidentReport> incidents = new ArrayList<GroupAIncidentReport>();
 			
-			Set<String> simpleAssaultDisallowedCodes = TypeOfWeaponForceCode.codeSet();
+			Set<String> simpleAssaultDisallowedCodes = new HashSet<>(TypeOfWeaponForceCode.codeSet());
 			simpleAssaultDisallowedCodes.remove(TypeOfWeaponForceCode._40.code);
 			simpleAssaultDisallowedCodes.remove(TypeOfWeaponForceCode._90.code);
 			simpleAssaultDisallowedCodes.remove(TypeOfWeaponForceCode._95.code);
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.model.GroupAIncidentReport;
+import org.search.nibrs.model.GroupBArrestReport;
+import org.search.nibrs.model.NIBRSSubmission;
+import org.search.nibrs.validation.groupa.GroupAIncidentReportValidator;
+import org.search.nibrs.validation.groupb.GroupBArrestReportValidator;
+
+public class SubmissionValidatorTest {
+	
+	private static final int[] RULE_NUMBERS = {
+			101, 104, 115, 117, 152, 201, 204, 206, 251, 252, 262, 266, 304, 342, 351, 364, 382, 401, 404, 406, 453, 454, 460, 466,
+			481, 501, 504, 552, 559, 601, 604, 652, 653, 70, 72, 80 };
+	
+	private SubmissionValidator submissionValidator;
+	private ForkJoinPool pool;
+	
+	@Before
+	public void init() {
+		ValidatorProperties validatorProperties = new ValidatorProperties();
+		submissionValidator = new SubmissionValidator();
+		submissionValidator.groupAIncidentReportValidator = new GroupAIncidentReportValidator(validatorProperties);
+		submissionValidator.groupBArrestReportValidator = new GroupBArrestReportValidator(validatorProperties);
+		pool = new ForkJoinPool(4);
+	}
+	
+	@After
+	public void tearDown() {
+		pool.shutdown();
+	}
+	
+	@Test
+	public void testParallelMatchesSequential() {
+		
+		NIBRSSubmission submission = buildSubmission();
+		assertTrue(submission.getReportCount() > SubmissionValidator.REPORTS_PER_TASK * 8);
+		
+		List<NIBRSError> expected = submissionValidator.validate(submission);
+		assertTrue(expected.size() > 0);
+		
+		assertSameErrors(expected, submissionValidator.validate(submission, pool));
+		
+		submissionValidator.setForkJoinPool(pool);
+		assertSameErrors(expected, submissionValidator.validate(submission));
+		
+	}
+	
+	@Test
+	public void testEmptySubmission() {
+		assertEquals(0, submissionValidator.validate(new NIBRSSubmission(), pool).size());
+	}
+	
+	private void assertSameErrors(List<NIBRSError> expected, List<NIBRSError> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			NIBRSError expectedError = expected.get(i);
+			NIBRSError actualError = actual.get(i);
+			// each report is validated once per run, so errors are distinct objects; compare what they say and what they refer to
+			assertSame(expectedError.getReport(), actualError.getReport());
+			assertEquals(expectedError.getNIBRSErrorCode(), actualError.getNIBRSErrorCode());
+			assertEquals(expectedError.getDataElementIdentifier(), actualError.getDataElementIdentifier());
+			assertEquals(expectedError.getValue(), actualError.getValue());
+			assertEquals(expectedError.getWithinSegmentIdentifier(), actualError.getWithinSegmentIdentifier());
+		}
+	}
+	
+	private NIBRSSubmission buildSubmission() {
+		NIBRSSubmission ret = new NIBRSSubmission();
+		RuleViolationExemplarFactory exemplarFactory = RuleViolationExemplarFactory.getInstance();
+		for (int i = 0; i < 3; i++) {
+			for (int ruleNumber : RULE_NUMBERS) {
+				for (GroupAIncidentReport report : exemplarFactory.getGroupAIncidentsThatViolateRule(ruleNumber)) {
+					ret.addReport(report);
+				}
+				ret.addReport(BaselineIncidentFactory.getBaselineIncident());
+			}
+		}
+		for (int i = 0; i < 20; i++) {
+			GroupBArrestReport report = BaselineIncidentFactory.getBaselineGroupBArrestReport();
+			ret.addReport(report);
+		}
+		return ret;
+	}
+
+}
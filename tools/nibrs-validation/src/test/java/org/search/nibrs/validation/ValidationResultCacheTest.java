@@ -0,0 +1,218 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.common.ReportSource;
+import org.search.nibrs.model.AbstractReport;
+import org.search.nibrs.model.GroupAIncidentReport;
+import org.search.nibrs.validation.groupa.GroupAIncidentReportValidator;
+import org.search.nibrs.validation.groupb.GroupBArrestReportValidator;
+
+public class ValidationResultCacheTest {
+	
+	private static final int[] RULE_NUMBERS = { 101, 115, 204, 304, 358, 404, 453, 504, 601, 70 };
+	
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+	
+	private ValidatorProperties validatorProperties;
+	private SubmissionValidator submissionValidator;
+	private RuleViolationExemplarFactory exemplarFactory;
+	
+	@Before
+	public void init() {
+		validatorProperties = new ValidatorProperties();
+		submissionValidator = new SubmissionValidator();
+		submissionValidator.groupAIncidentReportValidator = new GroupAIncidentReportValidator(validatorProperties);
+		submissionValidator.groupBArrestReportValidator = new GroupBArrestReportValidator(validatorProperties);
+		exemplarFactory = RuleViolationExemplarFactory.getInstance();
+	}
+	
+	@Test
+	public void testMemoryHits() {
+		
+		ValidationResultCache cache = new ValidationResultCache(validatorProperties, 100, null);
+		
+		List<List<NIBRSError>> expected = new ArrayList<>();
+		for (AbstractReport report : exemplars()) {
+			expected.add(submissionValidator.validateReport(report));
+		}
+		
+		submissionValidator.setValidationResultCache(cache);
+		List<AbstractReport> reports = exemplars();
+		for (int i = 0; i < reports.size(); i++) {
+			assertSameErrors(expected.get(i), submissionValidator.validateReport(reports.get(i)), reports.get(i));
+		}
+		// some exemplars of different rules have the same content
+		int distinctCount = distinctCount(reports);
+		assertEquals(distinctCount, cache.getMissCount());
+		assertEquals(reports.size() - distinctCount, cache.getHitCount());
+		
+		// the exemplar factory builds new reports each time, so these hits are on equal content, not on the same objects
+		reports = exemplars();
+		for (int i = 0; i < reports.size(); i++) {
+			assertSameErrors(expected.get(i), submissionValidator.validateReport(reports.get(i)), reports.get(i));
+		}
+		assertEquals(2 * reports.size() - distinctCount, cache.getHitCount());
+		
+	}
+	
+	@Test
+	public void testConfigurationChange() {
+		
+		ValidationResultCache cache = new ValidationResultCache(validatorProperties, 100, null);
+		submissionValidator.setValidationResultCache(cache);
+		
+		GroupAIncidentReport report = exemplarFactory.getGroupAIncidentsThatViolateRule(101).get(0);
+		submissionValidator.validateReport(report);
+		submissionValidator.validateReport(report);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		
+		validatorProperties.getStateToFbiRaceCodeMapping().put("X", "W");
+		submissionValidator.validateReport(report);
+		assertEquals(1, cache.getHitCount());
+		assertEquals(2, cache.getMissCount());
+		assertEquals(1, cache.size());
+		
+	}
+	
+	@Test
+	public void testLeastRecentlyUsedEviction() {
+		
+		ValidationResultCache cache = new ValidationResultCache(validatorProperties, 2, null);
+		submissionValidator.setValidationResultCache(cache);
+		
+		GroupAIncidentReport r1 = exemplarFactory.getGroupAIncidentsThatViolateRule(101).get(0);
+		GroupAIncidentReport r2 = exemplarFactory.getGroupAIncidentsThatViolateRule(115).get(0);
+		GroupAIncidentReport r3 = exemplarFactory.getGroupAIncidentsThatViolateRule(204).get(0);
+		
+		submissionValidator.validateReport(r1);
+		submissionValidator.validateReport(r2);
+		submissionValidator.validateReport(r1);
+		submissionValidator.validateReport(r3);
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getHitCount());
+		
+		// r2 was least recently used, so r3 displaced it
+		submissionValidator.validateReport(r1);
+		assertEquals(2, cache.getHitCount());
+		submissionValidator.validateReport(r2);
+		assertEquals(2, cache.getHitCount());
+		assertEquals(4, cache.getMissCount());
+		
+	}
+	
+	@Test
+	public void testDiskTier() throws Exception {
+		
+		File directory = temporaryFolder.newFolder();
+		submissionValidator.setValidationResultCache(new ValidationResultCache(validatorProperties, 100, directory.toPath()));
+		List<List<NIBRSError>> expected = new ArrayList<>();
+		for (AbstractReport report : exemplars()) {
+			expected.add(submissionValidator.validateReport(report));
+		}
+		assertTrue(directory.list().length > 0);
+		
+		ValidationResultCache cache = new ValidationResultCache(validatorProperties, 100, directory.toPath());
+		submissionValidator.setValidationResultCache(cache);
+		List<AbstractReport> reports = exemplars();
+		for (int i = 0; i < reports.size(); i++) {
+			assertSameErrors(expected.get(i), submissionValidator.validateReport(reports.get(i)), reports.get(i));
+		}
+		assertEquals(directory.list().length, cache.getDiskHitCount());
+		assertEquals(distinctCount(reports), cache.getDiskHitCount() + cache.getMissCount());
+		
+		cache.invalidate();
+		assertEquals(0, cache.size());
+		assertEquals(0, directory.list().length);
+		
+	}
+	
+	@Test
+	public void testFingerprint() {
+		
+		GroupAIncidentReport r1 = exemplarFactory.getGroupAIncidentsThatViolateRule(101).get(0);
+		GroupAIncidentReport r2 = exemplarFactory.getGroupAIncidentsThatViolateRule(101).get(0);
+		ReportSource source = new ReportSource();
+		source.setSourceName("another file");
+		source.setSourceLocation("line 42");
+		r2.setSource(source);
+		assertEquals(ReportFingerprint.fingerprint(r1), ReportFingerprint.fingerprint(r2));
+		
+		r2.getVictims().get(0).setTypeOfVictim("B");
+		assertNotEquals(ReportFingerprint.fingerprint(r1), ReportFingerprint.fingerprint(r2));
+		
+		GroupAIncidentReport r3 = exemplarFactory.getGroupAIncidentsThatViolateRule(115).get(0);
+		assertFalse(ReportFingerprint.fingerprint(r1).equals(ReportFingerprint.fingerprint(r3)));
+		
+	}
+	
+	private List<AbstractReport> exemplars() {
+		List<AbstractReport> ret = new ArrayList<>();
+		for (int ruleNumber : RULE_NUMBERS) {
+			ret.addAll(exemplarFactory.getGroupAIncidentsThatViolateRule(ruleNumber));
+		}
+		ret.add(BaselineIncidentFactory.getBaselineIncident());
+		ret.add(BaselineIncidentFactory.getBaselineGroupBArrestReport());
+		return ret;
+	}
+	
+	private static int distinctCount(List<AbstractReport> reports) {
+		Set<String> fingerprints = new HashSet<>();
+		reports.forEach(r -> fingerprints.add(ReportFingerprint.fingerprint(r)));
+		return fingerprints.size();
+	}
+	
+	private void assertSameErrors(List<NIBRSError> expected, List<NIBRSError> actual, AbstractReport report) {
+		assertEquals(expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++) {
+			NIBRSError expectedError = expected.get(i);
+			NIBRSError actualError = actual.get(i);
+			assertSame(report, actualError.getReport());
+			assertSame(report.getSource(), actualError.getContext());
+			assertEquals(expectedError.getNIBRSErrorCode(), actualError.getNIBRSErrorCode());
+			assertEquals(expectedError.getDataElementIdentifier(), actualError.getDataElementIdentifier());
+			assertEquals(expectedError.getReportUniqueIdentifier(), actualError.getReportUniqueIdentifier());
+			assertEquals(expectedError.getSegmentType(), actualError.getSegmentType());
+			assertEquals(expectedError.getWithinSegmentIdentifier(), actualError.getWithinSegmentIdentifier());
+			assertEquals(describe(expectedError.getValue()), describe(actualError.getValue()));
+		}
+	}
+	
+	private static String describe(Object value) {
+		return value != null && value.getClass().isArray() ? Arrays.deepToString((Object[]) value) : String.valueOf(value);
+	}
+
+}
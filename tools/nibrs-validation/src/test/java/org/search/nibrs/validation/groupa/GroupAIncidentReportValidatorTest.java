@@ -15,8 +15,11 @@
  */
 package org.search.nibrs.validation.groupa;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
@@ -25,10 +28,16 @@ import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.common.ParsedObject;
+import org.search.nibrs.common.ValidationTarget;
 import org.search.nibrs.model.GroupAIncidentReport;
+import org.search.nibrs.model.PropertySegment;
+import org.search.nibrs.model.VictimSegment;
 import org.search.nibrs.model.codes.NIBRSErrorCode;
 import org.search.nibrs.validation.RuleViolationExemplarFactory;
 import org.search.nibrs.validation.ValidatorProperties;
+import org.search.nibrs.validation.rules.Rule;
+import org.search.nibrs.validation.rules.RulePrecondition;
 
 public class GroupAIncidentReportValidatorTest {
 
@@ -716,6 +725,80 @@ public class GroupAIncidentReportValidatorTest {
 		testRule(NIBRSErrorCode._560, 560);
 	}
 
+	@Test
+	public void testRule70DuplicatesWithManyVictims() {
+		
+		GroupAIncidentReport incident = exemplarFactory.getGroupAIncidentsThatViolateRule(70).get(0);
+		VictimSegment templateVictim = incident.getVictims().get(0);
+		incident.removeVictims();
+		
+		int victimCount = 600;
+		int distinctOffenderCount = 50;
+		
+		for (int i = 0; i < victimCount; i++) {
+			VictimSegment victim = new VictimSegment(templateVictim);
+			victim.setVictimSequenceNumber(new ParsedObject<>(i + 1));
+			victim.setOffenderNumberRelated(0, new ParsedObject<>(100 + (i % distinctOffenderCount)));
+			incident.addVictim(victim);
+		}
+		
+		List<NIBRSError> errorList = validator.validate(incident);
+		
+		List<Object> reported070Values = new ArrayList<>();
+		for (NIBRSError e : errorList) {
+			if (e.getNIBRSErrorCode() == NIBRSErrorCode._070) {
+				reported070Values.add(e.getValue());
+			}
+		}
+		
+		List<Object> expected070Values = new ArrayList<>();
+		for (int i = 0; i < distinctOffenderCount; i++) {
+			expected070Values.add(100 + i);
+		}
+		
+		assertEquals(expected070Values, reported070Values);
+		
+	}
+
+	@Test
+	public void testRulePreconditions() {
+		
+		// a rule that the validation plan skips because its precondition is unmet must never fire
+		
+		List<Rule<VictimSegment>> victimRules = VictimSegmentRulesFactory.instance(new ValidatorProperties()).getRulesList();
+		List<Rule<PropertySegment>> propertyRules = new PropertySegmentRulesFactory().getRulesList();
+		
+		int[] ruleNumbers = new int[] {358, 361, 364, 387, 392, 404, 453, 454, 462, 463, 464, 465, 467, 469, 477, 481, 482};
+		List<GroupAIncidentReport> incidents = new ArrayList<>();
+		for (int ruleNumber : ruleNumbers) {
+			incidents.addAll(exemplarFactory.getGroupAIncidentsThatViolateRule(ruleNumber));
+		}
+		
+		int skippedCount = 0;
+		for (GroupAIncidentReport incident : incidents) {
+			for (VictimSegment victim : incident.getVictims()) {
+				skippedCount += assertSkippedRulesPass(victimRules, victim);
+			}
+			for (PropertySegment property : incident.getProperties()) {
+				skippedCount += assertSkippedRulesPass(propertyRules, property);
+			}
+		}
+		assertTrue(skippedCount > 0);
+		
+	}
+	
+	private static <T extends ValidationTarget> int assertSkippedRulesPass(List<Rule<T>> rules, T subject) {
+		int ret = 0;
+		for (Rule<T> rule : rules) {
+			RulePrecondition<T> precondition = rule.getPrecondition();
+			if (precondition != null && !precondition.isSatisfiedBy(subject)) {
+				assertNull(precondition.toString(), rule.apply(subject));
+				ret++;
+			}
+		}
+		return ret;
+	}
+
 	private void testRule(NIBRSErrorCode ruleCode, int ruleNumber) {
 		List<GroupAIncidentReport> exemplars = exemplarFactory.getGroupAIncidentsThatViolateRule(ruleNumber);
 		for (GroupAIncidentReport r : exemplars) {
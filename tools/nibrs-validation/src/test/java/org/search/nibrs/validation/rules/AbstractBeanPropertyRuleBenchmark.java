@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.search.nibrs.model.OffenseSegment;
+import org.search.nibrs.model.codes.NIBRSErrorCode;
+
+/**
+ * Compares reading bean properties through Method.invoke, as AbstractBeanPropertyRule used to, with the generated accessors it uses now, and times
+ * whole rule applications.  This is a standalone program rather than a unit test; run it with the test classpath, for example:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.mainClass=org.search.nibrs.validation.rules.AbstractBeanPropertyRuleBenchmark -Dexec.classpathScope=test
+ * </pre>
+ */
+public class AbstractBeanPropertyRuleBenchmark {
+	
+	private static final int SUBJECT_COUNT = 1000;
+	private static final int ITERATIONS = 20000;
+	private static final int ROUNDS = 5;
+	
+	private static volatile Object sink;
+	
+	public static void main(String[] args) throws Exception {
+		
+		List<OffenseSegment> subjects = new ArrayList<>();
+		for (int i = 0; i < SUBJECT_COUNT; i++) {
+			OffenseSegment offense = new OffenseSegment();
+			// values that pass the rule, so that the rule timings measure the property read rather than building errors
+			offense.setUcrOffenseCode(i % 2 == 0 ? "13A" : "13B");
+			offense.setOffenseAttemptedCompleted("C");
+			subjects.add(offense);
+		}
+		
+		Method readMethod = null;
+		for (PropertyDescriptor pd : Introspector.getBeanInfo(OffenseSegment.class).getPropertyDescriptors()) {
+			if ("ucrOffenseCode".equals(pd.getName())) {
+				readMethod = pd.getReadMethod();
+			}
+		}
+		Function<Object, Object> accessor = AbstractBeanPropertyRule.createAccessor(readMethod);
+		NotBlankRule<OffenseSegment> rule = new NotBlankRule<>("ucrOffenseCode", "6", OffenseSegment.class, NIBRSErrorCode._201);
+		
+		for (int round = 1; round <= ROUNDS; round++) {
+			System.out.println("Round " + round + ":");
+			report("Method.invoke", timeReflective(readMethod, subjects));
+			report("generated accessor", timeAccessor(accessor, subjects));
+			report("NotBlankRule.apply", timeRule(rule, subjects));
+		}
+		
+	}
+	
+	private static void report(String label, long nanos) {
+		System.out.printf("  %-20s %6.2f ns/call%n", label, (double) nanos / ((long) ITERATIONS * SUBJECT_COUNT));
+	}
+	
+	private static long timeReflective(Method readMethod, List<OffenseSegment> subjects) throws Exception {
+		long start = System.nanoTime();
+		Object last = null;
+		for (int i = 0; i < ITERATIONS; i++) {
+			for (OffenseSegment subject : subjects) {
+				last = readMethod.invoke(subject, new Object[0]);
+			}
+		}
+		sink = last;
+		return System.nanoTime() - start;
+	}
+	
+	private static long timeAccessor(Function<Object, Object> accessor, List<OffenseSegment> subjects) {
+		long start = System.nanoTime();
+		Object last = null;
+		for (int i = 0; i < ITERATIONS; i++) {
+			for (OffenseSegment subject : subjects) {
+				last = accessor.apply(subject);
+			}
+		}
+		sink = last;
+		return System.nanoTime() - start;
+	}
+	
+	private static long timeRule(NotBlankRule<OffenseSegment> rule, List<OffenseSegment> subjects) {
+		long start = System.nanoTime();
+		Object last = null;
+		for (int i = 0; i < ITERATIONS; i++) {
+			for (OffenseSegment subject : subjects) {
+				last = rule.apply(subject);
+			}
+		}
+		sink = last;
+		return System.nanoTime() - start;
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.Test;
+import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.model.GroupAIncidentReport;
+import org.search.nibrs.model.codes.NIBRSErrorCode;
+import org.search.nibrs.validation.RuleViolationExemplarFactory;
+import org.search.nibrs.validation.ValidatorProperties;
+import org.search.nibrs.validation.groupa.GroupAIncidentReportValidator;
+import org.search.nibrs.validation.rules.NotBlankRuleTest.TestSubject;
+
+public class RuleProfilerTest {
+	
+	@Test
+	public void testInstrument() {
+		
+		RuleProfiler profiler = new RuleProfiler();
+		List<Rule<TestSubject>> rules = profiler.instrument(Arrays.asList(
+				new NotBlankRule<>("v1", "1", TestSubject.class, NIBRSErrorCode._101),
+				new NotBlankRule<>("v3", "3", TestSubject.class, NIBRSErrorCode._104)), TestSubject.class);
+		
+		TestSubject subject = new TestSubject();
+		subject.setV3("foo");
+		for (int i = 0; i < 3; i++) {
+			assertNotNull(rules.get(0).apply(subject));
+			assertNull(rules.get(1).apply(subject));
+		}
+		
+		List<RuleStatistics> statistics = profiler.getRuleStatistics();
+		assertEquals(2, statistics.size());
+		RuleStatistics v1 = statistics.stream().filter(s -> s.getRuleName().equals("TestSubject[0] NotBlankRule(v1)")).findFirst().get();
+		assertEquals("TestSubject", v1.getSubjectType());
+		assertEquals(3, v1.getInvocationCount());
+		assertEquals(3, v1.getHitCount());
+		assertEquals(Long.valueOf(3), v1.getHitCountsByErrorCode().get(NIBRSErrorCode._101));
+		RuleStatistics v3 = statistics.stream().filter(s -> s.getRuleName().equals("TestSubject[1] NotBlankRule(v3)")).findFirst().get();
+		assertEquals(3, v3.getInvocationCount());
+		assertEquals(0, v3.getHitCount());
+		assertTrue(v3.getHitCountsByErrorCode().isEmpty());
+		assertEquals(6, profiler.getTotalInvocationCount());
+		
+		List<ErrorCodeStatistics> errorCodeStatistics = profiler.getErrorCodeStatistics();
+		assertEquals(1, errorCodeStatistics.size());
+		assertEquals(NIBRSErrorCode._101, errorCodeStatistics.get(0).getErrorCode());
+		assertEquals(3, errorCodeStatistics.get(0).getHitCount());
+		assertEquals(1, errorCodeStatistics.get(0).getRuleCount());
+		
+		profiler.reset();
+		assertEquals(0, profiler.getTotalInvocationCount());
+		assertEquals(0, profiler.getErrorCodeStatistics().size());
+		
+	}
+	
+	@Test
+	public void testProfiledValidator() {
+		
+		RuleProfiler profiler = new RuleProfiler();
+		GroupAIncidentReportValidator validator = new GroupAIncidentReportValidator(new ValidatorProperties(), Optional.of(profiler));
+		GroupAIncidentReportValidator unprofiledValidator = new GroupAIncidentReportValidator(new ValidatorProperties());
+		
+		GroupAIncidentReport report = RuleViolationExemplarFactory.getInstance().getGroupAIncidentsThatViolateRule(101).get(0);
+		List<NIBRSError> errors = validator.validate(report);
+		assertEquals(unprofiledValidator.validate(report).size(), errors.size());
+		
+		assertTrue(profiler.getTotalInvocationCount() > 0);
+		long hits = profiler.getRuleStatistics().stream().mapToLong(RuleStatistics::getHitCount).sum();
+		// the validator drops some duplicate errors, so rules can fire more often than errors are reported
+		assertTrue(hits >= errors.size());
+		assertTrue(profiler.getErrorCodeStatistics().stream().anyMatch(s -> s.getErrorCode() == NIBRSErrorCode._101));
+		
+	}
+	
+	@Test
+	public void testMBean() throws Exception {
+		
+		RuleProfiler profiler = new RuleProfiler();
+		List<Rule<TestSubject>> rules = profiler.instrument(Arrays.asList(
+				new NotBlankRule<>("v1", "1", TestSubject.class, NIBRSErrorCode._101)), TestSubject.class);
+		rules.get(0).apply(new TestSubject());
+		
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+		ObjectName objectName = profiler.registerMBean(mBeanServer, new ObjectName(RuleProfiler.DEFAULT_OBJECT_NAME + ",name=test"));
+		try {
+			assertEquals(1L, mBeanServer.getAttribute(objectName, "TotalInvocationCount"));
+			CompositeData[] ruleStatistics = (CompositeData[]) mBeanServer.getAttribute(objectName, "RuleStatistics");
+			assertEquals(1, ruleStatistics.length);
+			assertEquals(1L, ruleStatistics[0].get("hitCount"));
+			CompositeData[] errorCodeStatistics = (CompositeData[]) mBeanServer.getAttribute(objectName, "ErrorCodeStatistics");
+			assertEquals("_101", errorCodeStatistics[0].get("errorCode"));
+			mBeanServer.invoke(objectName, "reset", null, null);
+			assertEquals(0L, mBeanServer.getAttribute(objectName, "TotalInvocationCount"));
+		} finally {
+			mBeanServer.unregisterMBean(objectName);
+		}
+		
+	}
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2016 Research Triangle Institute
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.validation.rules;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.search.nibrs.common.NIBRSError;
+import org.search.nibrs.model.codes.NIBRSErrorCode;
+import org.search.nibrs.validation.rules.NotBlankRuleTest.TestSubject;
+
+public class ValidationPlanTest {
+	
+	private static final SubjectAttribute<TestSubject> V3 = SubjectAttribute.singleValued("v3", TestSubject::getV3);
+	
+	@Test
+	public void testApplicableRules() {
+		
+		List<Rule<TestSubject>> rules = Arrays.asList(
+				new NotBlankRule<>("v1", "1", TestSubject.class, NIBRSErrorCode._101),
+				RulePrecondition.anyOf(V3, "A", "B").guard(new NotBlankRule<>("v1", "1", TestSubject.class, NIBRSErrorCode._104)),
+				RulePrecondition.anyOf(V3, "C").guard(new NotBlankRule<>("v1", "1", TestSubject.class, NIBRSErrorCode._115)));
+		ValidationPlan<TestSubject> plan = new ValidationPlan<>(rules);
+		
+		assertEquals(bits(0), plan.getApplicableRules(subject(null)));
+		assertEquals(bits(0, 1), plan.getApplicableRules(subject("A")));
+		assertEquals(bits(0, 1), plan.getApplicableRules(subject("B")));
+		assertEquals(bits(0, 2), plan.getApplicableRules(subject("C")));
+		
+		assertTrue(rules.get(1).getPrecondition().isSatisfiedBy(subject("A")));
+		assertFalse(rules.get(1).getPrecondition().isSatisfiedBy(subject("C")));
+		
+	}
+	
+	@Test
+	public void testErrorOrder() {
+		
+		List<Rule<TestSubject>> rules = Arrays.asList(
+				RulePrecondition.anyOf(V3, "A").guard(new NotBlankRule<>("v1", "1", TestSubject.class, NIBRSErrorCode._101)),
+				new NotBlankRule<>("v1", "1", TestSubject.class, NIBRSErrorCode._104),
+				RulePrecondition.anyOf(V3, "B").guard(new NotBlankRule<>("v1", "1", TestSubject.class, NIBRSErrorCode._115)));
+		ValidationPlan<TestSubject> plan = new ValidationPlan<>(rules);
+		
+		List<TestSubject> subjects = Arrays.asList(subject("A"), subject("B"), subject("A"), subject(null));
+		List<NIBRSError> errors = new ArrayList<>();
+		plan.apply(subjects, errors::add);
+		
+		List<NIBRSErrorCode> expected = Arrays.asList(NIBRSErrorCode._101, NIBRSErrorCode._101, 
+				NIBRSErrorCode._104, NIBRSErrorCode._104, NIBRSErrorCode._104, NIBRSErrorCode._104, 
+				NIBRSErrorCode._115);
+		List<NIBRSErrorCode> actual = new ArrayList<>();
+		errors.forEach(e -> actual.add(e.getNIBRSErrorCode()));
+		assertEquals(expected, actual);
+		
+		errors.clear();
+		plan.apply(subject("B"), errors::add);
+		assertEquals(2, errors.size());
+		assertEquals(NIBRSErrorCode._104, errors.get(0).getNIBRSErrorCode());
+		assertEquals(NIBRSErrorCode._115, errors.get(1).getNIBRSErrorCode());
+		
+	}
+	
+	private static TestSubject subject(String v3) {
+		TestSubject ret = new TestSubject();
+		ret.setV3(v3);
+		return ret;
+	}
+	
+	private static BitSet bits(int... indexes) {
+		BitSet ret = new BitSet();
+		for (int i : indexes) {
+			ret.set(i);
+		}
+		return ret;
+	}
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.xmlfile.importer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.search.nibrs.xml.NibrsNamespaceContext.Namespace;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Pulls the nibrs:Report elements of a submission off of a StAX reader one at a time.  Each report is copied into a document of its own,
+ * so that the XPath searches of the incident builder work on it unchanged, and nothing else in the submission is kept in memory.
+ *
+ */
+class StaxReportReader {
+	
+	private static final String SUBMISSION_ELEMENT_NAME = "Submission";
+	private static final String REPORT_ELEMENT_NAME = "Report";
+	
+	private final XMLStreamReader reader;
+	private final DocumentBuilder documentBuilder;
+	private final Map<String, String> submissionNamespaces = new LinkedHashMap<>();
+	private int depth;
+	private boolean inSubmission;
+	
+	StaxReportReader(XMLStreamReader reader, DocumentBuilder documentBuilder) {
+		this.reader = reader;
+		this.documentBuilder = documentBuilder;
+	}
+	
+	/**
+	 * Read the next nibrs:Report element of the submission.
+	 * @return the report element, detached from the rest of the submission, or null if there are no more reports
+	 * @throws XMLStreamException if the submission is not well-formed
+	 */
+	Element nextReport() throws XMLStreamException {
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.START_ELEMENT) {
+				depth++;
+				if (depth == 1) {
+					inSubmission = isNibrsElement(SUBMISSION_ELEMENT_NAME);
+					for (int i = 0; i < reader.getNamespaceCount(); i++) {
+						submissionNamespaces.put(reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+					}
+				} else if (depth == 2 && inSubmission && isNibrsElement(REPORT_ELEMENT_NAME)) {
+					Element ret = readReport();
+					depth--;
+					return ret;
+				}
+			} else if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			}
+		}
+		return null;
+	}
+	
+	void close() throws XMLStreamException {
+		reader.close();
+	}
+	
+	private boolean isNibrsElement(String localName) {
+		return Namespace.NIBRS.uri.equals(reader.getNamespaceURI()) && localName.equals(reader.getLocalName());
+	}
+	
+	private Element readReport() throws XMLStreamException {
+		
+		Document document = documentBuilder.newDocument();
+		Element report = createElement(document);
+		document.appendChild(report);
+		
+		// carry the declarations in scope on the submission, as the report would have seen them in the full document
+		for (Map.Entry<String, String> declaration : submissionNamespaces.entrySet()) {
+			if (!report.hasAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, declarationLocalName(declaration.getKey()))) {
+				declareNamespace(report, declaration.getKey(), declaration.getValue());
+			}
+		}
+		
+		Node current = report;
+		int reportDepth = 1;
+		
+		while (reportDepth > 0) {
+			int event = reader.next();
+			switch (event) {
+			case XMLStreamConstants.START_ELEMENT:
+				Element child = createElement(document);
+				current.appendChild(child);
+				current = child;
+				reportDepth++;
+				break;
+			case XMLStreamConstants.END_ELEMENT:
+				current = current.getParentNode();
+				reportDepth--;
+				break;
+			case XMLStreamConstants.CHARACTERS:
+			case XMLStreamConstants.SPACE:
+			case XMLStreamConstants.ENTITY_REFERENCE:
+				current.appendChild(document.createTextNode(reader.getText()));
+				break;
+			case XMLStreamConstants.CDATA:
+				current.appendChild(document.createCDATASection(reader.getText()));
+				break;
+			case XMLStreamConstants.COMMENT:
+				current.appendChild(document.createComment(reader.getText()));
+				break;
+			}
+		}
+		
+		return report;
+		
+	}
+	
+	private Element createElement(Document document) {
+		
+		String prefix = reader.getPrefix();
+		String qualifiedName = prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+		Element ret = document.createElementNS(reader.getNamespaceURI(), qualifiedName);
+		
+		for (int i = 0; i < reader.getNamespaceCount(); i++) {
+			declareNamespace(ret, reader.getNamespacePrefix(i), reader.getNamespaceURI(i));
+		}
+		
+		for (int i = 0; i < reader.getAttributeCount(); i++) {
+			String attributePrefix = reader.getAttributePrefix(i);
+			String attributeName = reader.getAttributeLocalName(i);
+			if (attributePrefix != null && !attributePrefix.isEmpty()) {
+				attributeName = attributePrefix + ":" + attributeName;
+			}
+			String namespaceURI = reader.getAttributeNamespace(i);
+			ret.setAttributeNS(namespaceURI == null || namespaceURI.isEmpty() ? null : namespaceURI, attributeName, reader.getAttributeValue(i));
+		}
+		
+		return ret;
+		
+	}
+	
+	private static void declareNamespace(Element element, String prefix, String namespaceURI) {
+		String localName = declarationLocalName(prefix);
+		String qualifiedName = XMLConstants.XMLNS_ATTRIBUTE.equals(localName) ? localName : XMLConstants.XMLNS_ATTRIBUTE + ":" + localName;
+		element.setAttributeNS(XMLConstants.XMLNS_ATTRIBUTE_NS_URI, qualifiedName, namespaceURI);
+	}
+	
+	private static String declarationLocalName(String prefix) {
+		return prefix == null || prefix.isEmpty() ? XMLConstants.XMLNS_ATTRIBUTE : prefix;
+	}
+
+}
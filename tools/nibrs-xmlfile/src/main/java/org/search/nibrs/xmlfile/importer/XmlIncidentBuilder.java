@@ -18,6 +18,7 @@ package org.search.nibrs.xmlfile.importer;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
@@ -30,10 +31,16 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
 
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -43,6 +50,7 @@ import org.search.nibrs.common.NIBRSError;
 import org.search.nibrs.common.ParsedObject;
 import org.search.nibrs.common.ReportSource;
 import org.search.nibrs.importer.AbstractIncidentBuilder;
+import org.search.nibrs.importer.ParsedReport;
 import org.search.nibrs.importer.ReportListener;
 import org.search.nibrs.model.AbstractReport;
 import org.search.nibrs.model.AbstractSegment;
@@ -85,12 +93,15 @@ public class XmlIncidentBuilder extends AbstractIncidentBuilder{
 	private static final Log log = LogFactory.getLog(XmlIncidentBuilder.class);;
 	
 	private DocumentBuilder documentBuilder; 
+	private XMLInputFactory xmlInputFactory;
+	private boolean streaming;
 	private List<String> automaticWeaponCodes = Arrays.asList("11A", "12A", "13A", "14A", "15A");
 
 	public XmlIncidentBuilder() throws ParserConfigurationException {
 		super();
 		setDateFormat(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
 		initDocumentBuilder();
+		initXmlInputFactory();
 	}
 
 	private void initDocumentBuilder() throws ParserConfigurationException {
@@ -105,6 +116,27 @@ public class XmlIncidentBuilder extends AbstractIncidentBuilder{
 		documentBuilder.setEntityResolver(new NullResolver());
 	}
 
+	private void initXmlInputFactory() {
+		xmlInputFactory = XMLInputFactory.newInstance();
+		
+		xmlInputFactory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+		xmlInputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+	}
+
+	/**
+	 * Whether submissions are read with a StAX parser, one nibrs:Report element at a time, rather than parsed into a DOM up front.  In streaming
+	 * mode memory use does not grow with the size of the submission, and reports are broadcast as soon as they are read.  Defaults to false.
+	 */
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
 	public void addIncidentListener(ReportListener listener) {
 		getListeners().add(listener);
 	}
@@ -126,25 +158,15 @@ public class XmlIncidentBuilder extends AbstractIncidentBuilder{
 		
 		List<NIBRSError> errorList = new ArrayList<NIBRSError>();
 		
-		Document document;
-		
 		try {
-			document = documentBuilder.parse(inputStream);
-			NodeList reportElements = (NodeList) XmlUtils.xPathNodeListSearch(document, "nibrs:Submission/nibrs:Report");
+			ReportElements reportElements = openReportElements(inputStream);
+			Element reportNode = null;
 			
-			for(int i=0; i < reportElements.getLength(); i++){
-				ReportSource reportSource = new ReportSource();
-				reportSource.setSourceLocation(String.valueOf(i+1));
-				reportSource.setSourceName(readerLocationName);
-				
-				Element reportNode = (Element)reportElements.item(i);
-				
-				ReportBaseData reportBaseData = new ReportBaseData();
-				List<NIBRSError> reportBaseDataErrors = reportBaseData.setData(reportSource, reportNode);
-				errorList.addAll(reportBaseDataErrors);
+			for(int i=0; (reportNode = reportElements.next()) != null; i++){
+				ParsedReport parsedReport = buildParsedReport(reportNode, i, readerLocationName, errorList);
 
-				if (reportBaseDataErrors.isEmpty()){
-					currentReport = buildReport(errorList, reportNode, readerLocationName, reportBaseData);
+				if (parsedReport != null){
+					currentReport = parsedReport.getReport();
 					errorList = new ArrayList<NIBRSError>();
 					handleNewReport(currentReport, errorList);
 				}
@@ -162,6 +184,115 @@ public class XmlIncidentBuilder extends AbstractIncidentBuilder{
 
 	}
 
+	@Override
+	public Stream<ParsedReport> stream(InputStream inputStream, String readerLocationName) {
+		return StreamSupport.stream(new ReportSpliterator(inputStream, readerLocationName), false).onClose(() -> {
+			try {
+				inputStream.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	/**
+	 * Supplies the nibrs:Report elements of a submission, in document order.
+	 */
+	private interface ReportElements {
+		/**
+		 * @return the next report element, or null when the submission is exhausted
+		 */
+		Element next() throws Exception;
+	}
+
+	private ReportElements openReportElements(InputStream inputStream) throws Exception {
+		
+		if (streaming) {
+			StaxReportReader reader = new StaxReportReader(xmlInputFactory.createXMLStreamReader(inputStream), documentBuilder);
+			return () -> {
+				Element ret = reader.nextReport();
+				if (ret == null) {
+					reader.close();
+				}
+				return ret;
+			};
+		}
+		
+		Document document = documentBuilder.parse(inputStream);
+		NodeList reportElements = (NodeList) XmlUtils.xPathNodeListSearch(document, "nibrs:Submission/nibrs:Report");
+		int[] position = new int[1];
+		return () -> position[0] < reportElements.getLength() ? (Element) reportElements.item(position[0]++) : null;
+		
+	}
+
+	/**
+	 * Builds the report held in the nibrs:Report element at the specified (zero-based) position in the submission.  Errors in the report header
+	 * are added to the error list and no report is built; otherwise the report is built, its errors are added to the error list, and the report
+	 * is returned along with that list.
+	 */
+	ParsedReport buildParsedReport(Element reportNode, int position, String readerLocationName, List<NIBRSError> errorList) throws Exception {
+		
+		ReportSource reportSource = new ReportSource();
+		reportSource.setSourceLocation(String.valueOf(position+1));
+		reportSource.setSourceName(readerLocationName);
+		
+		ReportBaseData reportBaseData = new ReportBaseData();
+		List<NIBRSError> reportBaseDataErrors = reportBaseData.setData(reportSource, reportNode);
+		errorList.addAll(reportBaseDataErrors);
+
+		if (!reportBaseDataErrors.isEmpty()){
+			return null;
+		}
+		
+		return new ParsedReport(buildReport(errorList, reportNode, readerLocationName, reportBaseData), errorList);
+		
+	}
+
+	/**
+	 * Builds reports one at a time as the stream is consumed.  The submission is opened on the first advance; outside of streaming mode, this
+	 * parses the whole document.
+	 */
+	private final class ReportSpliterator extends Spliterators.AbstractSpliterator<ParsedReport> {
+		
+		private final InputStream inputStream;
+		private final String readerLocationName;
+		private ReportElements reportElements;
+		private int position;
+		private List<NIBRSError> errorList = new ArrayList<NIBRSError>();
+		
+		ReportSpliterator(InputStream inputStream, String readerLocationName) {
+			super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+			this.inputStream = inputStream;
+			this.readerLocationName = readerLocationName;
+		}
+		
+		@Override
+		public boolean tryAdvance(Consumer<? super ParsedReport> action) {
+			try {
+				if (reportElements == null) {
+					reportElements = openReportElements(inputStream);
+				}
+				Element reportNode = null;
+				while ((reportNode = reportElements.next()) != null) {
+					ParsedReport parsedReport = buildParsedReport(reportNode, position++, readerLocationName, errorList);
+					if (parsedReport != null) {
+						errorList = new ArrayList<NIBRSError>();
+						action.accept(parsedReport);
+						return true;
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IllegalStateException("Unable to build report " + position + " of " + readerLocationName, e);
+			}
+			return false;
+		}
+		
+	}
+
 	AbstractReport buildReport(List<NIBRSError> errorList, Element reportElement, String readerLocationName, ReportBaseData reportBaseData) throws Exception {
 		int errorListSize = errorList.size();
 		AbstractReport ret = null;
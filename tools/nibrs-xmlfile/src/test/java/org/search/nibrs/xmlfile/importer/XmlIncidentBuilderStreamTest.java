@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.xmlfile.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.search.nibrs.importer.DefaultReportListener;
+import org.search.nibrs.importer.ParsedReport;
+import org.search.nibrs.model.AbstractReport;
+import org.search.nibrs.model.GroupAIncidentReport;
+import org.search.nibrs.model.GroupBArrestReport;
+
+public class XmlIncidentBuilderStreamTest {
+	
+	@Test
+	public void testStreamMatchesListener() throws Exception {
+		assertSameAsListener("src/test/resources/iep-sample/nibrs_GroupAIncident_Sample.xml");
+		assertSameAsListener("src/test/resources/iep-sample/nibrs_GroupBArrest_Sample_multipleArrestees.xml");
+		assertSameAsListener("src/test/resources/iep-sample/nibrs_ZeroReport_Sample.xml");
+		assertSameAsListener("src/test/resources/iep-sample/nibrs_AllFields_Sample.xml");
+	}
+	
+	@Test
+	public void testStreamClosesInputStream() throws Exception {
+		boolean[] closed = new boolean[1];
+		InputStream inputStream = new FileInputStream(new File("src/test/resources/iep-sample/nibrs_GroupBArrest_Sample.xml")) {
+			@Override
+			public void close() throws java.io.IOException {
+				closed[0] = true;
+				super.close();
+			}
+		};
+		try (Stream<ParsedReport> stream = new XmlIncidentBuilder().stream(inputStream, getClass().getName())) {
+			List<ParsedReport> reports = stream.collect(Collectors.toList());
+			assertEquals(1, reports.size());
+			assertTrue(reports.get(0).getReport() instanceof GroupBArrestReport);
+			assertTrue(reports.get(0).getErrorList().isEmpty());
+		}
+		assertTrue(closed[0]);
+	}
+	
+	private void assertSameAsListener(String fileName) throws Exception {
+		
+		DefaultReportListener listener = new DefaultReportListener();
+		XmlIncidentBuilder incidentBuilder = new XmlIncidentBuilder();
+		incidentBuilder.addIncidentListener(listener);
+		try (InputStream inputStream = new FileInputStream(new File(fileName))) {
+			incidentBuilder.buildIncidents(inputStream, getClass().getName());
+		}
+		
+		List<ParsedReport> parsedReports;
+		try (Stream<ParsedReport> stream = new XmlIncidentBuilder().stream(new FileInputStream(new File(fileName)), getClass().getName())) {
+			parsedReports = stream.collect(Collectors.toList());
+		}
+		
+		List<AbstractReport> expectedReports = listener.getReportList();
+		assertEquals(expectedReports.size(), parsedReports.size());
+		for (int i = 0; i < expectedReports.size(); i++) {
+			AbstractReport expected = expectedReports.get(i);
+			AbstractReport actual = parsedReports.get(i).getReport();
+			assertEquals(expected.getClass(), actual.getClass());
+			assertEquals(expected.getUniqueReportDescription(), actual.getUniqueReportDescription());
+			assertEquals(expected.getSource().getSourceLocation(), actual.getSource().getSourceLocation());
+			assertEquals(expected.getHasUpstreamErrors(), actual.getHasUpstreamErrors());
+			if (expected instanceof GroupAIncidentReport) {
+				GroupAIncidentReport expectedIncident = (GroupAIncidentReport) expected;
+				GroupAIncidentReport actualIncident = (GroupAIncidentReport) actual;
+				assertEquals(expectedIncident.getOffenseCount(), actualIncident.getOffenseCount());
+				assertEquals(expectedIncident.getVictimCount(), actualIncident.getVictimCount());
+				assertEquals(expectedIncident.getOffenderCount(), actualIncident.getOffenderCount());
+				assertEquals(expectedIncident.getPropertyCount(), actualIncident.getPropertyCount());
+			}
+		}
+		
+	}
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2016 SEARCH-The National Consortium for Justice Information and Statistics
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.search.nibrs.xmlfile.importer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+import org.search.nibrs.importer.DefaultReportListener;
+import org.search.nibrs.importer.ParsedReport;
+import org.search.nibrs.model.AbstractReport;
+import org.search.nibrs.model.GroupAIncidentReport;
+import org.search.nibrs.model.GroupBArrestReport;
+
+public class XmlIncidentBuilderStreamingModeTest {
+	
+	private static final String SAMPLE_DIRECTORY = "src/test/resources/iep-sample/";
+	
+	@Test
+	public void testStreamingMatchesDom() throws Exception {
+		for (String fileName : new File(SAMPLE_DIRECTORY).list()) {
+			byte[] submission = Files.readAllBytes(new File(SAMPLE_DIRECTORY, fileName).toPath());
+			assertSameReports(build(submission, false), build(submission, true));
+		}
+	}
+	
+	@Test
+	public void testMultipleReports() throws Exception {
+		
+		byte[] submission = buildSubmission("nibrs_AllFields_Sample.xml", "nibrs_GroupBArrest_Sample_multipleArrestees.xml", "nibrs_GroupBArrestDelete_Sample.xml", 
+				"nibrs_GroupAIncident_Sample.xml");
+		
+		DefaultReportListener streamed = build(submission, true);
+		assertSameReports(build(submission, false), streamed);
+		
+		List<AbstractReport> reports = streamed.getReportList();
+		assertEquals(4, reports.size());
+		assertTrue(reports.get(0) instanceof GroupAIncidentReport);
+		assertTrue(reports.get(1) instanceof GroupBArrestReport);
+		assertTrue(reports.get(2) instanceof GroupBArrestReport);
+		assertTrue(reports.get(3) instanceof GroupAIncidentReport);
+		assertEquals("4", reports.get(3).getSource().getSourceLocation());
+		
+	}
+	
+	@Test
+	public void testReportsBeforeMalformedContentAreBroadcast() throws Exception {
+		
+		String submission = new String(buildSubmission("nibrs_GroupBArrest_Sample.xml", "nibrs_ZeroReport_Sample.xml"), StandardCharsets.UTF_8);
+		submission = submission.substring(0, submission.lastIndexOf("</nibrs:Report>")) + "</nibrs:Submission>";
+		byte[] malformed = submission.getBytes(StandardCharsets.UTF_8);
+		
+		assertEquals(0, build(malformed, false).getReportList().size());
+		assertEquals(1, build(malformed, true).getReportList().size());
+		
+	}
+	
+	@Test
+	public void testStreamInStreamingMode() throws Exception {
+		
+		byte[] submission = buildSubmission("nibrs_GroupBArrest_Sample.xml", "nibrs_GroupAReplace_Sample.xml", "nibrs_AllFields_Sample.xml");
+		
+		XmlIncidentBuilder incidentBuilder = new XmlIncidentBuilder();
+		incidentBuilder.setStreaming(true);
+		
+		try (Stream<ParsedReport> stream = incidentBuilder.stream(new ByteArrayInputStream(submission), getClass().getName())) {
+			List<AbstractReport> reports = stream.map(ParsedReport::getReport).collect(Collectors.toList());
+			assertEquals(3, reports.size());
+			assertTrue(reports.get(0) instanceof GroupBArrestReport);
+			assertTrue(reports.get(1) instanceof GroupAIncidentReport);
+			assertTrue(reports.get(2) instanceof GroupAIncidentReport);
+		}
+		
+	}
+	
+	private DefaultReportListener build(byte[] submission, boolean streaming) throws Exception {
+		DefaultReportListener listener = new DefaultReportListener();
+		XmlIncidentBuilder incidentBuilder = new XmlIncidentBuilder();
+		incidentBuilder.setStreaming(streaming);
+		incidentBuilder.addIncidentListener(listener);
+		try (InputStream inputStream = new ByteArrayInputStream(submission)) {
+			incidentBuilder.buildIncidents(inputStream, getClass().getName());
+		}
+		return listener;
+	}
+	
+	private void assertSameReports(DefaultReportListener expected, DefaultReportListener actual) {
+		List<AbstractReport> expectedReports = expected.getReportList();
+		List<AbstractReport> actualReports = actual.getReportList();
+		assertEquals(expectedReports.size(), actualReports.size());
+		for (int i = 0; i < expectedReports.size(); i++) {
+			assertEquals(withoutIdentityHashes(expectedReports.get(i)), withoutIdentityHashes(actualReports.get(i)));
+		}
+		assertEquals(expected.getErrorList().size(), actual.getErrorList().size());
+	}
+	
+	private String withoutIdentityHashes(AbstractReport report) {
+		// the model toString() methods include the default Object.toString() of some members
+		return report.toString().replaceAll("@[0-9a-f]+", "");
+	}
+	
+	/**
+	 * Combine the reports of the sample submissions into one submission, using the submission header of the first.
+	 */
+	private byte[] buildSubmission(String... fileNames) throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < fileNames.length; i++) {
+			String sample = new String(Files.readAllBytes(new File(SAMPLE_DIRECTORY, fileNames[i]).toPath()), StandardCharsets.UTF_8);
+			int reportStart = sample.indexOf("<nibrs:Report>");
+			if (i == 0) {
+				sb.append(sample.substring(0, reportStart));
+			}
+			sb.append(sample.substring(reportStart, sample.lastIndexOf("</nibrs:Report>") + "</nibrs:Report>".length()));
+		}
+		sb.append("</nibrs:Submission>");
+		return sb.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+}